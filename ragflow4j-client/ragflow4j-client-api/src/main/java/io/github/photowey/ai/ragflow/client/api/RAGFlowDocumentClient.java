@@ -15,21 +15,27 @@
  */
 package io.github.photowey.ai.ragflow.client.api;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import jakarta.validation.constraints.NotNull;
 
+import io.github.photowey.ai.ragflow.core.domain.context.document.BatchUploadDocumentContext;
 import io.github.photowey.ai.ragflow.core.domain.context.document.DeleteDocumentContext;
 import io.github.photowey.ai.ragflow.core.domain.context.document.DownloadDocumentContext;
 import io.github.photowey.ai.ragflow.core.domain.context.document.ListDocumentContext;
 import io.github.photowey.ai.ragflow.core.domain.context.document.ParseDocumentContext;
 import io.github.photowey.ai.ragflow.core.domain.context.document.PollingParsingStatusDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.context.document.RangedDownloadDocumentContext;
 import io.github.photowey.ai.ragflow.core.domain.context.document.StopParsingDocumentContext;
 import io.github.photowey.ai.ragflow.core.domain.context.document.UpdateDocumentContext;
 import io.github.photowey.ai.ragflow.core.domain.context.document.UploadDocumentContext;
 import io.github.photowey.ai.ragflow.core.domain.download.DownloadHandle;
+import io.github.photowey.ai.ragflow.core.domain.download.DownloadResult;
 import io.github.photowey.ai.ragflow.core.domain.dto.document.DeleteDocumentDTO;
+import io.github.photowey.ai.ragflow.core.domain.dto.document.DocumentDTO;
 import io.github.photowey.ai.ragflow.core.domain.dto.document.DownloadDocumentDTO;
 import io.github.photowey.ai.ragflow.core.domain.dto.document.ListDocumentDTO;
 import io.github.photowey.ai.ragflow.core.domain.dto.document.ParseDocumentDTO;
@@ -37,6 +43,7 @@ import io.github.photowey.ai.ragflow.core.domain.dto.document.PollingParsingStat
 import io.github.photowey.ai.ragflow.core.domain.dto.document.StopParsingDocumentDTO;
 import io.github.photowey.ai.ragflow.core.domain.dto.document.UpdateDocumentDTO;
 import io.github.photowey.ai.ragflow.core.domain.dto.document.UploadDocumentDTO;
+import io.github.photowey.ai.ragflow.core.domain.upload.BatchUploadResult;
 
 /**
  * {@code RAGFlowDocumentClient}.
@@ -85,6 +92,20 @@ public interface RAGFlowDocumentClient {
      */
     List<UploadDocumentDTO> uploadDocuments(@NotNull UploadDocumentContext context);
 
+    /**
+     * Upload a large list of documents with several multipart requests.
+     *
+     * <p>
+     * The documents are packed into sub-batches within the byte and file budgets of the context and uploaded
+     * with bounded parallelism, a failed sub-batch is retried on its own. The uploaded documents are
+     * returned in input order, the documents of sub-batches that failed for good are reported as failures.
+     *
+     * @param context {@link BatchUploadDocumentContext}
+     * @return {@link BatchUploadResult}
+     * @see #uploadDocuments(UploadDocumentContext)
+     */
+    BatchUploadResult batchUploadDocuments(@NotNull BatchUploadDocumentContext context);
+
     /**
      * Update document.
      *
@@ -163,6 +184,21 @@ public interface RAGFlowDocumentClient {
      */
     DownloadHandle downloadDocument(@NotNull DownloadDocumentContext context);
 
+    /**
+     * Download document into a local file.
+     *
+     * <p>
+     * Segments of {@link RangedDownloadDocumentContext#determineSegmentSize()} bytes are fetched in parallel
+     * with HTTP {@code Range} requests and written into the preallocated target. A failed download resumes
+     * from the last completed segment when started again with the same target. Servers that do not honour
+     * ranges are downloaded as a single stream.
+     *
+     * @param context {@link RangedDownloadDocumentContext}
+     * @return {@link DownloadResult}
+     * @see #downloadDocument(DownloadDocumentContext)
+     */
+    DownloadResult rangedDownloadDocument(@NotNull RangedDownloadDocumentContext context);
+
     /**
      * List documents.
      *
@@ -321,4 +357,20 @@ public interface RAGFlowDocumentClient {
      * @return {@link PollingParsingStatusDocumentDTO}
      */
     PollingParsingStatusDocumentDTO pollingParsingStatus(@NotNull PollingParsingStatusDocumentContext context);
+
+    /**
+     * Wait until a document is parsed.
+     *
+     * <p>
+     * The document is polled with an exponential backoff and jitter, the wait fails as soon as the parsing
+     * failed or was cancelled, or once the deadline elapsed. No thread is held while waiting.
+     *
+     * @param context  {@link PollingParsingStatusDocumentContext}
+     * @param deadline the maximum time to wait
+     * @return the parsed {@link DocumentDTO}, completed exceptionally if it is not parsed in time
+     * @see #pollingParsingStatus(PollingParsingStatusDocumentContext)
+     */
+    CompletableFuture<DocumentDTO> awaitParsed(
+        @NotNull PollingParsingStatusDocumentContext context,
+        @NotNull Duration deadline);
 }
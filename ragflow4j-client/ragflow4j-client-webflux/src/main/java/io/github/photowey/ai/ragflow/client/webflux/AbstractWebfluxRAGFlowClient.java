@@ -16,22 +16,36 @@
 package io.github.photowey.ai.ragflow.client.webflux;
 
 import java.io.Serializable;
+import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.function.Supplier;
 
 import org.springframework.http.HttpMethod;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import io.github.photowey.ai.ragflow.client.webflux.core.concurrent.ReactiveSemaphore;
 import io.github.photowey.ai.ragflow.client.webflux.core.factory.RAGFlowWebClientFactory;
+import io.github.photowey.ai.ragflow.client.webflux.core.pagination.Page;
+import io.github.photowey.ai.ragflow.client.webflux.core.pagination.PageStreams;
+import io.github.photowey.ai.ragflow.client.webflux.core.pagination.PrefetchOptions;
+import io.github.photowey.ai.ragflow.client.webflux.core.route.ApiRoutes;
+import io.github.photowey.ai.ragflow.client.webflux.core.shard.ShardRouter;
 import io.github.photowey.ai.ragflow.core.constant.MessageConstants;
+import io.github.photowey.ai.ragflow.core.constant.RAGFlowConstants;
 import io.github.photowey.ai.ragflow.core.domain.model.response.RAGFlowResponse;
 import io.github.photowey.ai.ragflow.core.enums.RAGFlowDictionary;
 import io.github.photowey.ai.ragflow.core.exception.RAGFlowException;
+import io.github.photowey.ai.ragflow.core.property.RAGFlowProperties;
 import io.github.photowey.ai.ragflow.core.property.RAGFlowPropertiesGetter;
 
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.experimental.Accessors;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 /**
  * {@code AbstractWebfluxRAGFlowClient}.
@@ -57,6 +71,153 @@ public abstract class AbstractWebfluxRAGFlowClient implements Serializable {
         return response.unwrap(fx);
     }
 
+    /**
+     * Reactive counterpart of {@link #unwrap(RAGFlowResponse, Supplier)}.
+     *
+     * <p>
+     * An empty response body is signalled as a {@link RAGFlowException}, a successful response
+     * without {@code data} completes empty.
+     *
+     * @param mono the response publisher
+     * @param fx   the error message prefix supplier
+     * @param <T>  the type of data
+     * @return the unwrapped data publisher
+     */
+    protected <T> Mono<T> tryUnwrap(Mono<RAGFlowResponse<T>> mono, Supplier<String> fx) {
+        return mono
+            .switchIfEmpty(Mono.error(() -> new RAGFlowException(fx.get() + MessageConstants.UNKNOWN_ERROR)))
+            .handle((response, sink) -> {
+                T data = this.unwrap(response, fx);
+                if (Objects.nonNull(data)) {
+                    sink.next(data);
+                }
+            });
+    }
+
+    /**
+     * Stream a paginated listing, fetching the pages after the first one concurrently.
+     *
+     * <p>
+     * Every page request holds one of the listing permits of the deployment, so the concurrent listings
+     * of a deployment never exceed {@link RAGFlowProperties.Listing#maxConcurrency()} in-flight requests.
+     * The permits and the prefetch window are the ones of the routed deployment, every page goes to it.
+     *
+     * @param route     the deployment the listing goes to, see {@link #route(String, String)}
+     * @param firstPage the first page to fetch, 1-based
+     * @param options   the prefetch options
+     * @param fetcher   fetches the given page from the given deployment
+     * @param <T>       the type of items
+     * @return the items of every page
+     */
+    protected <T> Flux<T> tryStreamPages(
+        Mono<String> route,
+        int firstPage,
+        PrefetchOptions options,
+        BiFunction<String, Integer, Mono<Page<T>>> fetcher) {
+        return route.flatMapMany(deployKey -> {
+            ReactiveSemaphore permits = this.factory.acquireListingPermits(deployKey, this.getter);
+            int window = options.determineWindow(this.determineListing(deployKey).prefetch());
+
+            return PageStreams.concurrent(
+                firstPage,
+                window,
+                options.ordered(),
+                page -> permits.withPermit(fetcher.apply(deployKey, page))
+            );
+        });
+    }
+
+    protected RAGFlowProperties.Listing determineListing(String deployKey) {
+        return this.getter.get().tryAcquireServer(deployKey)
+            .map(RAGFlowProperties.Server::listing)
+            .orElseGet(RAGFlowProperties.Listing::new);
+    }
+
+    protected RAGFlowProperties.Parsing determineParsing(String deployKey) {
+        return this.getter.get().tryAcquireServer(deployKey)
+            .map(RAGFlowProperties.Server::parsing)
+            .orElseGet(RAGFlowProperties.Parsing::new);
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * The deployment a dataset or document call goes to.
+     *
+     * <p>
+     * The deploy key of the context wins. Otherwise, with {@link RAGFlowProperties.Sharding} enabled, the call goes
+     * to the shard holding the dataset, see {@link ShardRouter#locate(String)}, and without sharding or dataset to
+     * the global deployment.
+     *
+     * @param deployKey the deploy key of the context
+     * @param datasetId the dataset of the call
+     * @return the deploy key
+     */
+    protected Mono<String> route(String deployKey, String datasetId) {
+        if (determineHasText(deployKey)) {
+            return Mono.just(deployKey);
+        }
+
+        return this.tryAcquireShardRouter(datasetId)
+            .map(router -> router.locate(datasetId))
+            .orElseGet(() -> Mono.just(RAGFlowConstants.Variable.GLOBAL_DEPLOY_KEY));
+    }
+
+    /**
+     * The deployment a new dataset is created on, the shard holding the fewest documents with sharding enabled,
+     * see {@link ShardRouter#place(String)}.
+     *
+     * @param deployKey the deploy key of the context
+     * @param name      the name of the dataset
+     * @return the deploy key
+     */
+    protected Mono<String> place(String deployKey, String name) {
+        if (determineHasText(deployKey)) {
+            return Mono.just(deployKey);
+        }
+
+        return this.tryAcquireShardRouter(name)
+            .map(router -> router.place(name))
+            .orElseGet(() -> Mono.just(RAGFlowConstants.Variable.GLOBAL_DEPLOY_KEY));
+    }
+
+    /**
+     * Send a read to the routed deployment, concurrent identical reads of that deployment share one call.
+     *
+     * <p>
+     * The key identifies the read within the deployment: its {@link RAGFlowDictionary.API}, path variables, query
+     * parameters and the type the response is decoded to. Every caller receives the same decoded response object,
+     * which must not be modified, and which is not cached once the call completed. Reads are coalesced only with
+     * {@link RAGFlowProperties.Coalescing} enabled.
+     *
+     * @param route the deploy key
+     * @param key   the key of the read
+     * @param call  sends the read with the {@link WebClient} of the deployment
+     * @param <T>   the type of response
+     * @return the response
+     */
+    protected <T> Mono<T> coalesce(Mono<String> route, List<Object> key, Function<WebClient, Mono<T>> call) {
+        return route.flatMap(deployKey -> {
+            Supplier<Mono<T>> read = () -> call.apply(this.createWebClient(deployKey));
+
+            return this.factory.tryAcquireSingleFlight(deployKey, this.getter)
+                .map(flight -> flight.execute(key, read))
+                .orElseGet(read);
+        });
+    }
+
+    /**
+     * The shard router, if sharding is enabled, there is a shard and a key to route by.
+     */
+    protected Optional<ShardRouter> tryAcquireShardRouter(String key) {
+        if (!determineHasText(key) || !this.getter.get().sharding().enabled()) {
+            return Optional.empty();
+        }
+
+        return Optional.of(this.factory.acquireShardRouter(this.getter))
+            .filter(router -> !router.shards().isEmpty());
+    }
+
     // ----------------------------------------------------------------
 
     protected WebClient createFormdataWebClient(String deployKey) {
@@ -73,6 +234,15 @@ public abstract class AbstractWebfluxRAGFlowClient implements Serializable {
 
     protected WebClient.RequestBodyUriSpec create(WebClient client, RAGFlowDictionary.API api) {
         HttpMethod httpMethod = HttpMethod.valueOf(api.method());
-        return client.method(httpMethod);
+        WebClient.RequestBodyUriSpec spec = client.method(httpMethod);
+        spec.attribute(ApiRoutes.API_ATTRIBUTE, api);
+
+        return spec;
+    }
+
+    // ----------------------------------------------------------------
+
+    private static boolean determineHasText(String value) {
+        return Objects.nonNull(value) && !value.trim().isEmpty();
     }
 }
@@ -15,6 +15,9 @@
  */
 package io.github.photowey.ai.ragflow.client.webflux;
 
+import io.github.photowey.ai.ragflow.client.webflux.dataset.AsyncWebfluxRAGFlowDatasetClient;
+import io.github.photowey.ai.ragflow.client.webflux.document.AsyncWebfluxRAGFlowDocumentClient;
+
 /**
  * {@code AsyncWebfluxRAGFlowClient}.
  *
@@ -25,4 +28,17 @@ package io.github.photowey.ai.ragflow.client.webflux;
 @SuppressWarnings("AlibabaClassNamingShouldBeCamel")
 public interface AsyncWebfluxRAGFlowClient {
 
+    /**
+     * Get the async dataset client {@link AsyncWebfluxRAGFlowDatasetClient} instance.
+     *
+     * @return {@link AsyncWebfluxRAGFlowDatasetClient}
+     */
+    AsyncWebfluxRAGFlowDatasetClient dataset();
+
+    /**
+     * Get the async document client {@link AsyncWebfluxRAGFlowDocumentClient} instance.
+     *
+     * @return {@link AsyncWebfluxRAGFlowDocumentClient}
+     */
+    AsyncWebfluxRAGFlowDocumentClient document();
 }
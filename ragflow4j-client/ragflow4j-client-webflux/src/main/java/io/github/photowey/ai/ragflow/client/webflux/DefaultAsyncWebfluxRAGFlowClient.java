@@ -15,6 +15,11 @@
  */
 package io.github.photowey.ai.ragflow.client.webflux;
 
+import io.github.photowey.ai.ragflow.client.webflux.core.factory.RAGFlowWebClientFactory;
+import io.github.photowey.ai.ragflow.client.webflux.dataset.AsyncWebfluxRAGFlowDatasetClient;
+import io.github.photowey.ai.ragflow.client.webflux.document.AsyncWebfluxRAGFlowDocumentClient;
+import io.github.photowey.ai.ragflow.core.property.RAGFlowPropertiesGetter;
+
 /**
  * {@code DefaultAsyncWebfluxRAGFlowClient}.
  *
@@ -23,6 +28,29 @@ package io.github.photowey.ai.ragflow.client.webflux;
  * @since 2025/11/23
  */
 @SuppressWarnings("AlibabaClassNamingShouldBeCamel")
-public class DefaultAsyncWebfluxRAGFlowClient implements AsyncWebfluxRAGFlowClient {
+public class DefaultAsyncWebfluxRAGFlowClient extends AbstractWebfluxRAGFlowClient implements AsyncWebfluxRAGFlowClient {
+
+    private final AsyncWebfluxRAGFlowDatasetClient dataset;
+    private final AsyncWebfluxRAGFlowDocumentClient document;
+
+    public DefaultAsyncWebfluxRAGFlowClient(
+        AsyncWebfluxRAGFlowDatasetClient dataset,
+        AsyncWebfluxRAGFlowDocumentClient document,
+        /* ---------------------------------------------------------------- */
+        RAGFlowPropertiesGetter getter,
+        RAGFlowWebClientFactory factory) {
+        super(getter, factory);
+        this.dataset = dataset;
+        this.document = document;
+    }
+
+    @Override
+    public AsyncWebfluxRAGFlowDatasetClient dataset() {
+        return this.dataset;
+    }
 
+    @Override
+    public AsyncWebfluxRAGFlowDocumentClient document() {
+        return this.document;
+    }
 }
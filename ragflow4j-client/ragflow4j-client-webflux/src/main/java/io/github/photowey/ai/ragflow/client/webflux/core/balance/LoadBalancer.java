@@ -0,0 +1,286 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.balance;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+
+import io.github.photowey.ai.ragflow.client.webflux.core.concurrent.WheelTimer;
+import io.github.photowey.ai.ragflow.client.webflux.core.hedge.HedgePolicy;
+import io.github.photowey.ai.ragflow.client.webflux.core.retry.TransientErrors;
+import io.github.photowey.ai.ragflow.core.constant.RAGFlowConstants;
+import io.github.photowey.ai.ragflow.core.enums.RAGFlowDictionary;
+import io.github.photowey.ai.ragflow.core.property.RAGFlowProperties;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code LoadBalancer}.
+ *
+ * <p>
+ * Spreads the calls of a deployment with several addresses over them, installed as the last filter of every
+ * {@code WebClient} of that deployment, whose base url is the first address:
+ * <ul>
+ *     <li>every request goes to the address with the fewer outstanding requests of two picked at random, its url
+ *     is rewritten, so the connections of every address are pooled by the same connection provider;</li>
+ *     <li>the second request of a hedged call avoids the address of the first one;</li>
+ *     <li>an address failing {@code ejectAfter} consecutive calls, with a {@code 5xx} response or a transient
+ *     error, is ejected and its health check probed every {@code probeInterval} until it succeeds;</li>
+ *     <li>once every address is ejected they are all used again, a successful call restores its address.</li>
+ * </ul>
+ * A request to an absolute url outside the base url is left alone.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+public class LoadBalancer implements ExchangeFilterFunction {
+
+    private final List<Object> settings;
+    private final String baseUrl;
+    private final String authorization;
+    private final List<Endpoint> endpoints;
+    private final int ejectAfter;
+    private final Duration probeInterval;
+    private final WheelTimer timer = WheelTimer.shared();
+    private final AtomicBoolean disposed = new AtomicBoolean(false);
+
+    public LoadBalancer(RAGFlowProperties.Server server) {
+        this.settings = fingerprint(server);
+        this.baseUrl = normalize(server.endpoints().get(0));
+        this.authorization = RAGFlowConstants.Header.BEARER + " " + server.apiKey();
+        this.endpoints = server.endpoints().stream()
+            .map(LoadBalancer::normalize)
+            .distinct()
+            .map(Endpoint::new)
+            .collect(Collectors.toList());
+        this.ejectAfter = server.balancer().ejectAfter();
+        this.probeInterval = Duration.ofMillis(server.balancer().probeInterval());
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        String url = request.url().toString();
+        String path = url.substring(Math.min(url.length(), this.baseUrl.length()));
+        if (!url.startsWith(this.baseUrl) || !(path.isEmpty() || path.startsWith("/") || path.startsWith("?"))) {
+            return next.exchange(request);
+        }
+
+        return Mono.defer(() -> {
+            Endpoint endpoint = this.choose(request);
+            ClientRequest routed = ClientRequest.from(request)
+                .url(URI.create(endpoint.address + path))
+                .build();
+
+            endpoint.outstanding.incrementAndGet();
+
+            return next.exchange(routed)
+                .doOnNext(response -> this.record(endpoint, response.rawStatusCode() >= 500, next))
+                .doOnError(throwable -> this.record(endpoint, TransientErrors.isTransient(throwable), next))
+                .doFinally(signal -> endpoint.outstanding.decrementAndGet());
+        });
+    }
+
+    /**
+     * Whether the balancer was built from the given settings.
+     *
+     * @param server the settings
+     * @return {@code true} if nothing changed
+     */
+    public boolean matches(RAGFlowProperties.Server server) {
+        return this.settings.equals(fingerprint(server));
+    }
+
+    /**
+     * Stops probing the ejected addresses, called once the balancer was replaced.
+     */
+    public void dispose() {
+        this.disposed.set(true);
+    }
+
+    /**
+     * The addresses currently in use.
+     */
+    public List<String> available() {
+        return this.endpoints.stream()
+            .filter(endpoint -> !endpoint.ejected.get())
+            .map(endpoint -> endpoint.address)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * The addresses currently ejected.
+     */
+    public List<String> ejected() {
+        return this.endpoints.stream()
+            .filter(endpoint -> endpoint.ejected.get())
+            .map(endpoint -> endpoint.address)
+            .collect(Collectors.toList());
+    }
+
+    // ----------------------------------------------------------------
+
+    private Endpoint choose(ClientRequest request) {
+        AtomicReference<String> taken = taken(request);
+        String excluded = Objects.isNull(taken) ? null : taken.get();
+
+        List<Endpoint> candidates = this.candidates(excluded, false);
+        if (candidates.isEmpty()) {
+            candidates = this.candidates(excluded, true);
+        }
+        if (candidates.isEmpty()) {
+            candidates = this.endpoints;
+        }
+
+        Endpoint chosen = pickOfTwo(candidates);
+        if (Objects.nonNull(taken)) {
+            taken.compareAndSet(null, chosen.address);
+        }
+
+        return chosen;
+    }
+
+    private List<Endpoint> candidates(String excluded, boolean includeEjected) {
+        List<Endpoint> candidates = new ArrayList<>(this.endpoints.size());
+        for (Endpoint endpoint : this.endpoints) {
+            if ((includeEjected || !endpoint.ejected.get()) && !endpoint.address.equals(excluded)) {
+                candidates.add(endpoint);
+            }
+        }
+
+        return candidates;
+    }
+
+    private void record(Endpoint endpoint, boolean failed, ExchangeFunction next) {
+        if (!failed) {
+            endpoint.restore();
+            return;
+        }
+
+        if (endpoint.failures.incrementAndGet() >= this.ejectAfter && endpoint.ejected.compareAndSet(false, true)) {
+            this.probe(endpoint, next);
+        }
+    }
+
+    private void probe(Endpoint endpoint, ExchangeFunction next) {
+        this.timer.delay(this.probeInterval)
+            .filter(elapsed -> !this.disposed.get() && endpoint.ejected.get())
+            .flatMap(elapsed -> this.checkHealth(endpoint, next))
+            .subscribe(healthy -> {
+                if (healthy) {
+                    endpoint.restore();
+                    return;
+                }
+
+                this.probe(endpoint, next);
+            });
+    }
+
+    private Mono<Boolean> checkHealth(Endpoint endpoint, ExchangeFunction next) {
+        String route = RAGFlowDictionary.API.CHECK_SYSTEM_HEALTH.route();
+        ClientRequest probe = ClientRequest.create(HttpMethod.GET, URI.create(endpoint.address + route))
+            .header(RAGFlowConstants.Header.AUTHORIZATION, this.authorization)
+            .build();
+
+        return next.exchange(probe)
+            .flatMap(response -> response.releaseBody().thenReturn(isHealthy(response.rawStatusCode())))
+            .onErrorReturn(false);
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * The address the first request of a hedged call went to, shared with the second request.
+     */
+    @SuppressWarnings("unchecked")
+    private static AtomicReference<String> taken(ClientRequest request) {
+        return (AtomicReference<String>) request.attribute(HedgePolicy.HEDGE_ATTRIBUTE)
+            .filter(AtomicReference.class::isInstance)
+            .orElse(null);
+    }
+
+    private static Endpoint pickOfTwo(List<Endpoint> candidates) {
+        int size = candidates.size();
+        if (size == 1) {
+            return candidates.get(0);
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int first = random.nextInt(size);
+        int second = (first + 1 + random.nextInt(size - 1)) % size;
+        Endpoint left = candidates.get(first);
+        Endpoint right = candidates.get(second);
+
+        return left.outstanding.get() <= right.outstanding.get() ? left : right;
+    }
+
+    private static boolean isHealthy(int status) {
+        return status >= HttpStatus.OK.value() && status < HttpStatus.MULTIPLE_CHOICES.value();
+    }
+
+    private static String normalize(String address) {
+        String normalized = address.trim();
+        while (normalized.endsWith("/")) {
+            normalized = normalized.substring(0, normalized.length() - 1);
+        }
+
+        return normalized;
+    }
+
+    private static List<Object> fingerprint(RAGFlowProperties.Server server) {
+        return Arrays.asList(
+            new ArrayList<>(server.endpoints()),
+            server.apiKey(),
+            server.balancer().ejectAfter(),
+            server.balancer().probeInterval()
+        );
+    }
+
+    // ----------------------------------------------------------------
+
+    private static final class Endpoint {
+
+        private final String address;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+        private final AtomicBoolean ejected = new AtomicBoolean(false);
+
+        Endpoint(String address) {
+            this.address = address;
+        }
+
+        void restore() {
+            this.failures.set(0);
+            this.ejected.set(false);
+        }
+    }
+}
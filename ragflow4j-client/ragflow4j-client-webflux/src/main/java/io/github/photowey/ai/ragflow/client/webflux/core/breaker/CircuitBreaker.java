@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.breaker;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+
+import io.github.photowey.ai.ragflow.core.enums.RAGFlowDictionary;
+import io.github.photowey.ai.ragflow.core.exception.CircuitBreakerOpenException;
+import io.github.photowey.ai.ragflow.core.property.RAGFlowProperties;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code CircuitBreaker}.
+ *
+ * <p>
+ * Guards the calls of one deployment, installed as a filter of every {@code WebClient} of that deployment:
+ * <ul>
+ *     <li>{@link State#CLOSED}: the calls go through, the outcome of the last {@code windowSize} of them is kept,
+ *     a failure is an I/O error, a timeout, a {@code 429} or a {@code 5xx} response, a slow call took longer than
+ *     {@code slowCallDuration} to its response headers;</li>
+ *     <li>{@link State#OPEN}: the failure or slow call rate reached its threshold, the calls fail fast with a
+ *     {@link CircuitBreakerOpenException} for {@code openDuration};</li>
+ *     <li>{@link State#HALF_OPEN}: the next call probes {@link RAGFlowDictionary.API#CHECK_SYSTEM_HEALTH}, it and the
+ *     calls arriving meanwhile wait for the probe, they go through and the breaker closes if the deployment is
+ *     healthy, otherwise they fail and the breaker opens again.</li>
+ * </ul>
+ * The health endpoint itself is never guarded.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+public class CircuitBreaker implements ExchangeFilterFunction {
+
+    private static final int FAILED = 1;
+    private static final int SLOW = 2;
+
+    private static final String HEALTH_ROUTE = RAGFlowDictionary.API.CHECK_SYSTEM_HEALTH.route();
+
+    private final String deployKey;
+    private final List<Object> settings;
+    private final Supplier<Mono<Boolean>> probe;
+
+    private final int minimumCalls;
+    private final int failureRateThreshold;
+    private final int slowCallRateThreshold;
+    private final long slowCallNanos;
+    private final long openNanos;
+
+    private final int[] outcomes;
+    private int next;
+    private int calls;
+    private int failures;
+    private int slows;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private Mono<Void> probing;
+
+    /**
+     * @param deployKey the deployment key
+     * @param breaker   the settings
+     * @param probe     checks the health of the deployment, must not go through this breaker
+     */
+    public CircuitBreaker(String deployKey, RAGFlowProperties.Breaker breaker, Supplier<Mono<Boolean>> probe) {
+        this.deployKey = deployKey;
+        this.settings = fingerprint(breaker);
+        this.probe = Objects.requireNonNull(probe, "probe");
+        this.minimumCalls = breaker.minimumCalls();
+        this.failureRateThreshold = breaker.failureRateThreshold();
+        this.slowCallRateThreshold = breaker.slowCallRateThreshold();
+        this.slowCallNanos = Duration.ofMillis(breaker.slowCallDuration()).toNanos();
+        this.openNanos = Duration.ofMillis(breaker.openDuration()).toNanos();
+        this.outcomes = new int[breaker.windowSize()];
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (request.url().getPath().endsWith(HEALTH_ROUTE)) {
+            return next.exchange(request);
+        }
+
+        return Mono.defer(this::permit).then(Mono.defer(() -> this.record(next.exchange(request))));
+    }
+
+    public synchronized State state() {
+        return this.state;
+    }
+
+    /**
+     * Whether the breaker was built from the given settings.
+     *
+     * @param breaker the settings
+     * @return {@code true} if nothing changed
+     */
+    public boolean matches(RAGFlowProperties.Breaker breaker) {
+        return this.settings.equals(fingerprint(breaker));
+    }
+
+    // ----------------------------------------------------------------
+
+    private synchronized Mono<Void> permit() {
+        if (this.state == State.CLOSED) {
+            return Mono.empty();
+        }
+        if (this.state == State.OPEN) {
+            long remaining = this.openedAt + this.openNanos - System.nanoTime();
+            if (remaining > 0) {
+                return Mono.error(new CircuitBreakerOpenException(this.deployKey, Duration.ofNanos(remaining)));
+            }
+            this.state = State.HALF_OPEN;
+            this.probing = Mono.defer(this.probe)
+                .onErrorReturn(false)
+                .defaultIfEmpty(false)
+                .flatMap(this::probed)
+                .cache();
+        }
+
+        return this.probing;
+    }
+
+    private synchronized Mono<Void> probed(boolean healthy) {
+        if (healthy) {
+            this.reset();
+            this.state = State.CLOSED;
+            return Mono.empty();
+        }
+        this.open();
+
+        return Mono.error(new CircuitBreakerOpenException(this.deployKey, Duration.ofNanos(this.openNanos)));
+    }
+
+    private Mono<ClientResponse> record(Mono<ClientResponse> exchange) {
+        long started = System.nanoTime();
+
+        return exchange
+            .doOnNext(response -> this.record(isFailure(response.rawStatusCode()), started))
+            .doOnError(throwable -> this.record(true, started));
+    }
+
+    /**
+     * The calls let through before the breaker opened are not recorded once it is open.
+     */
+    private synchronized void record(boolean failed, long started) {
+        if (this.state != State.CLOSED) {
+            return;
+        }
+
+        int outcome = (failed ? FAILED : 0) | (System.nanoTime() - started > this.slowCallNanos ? SLOW : 0);
+        if (this.calls == this.outcomes.length) {
+            int evicted = this.outcomes[this.next];
+            this.failures -= evicted & FAILED;
+            this.slows -= (evicted & SLOW) >> 1;
+        } else {
+            this.calls++;
+        }
+        this.outcomes[this.next] = outcome;
+        this.next = (this.next + 1) % this.outcomes.length;
+        this.failures += outcome & FAILED;
+        this.slows += (outcome & SLOW) >> 1;
+
+        if (this.calls >= this.minimumCalls
+            && (this.failures * 100 >= this.failureRateThreshold * this.calls
+            || this.slows * 100 >= this.slowCallRateThreshold * this.calls)) {
+            this.open();
+        }
+    }
+
+    private void open() {
+        this.state = State.OPEN;
+        this.openedAt = System.nanoTime();
+        this.probing = null;
+    }
+
+    private void reset() {
+        Arrays.fill(this.outcomes, 0);
+        this.next = 0;
+        this.calls = 0;
+        this.failures = 0;
+        this.slows = 0;
+    }
+
+    private static boolean isFailure(int status) {
+        return status == HttpStatus.TOO_MANY_REQUESTS.value() || status >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+    }
+
+    private static List<Object> fingerprint(RAGFlowProperties.Breaker breaker) {
+        return Arrays.asList(
+            breaker.windowSize(),
+            breaker.minimumCalls(),
+            breaker.failureRateThreshold(),
+            breaker.slowCallRateThreshold(),
+            breaker.slowCallDuration(),
+            breaker.openDuration()
+        );
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * The state of a breaker.
+     */
+    public enum State {
+
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+}
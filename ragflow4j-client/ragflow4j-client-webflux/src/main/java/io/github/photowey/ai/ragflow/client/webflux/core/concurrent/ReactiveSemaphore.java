@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.concurrent;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+/**
+ * {@code ReactiveSemaphore}.
+ *
+ * <p>
+ * A non-blocking counting semaphore, {@link #withPermit(Mono)} subscribes the source only once a permit is
+ * available and gives the permit back when the source terminates or is cancelled. Waiters are served in
+ * FIFO order, a waiter cancelled while queued never consumes a permit.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+public final class ReactiveSemaphore {
+
+    private final int permits;
+    private final Queue<Waiter> waiters = new ArrayDeque<>();
+
+    private int available;
+
+    public ReactiveSemaphore(int permits) {
+        if (permits <= 0) {
+            throw new IllegalArgumentException("permits must be positive, but was " + permits);
+        }
+
+        this.permits = permits;
+        this.available = permits;
+    }
+
+    /**
+     * Run the source while holding a permit.
+     *
+     * @param source the guarded source, subscribed lazily
+     * @param <T>    the type of value
+     * @return the guarded publisher
+     */
+    public <T> Mono<T> withPermit(Mono<T> source) {
+        return Mono.usingWhen(
+            this.acquire(),
+            permit -> source,
+            permit -> Mono.fromRunnable(permit::release),
+            (permit, error) -> Mono.fromRunnable(permit::release),
+            permit -> Mono.fromRunnable(permit::release)
+        );
+    }
+
+    /**
+     * Wait for a permit, the caller gives it back with {@link Permit#release()} once done with it.
+     *
+     * <p>
+     * A permit held for the lifetime of a single source is simpler taken with {@link #withPermit(Mono)}.
+     *
+     * @return the permit, once available
+     */
+    public Mono<Permit> acquire() {
+        return Mono.create(sink -> {
+            Waiter waiter = new Waiter(sink);
+            boolean granted;
+            synchronized (this) {
+                granted = this.available > 0;
+                if (granted) {
+                    this.available--;
+                } else {
+                    this.waiters.offer(waiter);
+                }
+            }
+
+            sink.onCancel(() -> this.cancel(waiter));
+            if (granted) {
+                waiter.grant(new Permit());
+            }
+        });
+    }
+
+    public int permits() {
+        return permits;
+    }
+
+    public synchronized int available() {
+        return available;
+    }
+
+    public synchronized int queued() {
+        return this.waiters.size();
+    }
+
+    // ----------------------------------------------------------------
+
+    private void cancel(Waiter waiter) {
+        if (waiter.state.compareAndSet(Waiter.WAITING, Waiter.CANCELLED)) {
+            synchronized (this) {
+                this.waiters.remove(waiter);
+            }
+
+            return;
+        }
+
+        // Cancelled after the grant but before the permit was delivered, the sink drops it.
+        waiter.releaseGranted();
+    }
+
+    private void release() {
+        for (;;) {
+            Waiter next;
+            synchronized (this) {
+                next = this.waiters.poll();
+                if (Objects.isNull(next)) {
+                    this.available++;
+                    return;
+                }
+            }
+
+            // The permit moves to the next waiter, unless it has just been cancelled.
+            if (next.grant(new Permit())) {
+                return;
+            }
+        }
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * A permit of the semaphore, releasing it more than once has no effect.
+     */
+    public final class Permit {
+
+        private final AtomicBoolean released = new AtomicBoolean(false);
+
+        private Permit() {
+        }
+
+        public void release() {
+            if (this.released.compareAndSet(false, true)) {
+                ReactiveSemaphore.this.release();
+            }
+        }
+    }
+
+    private static final class Waiter {
+
+        static final int WAITING = 0;
+        static final int GRANTED = 1;
+        static final int CANCELLED = 2;
+
+        private final MonoSink<Permit> sink;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+
+        private volatile Permit permit;
+
+        Waiter(MonoSink<Permit> sink) {
+            this.sink = sink;
+        }
+
+        boolean grant(Permit granted) {
+            this.permit = granted;
+            if (!this.state.compareAndSet(WAITING, GRANTED)) {
+                return false;
+            }
+
+            this.sink.success(granted);
+            return true;
+        }
+
+        void releaseGranted() {
+            Permit granted = this.permit;
+            if (this.state.get() == GRANTED && Objects.nonNull(granted)) {
+                granted.release();
+            }
+        }
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.concurrent;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code SingleFlight}.
+ *
+ * <p>
+ * Lets concurrent identical calls share one in-flight call: the first caller of a key starts it, the callers of
+ * the same key arriving before it completes subscribe to the same result. The key is forgotten as soon as the
+ * call completes, fails or is cancelled by all its subscribers, nothing is cached. At most {@code maxKeys} keys
+ * are tracked, a call beyond them runs on its own. The subscribers of a shared call receive the same result
+ * object, which they must not modify.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+public final class SingleFlight {
+
+    private final int maxKeys;
+    private final Map<Object, Mono<?>> inflight = new ConcurrentHashMap<>();
+    private final AtomicLong shared = new AtomicLong();
+
+    public SingleFlight(int maxKeys) {
+        this.maxKeys = Math.max(1, maxKeys);
+    }
+
+    /**
+     * Run the call, or join the in-flight call of the same key.
+     *
+     * @param key  the key of the call, compared with {@code equals}
+     * @param call starts the call
+     * @param <T>  the type of result
+     * @return the result, shared with the concurrent callers of the same key
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> execute(Object key, Supplier<Mono<T>> call) {
+        return Mono.defer(() -> {
+            Mono<T> flight = (Mono<T>) this.inflight.get(key);
+            if (Objects.nonNull(flight)) {
+                this.shared.incrementAndGet();
+                return flight;
+            }
+            if (this.inflight.size() >= this.maxKeys) {
+                return call.get();
+            }
+
+            Mono<T> started = this.start(key, call);
+            flight = (Mono<T>) this.inflight.putIfAbsent(key, started);
+            if (Objects.nonNull(flight)) {
+                this.shared.incrementAndGet();
+                return flight;
+            }
+
+            return started;
+        });
+    }
+
+    public int maxKeys() {
+        return maxKeys;
+    }
+
+    /**
+     * The number of calls in flight.
+     */
+    public int inflight() {
+        return this.inflight.size();
+    }
+
+    /**
+     * The number of calls that joined an in-flight one so far.
+     */
+    public long shared() {
+        return this.shared.get();
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * The key is removed before the result reaches the subscribers, so a caller arriving afterwards starts a new
+     * call rather than receiving a completed one.
+     */
+    private <T> Mono<T> start(Object key, Supplier<Mono<T>> call) {
+        AtomicReference<Mono<T>> self = new AtomicReference<>();
+        Mono<T> flight = Mono.defer(call)
+            .doOnTerminate(() -> this.inflight.remove(key, self.get()))
+            .doOnCancel(() -> this.inflight.remove(key, self.get()))
+            .share();
+        self.set(flight);
+
+        return flight;
+    }
+}
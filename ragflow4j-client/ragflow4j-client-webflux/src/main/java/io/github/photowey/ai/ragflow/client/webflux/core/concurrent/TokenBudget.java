@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.concurrent;
+
+/**
+ * {@code TokenBudget}.
+ *
+ * <p>
+ * Caps the extra calls, retries or hedges, to a share of the traffic: every call deposits {@code earned} of a
+ * token, every extra call withdraws a whole one, and at most {@code capacity} tokens are saved up, all of them
+ * available from the start.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+public final class TokenBudget {
+
+    private final double earned;
+    private final double capacity;
+
+    private double tokens;
+
+    /**
+     * @param percent  the percentage of a token earned by every call
+     * @param capacity the maximum number of tokens saved up, at least one
+     */
+    public TokenBudget(int percent, int capacity) {
+        this.earned = Math.max(0, percent) / 100D;
+        this.capacity = Math.max(1, capacity);
+        this.tokens = this.capacity;
+    }
+
+    public synchronized void deposit() {
+        this.tokens = Math.min(this.capacity, this.tokens + this.earned);
+    }
+
+    public synchronized boolean tryWithdraw() {
+        if (this.tokens < 1D) {
+            return false;
+        }
+        this.tokens -= 1D;
+
+        return true;
+    }
+
+    public synchronized double tokens() {
+        return this.tokens;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.concurrent;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.util.HashedWheelTimer;
+import io.netty.util.Timeout;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code WheelTimer}.
+ *
+ * <p>
+ * A process-wide hashed timer wheel for the many long, coarse delays of the client (status polling backoffs,
+ * deadlines), scheduling and cancelling a delay is {@code O(1)} whatever the number of pending ones and they
+ * all share a single daemon thread. Delays fire with a {@value #TICK_MILLIS}ms granularity, the wheel thread
+ * only completes the delay, the continuation must not block.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+public final class WheelTimer {
+
+    private static final long TICK_MILLIS = 10L;
+    private static final int TICKS_PER_WHEEL = 512;
+
+    private final HashedWheelTimer timer;
+
+    private WheelTimer() {
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "ragflow4j-wheel-timer");
+            thread.setDaemon(true);
+            return thread;
+        };
+        this.timer = new HashedWheelTimer(threadFactory, TICK_MILLIS, TimeUnit.MILLISECONDS, TICKS_PER_WHEEL);
+    }
+
+    public static WheelTimer shared() {
+        return Holder.INSTANCE;
+    }
+
+    /**
+     * Emit {@code 0} once the delay elapsed, cancelling the subscription cancels the timeout.
+     *
+     * @param delay the delay
+     * @return the delay signal
+     */
+    public Mono<Long> delay(Duration delay) {
+        return Mono.create(sink -> {
+            Timeout timeout = this.timer.newTimeout(
+                task -> sink.success(0L),
+                Math.max(0L, delay.toMillis()),
+                TimeUnit.MILLISECONDS
+            );
+            sink.onCancel(timeout::cancel);
+        });
+    }
+
+    public long pending() {
+        return this.timer.pendingTimeouts();
+    }
+
+    // ----------------------------------------------------------------
+
+    private static final class Holder {
+
+        private static final WheelTimer INSTANCE = new WheelTimer();
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.dedup;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+import io.github.photowey.ai.ragflow.client.webflux.core.upload.DocumentParts;
+import io.github.photowey.ai.ragflow.core.domain.upload.ByteArrayDocumentSource;
+import io.github.photowey.ai.ragflow.core.domain.upload.DocumentSource;
+import io.github.photowey.ai.ragflow.core.util.AssertionErrors;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code ContentDigests}.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+final class ContentDigests {
+
+    private static final String ALGORITHM = "SHA-256";
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private ContentDigests() {
+        AssertionErrors.throwz(ContentDigests.class);
+    }
+
+    static MessageDigest create() {
+        try {
+            return MessageDigest.getInstance(ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(ALGORITHM + " is not available", e);
+        }
+    }
+
+    /**
+     * Feed the readable bytes of the buffer, its read position is left untouched.
+     */
+    static void update(MessageDigest digest, DataBuffer buffer) {
+        digest.update(buffer.asByteBuffer());
+    }
+
+    static String hex(MessageDigest digest) {
+        byte[] bytes = digest.digest();
+        char[] chars = new char[bytes.length << 1];
+        for (int i = 0; i < bytes.length; i++) {
+            chars[i << 1] = HEX[(bytes[i] >> 4) & 0x0F];
+            chars[(i << 1) + 1] = HEX[bytes[i] & 0x0F];
+        }
+
+        return new String(chars);
+    }
+
+    /**
+     * Hash a whole source, releasing every buffer once hashed.
+     */
+    static Mono<String> digest(DocumentSource source) {
+        if (source instanceof ByteArrayDocumentSource) {
+            return Mono.fromSupplier(() -> {
+                MessageDigest digest = create();
+                digest.update(((ByteArrayDocumentSource) source).data());
+                return hex(digest);
+            });
+        }
+
+        return Mono.defer(() -> {
+            MessageDigest digest = create();
+            return DocumentParts.read(source)
+                .doOnNext(buffer -> {
+                    try {
+                        update(digest, buffer);
+                    } finally {
+                        DataBufferUtils.release(buffer);
+                    }
+                })
+                .then(Mono.fromSupplier(() -> hex(digest)));
+        });
+    }
+}
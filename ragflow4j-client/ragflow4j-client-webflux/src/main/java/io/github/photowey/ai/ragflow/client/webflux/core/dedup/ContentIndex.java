@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.dedup;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * {@code ContentIndex}.
+ *
+ * <p>
+ * The local {@code name -> (hash, documentId)} index of one dataset, kept in memory and persisted as an
+ * append-only journal: every change appends a record, a torn record left by a crash is ignored on load.
+ * The journal is compacted into a snapshot of the live entries when it grows well beyond them.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+public final class ContentIndex implements Closeable {
+
+    public static final String SUFFIX = ".ragflow-index";
+
+    private static final int MAGIC = 0x52464958;
+    private static final int VERSION = 1;
+    private static final byte PUT = 1;
+    private static final byte REMOVE = 2;
+    private static final int COMPACTION_SLACK = 1024;
+
+    private final Path file;
+    private final Map<String/* name */, ContentIndexEntry> entries = new HashMap<>();
+    private final Map<String/* documentId */, String/* name */> names = new HashMap<>();
+
+    private DataOutputStream journal;
+    private int records;
+
+    private ContentIndex(Path file) {
+        this.file = file;
+    }
+
+    public static ContentIndex open(Path file) throws IOException {
+        ContentIndex index = new ContentIndex(file);
+        boolean torn = index.load();
+        if (torn || index.records > 2 * index.entries.size() + COMPACTION_SLACK) {
+            index.compact();
+        }
+        index.journal = journal(file);
+
+        return index;
+    }
+
+    // ----------------------------------------------------------------
+
+    public synchronized Optional<ContentIndexEntry> get(String name) {
+        return Optional.ofNullable(this.entries.get(name));
+    }
+
+    public synchronized Optional<ContentIndexEntry> getByDocumentId(String documentId) {
+        return Optional.ofNullable(this.names.get(documentId)).map(this.entries::get);
+    }
+
+    public synchronized List<ContentIndexEntry> entries() {
+        return new ArrayList<>(this.entries.values());
+    }
+
+    public synchronized int size() {
+        return this.entries.size();
+    }
+
+    public synchronized void put(ContentIndexEntry entry) throws IOException {
+        this.apply(entry);
+        this.journal.writeByte(PUT);
+        write(this.journal, entry);
+        this.records++;
+    }
+
+    public synchronized void removeByDocumentId(String documentId) throws IOException {
+        if (Objects.isNull(this.names.get(documentId))) {
+            return;
+        }
+
+        this.entries.remove(this.names.remove(documentId));
+        this.journal.writeByte(REMOVE);
+        this.journal.writeUTF(documentId);
+        this.records++;
+    }
+
+    public synchronized void flush() throws IOException {
+        this.journal.flush();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        this.journal.close();
+    }
+
+    public Path file() {
+        return file;
+    }
+
+    // ----------------------------------------------------------------
+
+    private void apply(ContentIndexEntry entry) {
+        ContentIndexEntry previous = this.entries.put(entry.name(), entry);
+        if (Objects.nonNull(previous)) {
+            this.names.remove(previous.documentId());
+        }
+
+        String stale = this.names.put(entry.documentId(), entry.name());
+        if (Objects.nonNull(stale) && !stale.equals(entry.name())) {
+            this.entries.remove(stale);
+        }
+    }
+
+    /**
+     * @return {@code true} if the journal ends with a torn record
+     */
+    private boolean load() throws IOException {
+        if (!Files.exists(this.file)) {
+            return false;
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(this.file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                throw new IOException("Not a content index: " + this.file);
+            }
+
+            while (true) {
+                int op = in.read();
+                if (op < 0) {
+                    return false;
+                }
+                if (op == PUT) {
+                    this.apply(read(in));
+                } else if (op == REMOVE) {
+                    String name = this.names.remove(in.readUTF());
+                    if (Objects.nonNull(name)) {
+                        this.entries.remove(name);
+                    }
+                } else {
+                    return true;
+                }
+                this.records++;
+            }
+        } catch (EOFException e) {
+            return true;
+        }
+    }
+
+    private void compact() throws IOException {
+        Path temp = this.file.resolveSibling(this.file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+            header(out);
+            for (ContentIndexEntry entry : this.entries.values()) {
+                out.writeByte(PUT);
+                write(out, entry);
+            }
+        }
+
+        Files.move(temp, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        this.records = this.entries.size();
+    }
+
+    private static DataOutputStream journal(Path file) throws IOException {
+        boolean created = !Files.exists(file) || Files.size(file) == 0;
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(
+            file,
+            StandardOpenOption.CREATE,
+            StandardOpenOption.WRITE,
+            StandardOpenOption.APPEND
+        )));
+        if (created) {
+            header(out);
+            out.flush();
+        }
+
+        return out;
+    }
+
+    private static void header(DataOutputStream out) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+    }
+
+    private static void write(DataOutputStream out, ContentIndexEntry entry) throws IOException {
+        out.writeUTF(entry.name());
+        out.writeUTF(Objects.nonNull(entry.hash()) ? entry.hash() : "");
+        out.writeLong(entry.length());
+        out.writeLong(entry.lastModified());
+        out.writeUTF(entry.documentId());
+    }
+
+    private static ContentIndexEntry read(DataInputStream in) throws IOException {
+        String name = in.readUTF();
+        String hash = in.readUTF();
+        long length = in.readLong();
+        long lastModified = in.readLong();
+        String documentId = in.readUTF();
+
+        return new ContentIndexEntry(name, hash.isEmpty() ? null : hash, length, lastModified, documentId);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.dedup;
+
+import java.util.Objects;
+
+/**
+ * {@code ContentIndexEntry}.
+ *
+ * <p>
+ * What the local index knows about a document of the dataset: the local name it was uploaded from, the
+ * SHA-256 of its content, the length and last modification time of the local file it was read from and the
+ * id of the remote document. Entries seeded from {@code LIST_DOCUMENTS} carry no hash nor modification time.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+public final class ContentIndexEntry {
+
+    public static final long UNKNOWN = -1L;
+
+    private final String name;
+    private final String hash;
+    private final long length;
+    private final long lastModified;
+    private final String documentId;
+
+    public ContentIndexEntry(String name, String hash, long length, long lastModified, String documentId) {
+        this.name = Objects.requireNonNull(name, "name");
+        this.hash = hash;
+        this.length = length;
+        this.lastModified = lastModified;
+        this.documentId = Objects.requireNonNull(documentId, "documentId");
+    }
+
+    /**
+     * Whether a local file with these attributes is the one this entry was recorded from, without reading it.
+     */
+    public boolean matches(long targetLength, long targetLastModified) {
+        return Objects.nonNull(this.hash)
+            && this.lastModified != UNKNOWN
+            && this.lastModified == targetLastModified
+            && this.length == targetLength;
+    }
+
+    /**
+     * Whether the given content is the one of the remote document. Seeded entries have no hash, an equal
+     * length proves nothing, so they never match and the document is uploaded again.
+     */
+    public boolean sameContent(String targetHash) {
+        return Objects.nonNull(this.hash) && this.hash.equals(targetHash);
+    }
+
+    // ----------------------------------------------------------------
+
+    public String name() {
+        return name;
+    }
+
+    public String hash() {
+        return hash;
+    }
+
+    public long length() {
+        return length;
+    }
+
+    public long lastModified() {
+        return lastModified;
+    }
+
+    public String documentId() {
+        return documentId;
+    }
+}
@@ -0,0 +1,469 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.dedup;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import io.github.photowey.ai.ragflow.client.webflux.core.upload.UploadResults;
+import io.github.photowey.ai.ragflow.client.webflux.document.AsyncWebfluxRAGFlowDocumentClient;
+import io.github.photowey.ai.ragflow.core.constant.MessageConstants;
+import io.github.photowey.ai.ragflow.core.constant.RAGFlowConstants;
+import io.github.photowey.ai.ragflow.core.domain.context.document.BatchUploadDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.context.document.DeleteDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.context.document.ListDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.dto.document.DeleteDocumentDTO;
+import io.github.photowey.ai.ragflow.core.domain.dto.document.DocumentDTO;
+import io.github.photowey.ai.ragflow.core.domain.dto.document.UploadDocumentDTO;
+import io.github.photowey.ai.ragflow.core.domain.payload.document.DeleteDocumentPayload;
+import io.github.photowey.ai.ragflow.core.domain.payload.document.UploadDocumentPayload;
+import io.github.photowey.ai.ragflow.core.domain.upload.BatchUploadResult;
+import io.github.photowey.ai.ragflow.core.domain.upload.DedupUploadResult;
+import io.github.photowey.ai.ragflow.core.domain.upload.DocumentSource;
+import io.github.photowey.ai.ragflow.core.domain.upload.PathDocumentSource;
+import io.github.photowey.ai.ragflow.core.domain.upload.UploadFailure;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * {@code DedupDocumentUploader}.
+ *
+ * <p>
+ * An optional layer in front of {@link AsyncWebfluxRAGFlowDocumentClient#batchUploadDocuments} that keeps a
+ * local {@link ContentIndex} per dataset under {@code directory} and uploads only what the dataset does not
+ * hold yet:
+ * <ul>
+ *     <li>a document whose name is not indexed is uploaded, its hash is computed while it is sent;</li>
+ *     <li>a local file whose length and modification time match its entry is skipped without being read;</li>
+ *     <li>otherwise a repeatable source is hashed first, an identical content is skipped, a changed one is
+ *     uploaded and the remote document it replaces is deleted once the upload succeeded. An entry seeded from
+ *     the server has no hash to compare with, its document is uploaded again once.</li>
+ * </ul>
+ * The new version of a document is uploaded while the previous one is still in the dataset, the server names it
+ * {@code name(n).ext}. The uploaded documents are paired with their decisions by position, see
+ * {@link UploadResults}. When the results cannot be paired nothing is indexed nor replaced, the returned documents
+ * are deleted again, at best effort, and the documents are reported as failed.
+ * {@link #seed(ListDocumentContext)} aligns the index with the documents listed by the server and
+ * {@link #delete(DeleteDocumentContext)} keeps it aligned with deletions.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+public class DedupDocumentUploader implements Closeable {
+
+    private static final int DIGEST_CONCURRENCY = 4;
+
+    private final AsyncWebfluxRAGFlowDocumentClient client;
+    private final Path directory;
+    private final Map<String, ContentIndex> indexes = new ConcurrentHashMap<>();
+
+    public DedupDocumentUploader(AsyncWebfluxRAGFlowDocumentClient client, Path directory) {
+        this.client = Objects.requireNonNull(client, "client");
+        this.directory = Objects.requireNonNull(directory, "directory");
+    }
+
+    /**
+     * Align the index of the dataset with the documents listed by the server: unknown remote documents are
+     * indexed by name and size, entries of documents no longer on the server are dropped.
+     *
+     * @param context the listing of the dataset
+     * @return the number of indexed documents
+     */
+    public Mono<Integer> seed(ListDocumentContext context) {
+        return this.index(context.deployKey(), context.datasetId()).flatMap(index -> {
+            return this.client.streamDocuments(context)
+                .collectList()
+                .flatMap(documents -> io(() -> reconcile(index, documents)));
+        });
+    }
+
+    public Mono<DedupUploadResult> upload(BatchUploadDocumentContext context) {
+        List<UploadDocumentPayload.Document> documents = context.payload().documents();
+        if (Objects.isNull(documents) || documents.isEmpty()) {
+            return Mono.error(new RuntimeException(MessageConstants.UPLOAD_DOCUMENT_DOCUMENT_LIST_EMPTY));
+        }
+
+        return this.index(context.deployKey(), context.datasetId()).flatMap(index -> {
+            return Flux.range(0, documents.size())
+                .flatMapSequential(i -> decide(index, i, documents.get(i)), DIGEST_CONCURRENCY)
+                .collectList()
+                .flatMap(decisions -> this.apply(context, index, decisions));
+        });
+    }
+
+    public Mono<DeleteDocumentDTO> delete(DeleteDocumentContext context) {
+        List<String> documentIds = context.payload().getDocumentIds();
+
+        return this.index(context.deployKey(), context.datasetId()).flatMap(index -> {
+            return this.client.deleteDocuments(context)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(deleted -> io(() -> {
+                    for (String documentId : documentIds) {
+                        index.removeByDocumentId(documentId);
+                    }
+                    index.flush();
+                    return deleted;
+                }))
+                .flatMap(Mono::justOrEmpty);
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        for (ContentIndex index : this.indexes.values()) {
+            index.close();
+        }
+        this.indexes.clear();
+    }
+
+    // ----------------------------------------------------------------
+
+    private Mono<DedupUploadResult> apply(
+        BatchUploadDocumentContext context,
+        ContentIndex index,
+        List<Decision> decisions) {
+        List<Decision> uploads = decisions.stream().filter(it -> !it.skip).collect(Collectors.toList());
+        Mono<BatchUploadResult> uploaded = uploads.isEmpty()
+            ? Mono.just(BatchUploadResult.builder().build())
+            : this.client.batchUploadDocuments(toBatch(context, uploads));
+
+        return uploaded
+            .flatMap(result -> io(() -> record(index, decisions, uploads, result)))
+            .flatMap(outcome -> this.deleteUnpaired(context, outcome))
+            .flatMap(outcome -> this.deleteReplaced(context, outcome));
+    }
+
+    /**
+     * The documents of a result that cannot be paired are in the dataset but not indexed, they would be uploaded
+     * again by the next run.
+     */
+    private Mono<Outcome> deleteUnpaired(BatchUploadDocumentContext context, Outcome outcome) {
+        if (outcome.unpaired.isEmpty()) {
+            return Mono.just(outcome);
+        }
+
+        return this.client.deleteDocuments(toDelete(context, outcome.unpaired))
+            .then(Mono.just(outcome))
+            .onErrorReturn(outcome);
+    }
+
+    private Mono<DedupUploadResult> deleteReplaced(BatchUploadDocumentContext context, Outcome outcome) {
+        if (outcome.replaced.isEmpty()) {
+            return Mono.just(outcome.toResult());
+        }
+
+        List<String> documentIds = outcome.replaced.stream().map(it -> it.previous.documentId())
+            .collect(Collectors.toList());
+
+        return this.client.deleteDocuments(toDelete(context, documentIds))
+            .then(Mono.fromSupplier(outcome::toResult))
+            .onErrorResume(throwable -> Mono.fromSupplier(() -> outcome.replaceFailed(throwable)));
+    }
+
+    private Mono<ContentIndex> index(String deployKey, String datasetId) {
+        String key = determineKey(deployKey, datasetId);
+        ContentIndex index = this.indexes.get(key);
+        if (Objects.nonNull(index)) {
+            return Mono.just(index);
+        }
+
+        return io(() -> this.open(key));
+    }
+
+    private ContentIndex open(String key) throws IOException {
+        synchronized (this.indexes) {
+            ContentIndex index = this.indexes.get(key);
+            if (Objects.isNull(index)) {
+                Files.createDirectories(this.directory);
+                index = ContentIndex.open(this.directory.resolve(key + ContentIndex.SUFFIX));
+                this.indexes.put(key, index);
+            }
+
+            return index;
+        }
+    }
+
+    // ----------------------------------------------------------------
+
+    private static Mono<Decision> decide(ContentIndex index, int position, UploadDocumentPayload.Document document) {
+        return io(() -> new Decision(position, document, index.get(document.originalName()).orElse(null)))
+            .flatMap(decision -> {
+                ContentIndexEntry previous = decision.previous;
+                if (Objects.isNull(previous)) {
+                    return Mono.just(decision);
+                }
+                if (previous.matches(decision.length, decision.lastModified)) {
+                    return Mono.just(decision.skip(previous.hash()));
+                }
+                if (!decision.source.repeatable()) {
+                    return Mono.just(decision);
+                }
+
+                return ContentDigests.digest(decision.source).map(hash -> {
+                    return previous.sameContent(hash) ? decision.skip(hash) : decision.hashed(hash);
+                });
+            });
+    }
+
+    private static Outcome record(
+        ContentIndex index,
+        List<Decision> decisions,
+        List<Decision> uploads,
+        BatchUploadResult result) throws IOException {
+        Outcome outcome = new Outcome();
+        for (Decision decision : decisions) {
+            if (decision.skip) {
+                outcome.skipped.add(decision.document.originalName());
+                refresh(index, decision);
+            }
+        }
+
+        Set<Integer> failed = new HashSet<>();
+        for (UploadFailure failure : result.failures()) {
+            failed.add(failure.index());
+            Decision decision = uploads.get(failure.index());
+            outcome.failures.add(failure.toBuilder().index(decision.position).build());
+        }
+
+        List<Decision> succeeded = new ArrayList<>();
+        for (int i = 0; i < uploads.size(); i++) {
+            if (!failed.contains(i)) {
+                succeeded.add(uploads.get(i));
+            }
+        }
+
+        List<UploadDocumentPayload.Document> sent = succeeded.stream()
+            .map(decision -> decision.document)
+            .collect(Collectors.toList());
+        Optional<List<UploadDocumentDTO>> paired = UploadResults.pair(sent, result.documents());
+        if (!paired.isPresent()) {
+            for (Decision decision : succeeded) {
+                outcome.failures.add(UploadFailure.builder()
+                    .index(decision.position)
+                    .originalName(decision.document.originalName())
+                    .message(MessageConstants.UPLOAD_DOCUMENTS_MISMATCHED)
+                    .build());
+            }
+            result.documents().stream()
+                .filter(Objects::nonNull)
+                .map(UploadDocumentDTO::getId)
+                .filter(Objects::nonNull)
+                .forEach(outcome.unpaired::add);
+            index.flush();
+
+            return outcome;
+        }
+
+        for (int i = 0; i < succeeded.size(); i++) {
+            Decision decision = succeeded.get(i);
+            UploadDocumentDTO document = paired.get().get(i);
+            outcome.uploaded.add(document);
+            index.put(new ContentIndexEntry(
+                decision.document.originalName(),
+                Optional.ofNullable(decision.upload.digest()).orElse(decision.hash),
+                decision.length,
+                decision.lastModified,
+                document.getId()
+            ));
+            if (Objects.nonNull(decision.previous) && !decision.previous.documentId().equals(document.getId())) {
+                outcome.replaced.add(decision);
+            }
+        }
+        index.flush();
+
+        return outcome;
+    }
+
+    /**
+     * Record the hash and file attributes of a skipped document, the next run skips it without reading it.
+     */
+    private static void refresh(ContentIndex index, Decision decision) throws IOException {
+        ContentIndexEntry previous = decision.previous;
+        if (Objects.isNull(decision.hash) || previous.matches(decision.length, decision.lastModified)) {
+            return;
+        }
+
+        index.put(new ContentIndexEntry(
+            previous.name(),
+            decision.hash,
+            decision.length,
+            decision.lastModified,
+            previous.documentId()
+        ));
+    }
+
+    private static int reconcile(ContentIndex index, List<DocumentDTO> documents) throws IOException {
+        Set<String> remote = new HashSet<>();
+        for (DocumentDTO document : documents) {
+            remote.add(document.getId());
+            if (index.getByDocumentId(document.getId()).isPresent()) {
+                continue;
+            }
+
+            long length = Objects.nonNull(document.getSize()) ? document.getSize() : ContentIndexEntry.UNKNOWN;
+            index.put(new ContentIndexEntry(
+                document.getName(),
+                null,
+                length,
+                ContentIndexEntry.UNKNOWN,
+                document.getId()
+            ));
+        }
+
+        for (ContentIndexEntry entry : index.entries()) {
+            if (!remote.contains(entry.documentId())) {
+                index.removeByDocumentId(entry.documentId());
+            }
+        }
+        index.flush();
+
+        return index.size();
+    }
+
+    private static BatchUploadDocumentContext toBatch(BatchUploadDocumentContext context, List<Decision> uploads) {
+        List<UploadDocumentPayload.Document> documents = uploads.stream()
+            .map(it -> UploadDocumentPayload.Document.builder()
+                .name(it.document.name())
+                .originalName(it.document.originalName())
+                .source(it.upload)
+                .build())
+            .collect(Collectors.toList());
+
+        return BatchUploadDocumentContext.builder()
+            .deployKey(context.deployKey())
+            .datasetId(context.datasetId())
+            .payload(UploadDocumentPayload.builder().documents(documents).build())
+            .maxBatchBytes(context.maxBatchBytes())
+            .maxBatchFiles(context.maxBatchFiles())
+            .parallelism(context.parallelism())
+            .maxRetries(context.maxRetries())
+            .build();
+    }
+
+    private static DeleteDocumentContext toDelete(BatchUploadDocumentContext context, List<String> documentIds) {
+        return DeleteDocumentContext.builder()
+            .deployKey(context.deployKey())
+            .datasetId(context.datasetId())
+            .payload(DeleteDocumentPayload.builder().documentIds(documentIds).build())
+            .build();
+    }
+
+    private static String determineKey(String deployKey, String datasetId) {
+        String deployment = Objects.isNull(deployKey) || deployKey.trim().isEmpty()
+            ? RAGFlowConstants.Variable.GLOBAL_DEPLOY_KEY
+            : deployKey;
+
+        return (deployment + "-" + datasetId).replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    private static <T> Mono<T> io(Callable<T> task) {
+        return Mono.fromCallable(task).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    // ----------------------------------------------------------------
+
+    private static final class Decision {
+
+        private final int position;
+        private final UploadDocumentPayload.Document document;
+        private final ContentIndexEntry previous;
+        private final DocumentSource source;
+        private final long length;
+        private final long lastModified;
+        private final HashingDocumentSource upload;
+
+        private String hash;
+        private boolean skip;
+
+        Decision(int position, UploadDocumentPayload.Document document, ContentIndexEntry previous)
+            throws IOException {
+            this.position = position;
+            this.document = document;
+            this.previous = previous;
+            this.source = document.determineSource();
+            this.length = this.source.contentLength();
+            this.lastModified = this.source instanceof PathDocumentSource
+                ? Files.getLastModifiedTime(((PathDocumentSource) this.source).path()).toMillis()
+                : ContentIndexEntry.UNKNOWN;
+            this.upload = new HashingDocumentSource(this.source);
+        }
+
+        Decision skip(String digest) {
+            this.skip = true;
+            this.hash = digest;
+            return this;
+        }
+
+        Decision hashed(String digest) {
+            this.hash = digest;
+            return this;
+        }
+    }
+
+    private static final class Outcome {
+
+        private final List<UploadDocumentDTO> uploaded = new ArrayList<>();
+        private final List<String> skipped = new ArrayList<>();
+        private final List<Decision> replaced = new ArrayList<>();
+        private final List<String> unpaired = new ArrayList<>();
+        private final List<UploadFailure> failures = new ArrayList<>();
+
+        DedupUploadResult toResult() {
+            List<String> documentIds = this.replaced.stream().map(it -> it.previous.documentId())
+                .collect(Collectors.toList());
+
+            return DedupUploadResult.builder()
+                .uploaded(this.uploaded)
+                .skipped(this.skipped)
+                .replaced(documentIds)
+                .failures(this.failures)
+                .build();
+        }
+
+        /**
+         * The new versions are uploaded and indexed, only the outdated remote documents are left behind.
+         */
+        DedupUploadResult replaceFailed(Throwable throwable) {
+            for (Decision decision : this.replaced) {
+                this.failures.add(UploadFailure.builder()
+                    .index(decision.position)
+                    .originalName(decision.document.originalName())
+                    .message("Failed to delete the replaced document(" + decision.previous.documentId() + "): "
+                        + throwable.getMessage())
+                    .build());
+            }
+            this.replaced.clear();
+
+            return this.toResult();
+        }
+    }
+}
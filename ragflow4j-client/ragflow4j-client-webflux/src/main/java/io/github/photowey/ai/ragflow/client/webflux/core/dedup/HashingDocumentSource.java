@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.dedup;
+
+import java.security.MessageDigest;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.core.io.buffer.DataBuffer;
+
+import io.github.photowey.ai.ragflow.client.webflux.core.upload.DocumentParts;
+import io.github.photowey.ai.ragflow.client.webflux.core.upload.ReactiveDocumentSource;
+import io.github.photowey.ai.ragflow.core.domain.upload.DocumentSource;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * {@code HashingDocumentSource}.
+ *
+ * <p>
+ * Hashes the content of the delegate while it is being written to the multipart request, so no extra pass
+ * over the document is needed. Every read starts a new digest, the one of the last complete read wins.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+final class HashingDocumentSource implements ReactiveDocumentSource {
+
+    private final DocumentSource delegate;
+    private final AtomicReference<String> digest = new AtomicReference<>();
+
+    HashingDocumentSource(DocumentSource delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public Flux<DataBuffer> read() {
+        return Flux.defer(() -> {
+            MessageDigest md = ContentDigests.create();
+            return DocumentParts.read(this.delegate)
+                .doOnNext(buffer -> ContentDigests.update(md, buffer))
+                .doOnComplete(() -> this.digest.set(ContentDigests.hex(md)));
+        });
+    }
+
+    @Override
+    public long contentLength() {
+        return this.delegate.contentLength();
+    }
+
+    @Override
+    public boolean repeatable() {
+        return this.delegate.repeatable();
+    }
+
+    /**
+     * @return the hash of the content, {@code null} until a read has completed
+     */
+    String digest() {
+        return this.digest.get();
+    }
+}
@@ -0,0 +1,233 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.download;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Properties;
+
+/**
+ * The progress of a ranged download, persisted next to the target file.
+ *
+ * <p>
+ * A checkpoint only applies to the same remote file: the total length and the segment size must match, and so
+ * must a validator, the {@code ETag} or the {@code Last-Modified} date. Without any validator the remote file
+ * cannot be told apart from a replaced one of the same length, the download starts over.
+ *
+ * <p>
+ * The checkpoint records the segments whose bytes already reached the disk, the caller forces the target
+ * before storing it.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+public final class DownloadCheckpoint {
+
+    public static final String SUFFIX = ".ragflow-part";
+
+    private static final String KEY_LENGTH = "length";
+    private static final String KEY_SEGMENT_SIZE = "segmentSize";
+    private static final String KEY_ETAG = "etag";
+    private static final String KEY_LAST_MODIFIED = "lastModified";
+    private static final String KEY_COMPLETED = "completed";
+
+    private final long length;
+    private final long segmentSize;
+    private final String etag;
+    private final long lastModified;
+    private final int segments;
+    private final BitSet completed;
+
+    private DownloadCheckpoint(long length, long segmentSize, String etag, long lastModified, BitSet completed) {
+        this.length = length;
+        this.segmentSize = segmentSize;
+        this.etag = etag;
+        this.lastModified = lastModified;
+        this.segments = (int) ((length + segmentSize - 1) / segmentSize);
+        this.completed = completed;
+    }
+
+    /**
+     * A new checkpoint of the given remote file, no segment completed yet.
+     *
+     * @param length       the total length
+     * @param segmentSize  the segment size
+     * @param etag         the {@code ETag}, {@code null} if the server sends none
+     * @param lastModified the {@code Last-Modified} date in epoch millis, {@code -1} if the server sends none
+     * @return the checkpoint
+     */
+    public static DownloadCheckpoint create(long length, long segmentSize, String etag, long lastModified) {
+        return new DownloadCheckpoint(length, segmentSize, etag, lastModified, new BitSet());
+    }
+
+    /**
+     * Load the checkpoint of the given target.
+     *
+     * @param target the target file
+     * @return the checkpoint, or {@code null} if there is none or it is unreadable
+     */
+    public static DownloadCheckpoint load(Path target) {
+        Path path = pathOf(target);
+        if (!Files.isRegularFile(path)) {
+            return null;
+        }
+
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(path)) {
+            properties.load(in);
+
+            BitSet completed = new BitSet();
+            String indexes = properties.getProperty(KEY_COMPLETED, "").trim();
+            if (!indexes.isEmpty()) {
+                for (String index : indexes.split(",")) {
+                    completed.set(Integer.parseInt(index.trim()));
+                }
+            }
+
+            return new DownloadCheckpoint(
+                Long.parseLong(properties.getProperty(KEY_LENGTH)),
+                Long.parseLong(properties.getProperty(KEY_SEGMENT_SIZE)),
+                properties.getProperty(KEY_ETAG),
+                Long.parseLong(properties.getProperty(KEY_LAST_MODIFIED, "-1")),
+                completed
+            );
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    public static void delete(Path target) throws IOException {
+        Files.deleteIfExists(pathOf(target));
+    }
+
+    public static Path pathOf(Path target) {
+        return target.resolveSibling(target.getFileName() + SUFFIX);
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * Whether the checkpoint still describes the remote file: same length and segment size, and at least one
+     * validator present on both sides, every validator present on either side being equal.
+     *
+     * @param targetLength       the total length of the remote file
+     * @param targetSegmentSize  the segment size of the download
+     * @param targetEtag         the {@code ETag} of the remote file, {@code null} if none
+     * @param targetLastModified the {@code Last-Modified} date of the remote file, {@code -1} if none
+     * @return {@code true} if the download can resume
+     */
+    public boolean matches(long targetLength, long targetSegmentSize, String targetEtag, long targetLastModified) {
+        if (this.length != targetLength || this.segmentSize != targetSegmentSize) {
+            return false;
+        }
+
+        boolean etagPresent = Objects.nonNull(this.etag) || Objects.nonNull(targetEtag);
+        boolean lastModifiedPresent = this.lastModified >= 0 || targetLastModified >= 0;
+        if (!etagPresent && !lastModifiedPresent) {
+            return false;
+        }
+
+        return (!etagPresent || Objects.equals(this.etag, targetEtag))
+            && (!lastModifiedPresent || this.lastModified == targetLastModified);
+    }
+
+    public synchronized void complete(int index) {
+        this.completed.set(index);
+    }
+
+    public synchronized boolean isCompleted(int index) {
+        return this.completed.get(index);
+    }
+
+    public synchronized int completedCount() {
+        return this.completed.cardinality();
+    }
+
+    public synchronized List<Integer> pending() {
+        List<Integer> pending = new ArrayList<>();
+        for (int i = this.completed.nextClearBit(0); i < this.segments; i = this.completed.nextClearBit(i + 1)) {
+            pending.add(i);
+        }
+
+        return pending;
+    }
+
+    /**
+     * Persist the checkpoint atomically and durably, a crash never leaves a half-written checkpoint behind.
+     *
+     * <p>
+     * Only the checkpoint itself is forced to disk, the segments it records as completed must have been forced
+     * by the caller.
+     */
+    public synchronized void store(Path target) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty(KEY_LENGTH, String.valueOf(this.length));
+        properties.setProperty(KEY_SEGMENT_SIZE, String.valueOf(this.segmentSize));
+        if (Objects.nonNull(this.etag)) {
+            properties.setProperty(KEY_ETAG, this.etag);
+        }
+        properties.setProperty(KEY_LAST_MODIFIED, String.valueOf(this.lastModified));
+        properties.setProperty(KEY_COMPLETED, this.completed.stream()
+            .mapToObj(String::valueOf)
+            .reduce((left, right) -> left + "," + right)
+            .orElse(""));
+
+        Path path = pathOf(target);
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tmp,
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            OutputStream out = Channels.newOutputStream(channel);
+            properties.store(out, null);
+            channel.force(true);
+        }
+
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // ----------------------------------------------------------------
+
+    public long length() {
+        return length;
+    }
+
+    public long segmentSize() {
+        return segmentSize;
+    }
+
+    public String etag() {
+        return etag;
+    }
+
+    public long lastModified() {
+        return lastModified;
+    }
+
+    public int segments() {
+        return segments;
+    }
+}
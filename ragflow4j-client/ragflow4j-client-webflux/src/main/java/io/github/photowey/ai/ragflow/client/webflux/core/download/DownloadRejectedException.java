@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.download;
+
+import io.github.photowey.ai.ragflow.core.domain.download.DownloadMetadata;
+import io.github.photowey.ai.ragflow.core.exception.RAGFlowException;
+
+/**
+ * Signals that the RAGFlow server refused a download, either with a non-2xx status
+ * or with a JSON business error in place of the file.
+ *
+ * <p>
+ * It is a control-flow signal inside the download pipeline and is turned back into an
+ * {@link ErrorDownloadHandle} or a failed result, so it carries no stack trace.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+public class DownloadRejectedException extends RAGFlowException {
+
+    private static final long serialVersionUID = 3178451282469526925L;
+
+    private final DownloadMetadata metadata;
+
+    public DownloadRejectedException(DownloadMetadata metadata) {
+        super(null, "%s", false, false, new Object[] {metadata.message()});
+        this.metadata = metadata;
+    }
+
+    public DownloadMetadata metadata() {
+        return metadata;
+    }
+}
@@ -18,6 +18,9 @@ package io.github.photowey.ai.ragflow.client.webflux.core.download;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
 
 import io.github.photowey.ai.ragflow.core.domain.download.DownloadHandle;
 import io.github.photowey.ai.ragflow.core.domain.download.DownloadMetadata;
@@ -52,6 +55,16 @@ public class ErrorDownloadHandle implements DownloadHandle {
         throw new IOException("Download failed: " + metadata.message());
     }
 
+    @Override
+    public long transferTo(Path target, OpenOption... options) throws IOException {
+        throw new IOException("Download failed: " + metadata.message());
+    }
+
+    @Override
+    public long transferTo(WritableByteChannel channel) throws IOException {
+        throw new IOException("Download failed: " + metadata.message());
+    }
+
     @Override
     public void close() {
         // nothing
@@ -0,0 +1,427 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.download;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+import io.github.photowey.ai.ragflow.core.domain.context.document.RangedDownloadDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.download.DownloadMetadata;
+import io.github.photowey.ai.ragflow.core.domain.download.DownloadResult;
+import io.github.photowey.ai.ragflow.core.enums.RAGFlowDictionary;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+/**
+ * {@code RangedDocumentDownloader}.
+ *
+ * <p>
+ * Downloads a document into a preallocated file with parallel HTTP range requests:
+ * <ol>
+ *     <li>A probe requests the first missing segment. A {@code 206} with a usable {@code Content-Range}
+ *     reveals the total length, any other {@code 2xx} means ranges are not honoured and its body is
+ *     written as a single stream instead.</li>
+ *     <li>The remaining segments are fetched concurrently and written at their offset through an
+ *     {@link AsynchronousFileChannel}, a segment is retried from the last byte written on failure.</li>
+ *     <li>Every completed segment is recorded in a {@link DownloadCheckpoint}, a later run with the same
+ *     target resumes from it and the checkpoint is removed once the file is complete.</li>
+ * </ol>
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+public class RangedDocumentDownloader {
+
+    private static final Pattern CONTENT_RANGE = Pattern.compile("^bytes (\\d+)-(\\d+)/(\\d+)$");
+    private static final Duration MIN_BACKOFF = Duration.ofMillis(200);
+
+    /**
+     * Sends the download request with the given {@code Range} header value, {@code null} for the whole body.
+     */
+    private final Function<String, Mono<ResponseEntity<Flux<DataBuffer>>>> exchange;
+    private final Path target;
+    private final String filename;
+    private final long segmentSize;
+    private final int parallelism;
+    private final int maxRetries;
+
+    public RangedDocumentDownloader(
+        RangedDownloadDocumentContext context,
+        Function<String, Mono<ResponseEntity<Flux<DataBuffer>>>> exchange) {
+        this.exchange = exchange;
+        this.target = context.target();
+        this.filename = context.payload().determineDownloadFilename();
+        this.segmentSize = context.determineSegmentSize();
+        this.parallelism = context.determineParallelism();
+        this.maxRetries = context.determineMaxRetries();
+    }
+
+    public Mono<DownloadResult> download() {
+        return Mono.fromCallable(() -> Optional.ofNullable(DownloadCheckpoint.load(this.target)))
+            .subscribeOn(Schedulers.boundedElastic())
+            .flatMap(this::probe)
+            .onErrorResume(DownloadRejectedException.class, e -> Mono.just(this.toFailedResult(e.metadata())));
+    }
+
+    // ----------------------------------------------------------------
+
+    private Mono<DownloadResult> probe(Optional<DownloadCheckpoint> checkpoint) {
+        // Probe with the first missing segment, a resumed download never fetches a completed segment twice.
+        long start = checkpoint
+            .map(DownloadCheckpoint::pending)
+            .filter(pending -> !pending.isEmpty())
+            .map(pending -> pending.get(0) * this.segmentSize)
+            .orElse(0L);
+
+        return this.exchange.apply(range(start, start + this.segmentSize - 1)).flatMap(entity -> {
+            HttpStatus status = entity.getStatusCode();
+            if (status == HttpStatus.PARTIAL_CONTENT) {
+                ContentRange range = ContentRange.parse(entity.getHeaders());
+                if (Objects.nonNull(range) && range.start() % this.segmentSize == 0) {
+                    return this.segmented(checkpoint.orElse(null), entity, range);
+                }
+            }
+            if (status.is2xxSuccessful() && status != HttpStatus.PARTIAL_CONTENT) {
+                // Ranges are not honoured, the body already is the whole document.
+                return this.singleStream(entity);
+            }
+
+            // 416 (typically an empty document) or an unusable 206, fall back to a plain request.
+            return discard(entity)
+                .then(this.exchange.apply(null))
+                .flatMap(this::singleStream);
+        });
+    }
+
+    private Mono<DownloadResult> singleStream(ResponseEntity<Flux<DataBuffer>> entity) {
+        AtomicLong written = new AtomicLong();
+
+        return Mono.usingWhen(
+                this.open(StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING),
+                channel -> write(channel, body(entity), 0, written),
+                RangedDocumentDownloader::close
+            )
+            .then(this.complete(contentType(entity), false, 1, 0));
+    }
+
+    private Mono<DownloadResult> segmented(
+        DownloadCheckpoint previous,
+        ResponseEntity<Flux<DataBuffer>> probe,
+        ContentRange range) {
+        String etag = probe.getHeaders().getETag();
+        long lastModified = probe.getHeaders().getLastModified();
+        int probeIndex = (int) (range.start() / this.segmentSize);
+
+        return Mono.fromCallable(() -> this.prepare(previous, range.total(), etag, lastModified))
+            .subscribeOn(Schedulers.boundedElastic())
+            .flatMap(state -> {
+                int resumed = state.completedCount();
+                List<Integer> pending = state.pending();
+
+                return Mono.usingWhen(
+                        this.open(StandardOpenOption.WRITE),
+                        channel -> {
+                            Mono<Void> first = state.isCompleted(probeIndex)
+                                ? discard(probe)
+                                : this.segment(channel, state, probeIndex, probe);
+                            Mono<Void> rest = Flux.fromIterable(pending)
+                                .filter(index -> index != probeIndex)
+                                .flatMap(index -> this.segment(channel, state, index, null),
+                                    Math.max(1, this.parallelism - 1))
+                                .then();
+
+                            return Mono.when(first, rest);
+                        },
+                        RangedDocumentDownloader::close
+                    )
+                    .then(this.complete(contentType(probe), true, state.segments(), resumed));
+            });
+    }
+
+    /**
+     * Reuse the previous checkpoint when it still describes the remote file and the local file is intact,
+     * otherwise preallocate the target and start over.
+     */
+    private DownloadCheckpoint prepare(
+        DownloadCheckpoint previous,
+        long length,
+        String etag,
+        long lastModified) throws IOException {
+        if (Objects.nonNull(previous)
+            && previous.matches(length, this.segmentSize, etag, lastModified)
+            && Files.isRegularFile(this.target)
+            && Files.size(this.target) == length) {
+            return previous;
+        }
+
+        try (RandomAccessFile file = new RandomAccessFile(this.target.toFile(), "rw")) {
+            file.setLength(length);
+        }
+
+        DownloadCheckpoint checkpoint = DownloadCheckpoint.create(length, this.segmentSize, etag, lastModified);
+        checkpoint.store(this.target);
+
+        return checkpoint;
+    }
+
+    private Mono<Void> segment(
+        AsynchronousFileChannel channel,
+        DownloadCheckpoint state,
+        int index,
+        ResponseEntity<Flux<DataBuffer>> initial) {
+        long start = index * this.segmentSize;
+        Segment segment = new Segment(index, start, Math.min(start + this.segmentSize, state.length()) - 1);
+        AtomicReference<ResponseEntity<Flux<DataBuffer>>> probe = new AtomicReference<>(initial);
+
+        return Mono.defer(() -> this.attempt(channel, segment, probe.getAndSet(null)))
+            .retryWhen(Retry.backoff(this.maxRetries, MIN_BACKOFF)
+                .filter(RangedDocumentDownloader::isRetryable)
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+            .then(Mono.fromCallable(() -> {
+                // The segment must be on disk before the checkpoint says so.
+                channel.force(false);
+                state.complete(index);
+                state.store(this.target);
+                return index;
+            }).subscribeOn(Schedulers.boundedElastic()))
+            .then();
+    }
+
+    /**
+     * Fetch and write the rest of a segment, starting right after the bytes written by the previous attempts.
+     */
+    private Mono<Void> attempt(
+        AsynchronousFileChannel channel,
+        Segment segment,
+        ResponseEntity<Flux<DataBuffer>> probe) {
+        long from = segment.position();
+        Mono<ResponseEntity<Flux<DataBuffer>>> response = Objects.nonNull(probe)
+            ? Mono.just(probe)
+            : this.exchange.apply(range(from, segment.end())).flatMap(it -> checkPartial(it, from));
+
+        return response
+            .flatMap(it -> {
+                Flux<DataBuffer> body = DataBufferUtils.takeUntilByteCount(body(it), segment.end() - from + 1);
+                return write(channel, body, from, segment.written());
+            })
+            .then(Mono.defer(() -> {
+                if (segment.position() > segment.end()) {
+                    return Mono.empty();
+                }
+
+                return Mono.error(new IOException(
+                    "Segment " + segment.index() + " ended early at byte " + segment.position()
+                ));
+            }));
+    }
+
+    private Mono<DownloadResult> complete(
+        String contentType,
+        boolean ranged,
+        int segments,
+        int resumed) {
+        return Mono.fromCallable(() -> {
+            DownloadCheckpoint.delete(this.target);
+
+            DownloadMetadata metadata = DownloadMetadata.builder()
+                .code(RAGFlowDictionary.ErrorCode.OK.code())
+                .message(RAGFlowDictionary.ErrorCode.OK.description())
+                .filename(this.filename)
+                .contentType(contentType)
+                .build();
+
+            return DownloadResult.builder()
+                .metadata(metadata)
+                .target(this.target)
+                .bytes(Files.size(this.target))
+                .ranged(ranged)
+                .segments(segments)
+                .resumedSegments(resumed)
+                .build();
+        }).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private DownloadResult toFailedResult(DownloadMetadata metadata) {
+        return DownloadResult.builder()
+            .metadata(metadata)
+            .target(this.target)
+            .build();
+    }
+
+    private Mono<AsynchronousFileChannel> open(OpenOption... options) {
+        return Mono.fromCallable(() -> AsynchronousFileChannel.open(this.target, options))
+            .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    // ----------------------------------------------------------------
+
+    private static Mono<Void> write(
+        AsynchronousFileChannel channel,
+        Flux<DataBuffer> body,
+        long position,
+        AtomicLong written) {
+        return DataBufferUtils.write(body, channel, position)
+            .doOnNext(buffer -> {
+                written.addAndGet(buffer.readableByteCount());
+                DataBufferUtils.release(buffer);
+            })
+            .then();
+    }
+
+    private static Mono<ResponseEntity<Flux<DataBuffer>>> checkPartial(
+        ResponseEntity<Flux<DataBuffer>> entity,
+        long from) {
+        ContentRange range = ContentRange.parse(entity.getHeaders());
+        if (entity.getStatusCode() == HttpStatus.PARTIAL_CONTENT && Objects.nonNull(range) && range.start() == from) {
+            return Mono.just(entity);
+        }
+
+        return discard(entity).then(Mono.error(new IOException(
+            "Expected a partial response from byte " + from + ", but got " + entity.getStatusCode()
+        )));
+    }
+
+    private static boolean isRetryable(Throwable throwable) {
+        if (throwable instanceof DownloadRejectedException) {
+            Integer code = ((DownloadRejectedException) throwable).metadata().code();
+            return Objects.nonNull(code) && code >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+        }
+
+        return true;
+    }
+
+    private static Mono<Void> discard(ResponseEntity<Flux<DataBuffer>> entity) {
+        // Cancelling drops the connection instead of draining a possibly large body.
+        return body(entity).take(0).then();
+    }
+
+    private static Mono<Void> close(AsynchronousFileChannel channel) {
+        return Mono.fromRunnable(() -> {
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+                // ignore
+            }
+        });
+    }
+
+    private static Flux<DataBuffer> body(ResponseEntity<Flux<DataBuffer>> entity) {
+        return Optional.ofNullable(entity.getBody()).orElseGet(Flux::empty);
+    }
+
+    private static String contentType(ResponseEntity<?> entity) {
+        return Optional.ofNullable(entity.getHeaders().getContentType())
+            .orElse(MediaType.APPLICATION_OCTET_STREAM)
+            .toString();
+    }
+
+    private static String range(long from, long to) {
+        return "bytes=" + from + "-" + to;
+    }
+
+    // ----------------------------------------------------------------
+
+    private static final class Segment {
+
+        private final int index;
+        private final long start;
+        private final long end;
+        private final AtomicLong written = new AtomicLong();
+
+        Segment(int index, long start, long end) {
+            this.index = index;
+            this.start = start;
+            this.end = end;
+        }
+
+        int index() {
+            return index;
+        }
+
+        long end() {
+            return end;
+        }
+
+        AtomicLong written() {
+            return written;
+        }
+
+        /**
+         * The next byte to fetch, every retry resumes from here.
+         */
+        long position() {
+            return this.start + this.written.get();
+        }
+    }
+
+    private static final class ContentRange {
+
+        private final long start;
+        private final long total;
+
+        ContentRange(long start, long total) {
+            this.start = start;
+            this.total = total;
+        }
+
+        static ContentRange parse(HttpHeaders headers) {
+            String value = headers.getFirst(HttpHeaders.CONTENT_RANGE);
+            if (Objects.isNull(value)) {
+                return null;
+            }
+
+            Matcher matcher = CONTENT_RANGE.matcher(value.trim());
+            if (!matcher.matches()) {
+                return null;
+            }
+
+            return new ContentRange(Long.parseLong(matcher.group(1)), Long.parseLong(matcher.group(3)));
+        }
+
+        long start() {
+            return start;
+        }
+
+        long total() {
+            return total;
+        }
+    }
+}
@@ -15,23 +15,11 @@
  */
 package io.github.photowey.ai.ragflow.client.webflux.core.download;
 
-import java.io.Closeable;
-import java.io.FilterInputStream;
-import java.io.IOException;
 import java.io.InputStream;
-import java.io.PipedInputStream;
-import java.io.PipedOutputStream;
-import java.io.UncheckedIOException;
-import java.nio.ByteBuffer;
-import java.util.concurrent.CountDownLatch;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicReference;
 
 import org.springframework.core.io.buffer.DataBuffer;
-import org.springframework.core.io.buffer.DataBufferUtils;
 
+import io.github.photowey.ai.ragflow.client.webflux.core.io.ReactiveInputStream;
 import io.github.photowey.ai.ragflow.core.util.AssertionErrors;
 
 import reactor.core.publisher.Flux;
@@ -39,6 +27,10 @@ import reactor.core.publisher.Flux;
 /**
  * {@code ReactiveStreamBridge}.
  *
+ * <p>
+ * Bridges a {@code Flux<DataBuffer>} to a blocking {@link InputStream}. The buffers are handed over
+ * through a bounded lock-free ring with {@code request(n)} demand, see {@link ReactiveInputStream}.
+ *
  * @author photowey
  * @version 2025.0.22.0.1
  * @since 2025/12/06
@@ -49,105 +41,25 @@ public final class ReactiveStreamBridge {
         AssertionErrors.throwz(ReactiveStreamBridge.class);
     }
 
-    private static final int DEFAULT_PIPE_SIZE = 8192;
-    private static final long DEFAULT_CLOSE_TIMEOUT_SECONDS = 10;
-
     public static InputStream toInputStream(Flux<DataBuffer> flux) {
-        return toInputStream(flux, DEFAULT_PIPE_SIZE, DEFAULT_CLOSE_TIMEOUT_SECONDS);
+        return toInputStream(flux, ReactiveInputStream.DEFAULT_PREFETCH);
     }
 
-    public static InputStream toInputStream(Flux<DataBuffer> flux, int pipeSize, long closeTimeoutSeconds) {
-        PipedInputStream pipedIn = new PipedInputStream(pipeSize);
-        PipedOutputStream pipedOut = createPipedOutputStream(pipedIn);
-
-        @SuppressWarnings("all")
-        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
-            Thread t = new Thread(runnable, "reactive-to-inputstream-bridge");
-            t.setDaemon(true);
-            return t;
-        });
-
-        AtomicReference<Throwable> errorRef = new AtomicReference<>();
-        CountDownLatch latch = new CountDownLatch(1);
-
-        executor.execute(() -> {
-            flux.doOnNext(DataBufferUtils::release)
-                .subscribe(
-                    buffer -> {
-                        try {
-                            ByteBuffer bb = buffer.asByteBuffer();
-                            byte[] bytes = new byte[bb.remaining()];
-                            bb.get(bytes);
-                            pipedOut.write(bytes);
-                        } catch (IOException e) {
-                            errorRef.set(e);
-                            latch.countDown();
-                        }
-                    },
-                    error -> {
-                        errorRef.set(error);
-                        latch.countDown();
-                    },
-                    () -> {
-                        safeClose(pipedOut);
-                        latch.countDown();
-                    }
-                );
-        });
-
-        return new FilterInputStream(pipedIn) {
-            @Override
-            public int read() throws IOException {
-                this.checkError();
-                return super.read();
-            }
-
-            @Override
-            public int read(byte[] b, int off, int len) throws IOException {
-                this.checkError();
-                return super.read(b, off, len);
-            }
-
-            private void checkError() throws IOException {
-                if (errorRef.get() != null) {
-                    throw new IOException("Reactive stream failed", errorRef.get());
-                }
-            }
-
-            @Override
-            public void close() throws IOException {
-                try {
-                    super.close();
-                } finally {
-                    safeClose(pipedOut);
-                    executor.shutdownNow();
-                    try {
-                        if (!latch.await(closeTimeoutSeconds, TimeUnit.SECONDS)) {
-                            // timeout, but we've done our best
-                        }
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                    }
-                }
-            }
-        };
+    /**
+     * @param flux     the body stream
+     * @param prefetch the maximum number of {@link DataBuffer}s buffered ahead of the reader
+     * @return the bridged {@link InputStream}
+     */
+    public static InputStream toInputStream(Flux<DataBuffer> flux, int prefetch) {
+        return new ReactiveInputStream(flux, prefetch);
     }
 
-    private static PipedOutputStream createPipedOutputStream(PipedInputStream pipedIn) {
-        try {
-            return new PipedOutputStream(pipedIn);
-        } catch (IOException e) {
-            throw new UncheckedIOException("Failed to create pipe", e);
-        }
-    }
-
-    private static void safeClose(Closeable closeable) {
-        if (closeable != null) {
-            try {
-                closeable.close();
-            } catch (IOException ignored) {
-                // ignore
-            }
-        }
+    /**
+     * @deprecated the bridge no longer uses a pipe nor a dedicated thread, both parameters are ignored,
+     * use {@link #toInputStream(Flux, int)} instead.
+     */
+    @Deprecated
+    public static InputStream toInputStream(Flux<DataBuffer> flux, int pipeSize, long closeTimeoutSeconds) {
+        return toInputStream(flux);
     }
 }
@@ -18,23 +18,34 @@ package io.github.photowey.ai.ragflow.client.webflux.core.download;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 import java.util.Objects;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferUtils;
 
-import io.github.photowey.ai.ragflow.client.webflux.core.io.ReactiveInputStream;
 import io.github.photowey.ai.ragflow.core.domain.download.DownloadHandle;
 import io.github.photowey.ai.ragflow.core.domain.download.DownloadMetadata;
 
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 /**
  * {@code ReactiveStreamDownloadHandle}.
  *
+ * <p>
+ * {@link #transferTo(Path, OpenOption...)} writes the received buffers straight into an
+ * {@link java.nio.channels.AsynchronousFileChannel}, a pooled (direct) Netty buffer reaches the file
+ * without being copied onto the heap, except when appending, which that channel does not support.
+ *
  * @author photowey
  * @version 2025.0.22.0.1
  * @since 2025/12/06
@@ -59,27 +70,52 @@ public class ReactiveStreamDownloadHandle implements DownloadHandle {
     public InputStream getInputStream() {
         this.checkConsumed();
 
-        // return ReactiveStreamBridge.toInputStream(stream)
-        return new ReactiveInputStream(this.stream);
+        return ReactiveStreamBridge.toInputStream(this.stream);
     }
 
     @Override
     public void writeTo(OutputStream out) throws IOException {
         this.checkConsumed();
 
-        CountDownLatch latch = new CountDownLatch(1);
-        AtomicReference<Throwable> errorRef = new AtomicReference<>();
+        Mono<Void> written = DataBufferUtils.write(this.stream, out)
+            .doOnNext(DataBufferUtils.releaseConsumer())
+            .then();
+
+        tryAwait(written);
+    }
+
+    @Override
+    public long transferTo(Path target, OpenOption... options) throws IOException {
+        if (Arrays.asList(options).contains(StandardOpenOption.APPEND)) {
+            // An AsynchronousFileChannel cannot append, the buffers go through a FileChannel instead.
+            return DownloadHandle.super.transferTo(target, options);
+        }
+        this.checkConsumed();
+
+        LongAdder counter = new LongAdder();
+        Flux<DataBuffer> counted = this.stream.doOnNext(buffer -> counter.add(buffer.readableByteCount()));
+
+        // Opens an AsynchronousFileChannel, releases every buffer once written and closes the channel.
+        tryAwait(DataBufferUtils.write(counted, target, options));
+
+        return counter.sum();
+    }
+
+    @Override
+    public long transferTo(WritableByteChannel channel) throws IOException {
+        this.checkConsumed();
 
-        DataBufferUtils.write(this.stream, out)
+        LongAdder counter = new LongAdder();
+        Mono<Void> written = DataBufferUtils.write(
+                this.stream.doOnNext(buffer -> counter.add(buffer.readableByteCount())),
+                channel
+            )
             .doOnNext(DataBufferUtils.releaseConsumer())
-            .doOnError(errorRef::set)
-            .doFinally(signal -> {
-                latch.countDown();
-            })
-            .subscribe();
+            .then();
 
-        tryAwait(latch);
-        checkThrowable(errorRef);
+        tryAwait(written);
+
+        return counter.sum();
     }
 
     @Override
@@ -102,6 +138,20 @@ public class ReactiveStreamDownloadHandle implements DownloadHandle {
         }
     }
 
+    private static void tryAwait(Mono<Void> written) throws IOException {
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicReference<Throwable> errorRef = new AtomicReference<>();
+
+        written
+            .doFinally(signal -> {
+                latch.countDown();
+            })
+            .subscribe(null, errorRef::set);
+
+        tryAwait(latch);
+        checkThrowable(errorRef);
+    }
+
     private static void tryAwait(CountDownLatch latch) throws IOException {
         try {
             latch.await();
@@ -15,41 +15,92 @@
  */
 package io.github.photowey.ai.ragflow.client.webflux.core.factory;
 
+import java.io.Closeable;
 import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 import jakarta.validation.constraints.NotNull;
 
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import io.github.photowey.ai.ragflow.client.webflux.core.balance.LoadBalancer;
+import io.github.photowey.ai.ragflow.client.webflux.core.breaker.CircuitBreaker;
+import io.github.photowey.ai.ragflow.client.webflux.core.concurrent.ReactiveSemaphore;
+import io.github.photowey.ai.ragflow.client.webflux.core.concurrent.SingleFlight;
+import io.github.photowey.ai.ragflow.client.webflux.core.hedge.HedgePolicy;
+import io.github.photowey.ai.ragflow.client.webflux.core.limit.AdaptiveLimiter;
+import io.github.photowey.ai.ragflow.client.webflux.core.parsing.ParseAdmissionController;
+import io.github.photowey.ai.ragflow.client.webflux.core.retry.RetryPolicy;
+import io.github.photowey.ai.ragflow.client.webflux.core.route.ApiRoutes;
+import io.github.photowey.ai.ragflow.client.webflux.core.shard.ShardRouter;
+import io.github.photowey.ai.ragflow.client.webflux.document.AsyncWebfluxRAGFlowDocumentClient;
 import io.github.photowey.ai.ragflow.core.constant.MessageConstants;
 import io.github.photowey.ai.ragflow.core.constant.RAGFlowConstants;
+import io.github.photowey.ai.ragflow.core.enums.RAGFlowDictionary;
 import io.github.photowey.ai.ragflow.core.exception.RAGFlowException;
 import io.github.photowey.ai.ragflow.core.property.RAGFlowProperties;
 import io.github.photowey.ai.ragflow.core.property.RAGFlowPropertiesGetter;
 import io.github.photowey.ai.ragflow.core.util.Functions;
 
+import reactor.core.publisher.Mono;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 /**
  * {@code RAGFlowWebClientFactory}.
  *
+ * <p>
+ * Keeps one {@link WebClient} per {@code (deployKey, profile)}, each backed by its own named
+ * {@link ConnectionProvider}. A registration is rebuilt (and the previous pool disposed gracefully)
+ * as soon as the {@link RAGFlowProperties.Server} it was built from changes. The settings are only looked at again
+ * when the server instance or its content hash changes, a call against unchanged settings costs the content hash
+ * of the server settings and two map lookups.
+ *
+ * <p>
+ * It also owns the per-deployment listing and upload permits, retry policy, hedge policy, adaptive concurrency
+ * limiter and circuit breaker, shared by every client of that deployment. The filters of a client run in that
+ * order, after the one resolving the API of the request once, see {@link ApiRoutes#filter()}. Every retry attempt
+ * may be hedged, and every request sent takes a slot of the limiter and goes through the breaker. A deployment with
+ * several addresses has a {@link LoadBalancer} too, the last filter, which picks the address of every request.
+ *
  * @author photowey
  * @version 2025.0.22.0.1
  * @since 2025/11/23
  */
 @SuppressWarnings("AlibabaClassNamingShouldBeCamel")
-public class RAGFlowWebClientFactory {
+public class RAGFlowWebClientFactory implements Closeable {
+
+    private static final String CONNECTION_PROVIDER_PREFIX = "ragflow";
+
+    private static final int MAX_CUSTOMIZED_CLIENTS = 16;
 
-    private final Map<String, WebClient> clientCache = new ConcurrentHashMap<>();
+    private static final List<WebClientBuilderCustomizer> GLOBAL_CUSTOMIZERS = new CopyOnWriteArrayList<>();
 
-    private static final List<WebClientBuilderCustomizer> GLOBAL_CUSTOMIZERS = new ArrayList<>();
+    private final Map<WebClientKey, WebClientRegistration> registry = new ConcurrentHashMap<>();
+    private final Map<String/* deployKey */, ServerSnapshot> snapshots = new ConcurrentHashMap<>();
+    private final Map<String/* deployKey */, ReactiveSemaphore> listingPermits = new ConcurrentHashMap<>();
+    private final Map<String/* deployKey */, ReactiveSemaphore> uploadPermits = new ConcurrentHashMap<>();
+    private final Map<String/* deployKey */, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final Map<String/* deployKey */, RetryPolicy> retryPolicies = new ConcurrentHashMap<>();
+    private final Map<String/* deployKey */, HedgePolicy> hedgePolicies = new ConcurrentHashMap<>();
+    private final Map<String/* deployKey */, AdaptiveLimiter> limiters = new ConcurrentHashMap<>();
+    private final Map<String/* deployKey */, LoadBalancer> balancers = new ConcurrentHashMap<>();
+    private final Map<String/* deployKey */, SingleFlight> singleFlights = new ConcurrentHashMap<>();
+    private final Map<String/* deployKey */, ParseAdmissionController> admissions = new ConcurrentHashMap<>();
+    private final AtomicReference<ShardRouter> shardRouter = new AtomicReference<>();
 
     // ----------------------------------------------------------------
 
@@ -62,17 +113,43 @@ public class RAGFlowWebClientFactory {
     public WebClient createFormdataWebClient(
         @NotNull String deployKey,
         @NotNull RAGFlowPropertiesGetter getter) {
-        return this.clientCache.computeIfAbsent(deployKey,
-            (key) -> this.createFormdataWebClient(key, getter, Functions::noop)
-        );
+        return this.acquireWebClient(deployKey, getter, WebClientProfile.FORM_DATA);
     }
 
+    /**
+     * A form-data client whose {@link HttpClient} is customized, sharing the connection pool of the deployment.
+     *
+     * <p>
+     * The client is cached per customizer key, the customizer of the first call of a key is applied and the later
+     * ones are ignored, the key must name the customization rather than a call. Beyond {@code 16} keys per
+     * deployment the client is built on every call.
+     *
+     * @param deployKey     the deployment key
+     * @param getter        the properties getter
+     * @param customizerKey the stable key of the customization
+     * @param clientFx      customizes the pooled {@link HttpClient}, returns the customized one
+     * @return the client
+     */
+    public WebClient createFormdataWebClient(
+        @NotNull String deployKey,
+        @NotNull RAGFlowPropertiesGetter getter,
+        @NotNull String customizerKey,
+        @NotNull Function<HttpClient, HttpClient> clientFx) {
+        return this.acquireWebClient(deployKey, getter, WebClientProfile.FORM_DATA, customizerKey, clientFx);
+    }
+
+    /**
+     * @deprecated the {@link HttpClient} is immutable, a consumer cannot customize it, the client is built on every
+     * call, use {@link #createFormdataWebClient(String, RAGFlowPropertiesGetter, String, Function)} instead.
+     */
+    @Deprecated
     public WebClient createFormdataWebClient(
         @NotNull String deployKey,
         @NotNull RAGFlowPropertiesGetter getter,
         @NotNull Consumer<HttpClient> clientFx) {
-        return this.tryCreateWebClient(deployKey, getter, clientFx, (builder) -> {
-            builder.defaultHeader(RAGFlowConstants.Header.CONTENT_TYPE, RAGFlowConstants.Header.MULTIPART_FORM_DATA);
+        return this.buildWebClient(deployKey, getter, WebClientProfile.FORM_DATA, httpClient -> {
+            clientFx.accept(httpClient);
+            return httpClient;
         });
     }
 
@@ -81,38 +158,426 @@ public class RAGFlowWebClientFactory {
     public WebClient createWebClient(
         @NotNull String deployKey,
         @NotNull RAGFlowPropertiesGetter getter) {
-        return this.tryCreateWebClient(deployKey, getter, Functions::noop, (builder) -> {
-            builder.defaultHeader(RAGFlowConstants.Header.CONTENT_TYPE, RAGFlowConstants.Header.APPLICATION_JSON);
-        });
+        return this.acquireWebClient(deployKey, getter, WebClientProfile.JSON);
+    }
+
+    /**
+     * A JSON client whose {@link HttpClient} is customized, sharing the connection pool of the deployment.
+     *
+     * <p>
+     * The client is cached per customizer key, the customizer of the first call of a key is applied and the later
+     * ones are ignored, the key must name the customization rather than a call. Beyond {@code 16} keys per
+     * deployment the client is built on every call.
+     *
+     * @param deployKey     the deployment key
+     * @param getter        the properties getter
+     * @param customizerKey the stable key of the customization
+     * @param clientFx      customizes the pooled {@link HttpClient}, returns the customized one
+     * @return the client
+     */
+    public WebClient createWebClient(
+        @NotNull String deployKey,
+        @NotNull RAGFlowPropertiesGetter getter,
+        @NotNull String customizerKey,
+        @NotNull Function<HttpClient, HttpClient> clientFx) {
+        return this.acquireWebClient(deployKey, getter, WebClientProfile.JSON, customizerKey, clientFx);
     }
 
+    /**
+     * @deprecated the {@link HttpClient} is immutable, a consumer cannot customize it, the client is built on every
+     * call, use {@link #createWebClient(String, RAGFlowPropertiesGetter, String, Function)} instead.
+     */
+    @Deprecated
     public WebClient createWebClient(
         @NotNull String deployKey,
         @NotNull RAGFlowPropertiesGetter getter,
         @NotNull Consumer<HttpClient> clientFx) {
-        return this.tryCreateWebClient(deployKey, getter, clientFx, (builder) -> {
-            builder.defaultHeader(RAGFlowConstants.Header.CONTENT_TYPE, RAGFlowConstants.Header.APPLICATION_JSON);
+        return this.buildWebClient(deployKey, getter, WebClientProfile.JSON, httpClient -> {
+            clientFx.accept(httpClient);
+            return httpClient;
         });
     }
 
     // ----------------------------------------------------------------
 
-    private WebClient tryCreateWebClient(
+    /**
+     * The permits shared by every concurrent listing of the given deployment.
+     *
+     * <p>
+     * Sized from {@link RAGFlowProperties.Listing#maxConcurrency()}, a resized setting replaces the permits,
+     * listings already holding the previous ones drain them as they complete.
+     *
+     * @param deployKey the deployment key
+     * @param getter    the properties getter
+     * @return the listing permits
+     */
+    public ReactiveSemaphore acquireListingPermits(
+        @NotNull String deployKey,
+        @NotNull RAGFlowPropertiesGetter getter) {
+        int maxConcurrency = this.tryAcquireServer(deployKey, getter).listing().maxConcurrency();
+
+        return acquirePermits(this.listingPermits, deployKey, maxConcurrency);
+    }
+
+    /**
+     * The permits shared by every batch upload of the given deployment.
+     *
+     * <p>
+     * Sized from {@link RAGFlowProperties.Upload#maxConcurrency()}.
+     *
+     * @param deployKey the deployment key
+     * @param getter    the properties getter
+     * @return the upload permits
+     */
+    public ReactiveSemaphore acquireUploadPermits(
+        @NotNull String deployKey,
+        @NotNull RAGFlowPropertiesGetter getter) {
+        int maxConcurrency = this.tryAcquireServer(deployKey, getter).upload().maxConcurrency();
+
+        return acquirePermits(this.uploadPermits, deployKey, maxConcurrency);
+    }
+
+    /**
+     * The in-flight reads of the given deployment, shared by every client, if coalescing is enabled.
+     *
+     * <p>
+     * Sized from {@link RAGFlowProperties.Coalescing#maxKeys()}, a resized setting replaces the tracker, the reads
+     * in flight complete normally but are no longer joined.
+     *
+     * @param deployKey the deployment key
+     * @param getter    the properties getter
+     * @return the in-flight reads
+     */
+    public Optional<SingleFlight> tryAcquireSingleFlight(
+        @NotNull String deployKey,
+        @NotNull RAGFlowPropertiesGetter getter) {
+        RAGFlowProperties.Coalescing coalescing = this.tryAcquireServer(deployKey, getter).coalescing();
+        String key = determineDeployKey(deployKey);
+        if (!coalescing.enabled()) {
+            this.singleFlights.remove(key);
+            return Optional.empty();
+        }
+
+        SingleFlight current = this.singleFlights.get(key);
+        if (Objects.nonNull(current) && current.maxKeys() == coalescing.maxKeys()) {
+            return Optional.of(current);
+        }
+
+        return Optional.of(this.singleFlights.compute(key, (k, prev) -> {
+            if (Objects.nonNull(prev) && prev.maxKeys() == coalescing.maxKeys()) {
+                return prev;
+            }
+
+            return new SingleFlight(coalescing.maxKeys());
+        }));
+    }
+
+    /**
+     * The controller admitting the scheduled parses of the given deployment, shared by every document client.
+     *
+     * <p>
+     * Sized from {@link RAGFlowProperties.Parsing#maxRunning()}, a changed parsing setting replaces the controller,
+     * the documents admitted by the previous one keep their slots until they finish.
+     *
+     * @param deployKey the deployment key
+     * @param getter    the properties getter
+     * @param client    the client the controller submits and lists the documents with
+     * @return the admission controller
+     */
+    public ParseAdmissionController acquireParseAdmissionController(
         @NotNull String deployKey,
         @NotNull RAGFlowPropertiesGetter getter,
-        @NotNull Consumer<HttpClient> clientFx,
-        @NotNull Consumer<WebClient.Builder> builderFx) {
-        RAGFlowProperties.Server server = getter.get().tryAcquireServer(deployKey).orElseThrow(() -> {
-            return new RAGFlowException(MessageConstants.RAGFLOW_DEPLOYMENT_KEY_INVALID, deployKey);
+        @NotNull AsyncWebfluxRAGFlowDocumentClient client) {
+        RAGFlowProperties.Parsing parsing = this.tryAcquireServer(deployKey, getter).parsing();
+        String key = determineDeployKey(deployKey);
+
+        ParseAdmissionController current = this.admissions.get(key);
+        if (Objects.nonNull(current) && current.matches(parsing)) {
+            return current;
+        }
+
+        return this.admissions.compute(key, (k, prev) -> {
+            if (Objects.nonNull(prev) && prev.matches(parsing)) {
+                return prev;
+            }
+
+            return new ParseAdmissionController(
+                client, k, parsing.maxRunning(), Duration.ofMillis(parsing.pollInterval()));
         });
+    }
+
+    /**
+     * The router mapping the datasets to their shards, shared by every client.
+     *
+     * <p>
+     * A changed sharding setting, server list or pinned dataset replaces the router, the shards of the datasets it
+     * found are looked up again.
+     *
+     * @param getter the properties getter
+     * @return the shard router
+     */
+    public ShardRouter acquireShardRouter(@NotNull RAGFlowPropertiesGetter getter) {
+        RAGFlowProperties properties = getter.get();
 
-        HttpClient httpClient = HttpClient.create()
-            .responseTimeout(Duration.ofMillis(server.timeout(5000)));
+        return this.shardRouter.updateAndGet(current -> {
+            if (Objects.nonNull(current) && current.matches(properties)) {
+                return current;
+            }
 
-        clientFx.accept(httpClient);
+            return new ShardRouter(properties, deployKey -> this.createWebClient(deployKey, getter));
+        });
+    }
 
+    /**
+     * The circuit breaker of the given deployment, if it is enabled and the deployment was called already.
+     *
+     * @param deployKey the deployment key
+     * @return the circuit breaker
+     */
+    public Optional<CircuitBreaker> tryAcquireCircuitBreaker(String deployKey) {
+        return Optional.ofNullable(this.breakers.get(determineDeployKey(deployKey)));
+    }
+
+    /**
+     * The retry policy of the given deployment, if it is enabled and the deployment was called already.
+     *
+     * @param deployKey the deployment key
+     * @return the retry policy
+     */
+    public Optional<RetryPolicy> tryAcquireRetryPolicy(String deployKey) {
+        return Optional.ofNullable(this.retryPolicies.get(determineDeployKey(deployKey)));
+    }
+
+    /**
+     * The hedge policy of the given deployment, if it is enabled and the deployment was called already.
+     *
+     * @param deployKey the deploy key
+     * @return the hedge policy
+     */
+    public Optional<HedgePolicy> tryAcquireHedgePolicy(String deployKey) {
+        return Optional.ofNullable(this.hedgePolicies.get(determineDeployKey(deployKey)));
+    }
+
+    /**
+     * The load balancer of the given deployment, if it has several addresses and was called already.
+     *
+     * @param deployKey the deploy key
+     * @return the load balancer
+     */
+    public Optional<LoadBalancer> tryAcquireLoadBalancer(String deployKey) {
+        return Optional.ofNullable(this.balancers.get(determineDeployKey(deployKey)));
+    }
+
+    /**
+     * The adaptive concurrency limiter of the given deployment, if it is enabled and the deployment was called
+     * already, its {@link AdaptiveLimiter#metrics()} report the current limit.
+     *
+     * @param deployKey the deployment key
+     * @return the limiter
+     */
+    public Optional<AdaptiveLimiter> tryAcquireLimiter(String deployKey) {
+        return Optional.ofNullable(this.limiters.get(determineDeployKey(deployKey)));
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * Evict every cached client of the given deployment and dispose its connection pools.
+     *
+     * @param deployKey the deployment key
+     */
+    public void invalidate(String deployKey) {
+        String key = determineDeployKey(deployKey);
+        this.snapshots.remove(key);
+        this.registry.entrySet().removeIf(entry -> {
+            if (entry.getKey().deployKey().equals(key)) {
+                entry.getValue().dispose();
+                return true;
+            }
+
+            return false;
+        });
+        this.listingPermits.remove(key);
+        this.uploadPermits.remove(key);
+        this.breakers.remove(key);
+        this.retryPolicies.remove(key);
+        this.hedgePolicies.remove(key);
+        this.limiters.remove(key);
+        this.singleFlights.remove(key);
+        this.admissions.remove(key);
+        Optional.ofNullable(this.balancers.remove(key)).ifPresent(LoadBalancer::dispose);
+    }
+
+    /**
+     * Evict every cached client and dispose all connection pools.
+     */
+    public void invalidateAll() {
+        this.snapshots.clear();
+        this.registry.entrySet().removeIf(entry -> {
+            entry.getValue().dispose();
+            return true;
+        });
+        this.listingPermits.clear();
+        this.uploadPermits.clear();
+        this.breakers.clear();
+        this.retryPolicies.clear();
+        this.hedgePolicies.clear();
+        this.limiters.clear();
+        this.singleFlights.clear();
+        this.admissions.clear();
+        this.balancers.values().forEach(LoadBalancer::dispose);
+        this.balancers.clear();
+        this.shardRouter.set(null);
+    }
+
+    @Override
+    public void close() {
+        this.invalidateAll();
+    }
+
+    // ----------------------------------------------------------------
+
+    private WebClient acquireWebClient(
+        @NotNull String deployKey,
+        @NotNull RAGFlowPropertiesGetter getter,
+        @NotNull WebClientProfile profile) {
+        return this.acquireRegistration(deployKey, getter, profile).client();
+    }
+
+    private WebClient acquireWebClient(
+        @NotNull String deployKey,
+        @NotNull RAGFlowPropertiesGetter getter,
+        @NotNull WebClientProfile profile,
+        @NotNull String customizerKey,
+        @NotNull Function<HttpClient, HttpClient> clientFx) {
+        WebClientRegistration registration = this.acquireRegistration(deployKey, getter, profile);
+
+        return registration.customize(customizerKey, () -> this.tryCreateWebClient(
+            registration.key(), registration.server(), registration.provider(), clientFx
+        ));
+    }
+
+    private WebClient buildWebClient(
+        @NotNull String deployKey,
+        @NotNull RAGFlowPropertiesGetter getter,
+        @NotNull WebClientProfile profile,
+        @NotNull Function<HttpClient, HttpClient> clientFx) {
+        WebClientRegistration registration = this.acquireRegistration(deployKey, getter, profile);
+
+        return this.tryCreateWebClient(registration.key(), registration.server(), registration.provider(), clientFx);
+    }
+
+    private WebClientRegistration acquireRegistration(
+        String deployKey,
+        RAGFlowPropertiesGetter getter,
+        WebClientProfile profile) {
+        RAGFlowProperties.Server server = this.tryAcquireServer(deployKey, getter);
+        WebClientKey key = new WebClientKey(determineDeployKey(deployKey), profile);
+        ServerSnapshot snapshot = this.refreshServer(key.deployKey(), server, getter);
+
+        WebClientRegistration registration = this.registry.get(key);
+        if (Objects.nonNull(registration) && registration.matches(snapshot)) {
+            return registration;
+        }
+
+        return this.registry.compute(key, (k, prev) -> {
+            if (Objects.nonNull(prev)) {
+                if (prev.matches(snapshot)) {
+                    return prev;
+                }
+                prev.dispose();
+            }
+
+            return this.tryRegisterWebClient(k, server, snapshot);
+        });
+    }
+
+    /**
+     * Keeps the per-deployment policies in line with the server settings, they are only looked at again once the
+     * server instance or its content hash changed.
+     */
+    private ServerSnapshot refreshServer(
+        String deployKey,
+        RAGFlowProperties.Server server,
+        RAGFlowPropertiesGetter getter) {
+        int stamp = server.hashCode();
+        ServerSnapshot current = this.snapshots.get(deployKey);
+        if (Objects.nonNull(current) && current.matches(server, stamp)) {
+            return current;
+        }
+
+        this.refreshRetryPolicy(deployKey, server.retry());
+        this.refreshHedgePolicy(deployKey, server.hedge());
+        this.refreshLimiter(deployKey, server.limiter());
+        this.refreshCircuitBreaker(deployKey, server.breaker(), getter);
+        this.refreshLoadBalancer(deployKey, server);
+
+        ServerSnapshot snapshot = new ServerSnapshot(server, stamp, fingerprint(server));
+        this.snapshots.put(deployKey, snapshot);
+
+        return snapshot;
+    }
+
+    private WebClientRegistration tryRegisterWebClient(
+        WebClientKey key,
+        RAGFlowProperties.Server server,
+        ServerSnapshot snapshot) {
+        ConnectionProvider provider = this.tryCreateConnectionProvider(key, server);
+        WebClient client = this.tryCreateWebClient(key, server, provider, Function.identity());
+
+        return new WebClientRegistration(key, server, snapshot, provider, client);
+    }
+
+    private ConnectionProvider tryCreateConnectionProvider(WebClientKey key, RAGFlowProperties.Server server) {
+        RAGFlowProperties.Pool pool = server.pool();
+        String name = String.join("-", CONNECTION_PROVIDER_PREFIX, key.deployKey(), key.profile().alias());
+
+        ConnectionProvider.Builder builder = ConnectionProvider.builder(name)
+            .maxConnections(pool.maxConnections())
+            .pendingAcquireMaxCount(pool.pendingAcquireMaxCount())
+            .pendingAcquireTimeout(Duration.ofMillis(pool.pendingAcquireTimeout()))
+            .disposeTimeout(Duration.ofMillis(server.timeout(5000)));
+
+        if (pool.maxIdleTime() > 0) {
+            builder.maxIdleTime(Duration.ofMillis(pool.maxIdleTime()));
+        }
+        if (pool.maxLifeTime() > 0) {
+            builder.maxLifeTime(Duration.ofMillis(pool.maxLifeTime()));
+        }
+        if (pool.evictionInterval() > 0) {
+            builder.evictInBackground(Duration.ofMillis(pool.evictionInterval()));
+        }
+
+        return builder.build();
+    }
+
+    // ----------------------------------------------------------------
+
+    private WebClient tryCreateWebClient(
+        WebClientKey key,
+        RAGFlowProperties.Server server,
+        ConnectionProvider provider,
+        Function<HttpClient, HttpClient> clientFx) {
+        HttpClient httpClient = clientFx.apply(HttpClient.create(provider)
+            .responseTimeout(Duration.ofMillis(server.timeout(5000))));
+
+        return this.tryCreateWebClient(server, httpClient, (builder) -> {
+            builder.defaultHeader(RAGFlowConstants.Header.CONTENT_TYPE, key.profile().contentType());
+            builder.filter(ApiRoutes.filter());
+            builder.filter(this.retryFilter(key.deployKey()));
+            builder.filter(this.hedgeFilter(key.deployKey()));
+            builder.filter(this.limiterFilter(key.deployKey()));
+            builder.filter(this.circuitBreakerFilter(key.deployKey()));
+            builder.filter(this.loadBalancerFilter(key.deployKey()));
+        });
+    }
+
+    private WebClient tryCreateWebClient(
+        @NotNull RAGFlowProperties.Server server,
+        @NotNull HttpClient httpClient,
+        @NotNull Consumer<WebClient.Builder> builderFx) {
         WebClient.Builder builder = WebClient.builder()
-            .baseUrl(server.address())
+            .baseUrl(server.endpoints().get(0))
             .codecs(cc ->
                 cc.defaultCodecs().maxInMemorySize(server.codec().maxInMemorySize())
             )
@@ -127,4 +592,403 @@ public class RAGFlowWebClientFactory {
 
         return builder.build();
     }
+
+    /**
+     * Keeps the retry policy of the deployment in line with its settings, a changed setting replaces the policy
+     * and refills its budget.
+     */
+    private void refreshRetryPolicy(String deployKey, RAGFlowProperties.Retry retry) {
+        if (!retry.enabled()) {
+            this.retryPolicies.remove(deployKey);
+            return;
+        }
+
+        RetryPolicy current = this.retryPolicies.get(deployKey);
+        if (Objects.nonNull(current) && current.matches(retry)) {
+            return;
+        }
+
+        this.retryPolicies.compute(deployKey, (k, prev) -> {
+            if (Objects.nonNull(prev) && prev.matches(retry)) {
+                return prev;
+            }
+
+            return new RetryPolicy(retry);
+        });
+    }
+
+    /**
+     * Keeps the hedge policy of the deployment in line with its settings, a changed setting replaces the policy
+     * and forgets the measured latencies.
+     */
+    private void refreshHedgePolicy(String deployKey, RAGFlowProperties.Hedge hedge) {
+        if (!hedge.enabled()) {
+            this.hedgePolicies.remove(deployKey);
+            return;
+        }
+
+        HedgePolicy current = this.hedgePolicies.get(deployKey);
+        if (Objects.nonNull(current) && current.matches(hedge)) {
+            return;
+        }
+
+        this.hedgePolicies.compute(deployKey, (k, prev) -> {
+            if (Objects.nonNull(prev) && prev.matches(hedge)) {
+                return prev;
+            }
+
+            return new HedgePolicy(hedge);
+        });
+    }
+
+    /**
+     * Keeps the limiter of the deployment in line with its settings, a changed setting replaces the limiter and
+     * restarts it from its initial limit, the calls holding a slot of the previous one complete normally.
+     */
+    private void refreshLimiter(String deployKey, RAGFlowProperties.Limiter limiter) {
+        if (!limiter.enabled()) {
+            this.limiters.remove(deployKey);
+            return;
+        }
+
+        AdaptiveLimiter current = this.limiters.get(deployKey);
+        if (Objects.nonNull(current) && current.matches(limiter)) {
+            return;
+        }
+
+        this.limiters.compute(deployKey, (k, prev) -> {
+            if (Objects.nonNull(prev) && prev.matches(limiter)) {
+                return prev;
+            }
+
+            return new AdaptiveLimiter(k, limiter);
+        });
+    }
+
+    /**
+     * Keeps the breaker of the deployment in line with its settings, a changed setting replaces the breaker
+     * and resets its state, the cached clients keep their connection pools.
+     */
+    private void refreshCircuitBreaker(
+        String deployKey,
+        RAGFlowProperties.Breaker breaker,
+        RAGFlowPropertiesGetter getter) {
+        if (!breaker.enabled()) {
+            this.breakers.remove(deployKey);
+            return;
+        }
+
+        CircuitBreaker current = this.breakers.get(deployKey);
+        if (Objects.nonNull(current) && current.matches(breaker)) {
+            return;
+        }
+
+        this.breakers.compute(deployKey, (k, prev) -> {
+            if (Objects.nonNull(prev) && prev.matches(breaker)) {
+                return prev;
+            }
+
+            return new CircuitBreaker(k, breaker, () -> this.checkSystemHealth(k, getter));
+        });
+    }
+
+    /**
+     * Keeps the balancer of the deployment in line with its addresses and settings, a change replaces the
+     * balancer and forgets the ejected addresses, a single address needs none.
+     */
+    private void refreshLoadBalancer(String deployKey, RAGFlowProperties.Server server) {
+        if (server.endpoints().size() <= 1) {
+            Optional.ofNullable(this.balancers.remove(deployKey)).ifPresent(LoadBalancer::dispose);
+            return;
+        }
+
+        LoadBalancer current = this.balancers.get(deployKey);
+        if (Objects.nonNull(current) && current.matches(server)) {
+            return;
+        }
+
+        this.balancers.compute(deployKey, (k, prev) -> {
+            if (Objects.nonNull(prev)) {
+                if (prev.matches(server)) {
+                    return prev;
+                }
+                prev.dispose();
+            }
+
+            return new LoadBalancer(server);
+        });
+    }
+
+    /**
+     * Resolves the breaker on every call, so the clients built before a breaker was enabled or replaced use
+     * the current one.
+     */
+    private ExchangeFilterFunction circuitBreakerFilter(String deployKey) {
+        return (request, next) -> {
+            CircuitBreaker breaker = this.breakers.get(deployKey);
+            if (Objects.isNull(breaker)) {
+                return next.exchange(request);
+            }
+
+            return breaker.filter(request, next);
+        };
+    }
+
+    /**
+     * Installed before the breaker filter, so every attempt goes through the breaker.
+     */
+    private ExchangeFilterFunction retryFilter(String deployKey) {
+        return (request, next) -> {
+            RetryPolicy policy = this.retryPolicies.get(deployKey);
+            if (Objects.isNull(policy)) {
+                return next.exchange(request);
+            }
+
+            return policy.filter(request, next);
+        };
+    }
+
+    /**
+     * Installed after the retry filter, so every attempt may be hedged, and before the limiter, so the second
+     * request takes its own slot.
+     */
+    private ExchangeFilterFunction hedgeFilter(String deployKey) {
+        return (request, next) -> {
+            HedgePolicy policy = this.hedgePolicies.get(deployKey);
+            if (Objects.isNull(policy)) {
+                return next.exchange(request);
+            }
+
+            return policy.filter(request, next);
+        };
+    }
+
+    private ExchangeFilterFunction limiterFilter(String deployKey) {
+        return (request, next) -> {
+            AdaptiveLimiter limiter = this.limiters.get(deployKey);
+            if (Objects.isNull(limiter)) {
+                return next.exchange(request);
+            }
+
+            return limiter.filter(request, next);
+        };
+    }
+
+    /**
+     * Installed last, so every request sent, retried or hedged, picks its own address.
+     */
+    private ExchangeFilterFunction loadBalancerFilter(String deployKey) {
+        return (request, next) -> {
+            LoadBalancer balancer = this.balancers.get(deployKey);
+            if (Objects.isNull(balancer)) {
+                return next.exchange(request);
+            }
+
+            return balancer.filter(request, next);
+        };
+    }
+
+    private Mono<Boolean> checkSystemHealth(String deployKey, RAGFlowPropertiesGetter getter) {
+        return this.acquireWebClient(deployKey, getter, WebClientProfile.JSON)
+            .get()
+            .uri(RAGFlowDictionary.API.CHECK_SYSTEM_HEALTH.route())
+            .exchangeToMono(response -> response.releaseBody().thenReturn(response.statusCode().is2xxSuccessful()));
+    }
+
+    private RAGFlowProperties.Server tryAcquireServer(String deployKey, RAGFlowPropertiesGetter getter) {
+        return getter.get().tryAcquireServer(deployKey).orElseThrow(() -> {
+            return new RAGFlowException(MessageConstants.RAGFLOW_DEPLOYMENT_KEY_INVALID, deployKey);
+        });
+    }
+
+    // ----------------------------------------------------------------
+
+    private static String determineDeployKey(String deployKey) {
+        if (Objects.isNull(deployKey) || deployKey.trim().isEmpty()) {
+            return RAGFlowConstants.Variable.GLOBAL_DEPLOY_KEY;
+        }
+
+        return deployKey;
+    }
+
+    private static ReactiveSemaphore acquirePermits(
+        Map<String, ReactiveSemaphore> registry,
+        String deployKey,
+        int maxConcurrency) {
+        String key = determineDeployKey(deployKey);
+
+        ReactiveSemaphore permits = registry.get(key);
+        if (Objects.nonNull(permits) && permits.permits() == maxConcurrency) {
+            return permits;
+        }
+
+        return registry.compute(key, (k, prev) -> {
+            if (Objects.nonNull(prev) && prev.permits() == maxConcurrency) {
+                return prev;
+            }
+
+            return new ReactiveSemaphore(maxConcurrency);
+        });
+    }
+
+    /**
+     * Captures every server setting a cached client is built from, a changed fingerprint
+     * means the registration is stale and must be rebuilt.
+     */
+    private static List<Object> fingerprint(RAGFlowProperties.Server server) {
+        RAGFlowProperties.Pool pool = server.pool();
+
+        return Arrays.asList(
+            new ArrayList<>(server.endpoints()),
+            server.apiKey(),
+            server.timeout(5000),
+            server.codec().maxInMemorySize(),
+            pool.maxConnections(),
+            pool.pendingAcquireMaxCount(),
+            pool.pendingAcquireTimeout(),
+            pool.maxIdleTime(),
+            pool.maxLifeTime(),
+            pool.evictionInterval(),
+            GLOBAL_CUSTOMIZERS.size()
+        );
+    }
+
+    // ----------------------------------------------------------------
+
+    private static final class WebClientKey {
+
+        private final String deployKey;
+        private final WebClientProfile profile;
+
+        WebClientKey(String deployKey, WebClientProfile profile) {
+            this.deployKey = deployKey;
+            this.profile = profile;
+        }
+
+        String deployKey() {
+            return deployKey;
+        }
+
+        WebClientProfile profile() {
+            return profile;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof WebClientKey)) {
+                return false;
+            }
+
+            WebClientKey that = (WebClientKey) o;
+            return this.deployKey.equals(that.deployKey) && this.profile == that.profile;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(this.deployKey, this.profile);
+        }
+    }
+
+    private static final class ServerSnapshot {
+
+        private final RAGFlowProperties.Server server;
+        private final int stamp;
+        private final int customizers;
+        private final List<Object> fingerprint;
+
+        ServerSnapshot(RAGFlowProperties.Server server, int stamp, List<Object> fingerprint) {
+            this.server = server;
+            this.stamp = stamp;
+            this.customizers = GLOBAL_CUSTOMIZERS.size();
+            this.fingerprint = fingerprint;
+        }
+
+        boolean matches(RAGFlowProperties.Server target, int targetStamp) {
+            return this.server == target && this.stamp == targetStamp && this.customizers == GLOBAL_CUSTOMIZERS.size();
+        }
+
+        List<Object> fingerprint() {
+            return fingerprint;
+        }
+    }
+
+    private static final class WebClientRegistration {
+
+        private final WebClientKey key;
+        private final RAGFlowProperties.Server server;
+        private final List<Object> fingerprint;
+        private final ConnectionProvider provider;
+        private final WebClient client;
+        private final Map<String/* customizerKey */, WebClient> customized = new ConcurrentHashMap<>();
+        private volatile ServerSnapshot snapshot;
+
+        WebClientRegistration(
+            WebClientKey key,
+            RAGFlowProperties.Server server,
+            ServerSnapshot snapshot,
+            ConnectionProvider provider,
+            WebClient client) {
+            this.key = key;
+            this.server = server;
+            this.fingerprint = snapshot.fingerprint();
+            this.snapshot = snapshot;
+            this.provider = provider;
+            this.client = client;
+        }
+
+        /**
+         * A snapshot with the same fingerprint, a setting the client does not depend on changed, is adopted so
+         * the next calls compare it by reference.
+         */
+        boolean matches(ServerSnapshot target) {
+            if (this.snapshot == target) {
+                return true;
+            }
+            if (!this.fingerprint.equals(target.fingerprint())) {
+                return false;
+            }
+
+            this.snapshot = target;
+            return true;
+        }
+
+        /**
+         * The client built for the given customizer key, cached up to {@code MAX_CUSTOMIZED_CLIENTS} keys, built
+         * on every call beyond.
+         */
+        WebClient customize(String customizerKey, Supplier<WebClient> creator) {
+            WebClient cached = this.customized.get(customizerKey);
+            if (Objects.nonNull(cached)) {
+                return cached;
+            }
+            if (this.customized.size() >= MAX_CUSTOMIZED_CLIENTS) {
+                return creator.get();
+            }
+
+            return this.customized.computeIfAbsent(customizerKey, key -> creator.get());
+        }
+
+        WebClientKey key() {
+            return key;
+        }
+
+        RAGFlowProperties.Server server() {
+            return server;
+        }
+
+        ConnectionProvider provider() {
+            return provider;
+        }
+
+        WebClient client() {
+            return client;
+        }
+
+        void dispose() {
+            this.provider.disposeLater().subscribe(Functions::noop, Functions::noop);
+        }
+    }
 }
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.factory;
+
+import io.github.photowey.ai.ragflow.core.constant.RAGFlowConstants;
+
+/**
+ * The content profile of a cached {@code WebClient}.
+ *
+ * <p>
+ * Clients are registered per {@code (deployKey, profile)}, so JSON and multipart
+ * clients of the same deployment never overwrite each other.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/13
+ */
+public enum WebClientProfile {
+
+    JSON("json", RAGFlowConstants.Header.APPLICATION_JSON),
+    FORM_DATA("form-data", RAGFlowConstants.Header.MULTIPART_FORM_DATA);
+
+    private final String alias;
+    private final String contentType;
+
+    WebClientProfile(String alias, String contentType) {
+        this.alias = alias;
+        this.contentType = contentType;
+    }
+
+    public String alias() {
+        return alias;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.hedge;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+
+import io.github.photowey.ai.ragflow.client.webflux.core.concurrent.TokenBudget;
+import io.github.photowey.ai.ragflow.client.webflux.core.concurrent.WheelTimer;
+import io.github.photowey.ai.ragflow.client.webflux.core.route.ApiRoutes;
+import io.github.photowey.ai.ragflow.core.enums.RAGFlowDictionary;
+import io.github.photowey.ai.ragflow.core.property.RAGFlowProperties;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code HedgePolicy}.
+ *
+ * <p>
+ * Cuts the tail latency of the read calls of one deployment, installed as a filter of every {@code WebClient} of
+ * that deployment:
+ * <ul>
+ *     <li>only the {@code GET} endpoints of {@link RAGFlowDictionary.API} are hedged, except the document download,
+ *     whose body would be fetched twice, and the health check;</li>
+ *     <li>the latency to the response headers of the last calls of every endpoint is kept, a call without response
+ *     after the configured percentile of them is sent a second time, to another address if the deployment has
+ *     several;</li>
+ *     <li>the first response wins, the other request is cancelled or, if its response arrived meanwhile, its body
+ *     is released, a request failing leaves the call to the other one, the call fails with the error of the first
+ *     request once both failed or if the first failed before the second was sent;</li>
+ *     <li>every second request spends a token of the {@link TokenBudget} of the deployment, every call earns a
+ *     share of one, so hedging never adds more than that share of load.</li>
+ * </ul>
+ * An endpoint is not hedged until a few dozen of its calls were measured.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+public class HedgePolicy implements ExchangeFilterFunction {
+
+    /**
+     * Set on both requests of a hedged call, an {@code AtomicReference<String>} the address selection records the
+     * address of the first request in, so the second one avoids it.
+     */
+    public static final String HEDGE_ATTRIBUTE = HedgePolicy.class.getName() + ".HEDGE";
+
+    private static final int WINDOW_SIZE = 128;
+    private static final int MIN_SAMPLES = 32;
+    private static final int REFRESH_SAMPLES = 16;
+
+    private final List<Object> settings;
+    private final int percentile;
+    private final long minDelay;
+    private final TokenBudget budget;
+    private final WheelTimer timer = WheelTimer.shared();
+    private final Map<RAGFlowDictionary.API, LatencyWindow> windows = new ConcurrentHashMap<>();
+    private final AtomicLong hedged = new AtomicLong();
+    private final AtomicLong won = new AtomicLong();
+
+    public HedgePolicy(RAGFlowProperties.Hedge hedge) {
+        this.settings = fingerprint(hedge);
+        this.percentile = hedge.percentile();
+        this.minDelay = Duration.ofMillis(hedge.minDelay()).toNanos();
+        this.budget = new TokenBudget(hedge.budgetPercent(), hedge.budgetReserve());
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        Optional<RAGFlowDictionary.API> api = ApiRoutes.resolve(request).filter(HedgePolicy::isHedgeable);
+        if (!api.isPresent()) {
+            return next.exchange(request);
+        }
+
+        LatencyWindow window = this.windows.computeIfAbsent(api.get(), key -> new LatencyWindow());
+
+        return Mono.defer(() -> {
+            this.budget.deposit();
+            return this.race(request, next, window);
+        });
+    }
+
+    /**
+     * Whether the policy was built from the given settings.
+     *
+     * @param hedge the settings
+     * @return {@code true} if nothing changed
+     */
+    public boolean matches(RAGFlowProperties.Hedge hedge) {
+        return this.settings.equals(fingerprint(hedge));
+    }
+
+    /**
+     * The number of second requests sent so far.
+     */
+    public long hedged() {
+        return this.hedged.get();
+    }
+
+    /**
+     * The number of calls the second request answered first.
+     */
+    public long won() {
+        return this.won.get();
+    }
+
+    // ----------------------------------------------------------------
+
+    private Mono<ClientResponse> race(ClientRequest request, ExchangeFunction next, LatencyWindow window) {
+        long delay = window.delay();
+        if (delay <= 0) {
+            return this.measure(next.exchange(request), window);
+        }
+
+        AtomicBoolean decided = new AtomicBoolean(false);
+        AtomicBoolean sent = new AtomicBoolean(false);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        AtomicReference<String> taken = new AtomicReference<>();
+        ClientRequest primaryRequest = ClientRequest.from(request)
+            .attribute(HEDGE_ATTRIBUTE, taken)
+            .build();
+        Mono<ClientResponse> primary = this.claim(this.measure(next.exchange(primaryRequest), window), decided, false)
+            .onErrorResume(throwable -> {
+                if (!sent.get()) {
+                    return Mono.error(throwable);
+                }
+                failure.set(throwable);
+
+                return Mono.empty();
+            });
+        Mono<ClientResponse> second = this.timer.delay(Duration.ofNanos(delay))
+            .filter(elapsed -> this.budget.tryWithdraw())
+            .doOnNext(elapsed -> sent.set(true))
+            .flatMap(elapsed -> this.hedge(primaryRequest, next, window))
+            .onErrorResume(throwable -> Mono.empty());
+
+        return Flux.merge(primary, this.claim(second, decided, true))
+            .next()
+            .switchIfEmpty(Mono.defer(() -> Mono.justOrEmpty(failure.get()).flatMap(Mono::error)));
+    }
+
+    private Mono<ClientResponse> hedge(ClientRequest request, ExchangeFunction next, LatencyWindow window) {
+        this.hedged.incrementAndGet();
+
+        return this.measure(next.exchange(request), window);
+    }
+
+    private Mono<ClientResponse> measure(Mono<ClientResponse> exchange, LatencyWindow window) {
+        return Mono.defer(() -> {
+            long started = System.nanoTime();
+            return exchange.doOnNext(response -> window.record(System.nanoTime() - started));
+        });
+    }
+
+    /**
+     * Only the first response of a call goes downstream, a later one is released.
+     */
+    private Mono<ClientResponse> claim(Mono<ClientResponse> exchange, AtomicBoolean decided, boolean isHedge) {
+        return exchange.flatMap(response -> {
+            if (decided.compareAndSet(false, true)) {
+                if (isHedge) {
+                    this.won.incrementAndGet();
+                }
+
+                return Mono.just(response);
+            }
+
+            return response.releaseBody().then(Mono.empty());
+        });
+    }
+
+    private static boolean isHedgeable(RAGFlowDictionary.API api) {
+        return "GET".equalsIgnoreCase(api.method())
+            && api != RAGFlowDictionary.API.DOWNLOAD_DOCUMENT
+            && api != RAGFlowDictionary.API.CHECK_SYSTEM_HEALTH;
+    }
+
+    private static List<Object> fingerprint(RAGFlowProperties.Hedge hedge) {
+        return Arrays.asList(
+            hedge.percentile(),
+            hedge.minDelay(),
+            hedge.budgetPercent(),
+            hedge.budgetReserve()
+        );
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * The last latencies of one endpoint, the hedge delay is recomputed every few samples.
+     */
+    private final class LatencyWindow {
+
+        private final long[] latencies = new long[WINDOW_SIZE];
+
+        private int next;
+        private int count;
+        private int sinceRefresh;
+        private long delay;
+
+        synchronized void record(long latency) {
+            this.latencies[this.next] = latency;
+            this.next = (this.next + 1) % WINDOW_SIZE;
+            this.count = Math.min(WINDOW_SIZE, this.count + 1);
+            if (++this.sinceRefresh < REFRESH_SAMPLES || this.count < MIN_SAMPLES) {
+                return;
+            }
+
+            this.sinceRefresh = 0;
+            long[] sorted = Arrays.copyOf(this.latencies, this.count);
+            Arrays.sort(sorted);
+            int index = (int) Math.ceil(HedgePolicy.this.percentile / 100D * this.count) - 1;
+            this.delay = Math.max(HedgePolicy.this.minDelay, sorted[Math.max(0, index)]);
+        }
+
+        /**
+         * @return the hedge delay in nanoseconds, {@code 0} until enough calls were measured
+         */
+        synchronized long delay() {
+            return this.delay;
+        }
+    }
+}
@@ -0,0 +1,338 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.ingest;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.reactivestreams.Publisher;
+
+import io.github.photowey.ai.ragflow.client.webflux.core.concurrent.ReactiveSemaphore;
+import io.github.photowey.ai.ragflow.client.webflux.core.upload.UploadResults;
+import io.github.photowey.ai.ragflow.client.webflux.document.AsyncWebfluxRAGFlowDocumentClient;
+import io.github.photowey.ai.ragflow.core.constant.MessageConstants;
+import io.github.photowey.ai.ragflow.core.domain.context.document.BatchUploadDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.context.document.IngestDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.context.document.ParseDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.context.document.WatchParsingStatusContext;
+import io.github.photowey.ai.ragflow.core.domain.dto.document.DocumentDTO;
+import io.github.photowey.ai.ragflow.core.domain.dto.document.UploadDocumentDTO;
+import io.github.photowey.ai.ragflow.core.domain.ingest.IngestEvent;
+import io.github.photowey.ai.ragflow.core.domain.parsing.ParseAdmission;
+import io.github.photowey.ai.ragflow.core.domain.parsing.ParsingTransition;
+import io.github.photowey.ai.ragflow.core.domain.payload.document.ParseDocumentPayload;
+import io.github.photowey.ai.ragflow.core.domain.payload.document.UploadDocumentPayload;
+import io.github.photowey.ai.ragflow.core.domain.upload.BatchUploadResult;
+import io.github.photowey.ai.ragflow.core.domain.upload.UploadFailure;
+import io.github.photowey.ai.ragflow.core.formatter.StringFormatter;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code IngestionPipeline}.
+ *
+ * <p>
+ * Runs upload, parse and status polling as three concurrent stages, so the upload of the next documents
+ * overlaps the parsing of the previous ones on the server:
+ * <ol>
+ *     <li>documents are grouped and sent with {@link AsyncWebfluxRAGFlowDocumentClient#batchUploadDocuments},
+ *     which holds the upload permits of the deployment and retries transient failures;</li>
+ *     <li>the returned ids are gathered and scheduled with
+ *     {@link AsyncWebfluxRAGFlowDocumentClient#scheduleParseDocuments}, which keeps the number of documents
+ *     parsing on the deployment bounded, the parse timeout of a document starts once it was admitted;</li>
+ *     <li>every submitted document is watched with
+ *     {@link AsyncWebfluxRAGFlowDocumentClient#watchParsingStatus} until its {@code run} status is final.</li>
+ * </ol>
+ * A failure only ends the documents it concerns, each input document yields exactly one {@link IngestEvent}.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+public class IngestionPipeline {
+
+    private final AsyncWebfluxRAGFlowDocumentClient client;
+    private final IngestDocumentContext context;
+
+    public IngestionPipeline(AsyncWebfluxRAGFlowDocumentClient client, IngestDocumentContext context) {
+        this.client = Objects.requireNonNull(client, "client");
+        this.context = Objects.requireNonNull(context, "context");
+    }
+
+    /**
+     * Ingest the documents, the events are emitted as documents complete, not in input order.
+     *
+     * <p>
+     * The partial groups are flushed on a timer whatever the downstream demand, so a document descriptor is
+     * only requested once it holds one of {@link #window()} intake permits, given back when the document was
+     * admitted to parse or failed before. The documents waiting in the stage buffers are bounded by it,
+     * their sources are only read once their group is sent.
+     *
+     * @param documents the documents to ingest
+     * @return one event per document
+     */
+    public Flux<IngestEvent> ingest(Publisher<UploadDocumentPayload.Document> documents) {
+        AtomicLong sequence = new AtomicLong();
+        Duration linger = this.context.determineLinger();
+        ReactiveSemaphore intake = new ReactiveSemaphore(this.window());
+
+        Flux<Tracked> uploaded = Flux.from(documents)
+            .concatMap(document -> intake.acquire()
+                .map(permit -> new Tracked(sequence.getAndIncrement(), document, permit)), 1)
+            .bufferTimeout(this.context.determineUploadBatchFiles(), linger)
+            .onBackpressureBuffer()
+            .flatMap(this::upload, this.context.determineUploadParallelism());
+
+        Flux<Tracked> submitted = uploaded.publish(shared -> Flux.merge(
+            shared.filter(Tracked::finished),
+            shared.filter(tracked -> !tracked.finished())
+                .bufferTimeout(this.context.determineParseBatchSize(), linger)
+                .onBackpressureBuffer()
+                .flatMap(this::parse, this.context.determineParseParallelism())
+        ));
+
+        return submitted.flatMap(tracked -> tracked.finished()
+            ? Mono.just(tracked.event)
+            : this.await(tracked), Integer.MAX_VALUE);
+    }
+
+    /**
+     * The documents between intake and parse admission, enough for a group filling while every upload and
+     * parse slot is busy.
+     */
+    private int window() {
+        int uploading = this.context.determineUploadBatchFiles() * this.context.determineUploadParallelism();
+        int parsing = this.context.determineParseBatchSize() * this.context.determineParseParallelism();
+
+        return uploading + this.context.determineUploadBatchFiles() + parsing;
+    }
+
+    // ----------------------------------------------------------------
+
+    private Flux<Tracked> upload(List<Tracked> group) {
+        List<UploadDocumentPayload.Document> documents = group.stream()
+            .map(tracked -> tracked.document)
+            .collect(Collectors.toList());
+
+        BatchUploadDocumentContext batchContext = BatchUploadDocumentContext.builder()
+            .deployKey(this.context.deployKey())
+            .datasetId(this.context.datasetId())
+            .payload(UploadDocumentPayload.builder().documents(documents).build())
+            .maxBatchFiles(documents.size())
+            .parallelism(1)
+            .build();
+
+        return this.client.batchUploadDocuments(batchContext)
+            .map(result -> accept(group, result))
+            .onErrorResume(throwable -> Mono.fromSupplier(() -> {
+                group.forEach(tracked -> tracked.fail(describe(throwable)));
+                return group;
+            }))
+            .flatMapMany(Flux::fromIterable);
+    }
+
+    /**
+     * The uploaded documents are paired with the tracked ones by position, see {@link UploadResults}. When the
+     * counts differ they are matched by name instead, only the documents left without a match are failed.
+     */
+    private static List<Tracked> accept(List<Tracked> group, BatchUploadResult result) {
+        final long now = System.nanoTime();
+        Set<Integer> failed = new HashSet<>();
+        for (UploadFailure failure : result.failures()) {
+            failed.add(failure.index());
+            group.get(failure.index()).fail(failure.message());
+        }
+
+        List<Tracked> succeeded = new ArrayList<>();
+        for (int i = 0; i < group.size(); i++) {
+            if (!failed.contains(i)) {
+                succeeded.add(group.get(i));
+            }
+        }
+
+        List<UploadDocumentPayload.Document> sent = succeeded.stream()
+            .map(tracked -> tracked.document)
+            .collect(Collectors.toList());
+        Optional<List<UploadDocumentDTO>> paired = UploadResults.pair(sent, result.documents());
+        if (paired.isPresent()) {
+            for (int i = 0; i < succeeded.size(); i++) {
+                succeeded.get(i).uploaded(paired.get().get(i), now);
+            }
+
+            return group;
+        }
+
+        List<UploadDocumentDTO> unmatched = new ArrayList<>(result.documents());
+        for (Tracked tracked : succeeded) {
+            Optional<UploadDocumentDTO> match = unmatched.stream()
+                .filter(dto -> Objects.nonNull(dto) && Objects.nonNull(dto.getId()))
+                .filter(dto -> UploadResults.determineIsSameName(tracked.document.originalName(), dto.getName()))
+                .findFirst();
+            if (match.isPresent()) {
+                unmatched.remove(match.get());
+                tracked.uploaded(match.get(), now);
+            } else {
+                tracked.fail(MessageConstants.UPLOAD_DOCUMENTS_MISMATCHED);
+            }
+        }
+
+        return group;
+    }
+
+    private Flux<Tracked> parse(List<Tracked> group) {
+        Map<String, Tracked> pending = new LinkedHashMap<>();
+        group.forEach(tracked -> pending.put(tracked.documentId, tracked));
+
+        ParseDocumentContext parseContext = ParseDocumentContext.builder()
+            .deployKey(this.context.deployKey())
+            .datasetId(this.context.datasetId())
+            .payload(ParseDocumentPayload.builder().documentIds(new ArrayList<>(pending.keySet())).build())
+            .build();
+
+        return this.client.scheduleParseDocuments(parseContext)
+            .flatMap(admission -> Mono.justOrEmpty(pending.remove(admission.documentId()))
+                .map(tracked -> tracked.admitted(admission)))
+            .onErrorResume(throwable -> Flux.defer(() -> failAll(pending.values(), throwable)));
+    }
+
+    /**
+     * The documents not admitted when the scheduling failed.
+     */
+    private static Flux<Tracked> failAll(Collection<Tracked> remaining, Throwable throwable) {
+        String message = MessageConstants.PARSE_DOCUMENTS_FAILED + describe(throwable);
+        remaining.forEach(tracked -> tracked.fail(message));
+
+        return Flux.fromIterable(new ArrayList<>(remaining));
+    }
+
+    // ----------------------------------------------------------------
+
+    private Mono<IngestEvent> await(Tracked tracked) {
+        Duration timeout = this.context.determineParseTimeout();
+        WatchParsingStatusContext watchContext = WatchParsingStatusContext.builder()
+            .deployKey(this.context.deployKey())
+            .datasetId(this.context.datasetId())
+            .documentIds(Collections.singletonList(tracked.documentId))
+            .build();
+
+        return this.client.watchParsingStatus(watchContext)
+            .filter(ParsingTransition::finished)
+            .next()
+            .timeout(timeout)
+            .map(tracked::finish)
+            .onErrorResume(throwable -> Mono.fromSupplier(() -> {
+                String message = throwable instanceof TimeoutException
+                    ? StringFormatter.format(MessageConstants.PARSE_DOCUMENTS_TIMEOUT, tracked.documentId, timeout)
+                    : describe(throwable);
+                tracked.fail(message);
+                return tracked.event;
+            }));
+    }
+
+    private static String describe(Throwable throwable) {
+        return Objects.nonNull(throwable.getMessage()) ? throwable.getMessage() : throwable.getClass().getName();
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * The progress of one document through the stages, {@link #event} is set once it reached a final status.
+     */
+    private static final class Tracked {
+
+        private final long index;
+        private final UploadDocumentPayload.Document document;
+        private final ReactiveSemaphore.Permit intake;
+        private final long accepted = System.nanoTime();
+
+        private String documentId;
+        private long uploaded;
+        private long parseStarted;
+        private DocumentDTO listed;
+        private IngestEvent event;
+
+        Tracked(long index, UploadDocumentPayload.Document document, ReactiveSemaphore.Permit intake) {
+            this.index = index;
+            this.document = document;
+            this.intake = intake;
+        }
+
+        boolean finished() {
+            return Objects.nonNull(this.event);
+        }
+
+        void uploaded(UploadDocumentDTO dto, long now) {
+            this.documentId = dto.getId();
+            this.uploaded = now;
+        }
+
+        Tracked admitted(ParseAdmission admission) {
+            this.intake.release();
+            if (admission.determineIsAdmitted()) {
+                this.parseStarted = System.nanoTime();
+            } else {
+                this.fail(admission.message());
+            }
+
+            return this;
+        }
+
+        void fail(String message) {
+            this.intake.release();
+            this.event = this.toEvent(IngestEvent.Status.FAIL, message);
+        }
+
+        IngestEvent finish(ParsingTransition transition) {
+            IngestEvent.Status status = transition.determineIsDone()
+                ? IngestEvent.Status.DONE
+                : transition.determineIsCancelled() ? IngestEvent.Status.CANCEL : IngestEvent.Status.FAIL;
+            this.listed = transition.document();
+            this.event = this.toEvent(status, transition.progressMessage());
+
+            return this.event;
+        }
+
+        private IngestEvent toEvent(IngestEvent.Status status, String message) {
+            long now = System.nanoTime();
+            long uploadEnd = this.uploaded > 0 ? this.uploaded : now;
+
+            return IngestEvent.builder()
+                .index(this.index)
+                .originalName(this.document.originalName())
+                .documentId(this.documentId)
+                .status(status)
+                .message(message)
+                .document(this.listed)
+                .uploadTime(Duration.ofNanos(uploadEnd - this.accepted))
+                .parseTime(this.parseStarted > 0 ? Duration.ofNanos(now - this.parseStarted) : null)
+                .totalTime(Duration.ofNanos(now - this.accepted))
+                .build();
+        }
+    }
+}
@@ -17,45 +17,86 @@ package io.github.photowey.ai.ragflow.client.webflux.core.io;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.ByteBuffer;
-import java.util.Collections;
-import java.util.Iterator;
-import java.util.List;
+import java.io.InterruptedIOException;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
 
+import org.reactivestreams.Subscription;
 import org.springframework.core.io.buffer.DataBuffer;
 import org.springframework.core.io.buffer.DataBufferUtils;
 
+import reactor.core.Exceptions;
+import reactor.core.publisher.BaseSubscriber;
 import reactor.core.publisher.Flux;
 
 /**
  * {@code ReactiveInputStream}.
  *
+ * <p>
+ * A blocking {@link InputStream} view over a {@code Flux<DataBuffer>}. The upstream is subscribed with a
+ * bounded demand of {@code prefetch} buffers and replenished as the reader drains them, so the heap held
+ * per stream is bounded by the prefetch window rather than by the size of the payload.
+ * Every buffer is released as soon as it has been read, upstream errors surface as {@link IOException}
+ * on the next read and {@link #close()} cancels the subscription and releases whatever is still queued.
+ *
+ * <p>
+ * Buffers are handed over through a lock-free {@link SpscArrayRing}, the reader parks only when the ring
+ * is empty and is unparked by the producer. No thread and no intermediate {@code byte[]} is needed per stream.
+ *
+ * <p>
+ * Reads block the calling thread, never read from an event-loop thread.
+ * The stream is meant for a single reader, which is also expected to close it.
+ *
  * @author photowey
  * @version 2025.0.22.0.1
  * @since 2025/12/06
  */
 public class ReactiveInputStream extends InputStream {
 
-    private final Iterator<DataBuffer> buffers;
-    private ByteBuffer currentBuffer;
+    public static final int DEFAULT_PREFETCH = 8;
+
+    private final int limit;
+    private final SpscArrayRing<DataBuffer> ring;
+    private final DataBufferSubscriber subscriber;
+    private final AtomicReference<Thread> waiter = new AtomicReference<>();
+    private final AtomicInteger discarding = new AtomicInteger();
+
+    private DataBuffer current;
+    private int consumed;
+    private boolean terminated;
+
+    private volatile boolean done;
+    private volatile boolean closed;
+    private volatile Throwable error;
 
     public ReactiveInputStream(Flux<DataBuffer> dataBufferFlux) {
-        List<DataBuffer> bufferList = dataBufferFlux.collectList().block();
-        this.buffers = Objects.nonNull(bufferList)
-            ? bufferList.iterator()
-            : Collections.emptyIterator();
+        this(dataBufferFlux, DEFAULT_PREFETCH);
+    }
+
+    public ReactiveInputStream(Flux<DataBuffer> dataBufferFlux, int prefetch) {
+        if (prefetch <= 0) {
+            throw new IllegalArgumentException("prefetch must be positive, but was " + prefetch);
+        }
+
+        this.limit = prefetch - (prefetch >> 2);
+        this.ring = new SpscArrayRing<>(prefetch);
+        this.subscriber = new DataBufferSubscriber(prefetch);
+
+        dataBufferFlux.subscribe(this.subscriber);
     }
 
     @Override
     public int read() throws IOException {
-        if (this.currentBuffer == null || !this.currentBuffer.hasRemaining()) {
-            if (this.hasNoMoreBuffers()) {
-                return -1;
-            }
+        if (this.hasNoMoreBuffers()) {
+            return -1;
         }
 
-        return this.currentBuffer.get() & 0xFF;
+        int value = this.current.read() & 0xFF;
+        this.tryReleaseCurrent();
+
+        return value;
     }
 
     @Override
@@ -70,14 +111,18 @@ public class ReactiveInputStream extends InputStream {
 
         int totalRead = 0;
         while (len > 0) {
-            if (this.currentBuffer == null || !this.currentBuffer.hasRemaining()) {
-                if (this.hasNoMoreBuffers()) {
-                    return totalRead > 0 ? totalRead : -1;
-                }
+            // Only block for the first chunk, hand back what we already have otherwise.
+            if (totalRead > 0 && this.current == null && this.ring.isEmpty()) {
+                break;
+            }
+            if (this.hasNoMoreBuffers()) {
+                return totalRead > 0 ? totalRead : -1;
             }
 
-            int toRead = Math.min(this.currentBuffer.remaining(), len);
-            this.currentBuffer.get(b, off, toRead);
+            int toRead = Math.min(this.current.readableByteCount(), len);
+            this.current.read(b, off, toRead);
+            this.tryReleaseCurrent();
+
             off += toRead;
             len -= toRead;
             totalRead += toRead;
@@ -86,22 +131,185 @@ public class ReactiveInputStream extends InputStream {
         return totalRead;
     }
 
+    @Override
+    public int available() throws IOException {
+        this.checkClosed();
+
+        return Objects.nonNull(this.current) ? this.current.readableByteCount() : 0;
+    }
+
     @Override
     public void close() throws IOException {
-        while (this.buffers.hasNext()) {
-            DataBuffer buffer = this.buffers.next();
-            DataBufferUtils.release(buffer);
+        if (this.closed) {
+            return;
         }
+
+        this.closed = true;
+        this.subscriber.dispose();
+
+        if (Objects.nonNull(this.current)) {
+            DataBufferUtils.release(this.current);
+            this.current = null;
+        }
+
+        this.discard();
+    }
+
+    // ----------------------------------------------------------------
+
+    private boolean hasNoMoreBuffers() throws IOException {
+        this.checkClosed();
+
+        while (Objects.isNull(this.current)) {
+            if (this.terminated) {
+                return this.checkError();
+            }
+
+            DataBuffer next = this.take();
+            if (Objects.isNull(next)) {
+                this.terminated = true;
+                continue;
+            }
+
+            this.current = next;
+            // Skip empty chunks, they still count towards the consumed demand.
+            this.tryReleaseCurrent();
+        }
+
+        return false;
     }
 
-    private boolean hasNoMoreBuffers() {
-        if (this.buffers.hasNext()) {
-            DataBuffer next = this.buffers.next();
-            this.currentBuffer = next.asByteBuffer();
+    /**
+     * Wait for the next buffer, {@code null} means the upstream has terminated.
+     */
+    private DataBuffer take() throws IOException {
+        for (;;) {
+            DataBuffer next = this.ring.poll();
+            if (Objects.nonNull(next)) {
+                return next;
+            }
+            if (this.done) {
+                // Every offer happens before the terminal signal, one more poll sees the last of them.
+                return this.ring.poll();
+            }
+
+            this.waiter.set(Thread.currentThread());
+            if (this.ring.isEmpty() && !this.done) {
+                LockSupport.park(this);
+            }
+            this.waiter.set(null);
 
-            return false;
+            this.checkClosed();
+            if (Thread.interrupted()) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the next data buffer");
+            }
+        }
+    }
+
+    private void tryReleaseCurrent() {
+        if (this.current.readableByteCount() > 0) {
+            return;
+        }
+
+        DataBufferUtils.release(this.current);
+        this.current = null;
+
+        if (++this.consumed == this.limit) {
+            this.consumed = 0;
+            this.subscriber.request(this.limit);
+        }
+    }
+
+    private boolean checkError() throws IOException {
+        Throwable cause = this.error;
+        if (Objects.nonNull(cause)) {
+            throw new IOException("Reactive stream failed", cause);
         }
 
         return true;
     }
+
+    private void checkClosed() throws IOException {
+        if (this.closed) {
+            throw new IOException("Stream closed");
+        }
+    }
+
+    /**
+     * Release everything left in the ring once closed, the producer and {@link #close()} may race here.
+     */
+    private void discard() {
+        if (this.discarding.getAndIncrement() != 0) {
+            return;
+        }
+
+        int missed = 1;
+        while (missed != 0) {
+            for (DataBuffer next = this.ring.poll(); Objects.nonNull(next); next = this.ring.poll()) {
+                DataBufferUtils.release(next);
+            }
+            missed = this.discarding.addAndGet(-missed);
+        }
+    }
+
+    private void signal() {
+        Thread thread = this.waiter.get();
+        if (Objects.nonNull(thread)) {
+            LockSupport.unpark(thread);
+        }
+    }
+
+    // ----------------------------------------------------------------
+
+    private final class DataBufferSubscriber extends BaseSubscriber<DataBuffer> {
+
+        private final int prefetch;
+
+        DataBufferSubscriber(int prefetch) {
+            this.prefetch = prefetch;
+        }
+
+        @Override
+        protected void hookOnSubscribe(Subscription subscription) {
+            subscription.request(this.prefetch);
+        }
+
+        @Override
+        protected void hookOnNext(DataBuffer buffer) {
+            if (closed) {
+                DataBufferUtils.release(buffer);
+                return;
+            }
+            if (!ring.offer(buffer)) {
+                DataBufferUtils.release(buffer);
+                this.cancel();
+                this.terminate(Exceptions.failWithOverflow("The upstream ignored the requested demand"));
+                return;
+            }
+            // close() may have discarded the ring right before the offer.
+            if (closed) {
+                discard();
+                return;
+            }
+
+            signal();
+        }
+
+        @Override
+        protected void hookOnError(Throwable throwable) {
+            this.terminate(throwable);
+        }
+
+        @Override
+        protected void hookOnComplete() {
+            this.terminate(null);
+        }
+
+        private void terminate(Throwable cause) {
+            error = cause;
+            done = true;
+            signal();
+        }
+    }
 }
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.io;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * {@code SpscArrayRing}.
+ *
+ * <p>
+ * A bounded, lock-free single-producer/single-consumer ring of references.
+ * A slot is free while it holds {@code null}, so the producer and the consumer each own a plain index and
+ * never touch the other side's one. Element stores are volatile on purpose: the consumer publishes itself
+ * as a waiter before re-checking the ring, and the producer must observe that waiter after its store.
+ *
+ * @param <E> the type of elements
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+final class SpscArrayRing<E> {
+
+    private final int mask;
+    private final AtomicReferenceArray<E> slots;
+
+    // Owned by the producer thread.
+    private long producerIndex;
+    // Owned by the consumer thread.
+    private long consumerIndex;
+
+    SpscArrayRing(int capacity) {
+        int actual = roundToPowerOfTwo(capacity);
+        this.mask = actual - 1;
+        this.slots = new AtomicReferenceArray<>(actual);
+    }
+
+    /**
+     * Producer side only.
+     *
+     * @param element the element to enqueue, never {@code null}
+     * @return {@code false} if the ring is full
+     */
+    boolean offer(E element) {
+        int offset = (int) this.producerIndex & this.mask;
+        if (Objects.nonNull(this.slots.get(offset))) {
+            return false;
+        }
+
+        this.slots.set(offset, element);
+        this.producerIndex++;
+
+        return true;
+    }
+
+    /**
+     * Consumer side only.
+     *
+     * @return the head element, or {@code null} if the ring is empty
+     */
+    E poll() {
+        int offset = (int) this.consumerIndex & this.mask;
+        E element = this.slots.get(offset);
+        if (Objects.isNull(element)) {
+            return null;
+        }
+
+        this.slots.lazySet(offset, null);
+        this.consumerIndex++;
+
+        return element;
+    }
+
+    /**
+     * Consumer side only.
+     */
+    boolean isEmpty() {
+        return Objects.isNull(this.slots.get((int) this.consumerIndex & this.mask));
+    }
+
+    int capacity() {
+        return this.mask + 1;
+    }
+
+    // ----------------------------------------------------------------
+
+    private static int roundToPowerOfTwo(int capacity) {
+        if (capacity <= 1) {
+            return 1;
+        }
+
+        return Integer.highestOneBit(capacity - 1) << 1;
+    }
+}
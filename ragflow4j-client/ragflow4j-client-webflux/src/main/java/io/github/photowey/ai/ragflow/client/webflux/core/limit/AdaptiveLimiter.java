@@ -0,0 +1,388 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.limit;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+
+import io.github.photowey.ai.ragflow.client.webflux.core.concurrent.WheelTimer;
+import io.github.photowey.ai.ragflow.client.webflux.core.retry.TransientErrors;
+import io.github.photowey.ai.ragflow.client.webflux.core.route.ApiRoutes;
+import io.github.photowey.ai.ragflow.core.domain.limit.LimitMetrics;
+import io.github.photowey.ai.ragflow.core.enums.RAGFlowDictionary;
+import io.github.photowey.ai.ragflow.core.exception.ConcurrencyLimitExceededException;
+import io.github.photowey.ai.ragflow.core.property.RAGFlowProperties;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+/**
+ * {@code AdaptiveLimiter}.
+ *
+ * <p>
+ * Bounds the in-flight calls of one deployment with a limit sized from their latency, installed as a filter of
+ * every {@code WebClient} of that deployment. The limit follows the TCP Vegas rule: the latency of a call to its
+ * response headers is compared with the lowest latency seen, the no-load latency, to estimate how many calls are
+ * queued on the server,
+ * <ul>
+ *     <li>only the {@code GET} calls of {@link RAGFlowDictionary.API#idempotent()} endpoints are timed, an upload
+ *     or a chat completion takes as long as its content and would pass for a saturated deployment;</li>
+ *     <li>few queued calls grow the limit quickly, a short queue grows it slowly, a long one shrinks it;</li>
+ *     <li>a call the server sheds, a {@code 429}, {@code 503} or {@code 504} response or a transient error,
+ *     shrinks the limit by a tenth;</li>
+ *     <li>the limit only grows while at least half of it is used, and the no-load latency is measured again every
+ *     few hundred calls, so a deployment that got slower for good is not mistaken for a saturated one.</li>
+ * </ul>
+ * The calls beyond the limit wait in a bounded FIFO queue, then fail with a
+ * {@link ConcurrencyLimitExceededException}. The health endpoint of the deployment is never limited.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+public class AdaptiveLimiter implements ExchangeFilterFunction {
+
+    private static final String HEALTH_ROUTE = RAGFlowDictionary.API.CHECK_SYSTEM_HEALTH.route();
+    private static final double DECREASE_FACTOR = 0.9D;
+    private static final int PROBE_SAMPLES = 500;
+
+    private final String deployKey;
+    private final List<Object> settings;
+    private final int minLimit;
+    private final int maxLimit;
+    private final int maxQueued;
+    private final Duration queueTimeout;
+    private final WheelTimer timer = WheelTimer.shared();
+    private final Queue<Waiter> waiters = new ArrayDeque<>();
+
+    private double limit;
+    private int inflight;
+    private long rejected;
+    private long noLoadLatency;
+    private int samples;
+    private int probeAfter;
+
+    public AdaptiveLimiter(String deployKey, RAGFlowProperties.Limiter limiter) {
+        this.deployKey = deployKey;
+        this.settings = fingerprint(limiter);
+        this.minLimit = limiter.minLimit();
+        this.maxLimit = limiter.maxLimit();
+        this.maxQueued = limiter.maxQueued();
+        this.queueTimeout = Duration.ofMillis(limiter.queueTimeout());
+        this.limit = limiter.initialLimit();
+        this.probeAfter = this.nextProbe();
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (request.url().getPath().endsWith(HEALTH_ROUTE)) {
+            return next.exchange(request);
+        }
+
+        boolean timed = isTimed(request);
+
+        return Mono.usingWhen(
+            this.acquire(),
+            permit -> next.exchange(request)
+                .doOnNext(response -> permit.sample(timed, isDropped(response.rawStatusCode())))
+                .doOnError(permit::failed),
+            Permit::release,
+            (permit, error) -> permit.release(),
+            Permit::release
+        );
+    }
+
+    public synchronized int limit() {
+        return (int) this.limit;
+    }
+
+    public synchronized LimitMetrics metrics() {
+        return LimitMetrics.builder()
+            .deployKey(this.deployKey)
+            .limit((int) this.limit)
+            .inflight(this.inflight)
+            .queued(this.waiters.size())
+            .noLoadLatency(this.noLoadLatency > 0 ? Duration.ofNanos(this.noLoadLatency) : null)
+            .rejected(this.rejected)
+            .build();
+    }
+
+    /**
+     * Whether the limiter was built from the given settings.
+     *
+     * @param limiter the settings
+     * @return {@code true} if nothing changed
+     */
+    public boolean matches(RAGFlowProperties.Limiter limiter) {
+        return this.settings.equals(fingerprint(limiter));
+    }
+
+    // ----------------------------------------------------------------
+
+    private Mono<Permit> acquire() {
+        return Mono.create(sink -> {
+            Waiter waiter = new Waiter(sink);
+            Permit granted = null;
+            boolean queued = false;
+            int current;
+            synchronized (this) {
+                current = (int) this.limit;
+                if (this.inflight < current) {
+                    granted = new Permit(++this.inflight);
+                } else if (this.waiters.size() < this.maxQueued) {
+                    this.waiters.offer(waiter);
+                    queued = true;
+                } else {
+                    this.rejected++;
+                }
+            }
+
+            if (Objects.nonNull(granted)) {
+                sink.success(granted);
+                return;
+            }
+            if (!queued) {
+                sink.error(new ConcurrencyLimitExceededException(this.deployKey, current));
+                return;
+            }
+
+            waiter.timeout = this.timer.delay(this.queueTimeout).subscribe(elapsed -> this.expire(waiter));
+            sink.onCancel(() -> this.cancel(waiter));
+        });
+    }
+
+    private void expire(Waiter waiter) {
+        if (!waiter.state.compareAndSet(Waiter.WAITING, Waiter.CANCELLED)) {
+            return;
+        }
+
+        int current;
+        synchronized (this) {
+            this.waiters.remove(waiter);
+            this.rejected++;
+            current = (int) this.limit;
+        }
+        waiter.sink.error(new ConcurrencyLimitExceededException(this.deployKey, current));
+    }
+
+    private void cancel(Waiter waiter) {
+        if (waiter.state.compareAndSet(Waiter.WAITING, Waiter.CANCELLED)) {
+            waiter.dispose();
+            synchronized (this) {
+                this.waiters.remove(waiter);
+            }
+
+            return;
+        }
+
+        // Cancelled after the grant but before the permit was delivered, the sink drops it.
+        waiter.releaseGranted();
+    }
+
+    private void release(Permit permit) {
+        synchronized (this) {
+            this.inflight--;
+            if (permit.sampled) {
+                this.update(permit.latency, permit.inflight, permit.dropped, permit.timed);
+            }
+        }
+        this.drain();
+    }
+
+    private void drain() {
+        for (;;) {
+            Waiter next;
+            Permit granted;
+            synchronized (this) {
+                if (this.inflight >= (int) this.limit) {
+                    return;
+                }
+                next = this.waiters.poll();
+                if (Objects.isNull(next)) {
+                    return;
+                }
+                granted = new Permit(++this.inflight);
+            }
+
+            if (!next.grant(granted)) {
+                granted.release();
+            }
+        }
+    }
+
+    /**
+     * The Vegas update, under the lock. A shed call shrinks the limit whatever its endpoint.
+     */
+    private void update(long latency, int inflightAtStart, boolean dropped, boolean timed) {
+        if (dropped) {
+            this.limit = Math.max(this.minLimit, this.limit * DECREASE_FACTOR);
+            return;
+        }
+        if (!timed) {
+            return;
+        }
+        if (this.noLoadLatency <= 0 || latency < this.noLoadLatency) {
+            this.noLoadLatency = latency;
+            return;
+        }
+        if (++this.samples >= this.probeAfter) {
+            this.noLoadLatency = latency;
+            this.samples = 0;
+            this.probeAfter = this.nextProbe();
+            return;
+        }
+        if (inflightAtStart * 2 < this.limit) {
+            return;
+        }
+
+        int current = (int) this.limit;
+        int log = Math.max(1, (int) Math.log10(current));
+        int queue = (int) Math.ceil(current * (1D - (double) this.noLoadLatency / latency));
+        if (queue <= log) {
+            this.limit = current + 6 * log;
+        } else if (queue < 3 * log) {
+            this.limit = current + log;
+        } else if (queue > 6 * log) {
+            this.limit = current - log;
+        }
+        this.limit = Math.max(this.minLimit, Math.min(this.maxLimit, this.limit));
+    }
+
+    private int nextProbe() {
+        return PROBE_SAMPLES + ThreadLocalRandom.current().nextInt(PROBE_SAMPLES);
+    }
+
+    private static boolean isTimed(ClientRequest request) {
+        return HttpMethod.GET.equals(request.method())
+            && ApiRoutes.resolve(request).map(RAGFlowDictionary.API::idempotent).orElse(false);
+    }
+
+    private static boolean isDropped(int status) {
+        return status == HttpStatus.TOO_MANY_REQUESTS.value()
+            || status == HttpStatus.SERVICE_UNAVAILABLE.value()
+            || status == HttpStatus.GATEWAY_TIMEOUT.value();
+    }
+
+    private static List<Object> fingerprint(RAGFlowProperties.Limiter limiter) {
+        return Arrays.asList(
+            limiter.initialLimit(),
+            limiter.minLimit(),
+            limiter.maxLimit(),
+            limiter.maxQueued(),
+            limiter.queueTimeout()
+        );
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * An in-flight slot, its latency is sampled once the response headers or a transient error arrived, the
+     * other errors, a rejection of the circuit breaker among them, say nothing about the load of the deployment.
+     */
+    private final class Permit {
+
+        private final int inflight;
+        private final long started = System.nanoTime();
+        private final AtomicBoolean released = new AtomicBoolean(false);
+
+        private volatile boolean sampled;
+        private volatile boolean timed;
+        private volatile boolean dropped;
+        private volatile long latency;
+
+        Permit(int inflight) {
+            this.inflight = inflight;
+        }
+
+        void sample(boolean reliable, boolean shed) {
+            this.latency = System.nanoTime() - this.started;
+            this.timed = reliable;
+            this.dropped = shed;
+            this.sampled = true;
+        }
+
+        void failed(Throwable throwable) {
+            if (TransientErrors.isTransient(throwable)) {
+                this.sample(false, true);
+            }
+        }
+
+        Mono<Void> release() {
+            if (this.released.compareAndSet(false, true)) {
+                AdaptiveLimiter.this.release(this);
+            }
+
+            return Mono.empty();
+        }
+    }
+
+    private static final class Waiter {
+
+        static final int WAITING = 0;
+        static final int GRANTED = 1;
+        static final int CANCELLED = 2;
+
+        private final MonoSink<Permit> sink;
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+
+        private volatile Permit permit;
+        private volatile Disposable timeout;
+
+        Waiter(MonoSink<Permit> sink) {
+            this.sink = sink;
+        }
+
+        boolean grant(Permit granted) {
+            this.permit = granted;
+            if (!this.state.compareAndSet(WAITING, GRANTED)) {
+                return false;
+            }
+
+            this.dispose();
+            this.sink.success(granted);
+            return true;
+        }
+
+        void releaseGranted() {
+            Permit granted = this.permit;
+            if (this.state.get() == GRANTED && Objects.nonNull(granted)) {
+                granted.release();
+            }
+        }
+
+        void dispose() {
+            Disposable scheduled = this.timeout;
+            if (Objects.nonNull(scheduled)) {
+                scheduled.dispose();
+            }
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.pagination;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A single page of a listing.
+ *
+ * @param <T> the type of items
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+public final class Page<T> {
+
+    private final int page;
+    private final int pageSize;
+    /**
+     * The total reported by the server, {@code null} if the endpoint does not report one.
+     */
+    private final Long total;
+    private final List<T> items;
+
+    public Page(int page, int pageSize, Long total, List<T> items) {
+        this.page = page;
+        this.pageSize = pageSize;
+        this.total = total;
+        this.items = Objects.nonNull(items) ? items : Collections.emptyList();
+    }
+
+    /**
+     * A short page ends the listing, so does a page reaching the reported total.
+     */
+    public boolean determineIsLast() {
+        if (this.items.size() < this.pageSize) {
+            return true;
+        }
+
+        return Objects.nonNull(this.total) && (long) this.page * this.pageSize >= this.total;
+    }
+
+    // ----------------------------------------------------------------
+
+    public int page() {
+        return page;
+    }
+
+    public int pageSize() {
+        return pageSize;
+    }
+
+    public Long total() {
+        return total;
+    }
+
+    public List<T> items() {
+        return items;
+    }
+}
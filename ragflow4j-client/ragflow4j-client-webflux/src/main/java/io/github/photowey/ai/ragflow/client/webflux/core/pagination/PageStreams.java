@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.pagination;
+
+import java.util.Objects;
+import java.util.function.IntFunction;
+
+import io.github.photowey.ai.ragflow.core.util.AssertionErrors;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code PageStreams}.
+ *
+ * <p>
+ * Flattens a paginated listing into a stream of items.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+public final class PageStreams {
+
+    private PageStreams() {
+        AssertionErrors.throwz(PageStreams.class);
+    }
+
+    /**
+     * Fetch the pages one after another, driven by downstream demand.
+     *
+     * <p>
+     * A page is only requested once the items of the previous one are being consumed, so at most one page
+     * is buffered ahead of the subscriber whatever the size of the listing.
+     *
+     * @param firstPage the first page to fetch, 1-based
+     * @param fetcher   fetches the given page
+     * @param <T>       the type of items
+     * @return the items of every page, in page order
+     */
+    public static <T> Flux<T> sequential(int firstPage, IntFunction<Mono<Page<T>>> fetcher) {
+        return Flux.range(firstPage, Integer.MAX_VALUE - firstPage)
+            .concatMap(fetcher::apply, 1)
+            .takeUntil(Page::determineIsLast)
+            .flatMapIterable(Page::items, 1);
+    }
+
+    /**
+     * Fetch the first page, then up to {@code window} of the remaining pages concurrently.
+     *
+     * <p>
+     * Once the first page reports a total the remaining pages are independent, they are emitted in page
+     * order or as they complete depending on {@code ordered}. Without a total the end of the listing is only
+     * known from the first short page, so pages are fetched speculatively up to {@code window} ahead and always
+     * reassembled in order, the speculative requests beyond the end are cancelled or return empty pages.
+     *
+     * @param firstPage the first page to fetch, 1-based
+     * @param window    the number of pages fetched concurrently
+     * @param ordered   whether the items keep the page order
+     * @param fetcher   fetches the given page, expected to enforce any shared concurrency limit
+     * @param <T>       the type of items
+     * @return the items of every page
+     */
+    public static <T> Flux<T> concurrent(
+        int firstPage,
+        int window,
+        boolean ordered,
+        IntFunction<Mono<Page<T>>> fetcher) {
+        return fetcher.apply(firstPage).flatMapMany(first -> {
+            Flux<T> head = Flux.fromIterable(first.items());
+            if (first.determineIsLast()) {
+                return head;
+            }
+
+            return head.concatWith(remaining(first, window, ordered, fetcher));
+        });
+    }
+
+    // ----------------------------------------------------------------
+
+    private static <T> Flux<T> remaining(
+        Page<T> first,
+        int window,
+        boolean ordered,
+        IntFunction<Mono<Page<T>>> fetcher) {
+        int next = first.page() + 1;
+        if (Objects.isNull(first.total())) {
+            return Flux.range(next, Integer.MAX_VALUE - next)
+                .flatMapSequential(fetcher::apply, window, 1)
+                .takeUntil(Page::determineIsLast)
+                .flatMapIterable(Page::items, 1);
+        }
+
+        long lastPage = (first.total() + first.pageSize() - 1) / first.pageSize();
+        int count = (int) Math.min(lastPage - first.page(), Integer.MAX_VALUE - next);
+        Flux<Integer> pages = Flux.range(next, count);
+        Flux<Page<T>> fetched = ordered
+            ? pages.flatMapSequential(fetcher::apply, window, 1)
+            : pages.flatMap(fetcher::apply, window, 1);
+
+        return fetched.flatMapIterable(Page::items, 1);
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.pagination;
+
+import java.util.Objects;
+
+/**
+ * {@code PrefetchOptions}.
+ *
+ * <p>
+ * The options of a concurrent listing: how many pages are fetched ahead of the subscriber and whether the
+ * items keep the page order. Without an explicit window the
+ * {@code RAGFlowProperties.Listing#prefetch()} of the deployment applies.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+public final class PrefetchOptions {
+
+    private static final PrefetchOptions ORDERED = new PrefetchOptions(null, true);
+    private static final PrefetchOptions UNORDERED = new PrefetchOptions(null, false);
+
+    private final Integer window;
+    private final boolean ordered;
+
+    private PrefetchOptions(Integer window, boolean ordered) {
+        this.window = window;
+        this.ordered = ordered;
+    }
+
+    /**
+     * Items are emitted in page order, pages completing early are buffered until their turn.
+     */
+    public static PrefetchOptions inPageOrder() {
+        return ORDERED;
+    }
+
+    /**
+     * Items are emitted as soon as their page arrives, the order across pages is not preserved.
+     */
+    public static PrefetchOptions asCompleted() {
+        return UNORDERED;
+    }
+
+    /**
+     * A copy fetching up to {@code pages} pages concurrently.
+     *
+     * @param pages the prefetch window, positive
+     * @return the new options
+     */
+    public PrefetchOptions window(int pages) {
+        if (pages <= 0) {
+            throw new IllegalArgumentException("window must be positive, but was " + pages);
+        }
+
+        return new PrefetchOptions(pages, this.ordered);
+    }
+
+    // ----------------------------------------------------------------
+
+    public int determineWindow(int defaultValue) {
+        if (Objects.nonNull(this.window)) {
+            return this.window;
+        }
+
+        return defaultValue;
+    }
+
+    public boolean ordered() {
+        return ordered;
+    }
+}
@@ -0,0 +1,372 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.parsing;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import io.github.photowey.ai.ragflow.client.webflux.core.concurrent.WheelTimer;
+import io.github.photowey.ai.ragflow.client.webflux.document.AsyncWebfluxRAGFlowDocumentClient;
+import io.github.photowey.ai.ragflow.core.constant.MessageConstants;
+import io.github.photowey.ai.ragflow.core.domain.context.document.ListDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.context.document.ParseDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.dto.document.DocumentDTO;
+import io.github.photowey.ai.ragflow.core.domain.parsing.ParseAdmission;
+import io.github.photowey.ai.ragflow.core.domain.payload.document.ParseDocumentPayload;
+import io.github.photowey.ai.ragflow.core.domain.query.document.ListDocumentQuery;
+import io.github.photowey.ai.ragflow.core.property.RAGFlowProperties;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code ParseAdmissionController}.
+ *
+ * <p>
+ * Keeps at most {@code maxRunning} scheduled documents of one deployment parsing at a time, instead of
+ * submitting thousands of ids to the task queue of the server at once:
+ * <ol>
+ *     <li>the scheduled documents wait in one queue per dataset, the queues are served round-robin one
+ *     document at a time, so a large dataset cannot hold back a small one;</li>
+ *     <li>the documents taken from the queues are submitted with a single {@code parseDocuments} call per
+ *     dataset;</li>
+ *     <li>every {@code pollInterval} the datasets with admitted documents are listed with {@code run=[RUNNING]},
+ *     an admitted document missing from a listing started after its admission finished, was cancelled or was
+ *     deleted, and its slot is given to the next queued document.</li>
+ * </ol>
+ * Only the documents admitted here are counted, the parses started by other means are not limited.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+public class ParseAdmissionController {
+
+    private static final List<String> RUNNING_RUNS = Collections.singletonList("RUNNING");
+    private static final int PAGE_SIZE = 100;
+
+    private final AsyncWebfluxRAGFlowDocumentClient client;
+    private final String deployKey;
+    private final int maxRunning;
+    private final Duration pollInterval;
+    private final WheelTimer timer = WheelTimer.shared();
+
+    private final Map<String/* datasetId */, Deque<Pending>> queues = new HashMap<>();
+    private final Deque<String> rotation = new ArrayDeque<>();
+    private final Map<String/* datasetId */, Map<String/* documentId */, Long>> admitted = new HashMap<>();
+
+    private int running;
+    private boolean polling;
+
+    public ParseAdmissionController(
+        AsyncWebfluxRAGFlowDocumentClient client,
+        String deployKey,
+        int maxRunning,
+        Duration pollInterval) {
+        this.client = Objects.requireNonNull(client, "client");
+        this.deployKey = deployKey;
+        this.maxRunning = Math.max(1, maxRunning);
+        this.pollInterval = pollInterval;
+    }
+
+    /**
+     * Queue the documents until a running slot of the deployment is free.
+     *
+     * <p>
+     * The flux completes once every document was submitted or rejected, cancelling it withdraws the documents
+     * still queued, the admitted ones keep parsing.
+     *
+     * @param context {@link ParseDocumentContext}
+     * @return one admission per document, in admission order
+     */
+    public Flux<ParseAdmission> schedule(ParseDocumentContext context) {
+        Set<String> documentIds = new LinkedHashSet<>();
+        Optional.ofNullable(context.payload())
+            .map(ParseDocumentPayload::getDocumentIds)
+            .ifPresent(ids -> ids.stream().filter(Objects::nonNull).forEach(documentIds::add));
+        if (documentIds.isEmpty()) {
+            return Flux.error(new RuntimeException(MessageConstants.SCHEDULE_DOCUMENT_IDS_EMPTY));
+        }
+
+        String datasetId = context.datasetId();
+
+        return Flux.create(sink -> {
+            Submission submission = new Submission(sink, documentIds.size());
+            sink.onDispose(() -> this.withdraw(datasetId, submission));
+            boolean start = this.enqueue(datasetId, documentIds, submission);
+            this.admit();
+            if (start) {
+                this.poll();
+            }
+        });
+    }
+
+    /**
+     * Whether the controller was built from the given parsing settings.
+     *
+     * @param parsing the parsing settings
+     * @return {@code true} if the limit and the poll interval are unchanged
+     */
+    public boolean matches(RAGFlowProperties.Parsing parsing) {
+        return this.maxRunning == Math.max(1, parsing.maxRunning())
+            && this.pollInterval.toMillis() == parsing.pollInterval();
+    }
+
+    /**
+     * The number of admitted documents not known to be finished, including the ones being submitted.
+     */
+    public synchronized int running() {
+        return this.running;
+    }
+
+    /**
+     * The number of documents waiting for a running slot, over every dataset.
+     */
+    public synchronized int queued() {
+        return this.queues.values().stream().mapToInt(Deque::size).sum();
+    }
+
+    // ----------------------------------------------------------------
+
+    private synchronized boolean enqueue(String datasetId, Set<String> documentIds, Submission submission) {
+        Deque<Pending> queue = this.queues.computeIfAbsent(datasetId, key -> new ArrayDeque<>());
+        if (queue.isEmpty()) {
+            this.rotation.addLast(datasetId);
+        }
+        documentIds.forEach(documentId -> queue.addLast(new Pending(documentId, submission)));
+        if (this.polling) {
+            return false;
+        }
+        this.polling = true;
+
+        return true;
+    }
+
+    private synchronized void withdraw(String datasetId, Submission submission) {
+        Deque<Pending> queue = this.queues.get(datasetId);
+        if (Objects.isNull(queue)) {
+            return;
+        }
+        queue.removeIf(pending -> pending.submission == submission);
+        if (queue.isEmpty()) {
+            this.queues.remove(datasetId);
+            this.rotation.remove(datasetId);
+        }
+    }
+
+    /**
+     * Take one document per dataset in turn while a running slot is free, the slots are held from now on.
+     */
+    private synchronized Map<String, List<Pending>> take() {
+        Map<String, List<Pending>> taken = new LinkedHashMap<>();
+        while (this.running < this.maxRunning && !this.rotation.isEmpty()) {
+            String datasetId = this.rotation.pollFirst();
+            Deque<Pending> queue = this.queues.get(datasetId);
+            taken.computeIfAbsent(datasetId, key -> new ArrayList<>()).add(queue.pollFirst());
+            this.running++;
+            if (queue.isEmpty()) {
+                this.queues.remove(datasetId);
+            } else {
+                this.rotation.addLast(datasetId);
+            }
+        }
+
+        return taken;
+    }
+
+    private void admit() {
+        this.take().forEach(this::submit);
+    }
+
+    private void submit(String datasetId, List<Pending> batch) {
+        List<String> documentIds = batch.stream()
+            .map(pending -> pending.documentId)
+            .collect(Collectors.toList());
+
+        ParseDocumentContext parseContext = ParseDocumentContext.builder()
+            .deployKey(this.deployKey)
+            .datasetId(datasetId)
+            .payload(ParseDocumentPayload.builder().documentIds(documentIds).build())
+            .build();
+
+        this.client.parseDocuments(parseContext)
+            .then()
+            .subscribe(
+                null,
+                throwable -> this.rejected(datasetId, batch, throwable),
+                () -> this.accepted(datasetId, batch)
+            );
+    }
+
+    private synchronized void accepted(String datasetId, List<Pending> batch) {
+        long now = System.nanoTime();
+        Map<String, Long> documents = this.admitted.computeIfAbsent(datasetId, key -> new HashMap<>());
+        for (Pending pending : batch) {
+            documents.put(pending.documentId, now);
+            pending.submission.emit(pending.toAdmission(datasetId, now, null));
+        }
+    }
+
+    private void rejected(String datasetId, List<Pending> batch, Throwable throwable) {
+        String message = MessageConstants.PARSE_DOCUMENTS_FAILED
+            + (Objects.nonNull(throwable.getMessage()) ? throwable.getMessage() : throwable.getClass().getName());
+        synchronized (this) {
+            long now = System.nanoTime();
+            this.running -= batch.size();
+            batch.forEach(pending -> pending.submission.emit(pending.toAdmission(datasetId, now, message)));
+        }
+        this.admit();
+    }
+
+    // ----------------------------------------------------------------
+
+    private void poll() {
+        Mono.defer(() -> this.timer.delay(this.pollInterval))
+            .then(Mono.defer(this::round))
+            .repeat(this::keepPolling)
+            .subscribe();
+    }
+
+    private synchronized boolean keepPolling() {
+        this.polling = this.running > 0 || !this.rotation.isEmpty();
+        return this.polling;
+    }
+
+    private Mono<Void> round() {
+        long started = System.nanoTime();
+
+        return Flux.fromIterable(this.admittedDatasets())
+            .concatMap(datasetId -> this.settle(datasetId, started))
+            .then(Mono.fromRunnable(this::admit));
+    }
+
+    /**
+     * A listing that fails releases nothing, the dataset is listed again on the next round.
+     */
+    private Mono<Void> settle(String datasetId, long started) {
+        return this.client.streamDocuments(this.toRunningListContext(datasetId))
+            .map(DocumentDTO::getId)
+            .collect(Collectors.toSet())
+            .doOnNext(runningIds -> this.release(datasetId, runningIds, started))
+            .onErrorResume(throwable -> Mono.empty())
+            .then();
+    }
+
+    private synchronized Set<String> admittedDatasets() {
+        return new HashSet<>(this.admitted.keySet());
+    }
+
+    /**
+     * The documents admitted after the listing started may not be listed yet, they are kept for the next round.
+     */
+    private synchronized void release(String datasetId, Set<String> runningIds, long started) {
+        Map<String, Long> documents = this.admitted.get(datasetId);
+        if (Objects.isNull(documents)) {
+            return;
+        }
+
+        Iterator<Map.Entry<String, Long>> iterator = documents.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Long> entry = iterator.next();
+            if (entry.getValue() - started < 0 && !runningIds.contains(entry.getKey())) {
+                iterator.remove();
+                this.running--;
+            }
+        }
+        if (documents.isEmpty()) {
+            this.admitted.remove(datasetId);
+        }
+    }
+
+    private ListDocumentContext toRunningListContext(String datasetId) {
+        ListDocumentQuery query = ListDocumentQuery.builder()
+            .run(RUNNING_RUNS)
+            .pageSize(PAGE_SIZE)
+            .build();
+
+        return ListDocumentContext.builder()
+            .deployKey(this.deployKey)
+            .datasetId(datasetId)
+            .query(query)
+            .build();
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * A queued document of one submission.
+     */
+    private static final class Pending {
+
+        private final String documentId;
+        private final Submission submission;
+        private final long queued = System.nanoTime();
+
+        Pending(String documentId, Submission submission) {
+            this.documentId = documentId;
+            this.submission = submission;
+        }
+
+        ParseAdmission toAdmission(String datasetId, long now, String message) {
+            return ParseAdmission.builder()
+                .datasetId(datasetId)
+                .documentId(this.documentId)
+                .queued(Duration.ofNanos(now - this.queued))
+                .message(message)
+                .build();
+        }
+    }
+
+    /**
+     * One subscriber of {@link #schedule(ParseDocumentContext)} and its number of documents not admitted yet.
+     */
+    private static final class Submission {
+
+        private final FluxSink<ParseAdmission> sink;
+
+        private int remaining;
+
+        Submission(FluxSink<ParseAdmission> sink, int remaining) {
+            this.sink = sink;
+            this.remaining = remaining;
+        }
+
+        /**
+         * Emitted under the controller lock.
+         */
+        void emit(ParseAdmission admission) {
+            this.sink.next(admission);
+            if (--this.remaining == 0) {
+                this.sink.complete();
+            }
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.parsing;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+
+import io.github.photowey.ai.ragflow.client.webflux.core.concurrent.WheelTimer;
+import io.github.photowey.ai.ragflow.client.webflux.core.retry.TransientErrors;
+import io.github.photowey.ai.ragflow.core.constant.MessageConstants;
+import io.github.photowey.ai.ragflow.core.domain.context.document.ListDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.context.document.PollingParsingStatusDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.dto.document.DocumentDTO;
+import io.github.photowey.ai.ragflow.core.domain.dto.document.ListDocumentDTO;
+import io.github.photowey.ai.ragflow.core.domain.query.document.ListDocumentQuery;
+import io.github.photowey.ai.ragflow.core.exception.RAGFlowException;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code ParsingAwaiter}.
+ *
+ * <p>
+ * Waits for a single document to be parsed. The document is listed by id, then again after an exponential
+ * backoff with jitter, until its {@code run} status is {@code DONE} or the deadline elapsed. {@code FAIL},
+ * {@code CANCEL} and a missing document fail right away, a transient listing error only costs an attempt.
+ * The backoffs and the deadline are scheduled on the shared {@link WheelTimer}, a pending wait holds neither
+ * a thread nor a timer of its own.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+public class ParsingAwaiter {
+
+    public static final Duration DEFAULT_INITIAL_BACKOFF = Duration.ofMillis(500);
+    public static final Duration DEFAULT_MAX_BACKOFF = Duration.ofSeconds(30);
+
+    private static final int MAX_SHIFT = 20;
+
+    private final Function<ListDocumentContext, Mono<ListDocumentDTO>> lister;
+    private final WheelTimer timer;
+    private final long initialBackoff;
+    private final long maxBackoff;
+
+    public ParsingAwaiter(Function<ListDocumentContext, Mono<ListDocumentDTO>> lister) {
+        this(lister, DEFAULT_INITIAL_BACKOFF, DEFAULT_MAX_BACKOFF);
+    }
+
+    public ParsingAwaiter(
+        Function<ListDocumentContext, Mono<ListDocumentDTO>> lister,
+        Duration initialBackoff,
+        Duration maxBackoff) {
+        this.lister = Objects.requireNonNull(lister, "lister");
+        this.timer = WheelTimer.shared();
+        this.initialBackoff = Math.max(1L, initialBackoff.toMillis());
+        this.maxBackoff = Math.max(this.initialBackoff, maxBackoff.toMillis());
+    }
+
+    /**
+     * Wait until the document is parsed.
+     *
+     * @param context  the document to wait for
+     * @param deadline the maximum time to wait
+     * @return the parsed document, or a {@link RAGFlowException} if it failed, was cancelled or is still
+     * parsing at the deadline
+     */
+    public Mono<DocumentDTO> await(PollingParsingStatusDocumentContext context, Duration deadline) {
+        context.query().ensureIdNotBlank();
+        String documentId = context.query().id();
+        ListDocumentContext listContext = ListDocumentContext.builder()
+            .deployKey(context.deployKey())
+            .datasetId(context.datasetId())
+            .query(ListDocumentQuery.builder().id(documentId).build())
+            .build();
+
+        Mono<DocumentDTO> poll = Mono.defer(() -> this.lister.apply(listContext))
+            .map(listed -> first(documentId, listed))
+            .onErrorResume(TransientErrors::isTransient, throwable -> Mono.empty())
+            .flatMap(document -> settle(documentId, document));
+
+        return poll
+            .repeatWhenEmpty(Integer.MAX_VALUE, attempts -> attempts.concatMap(
+                attempt -> this.timer.delay(this.backoff(attempt))
+            ))
+            .timeout(
+                this.timer.delay(deadline),
+                Mono.error(() -> new RAGFlowException(MessageConstants.PARSE_DOCUMENTS_TIMEOUT, documentId, deadline))
+            );
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * Equal jitter: half of the exponential delay is kept, the other half is random, which spreads the
+     * polls of documents submitted together without ever polling much sooner than planned.
+     */
+    Duration backoff(long attempt) {
+        long exponential = this.initialBackoff << Math.min(attempt, MAX_SHIFT);
+        long capped = Math.min(this.maxBackoff, exponential);
+        long half = capped / 2;
+
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(half + 1));
+    }
+
+    private static DocumentDTO first(String documentId, ListDocumentDTO listed) {
+        if (Objects.isNull(listed.documents()) || listed.documents().isEmpty()) {
+            throw new RAGFlowException(MessageConstants.POLLING_PARSING_STATUS_FAILED, documentId);
+        }
+
+        return listed.documents().get(0);
+    }
+
+    private static Mono<DocumentDTO> settle(String documentId, DocumentDTO document) {
+        if (document.determineParseIsDone()) {
+            return Mono.just(document);
+        }
+        if (document.determineParseIsFailed() || document.determineParseIsCancelled()) {
+            return Mono.error(new RAGFlowException(
+                MessageConstants.PARSE_DOCUMENT_NOT_DONE,
+                documentId,
+                document.getRun(),
+                document.getProgressMessage()
+            ));
+        }
+
+        return Mono.empty();
+    }
+}
@@ -0,0 +1,473 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.parsing;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import io.github.photowey.ai.ragflow.client.webflux.document.AsyncWebfluxRAGFlowDocumentClient;
+import io.github.photowey.ai.ragflow.core.constant.MessageConstants;
+import io.github.photowey.ai.ragflow.core.domain.context.document.ListDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.context.document.WatchParsingStatusContext;
+import io.github.photowey.ai.ragflow.core.domain.dto.document.DocumentDTO;
+import io.github.photowey.ai.ragflow.core.domain.parsing.ParsingTransition;
+import io.github.photowey.ai.ragflow.core.domain.query.document.ListDocumentQuery;
+import io.github.photowey.ai.ragflow.core.formatter.StringFormatter;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+/**
+ * {@code ParsingStatusWatcher}.
+ *
+ * <p>
+ * Tracks the parsing status of many documents with a few listings instead of one request per document.
+ * The watched documents are grouped by deployment and dataset, every group runs a single polling loop while
+ * it has watchers and is dropped once the last of them is gone:
+ * <ol>
+ *     <li>the documents still to be parsed are listed page by page with {@code run=[UNSTART, RUNNING]}, a window
+ *     of {@code 10} pages per round, the next round reads the following window until the listing ends, the
+ *     round after that starts over from the first page;</li>
+ *     <li>a watched document missing from the window covering the page it was last listed on, or not listed at
+ *     all since the listing started over, left the listing: it reached a final status or was deleted, it is
+ *     listed once by id to learn which.</li>
+ * </ol>
+ * A group watching a few documents only lists them by id, a busy dataset costs it no listing.
+ * The polling interval halves after a round in which a document progressed or finished and grows by half
+ * after a round without change, within {@code [minInterval, maxInterval]}.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+public class ParsingStatusWatcher {
+
+    public static final Duration DEFAULT_MIN_INTERVAL = Duration.ofMillis(500);
+    public static final Duration DEFAULT_MAX_INTERVAL = Duration.ofSeconds(10);
+
+    private static final List<String> ACTIVE_RUNS = Arrays.asList("UNSTART", "RUNNING");
+    private static final int PAGE_SIZE = 100;
+    private static final int MAX_PAGES = 10;
+    private static final int LOOKUP_CONCURRENCY = 4;
+    private static final int DIRECT_LOOKUPS = 2 * LOOKUP_CONCURRENCY;
+
+    private final AsyncWebfluxRAGFlowDocumentClient client;
+    private final long minInterval;
+    private final long maxInterval;
+    private final Map<String, Group> groups = new ConcurrentHashMap<>();
+
+    public ParsingStatusWatcher(AsyncWebfluxRAGFlowDocumentClient client) {
+        this(client, DEFAULT_MIN_INTERVAL, DEFAULT_MAX_INTERVAL);
+    }
+
+    public ParsingStatusWatcher(AsyncWebfluxRAGFlowDocumentClient client, Duration minInterval, Duration maxInterval) {
+        this.client = Objects.requireNonNull(client, "client");
+        this.minInterval = minInterval.toMillis();
+        this.maxInterval = Math.max(this.minInterval, maxInterval.toMillis());
+    }
+
+    /**
+     * Watch the documents until each of them reached a final status.
+     *
+     * <p>
+     * The flux completes after the last {@link ParsingTransition#finished()} transition, cancelling it stops
+     * watching its documents. The same document may be watched by several subscribers.
+     *
+     * @param context {@link WatchParsingStatusContext}
+     * @return the transitions of the watched documents
+     */
+    public Flux<ParsingTransition> watch(WatchParsingStatusContext context) {
+        Set<String> documentIds = new LinkedHashSet<>();
+        Optional.ofNullable(context.documentIds()).ifPresent(ids -> ids.stream()
+            .filter(Objects::nonNull)
+            .forEach(documentIds::add));
+        if (documentIds.isEmpty()) {
+            return Flux.error(new RuntimeException(MessageConstants.WATCH_DOCUMENT_IDS_EMPTY));
+        }
+
+        return Flux.create(sink -> {
+            Watch watch = new Watch(sink, documentIds);
+            Group group = this.join(context, watch);
+            sink.onDispose(() -> group.unregister(watch));
+        });
+    }
+
+    /**
+     * The number of documents currently watched, over every dataset.
+     */
+    public int watching() {
+        return this.groups.values().stream().mapToInt(Group::size).sum();
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * A group that stopped polling was retired and left the map, the watch then joins the group replacing it.
+     */
+    private Group join(WatchParsingStatusContext context, Watch watch) {
+        String key = context.deployKey() + "/" + context.datasetId();
+        while (true) {
+            Group group = this.groups.computeIfAbsent(
+                key,
+                it -> new Group(it, context.deployKey(), context.datasetId(), this.minInterval)
+            );
+            Registration registration = group.register(watch);
+            if (Registration.STARTED == registration) {
+                this.start(group);
+            }
+            if (Registration.RETIRED != registration) {
+                return group;
+            }
+        }
+    }
+
+    private void start(Group group) {
+        Mono.defer(() -> this.round(group))
+            .then(Mono.defer(() -> Mono.delay(Duration.ofMillis(group.interval()))))
+            .repeat(group::keepRunning)
+            .subscribe();
+    }
+
+    private Mono<Void> round(Group group) {
+        Set<String> watched = group.documentIds();
+        if (watched.isEmpty()) {
+            return Mono.empty();
+        }
+
+        Mono<Integer> changes = watched.size() <= DIRECT_LOOKUPS
+            ? this.lookup(group, watched)
+            : this.list(group, watched);
+
+        return changes
+            .doOnNext(group::adapt)
+            .onErrorResume(throwable -> {
+                group.adapt(0);
+                return Mono.empty();
+            })
+            .then();
+    }
+
+    /**
+     * The listing stops after {@link #MAX_PAGES} pages, a shorter one reached the end of the listing.
+     */
+    private Mono<Integer> list(Group group, Set<String> watched) {
+        final int firstPage = group.nextPage();
+        final long window = (long) MAX_PAGES * PAGE_SIZE;
+        AtomicLong listed = new AtomicLong();
+
+        return this.client.streamDocuments(this.toActiveListContext(group, firstPage))
+            .take(window)
+            .index()
+            .doOnNext(indexed -> listed.incrementAndGet())
+            .filter(indexed -> watched.contains(indexed.getT2().getId()))
+            .collectList()
+            .flatMap(active -> {
+                Map<String, Integer> pages = new HashMap<>();
+                active.forEach(indexed ->
+                    pages.put(indexed.getT2().getId(), firstPage + (int) (indexed.getT1() / PAGE_SIZE))
+                );
+                int changes = group.observe(active.stream().map(Tuple2::getT2).collect(Collectors.toList()));
+                Set<String> settled = group.advance(firstPage, pages, listed.get() < window, watched);
+
+                return this.lookup(group, settled).map(resolved -> changes + resolved);
+            });
+    }
+
+    private Mono<Integer> lookup(Group group, Set<String> documentIds) {
+        return Flux.fromIterable(documentIds)
+            .flatMap(documentId -> this.lookup(group, documentId), LOOKUP_CONCURRENCY)
+            .reduce(0, Integer::sum);
+    }
+
+    /**
+     * A lookup that fails is retried on the next round, an empty listing means the document was deleted.
+     */
+    private Mono<Integer> lookup(Group group, String documentId) {
+        ListDocumentContext listContext = ListDocumentContext.builder()
+            .deployKey(group.deployKey)
+            .datasetId(group.datasetId)
+            .query(ListDocumentQuery.builder().id(documentId).build())
+            .build();
+
+        return this.client.listDocuments(listContext)
+            .map(listed -> Optional.ofNullable(listed.documents())
+                .filter(documents -> !documents.isEmpty())
+                .map(documents -> documents.get(0)))
+            .map(document -> group.resolve(documentId, document.orElse(null)))
+            .onErrorResume(throwable -> Mono.just(0));
+    }
+
+    private ListDocumentContext toActiveListContext(Group group, int firstPage) {
+        ListDocumentQuery query = ListDocumentQuery.builder()
+            .run(ACTIVE_RUNS)
+            .page(firstPage)
+            .pageSize(PAGE_SIZE)
+            .build();
+
+        return ListDocumentContext.builder()
+            .deployKey(group.deployKey)
+            .datasetId(group.datasetId)
+            .query(query)
+            .build();
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * The watched documents of one dataset, guarded by the group lock.
+     */
+    private final class Group {
+
+        private final String key;
+        private final String deployKey;
+        private final String datasetId;
+        private final Map<String, Entry> entries = new HashMap<>();
+        private final Map<String/* documentId */, Integer/* page */> pages = new HashMap<>();
+        private final Set<String> seen = new HashSet<>();
+
+        private int nextPage = 1;
+        private long interval;
+        private boolean running;
+        private boolean retired;
+
+        Group(String key, String deployKey, String datasetId, long interval) {
+            this.key = key;
+            this.deployKey = deployKey;
+            this.datasetId = datasetId;
+            this.interval = interval;
+        }
+
+        synchronized Registration register(Watch watch) {
+            if (this.retired) {
+                return Registration.RETIRED;
+            }
+            for (String documentId : watch.remaining) {
+                this.entries.computeIfAbsent(documentId, key -> new Entry()).watches.add(watch);
+            }
+            if (this.running) {
+                return Registration.JOINED;
+            }
+            this.running = true;
+            this.interval = ParsingStatusWatcher.this.minInterval;
+
+            return Registration.STARTED;
+        }
+
+        synchronized void unregister(Watch watch) {
+            for (String documentId : watch.remaining) {
+                Entry entry = this.entries.get(documentId);
+                if (Objects.nonNull(entry)) {
+                    entry.watches.remove(watch);
+                    if (entry.watches.isEmpty()) {
+                        this.entries.remove(documentId);
+                    }
+                }
+            }
+        }
+
+        /**
+         * A group without watchers is retired under its lock, a concurrent {@link #register(Watch)} either
+         * happened before and keeps it running or sees it retired and joins a new group.
+         */
+        synchronized boolean keepRunning() {
+            this.running = !this.entries.isEmpty();
+            if (!this.running) {
+                this.retired = true;
+                ParsingStatusWatcher.this.groups.remove(this.key, this);
+            }
+
+            return this.running;
+        }
+
+        synchronized Set<String> documentIds() {
+            return new HashSet<>(this.entries.keySet());
+        }
+
+        synchronized int size() {
+            return this.entries.size();
+        }
+
+        synchronized long interval() {
+            return this.interval;
+        }
+
+        synchronized void adapt(int changes) {
+            long next = changes > 0 ? this.interval / 2 : this.interval + this.interval / 2;
+            this.interval = Math.max(
+                ParsingStatusWatcher.this.minInterval,
+                Math.min(ParsingStatusWatcher.this.maxInterval, next)
+            );
+        }
+
+        synchronized int nextPage() {
+            return this.nextPage;
+        }
+
+        /**
+         * Move the window past the pages just listed and return the watched documents that left the listing.
+         */
+        synchronized Set<String> advance(
+            int firstPage,
+            Map<String, Integer> listed,
+            boolean ended,
+            Set<String> watched) {
+            int lastPage = firstPage + MAX_PAGES - 1;
+            this.pages.putAll(listed);
+            this.seen.addAll(listed.keySet());
+
+            Set<String> settled = new HashSet<>();
+            for (String documentId : watched) {
+                if (listed.containsKey(documentId)) {
+                    continue;
+                }
+                Integer page = this.pages.get(documentId);
+                boolean missed = Objects.nonNull(page) && page >= firstPage && page <= lastPage;
+                if (missed || (ended && !this.seen.contains(documentId))) {
+                    settled.add(documentId);
+                }
+            }
+
+            this.pages.keySet().retainAll(this.entries.keySet());
+            this.pages.keySet().removeAll(settled);
+            if (ended) {
+                this.seen.clear();
+                this.nextPage = 1;
+            } else {
+                this.nextPage = lastPage + 1;
+            }
+
+            return settled;
+        }
+
+        synchronized int observe(Collection<DocumentDTO> documents) {
+            int changes = 0;
+            for (DocumentDTO document : documents) {
+                changes += this.transition(document.getId(), document);
+            }
+
+            return changes;
+        }
+
+        synchronized int resolve(String documentId, DocumentDTO document) {
+            return this.transition(documentId, document);
+        }
+
+        /**
+         * Emitted under the lock, so the completion of a watch cannot overtake one of its transitions.
+         */
+        private int transition(String documentId, DocumentDTO document) {
+            Entry entry = this.entries.get(documentId);
+            if (Objects.isNull(entry) || !entry.changed(document)) {
+                return 0;
+            }
+
+            ParsingTransition transition = ParsingTransition.of(this.datasetId, documentId, entry.run, document);
+            if (Objects.isNull(document)) {
+                transition.progressMessage(StringFormatter.format(MessageConstants.WATCH_DOCUMENT_NOT_FOUND, documentId));
+            }
+            entry.update(document);
+            if (transition.finished()) {
+                this.entries.remove(documentId);
+            }
+            for (Watch watch : new ArrayList<>(entry.watches)) {
+                watch.sink.next(transition);
+                if (transition.finished() && watch.remaining.remove(documentId) && watch.remaining.isEmpty()) {
+                    watch.sink.complete();
+                }
+            }
+
+            return 1;
+        }
+    }
+
+    private enum Registration {
+
+        /**
+         * The watch joined a running group.
+         */
+        JOINED,
+        /**
+         * The watch joined an idle group, its polling loop must be started.
+         */
+        STARTED,
+        /**
+         * The group was retired, the watch must join the group replacing it.
+         */
+        RETIRED
+    }
+
+    /**
+     * The last observed state of a watched document.
+     */
+    private static final class Entry {
+
+        private final List<Watch> watches = new ArrayList<>();
+
+        private boolean observed;
+        private String run;
+        private BigDecimal progress;
+        private String progressMessage;
+
+        boolean changed(DocumentDTO document) {
+            if (!this.observed || Objects.isNull(document)) {
+                return true;
+            }
+
+            return !Objects.equals(this.run, document.getRun())
+                || !Objects.equals(this.progress, document.getProgress())
+                || !Objects.equals(this.progressMessage, document.getProgressMessage());
+        }
+
+        void update(DocumentDTO document) {
+            this.observed = true;
+            if (Objects.nonNull(document)) {
+                this.run = document.getRun();
+                this.progress = document.getProgress();
+                this.progressMessage = document.getProgressMessage();
+            }
+        }
+    }
+
+    /**
+     * One subscriber of {@link #watch(WatchParsingStatusContext)} and its documents not final yet.
+     */
+    private static final class Watch {
+
+        private final FluxSink<ParsingTransition> sink;
+        private final Set<String> remaining;
+
+        Watch(FluxSink<ParsingTransition> sink, Set<String> documentIds) {
+            this.sink = sink;
+            this.remaining = new HashSet<>(documentIds);
+        }
+    }
+}
@@ -0,0 +1,455 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.parsing;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import io.github.photowey.ai.ragflow.client.webflux.core.concurrent.WheelTimer;
+import io.github.photowey.ai.ragflow.client.webflux.document.AsyncWebfluxRAGFlowDocumentClient;
+import io.github.photowey.ai.ragflow.core.constant.MessageConstants;
+import io.github.photowey.ai.ragflow.core.domain.context.document.ListDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.context.document.ParseDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.context.document.StopParsingDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.context.document.SuperviseParsingContext;
+import io.github.photowey.ai.ragflow.core.domain.context.document.WatchParsingStatusContext;
+import io.github.photowey.ai.ragflow.core.domain.dto.document.DocumentDTO;
+import io.github.photowey.ai.ragflow.core.domain.parsing.ParsingTransition;
+import io.github.photowey.ai.ragflow.core.domain.parsing.StallEvent;
+import io.github.photowey.ai.ragflow.core.domain.parsing.StallMetrics;
+import io.github.photowey.ai.ragflow.core.domain.payload.document.ParseDocumentPayload;
+import io.github.photowey.ai.ragflow.core.domain.payload.document.StopParsingDocumentPayload;
+import io.github.photowey.ai.ragflow.core.domain.query.document.ListDocumentQuery;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code StallDetector}.
+ *
+ * <p>
+ * Supervises the parsing of documents and restarts the ones a parser is stuck on. Each document is followed
+ * with {@link AsyncWebfluxRAGFlowDocumentClient#watchParsingStatus}, a document still {@code RUNNING} without
+ * any transition for the stall window is listed once by id to confirm the stall: its progress must be
+ * unchanged while its {@code process_duration} advanced by at least half the window, a document whose
+ * duration does not advance, or is not reported, is waiting for a parser rather than holding one. A stalled
+ * document is stopped and scheduled with {@link AsyncWebfluxRAGFlowDocumentClient#scheduleParseDocuments}
+ * again, so the restarts share the parse admission of the deployment, up to {@code maxReparses} times, then
+ * stopped for good.
+ *
+ * <p>
+ * The actions are emitted as {@link StallEvent}s and counted in {@link #metrics()}, over every supervision
+ * run by this detector.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+public class StallDetector {
+
+    private static final Duration MIN_CHECK_INTERVAL = Duration.ofSeconds(1);
+    private static final Duration MAX_CHECK_INTERVAL = Duration.ofSeconds(30);
+
+    private final AsyncWebfluxRAGFlowDocumentClient client;
+    private final WheelTimer timer = WheelTimer.shared();
+
+    private final AtomicInteger supervised = new AtomicInteger();
+    private final AtomicLong stalled = new AtomicLong();
+    private final AtomicLong stopped = new AtomicLong();
+    private final AtomicLong reparsed = new AtomicLong();
+    private final AtomicLong exhausted = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    public StallDetector(AsyncWebfluxRAGFlowDocumentClient client) {
+        this.client = Objects.requireNonNull(client, "client");
+    }
+
+    /**
+     * Supervise the documents until each of them reached a final status or exhausted its reparses.
+     *
+     * @param context {@link SuperviseParsingContext}
+     * @return the actions taken, completes once no document is supervised any more
+     */
+    public Flux<StallEvent> supervise(SuperviseParsingContext context) {
+        Set<String> documentIds = new LinkedHashSet<>();
+        Optional.ofNullable(context.documentIds()).ifPresent(ids -> ids.stream()
+            .filter(Objects::nonNull)
+            .forEach(documentIds::add));
+        if (documentIds.isEmpty()) {
+            return Flux.error(new RuntimeException(MessageConstants.SUPERVISE_DOCUMENT_IDS_EMPTY));
+        }
+
+        return Flux.create(sink -> new Supervision(context, sink).start(documentIds));
+    }
+
+    public StallMetrics metrics() {
+        return StallMetrics.builder()
+            .supervised(this.supervised.get())
+            .stalled(this.stalled.get())
+            .stopped(this.stopped.get())
+            .reparsed(this.reparsed.get())
+            .exhausted(this.exhausted.get())
+            .failed(this.failed.get())
+            .build();
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * The documents of one {@link #supervise(SuperviseParsingContext)} subscription, guarded by its lock.
+     */
+    private final class Supervision {
+
+        private final SuperviseParsingContext context;
+        private final FluxSink<StallEvent> sink;
+        private final long window;
+        private final Map<String, Tracked> entries = new HashMap<>();
+
+        private Disposable checks;
+        private boolean closed;
+
+        Supervision(SuperviseParsingContext context, FluxSink<StallEvent> sink) {
+            this.context = context;
+            this.sink = sink;
+            this.window = context.determineStallWindow().toNanos();
+        }
+
+        void start(Set<String> documentIds) {
+            synchronized (this) {
+                for (String documentId : documentIds) {
+                    this.entries.put(documentId, new Tracked(documentId));
+                }
+                StallDetector.this.supervised.addAndGet(documentIds.size());
+            }
+            this.sink.onDispose(this::close);
+            new ArrayList<>(this.entries.values()).forEach(this::watch);
+
+            Duration interval = checkInterval(this.context.determineStallWindow());
+            this.checks = Mono.defer(() -> StallDetector.this.timer.delay(interval))
+                .then(Mono.defer(this::check))
+                .repeat(this::isOpen)
+                .subscribe();
+        }
+
+        // ----------------------------------------------------------------
+
+        private void watch(Tracked tracked) {
+            WatchParsingStatusContext watchContext = WatchParsingStatusContext.builder()
+                .deployKey(this.context.deployKey())
+                .datasetId(this.context.datasetId())
+                .documentIds(Collections.singletonList(tracked.documentId))
+                .build();
+
+            Disposable watch = StallDetector.this.client.watchParsingStatus(watchContext)
+                .subscribe(transition -> this.observe(tracked, transition), throwable -> { });
+            synchronized (this) {
+                tracked.watch = watch;
+            }
+        }
+
+        private synchronized void observe(Tracked tracked, ParsingTransition transition) {
+            if (tracked.acting) {
+                // The CANCEL following our own stop request.
+                return;
+            }
+            tracked.update(transition.document());
+            if (transition.finished()) {
+                this.untrack(tracked);
+            }
+        }
+
+        private Mono<Void> check() {
+            List<Tracked> suspects = new ArrayList<>();
+            synchronized (this) {
+                long now = System.nanoTime();
+                for (Tracked tracked : this.entries.values()) {
+                    if (!tracked.acting && tracked.running() && now - tracked.lastChange >= this.window) {
+                        tracked.acting = true;
+                        suspects.add(tracked);
+                    }
+                }
+            }
+
+            return Flux.fromIterable(suspects)
+                .concatMap(this::confirm)
+                .then();
+        }
+
+        /**
+         * The watcher may lag behind, the document is listed again before acting on it.
+         */
+        private Mono<Void> confirm(Tracked tracked) {
+            ListDocumentContext listContext = ListDocumentContext.builder()
+                .deployKey(this.context.deployKey())
+                .datasetId(this.context.datasetId())
+                .query(ListDocumentQuery.builder().id(tracked.documentId).build())
+                .build();
+
+            return StallDetector.this.client.listDocuments(listContext)
+                .map(listed -> Optional.ofNullable(listed.documents())
+                    .filter(documents -> !documents.isEmpty())
+                    .map(documents -> documents.get(0)))
+                .flatMap(document -> {
+                    if (document.isPresent() && this.stalled(tracked, document.get())) {
+                        return this.restart(tracked, document.get());
+                    }
+                    this.resume(tracked, document.orElse(null));
+                    return Mono.<Void>empty();
+                })
+                .onErrorResume(throwable -> {
+                    this.resume(tracked, null);
+                    return Mono.empty();
+                });
+        }
+
+        private synchronized boolean stalled(Tracked tracked, DocumentDTO document) {
+            if (!document.determineParseIsRunning() || !Objects.equals(tracked.progress, document.getProgress())) {
+                return false;
+            }
+            if (Objects.isNull(tracked.processDuration) || Objects.isNull(document.getProcessDuration())) {
+                return false;
+            }
+            // process_duration is reported in seconds
+            double advanced = document.getProcessDuration().subtract(tracked.processDuration).doubleValue();
+
+            return advanced * 1_000_000_000D >= this.window / 2D;
+        }
+
+        private Mono<Void> restart(Tracked tracked, DocumentDTO document) {
+            int maxReparses = this.context.determineMaxReparses();
+            boolean exhausting;
+            synchronized (this) {
+                exhausting = tracked.reparses >= maxReparses;
+                if (Objects.nonNull(tracked.watch)) {
+                    tracked.watch.dispose();
+                }
+            }
+            StallDetector.this.stalled.incrementAndGet();
+            this.emit(tracked, StallEvent.Type.STALLED, document, null);
+
+            Mono<Void> stop = StallDetector.this.client.stopParsingDocuments(this.toStopContext(tracked))
+                .then(Mono.fromRunnable(() -> {
+                    StallDetector.this.stopped.incrementAndGet();
+                    this.emit(tracked, StallEvent.Type.STOPPED, document, null);
+                }));
+            if (exhausting) {
+                return stop.then(Mono.fromRunnable(() -> {
+                    StallDetector.this.exhausted.incrementAndGet();
+                    this.emit(tracked, StallEvent.Type.EXHAUSTED, document, null);
+                    this.untrack(tracked);
+                })).then().onErrorResume(throwable -> this.recover(tracked, document, throwable));
+            }
+
+            return stop
+                .then(Mono.defer(() -> StallDetector.this.client.scheduleParseDocuments(this.toParseContext(tracked))
+                    .next()
+                    .flatMap(admission -> admission.determineIsAdmitted()
+                        ? Mono.just(admission)
+                        : Mono.error(new RuntimeException(admission.message())))))
+                .then(Mono.fromRunnable(() -> {
+                    synchronized (this) {
+                        tracked.reparses++;
+                    }
+                    StallDetector.this.reparsed.incrementAndGet();
+                    this.emit(tracked, StallEvent.Type.REPARSED, document, null);
+                    this.rewatch(tracked);
+                }))
+                .then()
+                .onErrorResume(throwable -> this.recover(tracked, document, throwable));
+        }
+
+        /**
+         * A failed stop or parse request is reported, the document stays supervised with a fresh window.
+         */
+        private Mono<Void> recover(Tracked tracked, DocumentDTO document, Throwable throwable) {
+            return Mono.fromRunnable(() -> {
+                StallDetector.this.failed.incrementAndGet();
+                String message = Objects.nonNull(throwable.getMessage())
+                    ? throwable.getMessage()
+                    : throwable.getClass().getName();
+                this.emit(tracked, StallEvent.Type.FAILED, document, message);
+                this.rewatch(tracked);
+            });
+        }
+
+        private void rewatch(Tracked tracked) {
+            synchronized (this) {
+                if (!this.entries.containsKey(tracked.documentId)) {
+                    return;
+                }
+                tracked.acting = false;
+                tracked.lastChange = System.nanoTime();
+                tracked.processDuration = null;
+            }
+            this.watch(tracked);
+        }
+
+        /**
+         * Not stalled after all: the document progressed, finished or is waiting for a parser, which starts a
+         * new window.
+         */
+        private synchronized void resume(Tracked tracked, DocumentDTO document) {
+            tracked.acting = false;
+            if (Objects.isNull(document)) {
+                return;
+            }
+            if (document.determineParseIsFinished()) {
+                this.untrack(tracked);
+                return;
+            }
+            tracked.update(document);
+            tracked.lastChange = System.nanoTime();
+            tracked.processDuration = document.getProcessDuration();
+        }
+
+        private void emit(Tracked tracked, StallEvent.Type type, DocumentDTO document, String message) {
+            long stalledFor;
+            int reparses;
+            synchronized (this) {
+                stalledFor = System.nanoTime() - tracked.lastChange;
+                reparses = tracked.reparses;
+            }
+            this.sink.next(StallEvent.builder()
+                .datasetId(this.context.datasetId())
+                .documentId(tracked.documentId)
+                .type(type)
+                .reparses(reparses)
+                .progress(document.getProgress())
+                .processDuration(document.getProcessDuration())
+                .stalledFor(Duration.ofNanos(stalledFor))
+                .message(message)
+                .build());
+        }
+
+        private synchronized void untrack(Tracked tracked) {
+            if (Objects.isNull(this.entries.remove(tracked.documentId))) {
+                return;
+            }
+            StallDetector.this.supervised.decrementAndGet();
+            if (Objects.nonNull(tracked.watch)) {
+                tracked.watch.dispose();
+            }
+            if (this.entries.isEmpty()) {
+                this.sink.complete();
+            }
+        }
+
+        private synchronized boolean isOpen() {
+            return !this.closed && !this.entries.isEmpty();
+        }
+
+        private void close() {
+            List<Tracked> remaining;
+            synchronized (this) {
+                this.closed = true;
+                remaining = new ArrayList<>(this.entries.values());
+                this.entries.clear();
+                StallDetector.this.supervised.addAndGet(-remaining.size());
+            }
+            remaining.stream()
+                .map(tracked -> tracked.watch)
+                .filter(Objects::nonNull)
+                .forEach(Disposable::dispose);
+            if (Objects.nonNull(this.checks)) {
+                this.checks.dispose();
+            }
+        }
+
+        private StopParsingDocumentContext toStopContext(Tracked tracked) {
+            return StopParsingDocumentContext.builder()
+                .deployKey(this.context.deployKey())
+                .datasetId(this.context.datasetId())
+                .payload(StopParsingDocumentPayload.builder()
+                    .documentIds(Collections.singletonList(tracked.documentId))
+                    .build())
+                .build();
+        }
+
+        private ParseDocumentContext toParseContext(Tracked tracked) {
+            return ParseDocumentContext.builder()
+                .deployKey(this.context.deployKey())
+                .datasetId(this.context.datasetId())
+                .payload(ParseDocumentPayload.builder()
+                    .documentIds(Collections.singletonList(tracked.documentId))
+                    .build())
+                .build();
+        }
+    }
+
+    private static Duration checkInterval(Duration window) {
+        Duration quarter = window.dividedBy(4);
+        if (quarter.compareTo(MIN_CHECK_INTERVAL) < 0) {
+            return MIN_CHECK_INTERVAL;
+        }
+
+        return quarter.compareTo(MAX_CHECK_INTERVAL) > 0 ? MAX_CHECK_INTERVAL : quarter;
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * The last observed progress of a supervised document.
+     */
+    private static final class Tracked {
+
+        private final String documentId;
+
+        private long lastChange = System.nanoTime();
+        private DocumentDTO document;
+        private BigDecimal progress;
+        private BigDecimal processDuration;
+        private int reparses;
+        private boolean acting;
+        private Disposable watch;
+
+        Tracked(String documentId) {
+            this.documentId = documentId;
+        }
+
+        boolean running() {
+            return Objects.nonNull(this.document) && this.document.determineParseIsRunning();
+        }
+
+        /**
+         * Only a change of progress restarts the stall window, the duration is kept to tell stalls from waits.
+         */
+        void update(DocumentDTO listed) {
+            if (Objects.isNull(listed)) {
+                return;
+            }
+            if (Objects.isNull(this.document) || !Objects.equals(this.progress, listed.getProgress())
+                || !Objects.equals(this.document.getRun(), listed.getRun())) {
+                this.lastChange = System.nanoTime();
+                this.processDuration = listed.getProcessDuration();
+            }
+            this.document = listed;
+            this.progress = listed.getProgress();
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.retry;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+
+import io.github.photowey.ai.ragflow.client.webflux.core.concurrent.TokenBudget;
+import io.github.photowey.ai.ragflow.client.webflux.core.concurrent.WheelTimer;
+import io.github.photowey.ai.ragflow.client.webflux.core.route.ApiRoutes;
+import io.github.photowey.ai.ragflow.core.enums.RAGFlowDictionary;
+import io.github.photowey.ai.ragflow.core.property.RAGFlowProperties;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code RetryPolicy}.
+ *
+ * <p>
+ * Retries the idempotent calls of one deployment, installed as a filter of every {@code WebClient} of that
+ * deployment:
+ * <ul>
+ *     <li>the endpoint is resolved with {@link ApiRoutes}, only the {@link RAGFlowDictionary.API#idempotent()}
+ *     ones are retried, an unknown path is retried unless it is a {@code POST};</li>
+ *     <li>an attempt is retried on the errors {@link TransientErrors} reports and on {@code 429} and {@code 5xx}
+ *     responses, whose body is released, the last attempt returns its response as is;</li>
+ *     <li>the attempts are spaced by an exponential backoff with equal jitter, on the shared {@link WheelTimer};</li>
+ *     <li>every retry spends a token of the {@link TokenBudget} of the deployment, every call earns a share of one,
+ *     so the retries of a failing deployment stop once the budget is spent instead of multiplying its load.</li>
+ * </ul>
+ * The filter sits outside the circuit breaker, every attempt is recorded by the breaker and an open breaker fails
+ * the retries fast.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+public class RetryPolicy implements ExchangeFilterFunction {
+
+    private final List<Object> settings;
+    private final int maxAttempts;
+    private final long initialBackoff;
+    private final long maxBackoff;
+    private final TokenBudget budget;
+    private final WheelTimer timer = WheelTimer.shared();
+
+    public RetryPolicy(RAGFlowProperties.Retry retry) {
+        this.settings = fingerprint(retry);
+        this.maxAttempts = retry.maxAttempts();
+        this.initialBackoff = retry.initialBackoff();
+        this.maxBackoff = retry.maxBackoff();
+        this.budget = new TokenBudget(retry.budgetPercent(), retry.budgetReserve());
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        if (this.maxAttempts <= 1 || !isIdempotent(request)) {
+            return next.exchange(request);
+        }
+
+        return Mono.defer(() -> {
+            this.budget.deposit();
+            return this.exchange(request, next, 1);
+        });
+    }
+
+    /**
+     * Whether the policy was built from the given settings.
+     *
+     * @param retry the settings
+     * @return {@code true} if nothing changed
+     */
+    public boolean matches(RAGFlowProperties.Retry retry) {
+        return this.settings.equals(fingerprint(retry));
+    }
+
+    /**
+     * The number of retries the deployment can spend right now.
+     */
+    public double budget() {
+        return this.budget.tokens();
+    }
+
+    // ----------------------------------------------------------------
+
+    private Mono<ClientResponse> exchange(ClientRequest request, ExchangeFunction next, int attempt) {
+        return next.exchange(request)
+            .map(Outcome::response)
+            .onErrorResume(throwable -> Mono.just(Outcome.error(throwable)))
+            .flatMap(outcome -> this.decide(request, next, attempt, outcome));
+    }
+
+    private Mono<ClientResponse> decide(ClientRequest request, ExchangeFunction next, int attempt, Outcome outcome) {
+        if (!outcome.retryable() || attempt >= this.maxAttempts || !this.budget.tryWithdraw()) {
+            return outcome.unwrap();
+        }
+
+        return outcome.discard()
+            .then(this.timer.delay(this.backoff(attempt)))
+            .then(Mono.defer(() -> this.exchange(request, next, attempt + 1)));
+    }
+
+    private Duration backoff(int attempt) {
+        long exponential = this.initialBackoff << Math.min(attempt - 1, 20);
+        long bounded = Math.min(this.maxBackoff, exponential);
+        long half = bounded / 2;
+
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(bounded - half + 1));
+    }
+
+    private static boolean isIdempotent(ClientRequest request) {
+        String method = request.method().name();
+
+        return ApiRoutes.resolve(request)
+            .map(RAGFlowDictionary.API::idempotent)
+            .orElseGet(() -> !"POST".equals(method) && !"PATCH".equals(method));
+    }
+
+    private static List<Object> fingerprint(RAGFlowProperties.Retry retry) {
+        return Arrays.asList(
+            retry.maxAttempts(),
+            retry.initialBackoff(),
+            retry.maxBackoff(),
+            retry.budgetPercent(),
+            retry.budgetReserve()
+        );
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * The response or the error of one attempt.
+     */
+    private static final class Outcome {
+
+        private final ClientResponse response;
+        private final Throwable error;
+
+        private Outcome(ClientResponse response, Throwable error) {
+            this.response = response;
+            this.error = error;
+        }
+
+        static Outcome response(ClientResponse response) {
+            return new Outcome(response, null);
+        }
+
+        static Outcome error(Throwable error) {
+            return new Outcome(null, error);
+        }
+
+        boolean retryable() {
+            if (Objects.nonNull(this.error)) {
+                return TransientErrors.isTransient(this.error);
+            }
+
+            int status = this.response.rawStatusCode();
+            return status == HttpStatus.TOO_MANY_REQUESTS.value() || status >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+        }
+
+        Mono<ClientResponse> unwrap() {
+            return Objects.nonNull(this.error) ? Mono.error(this.error) : Mono.just(this.response);
+        }
+
+        Mono<Void> discard() {
+            return Objects.nonNull(this.response) ? this.response.releaseBody() : Mono.empty();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.retry;
+
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import io.github.photowey.ai.ragflow.core.util.AssertionErrors;
+
+/**
+ * {@code TransientErrors}.
+ *
+ * <p>
+ * Classifies the errors worth trying again: I/O errors, timeouts, {@code 429} and {@code 5xx} responses.
+ * Business errors reported by RAGFlow in a {@code 200} response are not transient.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+public final class TransientErrors {
+
+    private TransientErrors() {
+        AssertionErrors.throwz(TransientErrors.class);
+    }
+
+    public static boolean isTransient(Throwable throwable) {
+        if (throwable instanceof WebClientResponseException) {
+            int status = ((WebClientResponseException) throwable).getRawStatusCode();
+            return status == HttpStatus.TOO_MANY_REQUESTS.value() || status >= HttpStatus.INTERNAL_SERVER_ERROR.value();
+        }
+
+        return throwable instanceof WebClientRequestException || throwable instanceof TimeoutException;
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.route;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+
+import io.github.photowey.ai.ragflow.core.enums.RAGFlowDictionary;
+import io.github.photowey.ai.ragflow.core.util.AssertionErrors;
+
+/**
+ * {@code ApiRoutes}.
+ *
+ * <p>
+ * Resolves the {@link RAGFlowDictionary.API} a request was built for from its method and path, the path variables
+ * of a route match a single segment and any prefix of the server address is ignored.
+ *
+ * <p>
+ * A request is resolved once, the API is kept in its {@link #API_ATTRIBUTE} attribute, set when the client builds
+ * the request or by {@link #filter()}, the first filter of every client, and read back by the filters after it.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+public final class ApiRoutes {
+
+    /**
+     * The request attribute holding the resolved {@link RAGFlowDictionary.API}.
+     */
+    public static final String API_ATTRIBUTE = ApiRoutes.class.getName() + ".API";
+
+    private static final Map<String, List<Route>> ROUTES = Arrays.stream(RAGFlowDictionary.API.values())
+        .map(Route::new)
+        .collect(Collectors.groupingBy(route -> determineMethod(route.api.method())));
+
+    private ApiRoutes() {
+        AssertionErrors.throwz(ApiRoutes.class);
+    }
+
+    /**
+     * Keeps the API of every request in its {@link #API_ATTRIBUTE} attribute, resolving it from the path only when
+     * the request was not built with it.
+     */
+    public static ExchangeFilterFunction filter() {
+        return (request, next) -> {
+            if (request.attribute(API_ATTRIBUTE).isPresent()) {
+                return next.exchange(request);
+            }
+
+            return resolve(request.method().name(), request.url().getPath())
+                .map(api -> ClientRequest.from(request).attribute(API_ATTRIBUTE, api).build())
+                .map(next::exchange)
+                .orElseGet(() -> next.exchange(request));
+        };
+    }
+
+    public static Optional<RAGFlowDictionary.API> resolve(ClientRequest request) {
+        return request.attribute(API_ATTRIBUTE)
+            .map(RAGFlowDictionary.API.class::cast)
+            .or(() -> resolve(request.method().name(), request.url().getPath()));
+    }
+
+    public static Optional<RAGFlowDictionary.API> resolve(String method, String path) {
+        return ROUTES.getOrDefault(determineMethod(method), Collections.emptyList()).stream()
+            .filter(route -> route.matches(path))
+            .findFirst()
+            .map(route -> route.api);
+    }
+
+    private static String determineMethod(String method) {
+        return method.toUpperCase(Locale.ROOT);
+    }
+
+    // ----------------------------------------------------------------
+
+    private static final class Route {
+
+        private final RAGFlowDictionary.API api;
+        private final Pattern pattern;
+
+        Route(RAGFlowDictionary.API api) {
+            this.api = api;
+            String regex = Arrays.stream(api.route().split("\\{[^/}]+}", -1))
+                .map(Pattern::quote)
+                .collect(Collectors.joining("[^/]+"));
+            this.pattern = Pattern.compile(".*" + regex + "/?");
+        }
+
+        boolean matches(String path) {
+            return this.pattern.matcher(path).matches();
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.shard;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * {@code ConsistentHashRing}.
+ *
+ * <p>
+ * An immutable consistent hash ring, every node is placed at {@code virtualNodes} points so the keys spread
+ * evenly, and adding or removing a node only moves the keys of its own arcs.
+ *
+ * @param <N> the type of nodes
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+public final class ConsistentHashRing<N> {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final List<N> nodes;
+    private final NavigableMap<Long, N> ring = new TreeMap<>();
+
+    public ConsistentHashRing(Collection<N> nodes, int virtualNodes) {
+        this.nodes = Collections.unmodifiableList(new ArrayList<>(new LinkedHashSet<>(nodes)));
+        for (N node : this.nodes) {
+            for (int i = 0; i < virtualNodes; i++) {
+                this.ring.putIfAbsent(hash(node + "#" + i), node);
+            }
+        }
+    }
+
+    /**
+     * The node owning the given key, the first one clockwise from its hash.
+     *
+     * @param key the key
+     * @return the node, empty if the ring has none
+     */
+    public Optional<N> locate(String key) {
+        if (this.ring.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Map.Entry<Long, N> entry = this.ring.ceilingEntry(hash(key));
+
+        return Optional.of((Objects.nonNull(entry) ? entry : this.ring.firstEntry()).getValue());
+    }
+
+    /**
+     * Every node, in the order they are met clockwise from the hash of the given key.
+     *
+     * @param key the key
+     * @return the nodes, the owner of the key first
+     */
+    public List<N> walk(String key) {
+        Set<N> walked = new LinkedHashSet<>(this.nodes.size());
+        long hash = hash(key);
+        for (N node : this.ring.tailMap(hash, true).values()) {
+            if (walked.add(node) && walked.size() == this.nodes.size()) {
+                return new ArrayList<>(walked);
+            }
+        }
+        for (N node : this.ring.headMap(hash, false).values()) {
+            if (walked.add(node) && walked.size() == this.nodes.size()) {
+                break;
+            }
+        }
+
+        return new ArrayList<>(walked);
+    }
+
+    public List<N> nodes() {
+        return nodes;
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * 64-bit FNV-1a, followed by the MurmurHash3 finalizer to spread the close keys of the virtual nodes.
+     */
+    static long hash(String key) {
+        long hash = FNV_OFFSET_BASIS;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= FNV_PRIME;
+        }
+
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+
+        return hash;
+    }
+}
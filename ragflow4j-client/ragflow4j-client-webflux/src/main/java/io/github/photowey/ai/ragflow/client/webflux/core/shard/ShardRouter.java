@@ -0,0 +1,298 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.shard;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import io.github.photowey.ai.ragflow.client.webflux.core.builder.QueryParamBuilder;
+import io.github.photowey.ai.ragflow.client.webflux.core.pagination.Page;
+import io.github.photowey.ai.ragflow.client.webflux.core.pagination.PageStreams;
+import io.github.photowey.ai.ragflow.core.constant.MessageConstants;
+import io.github.photowey.ai.ragflow.core.domain.dto.dataset.ListDatasetDTO;
+import io.github.photowey.ai.ragflow.core.domain.model.response.RAGFlowResponse;
+import io.github.photowey.ai.ragflow.core.domain.query.dataset.ListDatasetQuery;
+import io.github.photowey.ai.ragflow.core.enums.RAGFlowDictionary;
+import io.github.photowey.ai.ragflow.core.property.RAGFlowProperties;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code ShardRouter}.
+ *
+ * <p>
+ * Maps the datasets to the RAGFlow deployments they live on, so the calls without deploy key need no caller
+ * bookkeeping:
+ * <ul>
+ *     <li>a dataset pinned in the configuration, or created or found by this router, goes to its known shard;</li>
+ *     <li>an unknown dataset is looked up on the shards in the ring order of its id, the owner of the id first,
+ *     the first shard listing it is remembered, at most {@link RAGFlowProperties.Sharding#maxPlacements()} datasets
+ *     the least recently used first forgotten;</li>
+ *     <li>a dataset no shard lists goes to the owner of its id, without asking the shards again for
+ *     {@link RAGFlowProperties.Sharding#missTtl()}, a lookup in which a shard could not be asked fails instead
+ *     and remembers nothing;</li>
+ *     <li>a new dataset goes to the shard holding the fewest documents, ties are broken in the ring order of its
+ *     name, the document counts are cached for {@link RAGFlowProperties.Sharding#loadTtl()}.</li>
+ * </ul>
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+public class ShardRouter {
+
+    private static final int LOAD_PAGE_SIZE = 100;
+
+    private final List<Object> settings;
+    private final ConsistentHashRing<String> ring;
+    private final Map<String/* datasetId */, String/* deployKey */> pinned;
+    private final Duration loadTtl;
+    private final long missTtl;
+    private final Function<String, WebClient> clients;
+    private final Map<String/* datasetId */, String/* deployKey */> placements;
+    private final Map<String/* datasetId */, Long/* expiresAt */> misses;
+    private final Map<String/* deployKey */, Mono<Long>> loads = new ConcurrentHashMap<>();
+
+    /**
+     * @param properties the settings
+     * @param clients    the {@code WebClient} of a deployment
+     */
+    public ShardRouter(RAGFlowProperties properties, Function<String, WebClient> clients) {
+        this.settings = fingerprint(properties);
+        this.ring = new ConsistentHashRing<>(determineShards(properties), properties.sharding().virtualNodes());
+        this.pinned = pinned(properties);
+        this.loadTtl = Duration.ofMillis(properties.sharding().loadTtl());
+        this.missTtl = TimeUnit.MILLISECONDS.toNanos(properties.sharding().missTtl());
+        this.clients = clients;
+        this.placements = Collections.synchronizedMap(new Lru<>(properties.sharding().maxPlacements()));
+        this.misses = Collections.synchronizedMap(new Lru<>(properties.sharding().maxPlacements()));
+    }
+
+    /**
+     * The shard holding the given dataset.
+     *
+     * @param datasetId the dataset id
+     * @return the deploy key of the shard
+     */
+    public Mono<String> locate(String datasetId) {
+        String known = this.pinned.get(datasetId);
+        if (Objects.isNull(known)) {
+            known = this.placements.get(datasetId);
+        }
+        if (Objects.nonNull(known)) {
+            return Mono.just(known);
+        }
+
+        List<String> candidates = this.ring.walk(datasetId);
+        Long expiresAt = this.misses.get(datasetId);
+        if (Objects.nonNull(expiresAt) && expiresAt - System.nanoTime() > 0) {
+            return Mono.just(candidates.get(0));
+        }
+
+        return Mono.defer(() -> {
+            AtomicReference<Throwable> failure = new AtomicReference<>();
+
+            return Flux.fromIterable(candidates)
+                .concatMap(shard -> this.contains(shard, datasetId)
+                    .onErrorResume(throwable -> {
+                        failure.compareAndSet(null, throwable);
+                        return Mono.just(false);
+                    })
+                    .filter(Boolean::booleanValue)
+                    .map(found -> shard))
+                .next()
+                .doOnNext(shard -> this.record(datasetId, shard))
+                .switchIfEmpty(Mono.defer(() -> {
+                    if (Objects.nonNull(failure.get())) {
+                        return Mono.error(failure.get());
+                    }
+                    this.misses.put(datasetId, System.nanoTime() + this.missTtl);
+
+                    return Mono.just(candidates.get(0));
+                }));
+        });
+    }
+
+    /**
+     * The shard a new dataset should be created on.
+     *
+     * @param name the name of the dataset
+     * @return the deploy key of the shard
+     */
+    public Mono<String> place(String name) {
+        List<String> candidates = this.ring.walk(Objects.toString(name, ""));
+
+        return Flux.fromIterable(candidates)
+            .flatMapSequential(shard -> this.load(shard).onErrorReturn(Long.MAX_VALUE))
+            .collectList()
+            .map(loads -> candidates.get(loads.indexOf(Collections.min(loads))));
+    }
+
+    /**
+     * Remember the shard of a dataset, once created.
+     */
+    public void record(String datasetId, String deployKey) {
+        this.placements.put(datasetId, deployKey);
+        this.misses.remove(datasetId);
+    }
+
+    /**
+     * Forget the shard of a dataset, once deleted.
+     */
+    public void evict(String datasetId) {
+        this.placements.remove(datasetId);
+    }
+
+    /**
+     * Whether the router was built from the given settings.
+     *
+     * @param properties the settings
+     * @return {@code true} if nothing changed
+     */
+    public boolean matches(RAGFlowProperties properties) {
+        return this.settings.equals(fingerprint(properties));
+    }
+
+    public List<String> shards() {
+        return this.ring.nodes();
+    }
+
+    // ----------------------------------------------------------------
+
+    private Mono<Boolean> contains(String shard, String datasetId) {
+        ListDatasetQuery query = ListDatasetQuery.builder()
+            .id(datasetId)
+            .page(1)
+            .pageSize(1)
+            .build();
+
+        return this.listDatasets(shard, query)
+            .map(response -> response.determineIsOk() && Objects.nonNull(response.data()) && !response.data().isEmpty());
+    }
+
+    private Mono<Long> load(String shard) {
+        return this.loads.computeIfAbsent(shard, key -> this.countDocuments(key)
+            .cache(count -> this.loadTtl, throwable -> Duration.ZERO, () -> Duration.ZERO));
+    }
+
+    private Mono<Long> countDocuments(String shard) {
+        return PageStreams.sequential(1, page -> this.listDatasetPage(shard, page))
+            .map(dataset -> Objects.isNull(dataset.documentCount()) ? 0L : dataset.documentCount().longValue())
+            .reduce(0L, Long::sum);
+    }
+
+    private Mono<Page<ListDatasetDTO>> listDatasetPage(String shard, int page) {
+        ListDatasetQuery query = ListDatasetQuery.builder()
+            .page(page)
+            .pageSize(LOAD_PAGE_SIZE)
+            .build();
+
+        return this.listDatasets(shard, query)
+            .<List<ListDatasetDTO>>handle((response, sink) -> {
+                List<ListDatasetDTO> datasets = response.unwrap(() -> MessageConstants.LIST_DATASET_FAILED);
+                if (Objects.nonNull(datasets)) {
+                    sink.next(datasets);
+                }
+            })
+            .defaultIfEmpty(Collections.emptyList())
+            .map(datasets -> new Page<>(page, LOAD_PAGE_SIZE, null, datasets));
+    }
+
+    private Mono<RAGFlowResponse<List<ListDatasetDTO>>> listDatasets(String shard, ListDatasetQuery query) {
+        // @formatter:off
+        return this.clients.apply(shard)
+            .get()
+            .uri(builder -> builder
+                .path(RAGFlowDictionary.API.LIST_DATASETS.route())
+                .queryParams(QueryParamBuilder.toQueryParams(query))
+                .build()
+            )
+            .retrieve()
+            .bodyToMono(new ParameterizedTypeReference<RAGFlowResponse<List<ListDatasetDTO>>>() { });
+        // @formatter:on
+    }
+
+    // ----------------------------------------------------------------
+
+    private static List<String> determineShards(RAGFlowProperties properties) {
+        List<String> shards = properties.sharding().shards();
+        if (!shards.isEmpty()) {
+            return new ArrayList<>(shards);
+        }
+
+        return new ArrayList<>(new TreeMap<>(properties.servers()).keySet());
+    }
+
+    private static Map<String, String> pinned(RAGFlowProperties properties) {
+        Map<String, String> pinned = new TreeMap<>();
+        properties.datasets().values().stream()
+            .filter(dataset -> Objects.nonNull(dataset.datasetId()) && Objects.nonNull(dataset.deployKey()))
+            .forEach(dataset -> pinned.put(dataset.datasetId(), dataset.deployKey()));
+
+        return pinned;
+    }
+
+    private static List<Object> fingerprint(RAGFlowProperties properties) {
+        return Arrays.asList(
+            determineShards(properties),
+            properties.sharding().virtualNodes(),
+            properties.sharding().loadTtl(),
+            properties.sharding().missTtl(),
+            properties.sharding().maxPlacements(),
+            pinned(properties)
+        );
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * An access ordered map dropping its least recently used entry past the capacity.
+     *
+     * @param <K> the type of keys
+     * @param <V> the type of values
+     */
+    private static final class Lru<K, V> extends LinkedHashMap<K, V> {
+
+        private static final long serialVersionUID = 6419243583145265207L;
+
+        private final int capacity;
+
+        private Lru(int capacity) {
+            super(16, 0.75F, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            return this.size() > this.capacity;
+        }
+    }
+}
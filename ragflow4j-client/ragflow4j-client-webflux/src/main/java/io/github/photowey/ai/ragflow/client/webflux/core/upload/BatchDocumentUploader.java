@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.upload;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+import io.github.photowey.ai.ragflow.client.webflux.core.concurrent.ReactiveSemaphore;
+import io.github.photowey.ai.ragflow.client.webflux.core.retry.TransientErrors;
+import io.github.photowey.ai.ragflow.core.constant.MessageConstants;
+import io.github.photowey.ai.ragflow.core.domain.context.document.BatchUploadDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.context.document.UploadDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.dto.document.UploadDocumentDTO;
+import io.github.photowey.ai.ragflow.core.domain.payload.document.UploadDocumentPayload;
+import io.github.photowey.ai.ragflow.core.domain.upload.BatchUploadResult;
+import io.github.photowey.ai.ragflow.core.domain.upload.UploadFailure;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+/**
+ * {@code BatchDocumentUploader}.
+ *
+ * <p>
+ * Uploads the documents of a {@link BatchUploadDocumentContext} as several multipart requests planned by
+ * {@link UploadBatchPlanner}. Each request holds one of the upload permits of the deployment, a request failing
+ * with a transient error (I/O, timeout, {@code 429} or {@code 5xx}) is retried on its own with an exponential
+ * backoff, provided every source in it can be read again. A sub-batch that still fails is reported in
+ * {@link BatchUploadResult#failures()}, the other sub-batches are not affected. The returned documents are paired
+ * with the uploaded ones by position, see {@link UploadResults}, a sub-batch whose result misses a document or holds
+ * an extra one is reported as failed.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+public class BatchDocumentUploader {
+
+    private static final Duration RETRY_BACKOFF = Duration.ofMillis(500);
+
+    private final BatchUploadDocumentContext context;
+    private final ReactiveSemaphore permits;
+    private final Function<UploadDocumentContext, Mono<List<UploadDocumentDTO>>> upload;
+
+    public BatchDocumentUploader(
+        BatchUploadDocumentContext context,
+        ReactiveSemaphore permits,
+        Function<UploadDocumentContext, Mono<List<UploadDocumentDTO>>> upload) {
+        this.context = context;
+        this.permits = permits;
+        this.upload = upload;
+    }
+
+    public Mono<BatchUploadResult> upload() {
+        List<UploadDocumentPayload.Document> documents = this.context.payload().documents();
+        if (Objects.isNull(documents) || documents.isEmpty()) {
+            return Mono.error(new RuntimeException(MessageConstants.UPLOAD_DOCUMENT_DOCUMENT_LIST_EMPTY));
+        }
+
+        List<UploadBatch> batches = UploadBatchPlanner.plan(
+            documents,
+            this.context.determineMaxBatchBytes(),
+            this.context.determineMaxBatchFiles()
+        );
+        Outcome outcome = new Outcome(documents.size());
+
+        return Flux.fromIterable(batches)
+            .flatMap(batch -> this.send(batch, outcome), this.context.determineParallelism())
+            .then(Mono.fromSupplier(() -> outcome.toResult(batches.size())));
+    }
+
+    // ----------------------------------------------------------------
+
+    private Mono<Void> send(UploadBatch batch, Outcome outcome) {
+        UploadDocumentContext batchContext = UploadDocumentContext.builder()
+            .deployKey(this.context.deployKey())
+            .datasetId(this.context.datasetId())
+            .payload(UploadDocumentPayload.builder().documents(batch.documents()).build())
+            .build();
+
+        return this.permits.withPermit(Mono.defer(() -> this.upload.apply(batchContext)))
+            .retryWhen(Retry.backoff(this.context.determineMaxRetries(), RETRY_BACKOFF)
+                .filter(throwable -> batch.repeatable() && TransientErrors.isTransient(throwable))
+                .doBeforeRetry(signal -> outcome.retried())
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure()))
+            .defaultIfEmpty(Collections.emptyList())
+            .doOnNext(uploaded -> outcome.accept(batch, uploaded))
+            .onErrorResume(throwable -> {
+                outcome.reject(batch, throwable);
+                return Mono.empty();
+            })
+            .then();
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * Collects the results by input position, sub-batches complete in any order.
+     */
+    private static final class Outcome {
+
+        private final AtomicReferenceArray<UploadDocumentDTO> uploaded;
+        private final AtomicReferenceArray<UploadFailure> failures;
+        private final AtomicInteger retries = new AtomicInteger();
+
+        Outcome(int size) {
+            this.uploaded = new AtomicReferenceArray<>(size);
+            this.failures = new AtomicReferenceArray<>(size);
+        }
+
+        void retried() {
+            this.retries.incrementAndGet();
+        }
+
+        void accept(UploadBatch batch, List<UploadDocumentDTO> documents) {
+            Optional<List<UploadDocumentDTO>> paired = UploadResults.pair(batch.documents(), documents);
+            if (!paired.isPresent()) {
+                this.reject(batch, MessageConstants.UPLOAD_DOCUMENTS_MISMATCHED);
+                return;
+            }
+
+            for (int i = 0; i < batch.size(); i++) {
+                this.uploaded.set(batch.indexes().get(i), paired.get().get(i));
+            }
+        }
+
+        void reject(UploadBatch batch, Throwable throwable) {
+            this.reject(batch, Objects.nonNull(throwable.getMessage())
+                ? throwable.getMessage()
+                : throwable.getClass().getName());
+        }
+
+        void reject(UploadBatch batch, String message) {
+            for (int i = 0; i < batch.size(); i++) {
+                int index = batch.indexes().get(i);
+                this.failures.set(index, failure(index, batch.documents().get(i), message));
+            }
+        }
+
+        BatchUploadResult toResult(int batches) {
+            int size = this.uploaded.length();
+            List<UploadDocumentDTO> documents = new ArrayList<>(size);
+            List<UploadFailure> rejected = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                if (Objects.nonNull(this.uploaded.get(i))) {
+                    documents.add(this.uploaded.get(i));
+                }
+                if (Objects.nonNull(this.failures.get(i))) {
+                    rejected.add(this.failures.get(i));
+                }
+            }
+
+            return BatchUploadResult.builder()
+                .documents(documents)
+                .failures(rejected)
+                .batches(batches)
+                .retries(this.retries.get())
+                .build();
+        }
+
+        private static UploadFailure failure(int index, UploadDocumentPayload.Document document, String message) {
+            return UploadFailure.builder()
+                .index(index)
+                .originalName(document.originalName())
+                .message(message)
+                .build();
+        }
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.upload;
+
+import java.util.Objects;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.io.buffer.DataBuffer;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * {@code DataBufferDocumentSource}.
+ *
+ * <p>
+ * Streams the document from a {@code Publisher<DataBuffer>}, every buffer is released once written.
+ * A publisher can generally be subscribed only once, so the source is not {@link #repeatable() repeatable}.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+public final class DataBufferDocumentSource implements ReactiveDocumentSource {
+
+    private final Publisher<DataBuffer> content;
+    private final long contentLength;
+
+    public DataBufferDocumentSource(Publisher<DataBuffer> content, long contentLength) {
+        this.content = Objects.requireNonNull(content, "content");
+        this.contentLength = contentLength < 0 ? UNKNOWN_LENGTH : contentLength;
+    }
+
+    public static DataBufferDocumentSource of(Publisher<DataBuffer> content) {
+        return new DataBufferDocumentSource(content, UNKNOWN_LENGTH);
+    }
+
+    public static DataBufferDocumentSource of(Publisher<DataBuffer> content, long contentLength) {
+        return new DataBufferDocumentSource(content, contentLength);
+    }
+
+    @Override
+    public long contentLength() {
+        return contentLength;
+    }
+
+    @Override
+    public boolean repeatable() {
+        return false;
+    }
+
+    @Override
+    public Flux<DataBuffer> read() {
+        return Flux.from(this.content);
+    }
+
+    public Publisher<DataBuffer> content() {
+        return content;
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.upload;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.client.MultipartBodyBuilder;
+
+import io.github.photowey.ai.ragflow.core.constant.RAGFlowConstants;
+import io.github.photowey.ai.ragflow.core.domain.payload.document.UploadDocumentPayload;
+import io.github.photowey.ai.ragflow.core.domain.upload.ByteArrayDocumentSource;
+import io.github.photowey.ai.ragflow.core.domain.upload.DocumentSource;
+import io.github.photowey.ai.ragflow.core.domain.upload.InputStreamDocumentSource;
+import io.github.photowey.ai.ragflow.core.domain.upload.PathDocumentSource;
+import io.github.photowey.ai.ragflow.core.exception.RAGFlowException;
+import io.github.photowey.ai.ragflow.core.util.AssertionErrors;
+import io.netty.buffer.PooledByteBufAllocator;
+
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * {@code DocumentParts}.
+ *
+ * <p>
+ * Turns the documents of an upload into streamed multipart parts. Files are read through an
+ * {@link java.nio.channels.AsynchronousFileChannel} and input streams on a bounded-elastic worker, both into
+ * pooled Netty buffers of {@link #DEFAULT_BUFFER_SIZE} that are released once written to the socket,
+ * so the heap used by an upload does not depend on the size of its documents.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+public final class DocumentParts {
+
+    public static final int DEFAULT_BUFFER_SIZE = 64 * RAGFlowConstants.Bytes.KB;
+
+    private static final DataBufferFactory BUFFER_FACTORY = new NettyDataBufferFactory(PooledByteBufAllocator.DEFAULT);
+
+    private DocumentParts() {
+        AssertionErrors.throwz(DocumentParts.class);
+    }
+
+    public static void append(MultipartBodyBuilder builder, String name, UploadDocumentPayload.Document document) {
+        String filename = document.originalName();
+        MediaType contentType = MediaTypeFactory.getMediaType(filename).orElse(MediaType.APPLICATION_OCTET_STREAM);
+
+        builder.asyncPart(name, read(document.determineSource()), DataBuffer.class)
+            .filename(filename)
+            .contentType(contentType);
+    }
+
+    /**
+     * Read the content of a source, lazily, once per subscription.
+     *
+     * @param source the document source
+     * @return the content
+     */
+    public static Flux<DataBuffer> read(DocumentSource source) {
+        if (source instanceof ReactiveDocumentSource) {
+            return ((ReactiveDocumentSource) source).read();
+        }
+        if (source instanceof PathDocumentSource) {
+            return DataBufferUtils.read(((PathDocumentSource) source).path(), BUFFER_FACTORY, DEFAULT_BUFFER_SIZE);
+        }
+        if (source instanceof InputStreamDocumentSource) {
+            InputStreamDocumentSource stream = (InputStreamDocumentSource) source;
+            return DataBufferUtils.readInputStream(stream::open, BUFFER_FACTORY, DEFAULT_BUFFER_SIZE)
+                .subscribeOn(Schedulers.boundedElastic());
+        }
+        if (source instanceof ByteArrayDocumentSource) {
+            byte[] data = ((ByteArrayDocumentSource) source).data();
+            return Flux.defer(() -> Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(data)));
+        }
+
+        throw new RAGFlowException("Unsupported document source: %s", source.getClass().getName());
+    }
+}
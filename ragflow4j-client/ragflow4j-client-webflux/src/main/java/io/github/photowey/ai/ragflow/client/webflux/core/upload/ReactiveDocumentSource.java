@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.upload;
+
+import org.springframework.core.io.buffer.DataBuffer;
+
+import io.github.photowey.ai.ragflow.core.domain.upload.DocumentSource;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * {@code ReactiveDocumentSource}.
+ *
+ * <p>
+ * A {@link DocumentSource} providing its own content stream, {@link DocumentParts} writes it as is.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+public interface ReactiveDocumentSource extends DocumentSource {
+
+    /**
+     * Read the content, once per subscription.
+     *
+     * @return the content
+     */
+    Flux<DataBuffer> read();
+}
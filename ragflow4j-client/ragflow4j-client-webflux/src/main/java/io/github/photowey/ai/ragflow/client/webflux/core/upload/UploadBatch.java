@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.upload;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import io.github.photowey.ai.ragflow.core.domain.payload.document.UploadDocumentPayload;
+
+/**
+ * {@code UploadBatch}.
+ *
+ * <p>
+ * The documents of a single multipart request, together with their positions in the input documents.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+final class UploadBatch {
+
+    private final List<Integer> indexes = new ArrayList<>();
+    private final List<UploadDocumentPayload.Document> documents = new ArrayList<>();
+
+    private long bytes;
+    private boolean repeatable = true;
+
+    void add(int index, UploadDocumentPayload.Document document, long length, boolean repeatableSource) {
+        this.indexes.add(index);
+        this.documents.add(document);
+        this.bytes += Math.max(length, 0);
+        this.repeatable &= repeatableSource;
+    }
+
+    /**
+     * Restore the input order inside the batch.
+     */
+    void sort(List<UploadDocumentPayload.Document> source) {
+        Collections.sort(this.indexes);
+        this.documents.clear();
+        for (Integer index : this.indexes) {
+            this.documents.add(source.get(index));
+        }
+    }
+
+    int size() {
+        return this.indexes.size();
+    }
+
+    int firstIndex() {
+        return this.indexes.get(0);
+    }
+
+    List<Integer> indexes() {
+        return indexes;
+    }
+
+    List<UploadDocumentPayload.Document> documents() {
+        return documents;
+    }
+
+    long bytes() {
+        return bytes;
+    }
+
+    boolean repeatable() {
+        return repeatable;
+    }
+}
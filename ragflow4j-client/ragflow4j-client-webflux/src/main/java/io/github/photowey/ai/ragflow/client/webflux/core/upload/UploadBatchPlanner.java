@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.upload;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+import io.github.photowey.ai.ragflow.core.domain.payload.document.UploadDocumentPayload;
+import io.github.photowey.ai.ragflow.core.domain.upload.DocumentSource;
+import io.github.photowey.ai.ragflow.core.util.AssertionErrors;
+
+/**
+ * {@code UploadBatchPlanner}.
+ *
+ * <p>
+ * Packs documents into multipart requests with a best-fit-decreasing bin packing: documents are placed from
+ * the largest to the smallest into the open batch with the least room left that still fits them, within both
+ * the byte and the file budget. Open batches are indexed by their remaining bytes, so planning stays
+ * {@code O(n log n)} for large inputs. A document of unknown length or not smaller than the byte budget is
+ * sent alone.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+final class UploadBatchPlanner {
+
+    private UploadBatchPlanner() {
+        AssertionErrors.throwz(UploadBatchPlanner.class);
+    }
+
+    /**
+     * Plan the batches.
+     *
+     * @param documents the documents to upload
+     * @param maxBytes  the byte budget of a batch
+     * @param maxFiles  the file budget of a batch
+     * @return the batches, ordered by their first document, each keeping the input order
+     */
+    static List<UploadBatch> plan(List<UploadDocumentPayload.Document> documents, long maxBytes, int maxFiles) {
+        int size = documents.size();
+        long[] lengths = new long[size];
+        boolean[] repeatable = new boolean[size];
+        List<Integer> order = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            DocumentSource source = documents.get(i).determineSource();
+            lengths[i] = source.contentLength();
+            repeatable[i] = source.repeatable();
+            order.add(i);
+        }
+        order.sort(Comparator.comparingLong((Integer i) -> lengths[i]).reversed());
+
+        List<UploadBatch> batches = new ArrayList<>();
+        TreeMap<Long, Deque<Bin>> open = new TreeMap<>();
+        for (Integer index : order) {
+            long length = lengths[index];
+            UploadDocumentPayload.Document document = documents.get(index);
+            if (length < 0 || length >= maxBytes) {
+                UploadBatch single = new UploadBatch();
+                single.add(index, document, length, repeatable[index]);
+                batches.add(single);
+                continue;
+            }
+
+            Bin bin = take(open, length);
+            if (Objects.isNull(bin)) {
+                bin = new Bin(maxBytes);
+                batches.add(bin.batch);
+            }
+
+            bin.batch.add(index, document, length, repeatable[index]);
+            bin.remaining -= length;
+            if (bin.batch.size() < maxFiles) {
+                open.computeIfAbsent(bin.remaining, k -> new ArrayDeque<>()).offer(bin);
+            }
+        }
+
+        for (UploadBatch batch : batches) {
+            batch.sort(documents);
+        }
+        batches.sort(Comparator.comparingInt(UploadBatch::firstIndex));
+
+        return batches;
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * Take the open batch with the least remaining bytes that still fits the given length.
+     */
+    private static Bin take(TreeMap<Long, Deque<Bin>> open, long length) {
+        Map.Entry<Long, Deque<Bin>> entry = open.ceilingEntry(length);
+        if (Objects.isNull(entry)) {
+            return null;
+        }
+
+        Bin bin = entry.getValue().poll();
+        if (entry.getValue().isEmpty()) {
+            open.remove(entry.getKey());
+        }
+
+        return bin;
+    }
+
+    private static final class Bin {
+
+        private final UploadBatch batch = new UploadBatch();
+        private long remaining;
+
+        Bin(long capacity) {
+            this.remaining = capacity;
+        }
+    }
+}
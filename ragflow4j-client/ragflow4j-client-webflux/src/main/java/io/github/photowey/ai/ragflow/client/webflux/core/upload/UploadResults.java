@@ -0,0 +1,103 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.upload;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+import io.github.photowey.ai.ragflow.core.domain.dto.document.UploadDocumentDTO;
+import io.github.photowey.ai.ragflow.core.domain.payload.document.UploadDocumentPayload;
+import io.github.photowey.ai.ragflow.core.util.AssertionErrors;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@code UploadResults}.
+ *
+ * <p>
+ * Pairs the documents of an upload with the documents the server returned for them. The server returns the
+ * documents in the order of the parts, so they are paired by position. Every returned document is named after
+ * the filename of its part, or {@code name(n).ext} when the dataset already holds a document of that name, any
+ * other name is logged but kept. A result with a missing or an extra document cannot be paired and is rejected.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+@Slf4j
+public final class UploadResults {
+
+    private static final Pattern RENAMED = Pattern.compile("\\(\\d+\\)");
+
+    private UploadResults() {
+        AssertionErrors.throwz(UploadResults.class);
+    }
+
+    /**
+     * Pair every document with the returned document at the same position.
+     *
+     * @param documents the uploaded documents
+     * @param uploaded  the documents returned by the server
+     * @return the returned document of each document, by position, empty unless there is exactly one returned
+     * document for each document
+     */
+    public static Optional<List<UploadDocumentDTO>> pair(
+        List<UploadDocumentPayload.Document> documents,
+        List<UploadDocumentDTO> uploaded) {
+        if (documents.size() != uploaded.size() || uploaded.stream().anyMatch(Objects::isNull)) {
+            return Optional.empty();
+        }
+
+        for (int i = 0; i < documents.size(); i++) {
+            String originalName = documents.get(i).originalName();
+            String name = uploaded.get(i).getName();
+            if (!determineIsSameName(originalName, name)) {
+                log.warn("The uploaded document: [{}] was returned as: [{}]", originalName, name);
+            }
+        }
+
+        return Optional.of(new ArrayList<>(uploaded));
+    }
+
+    /**
+     * Whether the server named the upload of the given file the given way, as is or renamed to {@code name(n).ext}
+     * next to a document of the same name.
+     *
+     * @param originalName the filename of the part
+     * @param name         the name of the returned document
+     * @return {@code true} if the returned document is the upload of the file
+     */
+    public static boolean determineIsSameName(String originalName, String name) {
+        if (Objects.isNull(originalName) || Objects.isNull(name)) {
+            return false;
+        }
+        if (originalName.equals(name)) {
+            return true;
+        }
+
+        int dot = originalName.lastIndexOf('.');
+        String stem = dot > 0 ? originalName.substring(0, dot) : originalName;
+        String extension = dot > 0 ? originalName.substring(dot) : "";
+
+        return name.length() > originalName.length()
+            && name.startsWith(stem)
+            && name.endsWith(extension)
+            && RENAMED.matcher(name.substring(stem.length(), name.length() - extension.length())).matches();
+    }
+}
@@ -15,23 +15,30 @@
  */
 package io.github.photowey.ai.ragflow.client.webflux.dataset;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.util.MultiValueMap;
-import org.springframework.web.reactive.function.client.WebClient;
 
 import io.github.photowey.ai.ragflow.client.webflux.AbstractWebfluxRAGFlowClient;
 import io.github.photowey.ai.ragflow.client.webflux.core.builder.QueryParamBuilder;
 import io.github.photowey.ai.ragflow.client.webflux.core.factory.RAGFlowWebClientFactory;
+import io.github.photowey.ai.ragflow.client.webflux.core.pagination.Page;
 import io.github.photowey.ai.ragflow.core.domain.context.dataset.CreateDatasetContext;
 import io.github.photowey.ai.ragflow.core.domain.context.dataset.DeleteDatasetContext;
 import io.github.photowey.ai.ragflow.core.domain.context.dataset.DeleteKnowledgeGraphContext;
 import io.github.photowey.ai.ragflow.core.domain.context.dataset.GetKnowledgeGraphContext;
 import io.github.photowey.ai.ragflow.core.domain.context.dataset.ListDatasetContext;
 import io.github.photowey.ai.ragflow.core.domain.context.dataset.UpdateDatasetContext;
+import io.github.photowey.ai.ragflow.core.domain.dto.dataset.CreateDatasetDTO;
+import io.github.photowey.ai.ragflow.core.domain.dto.dataset.ListDatasetDTO;
 import io.github.photowey.ai.ragflow.core.domain.model.response.RAGFlowResponse;
+import io.github.photowey.ai.ragflow.core.domain.query.dataset.ListDatasetQuery;
 import io.github.photowey.ai.ragflow.core.enums.RAGFlowDictionary;
 import io.github.photowey.ai.ragflow.core.property.RAGFlowPropertiesGetter;
 
@@ -58,14 +65,15 @@ public abstract class AbstractWebfluxRAGFlowDatasetClient extends AbstractWebflu
         Supplier<ParameterizedTypeReference<RAGFlowResponse<T>>> ref,
         Function<Mono<RAGFlowResponse<T>>, D> fx) {
 
-        WebClient client = this.factory.createWebClient(context.deployKey(), this.getter);
-
         // @formatter:off
-        Mono<RAGFlowResponse<T>> mono = this.create(client, RAGFlowDictionary.API.CREATE_DATASET)
-            .uri(RAGFlowDictionary.API.CREATE_DATASET.route())
-            .bodyValue(context.payload())
-            .retrieve()
-            .bodyToMono(ref.get());
+        Mono<RAGFlowResponse<T>> mono = this.place(context.deployKey(), context.payload().name())
+            .flatMap(deployKey -> this.create(this.createWebClient(deployKey), RAGFlowDictionary.API.CREATE_DATASET)
+                .uri(RAGFlowDictionary.API.CREATE_DATASET.route())
+                .bodyValue(context.payload())
+                .retrieve()
+                .bodyToMono(ref.get())
+                .doOnNext(response -> this.recordPlacement(deployKey, response))
+            );
         // @formatter:on
 
         return fx.apply(mono);
@@ -76,14 +84,16 @@ public abstract class AbstractWebfluxRAGFlowDatasetClient extends AbstractWebflu
         Supplier<ParameterizedTypeReference<RAGFlowResponse<T>>> ref,
         Function<Mono<RAGFlowResponse<T>>, D> fx) {
 
-        WebClient client = this.factory.createWebClient(context.deployKey(), this.getter);
-
         // @formatter:off
-        Mono<RAGFlowResponse<T>> mono = this.create(client, RAGFlowDictionary.API.DELETE_DATASETS)
-            .uri(RAGFlowDictionary.API.DELETE_DATASETS.route())
-            .bodyValue(context.payload())
-            .retrieve()
-            .bodyToMono(ref.get());
+        Mono<RAGFlowResponse<T>> mono = this.route(context.deployKey(), this.determineDatasetId(context))
+            .map(this::createWebClient)
+            .flatMap(client -> this.create(client, RAGFlowDictionary.API.DELETE_DATASETS)
+                .uri(RAGFlowDictionary.API.DELETE_DATASETS.route())
+                .bodyValue(context.payload())
+                .retrieve()
+                .bodyToMono(ref.get())
+                .doOnNext(response -> this.evictPlacements(context, response))
+            );
         // @formatter:on
 
         return fx.apply(mono);
@@ -94,14 +104,15 @@ public abstract class AbstractWebfluxRAGFlowDatasetClient extends AbstractWebflu
         Supplier<ParameterizedTypeReference<RAGFlowResponse<T>>> ref,
         Function<Mono<RAGFlowResponse<T>>, D> fx) {
 
-        WebClient client = this.factory.createWebClient(context.deployKey(), this.getter);
-
         // @formatter:off
-        Mono<RAGFlowResponse<T>> mono = this.create(client, RAGFlowDictionary.API.UPDATE_DATASET)
-            .uri(RAGFlowDictionary.API.UPDATE_DATASET.route(), context.datasetId())
-            .bodyValue(context.payload())
-            .retrieve()
-            .bodyToMono(ref.get());
+        Mono<RAGFlowResponse<T>> mono = this.route(context.deployKey(), context.datasetId())
+            .map(this::createWebClient)
+            .flatMap(client -> this.create(client, RAGFlowDictionary.API.UPDATE_DATASET)
+                .uri(RAGFlowDictionary.API.UPDATE_DATASET.route(), context.datasetId())
+                .bodyValue(context.payload())
+                .retrieve()
+                .bodyToMono(ref.get())
+            );
         // @formatter:on
 
         return fx.apply(mono);
@@ -112,18 +123,22 @@ public abstract class AbstractWebfluxRAGFlowDatasetClient extends AbstractWebflu
         Supplier<ParameterizedTypeReference<RAGFlowResponse<T>>> ref,
         Function<Mono<RAGFlowResponse<T>>, D> fx) {
 
-        WebClient client = this.factory.createWebClient(context.deployKey(), this.getter);
         MultiValueMap<String, String> queryParams = QueryParamBuilder.toQueryParams(context.query());
+        ParameterizedTypeReference<RAGFlowResponse<T>> type = ref.get();
 
         // @formatter:off
-        Mono<RAGFlowResponse<T>> mono = this.create(client, RAGFlowDictionary.API.LIST_DATASETS)
-            .uri(builder -> builder
-                .path(RAGFlowDictionary.API.LIST_DATASETS.route())
-                .queryParams(queryParams)
-                .build()
-            )
-            .retrieve()
-            .bodyToMono(ref.get());
+        Mono<RAGFlowResponse<T>> mono = this.coalesce(
+            this.route(context.deployKey(), this.determineDatasetId(context)),
+            Arrays.asList(RAGFlowDictionary.API.LIST_DATASETS, queryParams, type.getType()),
+            client -> this.create(client, RAGFlowDictionary.API.LIST_DATASETS)
+                .uri(builder -> builder
+                    .path(RAGFlowDictionary.API.LIST_DATASETS.route())
+                    .queryParams(queryParams)
+                    .build()
+                )
+                .retrieve()
+                .bodyToMono(type)
+        );
         // @formatter:on
 
         return fx.apply(mono);
@@ -136,13 +151,17 @@ public abstract class AbstractWebfluxRAGFlowDatasetClient extends AbstractWebflu
         Supplier<ParameterizedTypeReference<RAGFlowResponse<T>>> ref,
         Function<Mono<RAGFlowResponse<T>>, D> fx) {
 
-        WebClient client = this.factory.createWebClient(context.deployKey(), this.getter);
+        ParameterizedTypeReference<RAGFlowResponse<T>> type = ref.get();
 
         // @formatter:off
-        Mono<RAGFlowResponse<T>> mono = this.create(client, RAGFlowDictionary.API.GET_KNOWLEDGE_GRAPH)
-            .uri(RAGFlowDictionary.API.GET_KNOWLEDGE_GRAPH.route(), context.datasetId())
-            .retrieve()
-            .bodyToMono(ref.get());
+        Mono<RAGFlowResponse<T>> mono = this.coalesce(
+            this.route(context.deployKey(), context.datasetId()),
+            Arrays.asList(RAGFlowDictionary.API.GET_KNOWLEDGE_GRAPH, context.datasetId(), type.getType()),
+            client -> this.create(client, RAGFlowDictionary.API.GET_KNOWLEDGE_GRAPH)
+                .uri(RAGFlowDictionary.API.GET_KNOWLEDGE_GRAPH.route(), context.datasetId())
+                .retrieve()
+                .bodyToMono(type)
+        );
         // @formatter:on
 
         return fx.apply(mono);
@@ -153,15 +172,93 @@ public abstract class AbstractWebfluxRAGFlowDatasetClient extends AbstractWebflu
         Supplier<ParameterizedTypeReference<RAGFlowResponse<T>>> ref,
         Function<Mono<RAGFlowResponse<T>>, D> fx) {
 
-        WebClient client = this.factory.createWebClient(context.deployKey(), this.getter);
-
         // @formatter:off
-        Mono<RAGFlowResponse<T>> mono = this.create(client, RAGFlowDictionary.API.DELETE_KNOWLEDGE_GRAPH)
-            .uri(RAGFlowDictionary.API.DELETE_KNOWLEDGE_GRAPH.route(), context.datasetId())
-            .retrieve()
-            .bodyToMono(ref.get());
+        Mono<RAGFlowResponse<T>> mono = this.route(context.deployKey(), context.datasetId())
+            .map(this::createWebClient)
+            .flatMap(client -> this.create(client, RAGFlowDictionary.API.DELETE_KNOWLEDGE_GRAPH)
+                .uri(RAGFlowDictionary.API.DELETE_KNOWLEDGE_GRAPH.route(), context.datasetId())
+                .retrieve()
+                .bodyToMono(ref.get())
+            );
         // @formatter:on
 
         return fx.apply(mono);
     }
+
+    // ----------------------------------------------------------------
+
+    protected ListDatasetContext toPageContext(ListDatasetContext context, String deployKey, int page) {
+        ListDatasetQuery source = this.determineListQuery(context);
+        ListDatasetQuery query = source.toBuilder()
+            .page(page)
+            .pageSize(source.determinePageSize())
+            .build();
+
+        return ListDatasetContext.builder()
+            .deployKey(deployKey)
+            .datasetId(context.datasetId())
+            .query(query)
+            .build();
+    }
+
+    /**
+     * A deletion is routed by its first dataset, the datasets of a call are expected on the same shard.
+     */
+    protected String determineDatasetId(DeleteDatasetContext context) {
+        if (Objects.nonNull(context.datasetId()) || Objects.isNull(context.payload())) {
+            return context.datasetId();
+        }
+
+        List<String> datasetIds = context.payload().documentIds();
+
+        return Objects.isNull(datasetIds) || datasetIds.isEmpty() ? null : datasetIds.get(0);
+    }
+
+    /**
+     * A listing is routed by the dataset of its query, without one it goes to the global deployment.
+     */
+    protected String determineDatasetId(ListDatasetContext context) {
+        if (Objects.nonNull(context.datasetId())) {
+            return context.datasetId();
+        }
+
+        return this.determineListQuery(context).id();
+    }
+
+    protected ListDatasetQuery determineListQuery(ListDatasetContext context) {
+        return Optional.ofNullable(context.query()).orElseGet(() -> ListDatasetQuery.builder().build());
+    }
+
+    // ----------------------------------------------------------------
+
+    private void recordPlacement(String deployKey, RAGFlowResponse<?> response) {
+        if (!response.determineIsOk() || !(response.data() instanceof CreateDatasetDTO)) {
+            return;
+        }
+
+        String datasetId = ((CreateDatasetDTO) response.data()).id();
+        this.tryAcquireShardRouter(datasetId).ifPresent(router -> router.record(datasetId, deployKey));
+    }
+
+    private void evictPlacements(DeleteDatasetContext context, RAGFlowResponse<?> response) {
+        if (!response.determineIsOk() || Objects.isNull(context.payload().documentIds())) {
+            return;
+        }
+
+        context.payload().documentIds().forEach(datasetId -> {
+            this.tryAcquireShardRouter(datasetId).ifPresent(router -> router.evict(datasetId));
+        });
+    }
+
+    /**
+     * {@code LIST_DATASETS} reports no total, the listing ends with the first short page.
+     */
+    protected Page<ListDatasetDTO> toPage(ListDatasetContext pageContext, List<ListDatasetDTO> datasets) {
+        return new Page<>(
+            pageContext.query().determinePage(),
+            pageContext.query().determinePageSize(),
+            null,
+            datasets
+        );
+    }
 }
@@ -15,14 +15,123 @@
  */
 package io.github.photowey.ai.ragflow.client.webflux.dataset;
 
+import java.util.List;
+
+import jakarta.validation.constraints.NotNull;
+
+import io.github.photowey.ai.ragflow.client.api.RAGFlowDatasetClient;
+import io.github.photowey.ai.ragflow.client.webflux.core.pagination.PrefetchOptions;
+import io.github.photowey.ai.ragflow.core.domain.context.dataset.CreateDatasetContext;
+import io.github.photowey.ai.ragflow.core.domain.context.dataset.DeleteDatasetContext;
+import io.github.photowey.ai.ragflow.core.domain.context.dataset.DeleteKnowledgeGraphContext;
+import io.github.photowey.ai.ragflow.core.domain.context.dataset.GetKnowledgeGraphContext;
+import io.github.photowey.ai.ragflow.core.domain.context.dataset.ListDatasetContext;
+import io.github.photowey.ai.ragflow.core.domain.context.dataset.UpdateDatasetContext;
+import io.github.photowey.ai.ragflow.core.domain.dto.dataset.CreateDatasetDTO;
+import io.github.photowey.ai.ragflow.core.domain.dto.dataset.DeleteDatasetDTO;
+import io.github.photowey.ai.ragflow.core.domain.dto.dataset.KnowledgeGraphDTO;
+import io.github.photowey.ai.ragflow.core.domain.dto.dataset.ListDatasetDTO;
+import io.github.photowey.ai.ragflow.core.domain.dto.dataset.UpdateDatasetDTO;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
 /**
  * {@code AsyncWebfluxRAGFlowDatasetClient}.
  *
+ * <p>
+ * The non-blocking counterpart of {@link RAGFlowDatasetClient}, every call is lazy and
+ * only hits the RAGFlow server once the returned {@link Mono} is subscribed.
+ * Business errors are signalled as {@code RAGFlowException}.
+ *
  * @author photowey
  * @version 2025.0.22.0.1
  * @since 2025/11/23
  */
 @SuppressWarnings("AlibabaClassNamingShouldBeCamel")
 public interface AsyncWebfluxRAGFlowDatasetClient {
-    // do nothing now.
+
+    /**
+     * Create dataset.
+     *
+     * @param context {@link CreateDatasetContext}
+     * @return {@link CreateDatasetDTO}
+     * @see RAGFlowDatasetClient#createDataset(CreateDatasetContext)
+     */
+    Mono<CreateDatasetDTO> createDataset(@NotNull CreateDatasetContext context);
+
+    /**
+     * Delete datasets.
+     *
+     * @param context {@link DeleteDatasetContext}
+     * @return {@link DeleteDatasetDTO}
+     * @see RAGFlowDatasetClient#deleteDatasets(DeleteDatasetContext)
+     */
+    Mono<DeleteDatasetDTO> deleteDatasets(@NotNull DeleteDatasetContext context);
+
+    /**
+     * Update dataset.
+     *
+     * @param context {@link UpdateDatasetContext}
+     * @return {@link UpdateDatasetDTO}
+     * @see RAGFlowDatasetClient#updateDataset(UpdateDatasetContext)
+     */
+    Mono<UpdateDatasetDTO> updateDataset(@NotNull UpdateDatasetContext context);
+
+    /**
+     * List datasets.
+     *
+     * @param context {@link ListDatasetContext}
+     * @return {@link ListDatasetDTO}
+     * @see RAGFlowDatasetClient#listDatasets(ListDatasetContext)
+     */
+    Mono<List<ListDatasetDTO>> listDatasets(@NotNull ListDatasetContext context);
+
+    /**
+     * Stream every dataset matching the listing filters, across all pages.
+     *
+     * <p>
+     * Pages are fetched lazily starting from {@code query.page}, the next page is only requested once
+     * downstream demand reaches it.
+     *
+     * @param context {@link ListDatasetContext}
+     * @return the datasets, in page order
+     * @see #listDatasets(ListDatasetContext)
+     */
+    Flux<ListDatasetDTO> streamDatasets(@NotNull ListDatasetContext context);
+
+    /**
+     * Stream every dataset matching the listing filters, fetching the pages concurrently.
+     *
+     * <p>
+     * {@code LIST_DATASETS} reports no total, pages are fetched speculatively up to
+     * {@link PrefetchOptions#determineWindow(int) window} ahead and always emitted in page order,
+     * the listing ends with the first short page. Page requests share the listing permits of the deployment.
+     *
+     * @param context {@link ListDatasetContext}
+     * @param options {@link PrefetchOptions}
+     * @return the datasets, in page order
+     * @see #streamDatasets(ListDatasetContext)
+     */
+    Flux<ListDatasetDTO> streamDatasets(@NotNull ListDatasetContext context, @NotNull PrefetchOptions options);
+
+    // ----------------------------------------------------------------
+
+    /**
+     * Get knowledge graph.
+     *
+     * @param context {@link GetKnowledgeGraphContext}
+     * @return {@link KnowledgeGraphDTO}
+     * @see RAGFlowDatasetClient#getKnowledgeGraph(GetKnowledgeGraphContext)
+     */
+    Mono<KnowledgeGraphDTO> getKnowledgeGraph(@NotNull GetKnowledgeGraphContext context);
+
+    /**
+     * Delete knowledge graph.
+     *
+     * @param context {@link DeleteKnowledgeGraphContext}
+     * @return {@link Boolean}
+     * @see RAGFlowDatasetClient#deleteKnowledgeGraph(DeleteKnowledgeGraphContext)
+     */
+    Mono<Boolean> deleteKnowledgeGraph(@NotNull DeleteKnowledgeGraphContext context);
 }
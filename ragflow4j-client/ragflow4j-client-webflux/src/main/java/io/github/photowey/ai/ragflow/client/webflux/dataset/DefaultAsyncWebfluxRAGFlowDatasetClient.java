@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.dataset;
+
+import java.util.Collections;
+import java.util.List;
+
+import jakarta.validation.constraints.NotNull;
+
+import org.springframework.core.ParameterizedTypeReference;
+
+import io.github.photowey.ai.ragflow.client.webflux.core.factory.RAGFlowWebClientFactory;
+import io.github.photowey.ai.ragflow.client.webflux.core.pagination.Page;
+import io.github.photowey.ai.ragflow.client.webflux.core.pagination.PageStreams;
+import io.github.photowey.ai.ragflow.client.webflux.core.pagination.PrefetchOptions;
+import io.github.photowey.ai.ragflow.core.constant.MessageConstants;
+import io.github.photowey.ai.ragflow.core.domain.context.dataset.CreateDatasetContext;
+import io.github.photowey.ai.ragflow.core.domain.context.dataset.DeleteDatasetContext;
+import io.github.photowey.ai.ragflow.core.domain.context.dataset.DeleteKnowledgeGraphContext;
+import io.github.photowey.ai.ragflow.core.domain.context.dataset.GetKnowledgeGraphContext;
+import io.github.photowey.ai.ragflow.core.domain.context.dataset.ListDatasetContext;
+import io.github.photowey.ai.ragflow.core.domain.context.dataset.UpdateDatasetContext;
+import io.github.photowey.ai.ragflow.core.domain.dto.dataset.CreateDatasetDTO;
+import io.github.photowey.ai.ragflow.core.domain.dto.dataset.DeleteDatasetDTO;
+import io.github.photowey.ai.ragflow.core.domain.dto.dataset.KnowledgeGraphDTO;
+import io.github.photowey.ai.ragflow.core.domain.dto.dataset.ListDatasetDTO;
+import io.github.photowey.ai.ragflow.core.domain.dto.dataset.UpdateDatasetDTO;
+import io.github.photowey.ai.ragflow.core.domain.model.response.RAGFlowResponse;
+import io.github.photowey.ai.ragflow.core.formatter.StringFormatter;
+import io.github.photowey.ai.ragflow.core.property.RAGFlowPropertiesGetter;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code DefaultAsyncWebfluxRAGFlowDatasetClient}.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/13
+ */
+@SuppressWarnings("AlibabaClassNamingShouldBeCamel")
+public class DefaultAsyncWebfluxRAGFlowDatasetClient extends AbstractWebfluxRAGFlowDatasetClient
+    implements AsyncWebfluxRAGFlowDatasetClient {
+
+    public DefaultAsyncWebfluxRAGFlowDatasetClient(
+        RAGFlowPropertiesGetter getter,
+        RAGFlowWebClientFactory factory) {
+        super(getter, factory);
+    }
+
+    @Override
+    public Mono<CreateDatasetDTO> createDataset(@NotNull CreateDatasetContext context) {
+        // @formatter:off
+        return Mono.defer(() -> this.tryCreateDataset(
+            context,
+            () -> new ParameterizedTypeReference<RAGFlowResponse<CreateDatasetDTO>>() { },
+            mono -> this.tryUnwrap(mono, () ->
+                StringFormatter.format(MessageConstants.CREATE_DATASET_FAILED, context.payload().name())
+            )
+        ));
+        // @formatter:on
+    }
+
+    @Override
+    public Mono<DeleteDatasetDTO> deleteDatasets(@NotNull DeleteDatasetContext context) {
+        // @formatter:off
+        return Mono.defer(() -> this.tryDeleteDatasets(
+            context,
+            () -> new ParameterizedTypeReference<RAGFlowResponse<DeleteDatasetDTO>>() { },
+            mono -> this.tryUnwrap(mono, () ->
+                StringFormatter.format(MessageConstants.DELETE_DATASET_FAILED, context.payload().documentIds())
+            )
+        ));
+        // @formatter:on
+    }
+
+    @Override
+    public Mono<UpdateDatasetDTO> updateDataset(@NotNull UpdateDatasetContext context) {
+        // @formatter:off
+        return Mono.defer(() -> this.tryUpdateDataset(
+            context,
+            () -> new ParameterizedTypeReference<RAGFlowResponse<UpdateDatasetDTO>>() { },
+            mono -> this.tryUnwrap(mono, () ->
+                StringFormatter.format(MessageConstants.UPDATE_DATASET_FAILED, context.datasetId())
+            )
+        ));
+        // @formatter:on
+    }
+
+    @Override
+    public Mono<List<ListDatasetDTO>> listDatasets(@NotNull ListDatasetContext context) {
+        // @formatter:off
+        return Mono.defer(() -> this.tryListDatasets(
+            context,
+            () -> new ParameterizedTypeReference<RAGFlowResponse<List<ListDatasetDTO>>>() { },
+            mono -> this.tryUnwrap(mono, () ->
+                MessageConstants.LIST_DATASET_FAILED
+            )
+        ));
+        // @formatter:on
+    }
+
+    @Override
+    public Flux<ListDatasetDTO> streamDatasets(@NotNull ListDatasetContext context) {
+        return Flux.defer(() -> PageStreams.sequential(
+            this.determineListQuery(context).determinePage(),
+            page -> this.listDatasetPage(context, context.deployKey(), page)
+        ));
+    }
+
+    @Override
+    public Flux<ListDatasetDTO> streamDatasets(@NotNull ListDatasetContext context, @NotNull PrefetchOptions options) {
+        return Flux.defer(() -> this.tryStreamPages(
+            this.route(context.deployKey(), this.determineDatasetId(context)),
+            this.determineListQuery(context).determinePage(),
+            options,
+            (deployKey, page) -> this.listDatasetPage(context, deployKey, page)
+        ));
+    }
+
+    // ----------------------------------------------------------------
+
+    @Override
+    public Mono<KnowledgeGraphDTO> getKnowledgeGraph(@NotNull GetKnowledgeGraphContext context) {
+        // @formatter:off
+        return Mono.defer(() -> this.tryGetKnowledgeGraph(
+            context,
+            () -> new ParameterizedTypeReference<RAGFlowResponse<KnowledgeGraphDTO>>() { },
+            mono -> this.tryUnwrap(mono, () ->
+                MessageConstants.GET_KNOWLEDGE_GRAPH_FAILED
+            )
+        ));
+        // @formatter:on
+    }
+
+    @Override
+    public Mono<Boolean> deleteKnowledgeGraph(@NotNull DeleteKnowledgeGraphContext context) {
+        // @formatter:off
+        return Mono.defer(() -> this.tryDeleteKnowledgeGraph(
+            context,
+            () -> new ParameterizedTypeReference<RAGFlowResponse<Boolean>>() { },
+            mono -> this.tryUnwrap(mono, () ->
+                MessageConstants.DELETE_KNOWLEDGE_GRAPH_FAILED
+            )
+        ));
+        // @formatter:on
+    }
+
+    // ----------------------------------------------------------------
+
+    private Mono<Page<ListDatasetDTO>> listDatasetPage(ListDatasetContext context, String deployKey, int page) {
+        ListDatasetContext pageContext = this.toPageContext(context, deployKey, page);
+
+        return this.listDatasets(pageContext)
+            .defaultIfEmpty(Collections.emptyList())
+            .map(datasets -> this.toPage(pageContext, datasets));
+    }
+}
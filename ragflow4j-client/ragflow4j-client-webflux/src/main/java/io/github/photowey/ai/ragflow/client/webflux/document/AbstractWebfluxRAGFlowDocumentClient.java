@@ -15,44 +15,63 @@
  */
 package io.github.photowey.ai.ragflow.client.webflux.document;
 
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Function;
 import java.util.function.Supplier;
-import java.util.stream.Collectors;
 
 import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.core.io.ByteArrayResource;
-import org.springframework.core.io.Resource;
 import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.http.client.MultipartBodyBuilder;
 import org.springframework.util.MultiValueMap;
-import org.springframework.web.reactive.function.BodyExtractors;
 import org.springframework.web.reactive.function.BodyInserters;
 import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
 
 import io.github.photowey.ai.ragflow.client.webflux.AbstractWebfluxRAGFlowClient;
 import io.github.photowey.ai.ragflow.client.webflux.core.builder.QueryParamBuilder;
+import io.github.photowey.ai.ragflow.client.webflux.core.download.DownloadRejectedException;
 import io.github.photowey.ai.ragflow.client.webflux.core.download.ErrorDownloadHandle;
+import io.github.photowey.ai.ragflow.client.webflux.core.download.RangedDocumentDownloader;
 import io.github.photowey.ai.ragflow.client.webflux.core.download.ReactiveStreamDownloadHandle;
 import io.github.photowey.ai.ragflow.client.webflux.core.factory.RAGFlowWebClientFactory;
+import io.github.photowey.ai.ragflow.client.webflux.core.pagination.Page;
+import io.github.photowey.ai.ragflow.client.webflux.core.parsing.ParsingAwaiter;
+import io.github.photowey.ai.ragflow.client.webflux.core.upload.BatchDocumentUploader;
+import io.github.photowey.ai.ragflow.client.webflux.core.upload.DocumentParts;
 import io.github.photowey.ai.ragflow.core.constant.MessageConstants;
+import io.github.photowey.ai.ragflow.core.domain.context.document.BatchUploadDocumentContext;
 import io.github.photowey.ai.ragflow.core.domain.context.document.DeleteDocumentContext;
 import io.github.photowey.ai.ragflow.core.domain.context.document.DownloadDocumentContext;
 import io.github.photowey.ai.ragflow.core.domain.context.document.ListDocumentContext;
 import io.github.photowey.ai.ragflow.core.domain.context.document.ParseDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.context.document.PollingParsingStatusDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.context.document.RangedDownloadDocumentContext;
 import io.github.photowey.ai.ragflow.core.domain.context.document.StopParsingDocumentContext;
 import io.github.photowey.ai.ragflow.core.domain.context.document.UpdateDocumentContext;
 import io.github.photowey.ai.ragflow.core.domain.context.document.UploadDocumentContext;
 import io.github.photowey.ai.ragflow.core.domain.download.DownloadHandle;
 import io.github.photowey.ai.ragflow.core.domain.download.DownloadMetadata;
+import io.github.photowey.ai.ragflow.core.domain.download.DownloadResult;
+import io.github.photowey.ai.ragflow.core.domain.dto.document.DocumentDTO;
+import io.github.photowey.ai.ragflow.core.domain.dto.document.ListDocumentDTO;
+import io.github.photowey.ai.ragflow.core.domain.dto.document.PollingParsingStatusDocumentDTO;
+import io.github.photowey.ai.ragflow.core.domain.dto.document.UploadDocumentDTO;
 import io.github.photowey.ai.ragflow.core.domain.model.response.RAGFlowResponse;
+import io.github.photowey.ai.ragflow.core.domain.payload.document.UploadDocumentPayload;
+import io.github.photowey.ai.ragflow.core.domain.query.document.ListDocumentQuery;
+import io.github.photowey.ai.ragflow.core.domain.query.document.PollingParsingStatusDocumentQuery;
+import io.github.photowey.ai.ragflow.core.domain.upload.BatchUploadResult;
 import io.github.photowey.ai.ragflow.core.enums.RAGFlowDictionary;
+import io.github.photowey.ai.ragflow.core.exception.RAGFlowException;
 import io.github.photowey.ai.ragflow.core.property.RAGFlowPropertiesGetter;
 
 import reactor.core.publisher.Flux;
@@ -68,10 +87,16 @@ import reactor.core.publisher.Mono;
 @SuppressWarnings("AlibabaClassNamingShouldBeCamel")
 public abstract class AbstractWebfluxRAGFlowDocumentClient extends AbstractWebfluxRAGFlowClient {
 
+    private static final ParameterizedTypeReference<Map<String, Object>> MAP_TYPE_REFERENCE =
+        new ParameterizedTypeReference<Map<String, Object>>() { };
+
+    private final ParsingAwaiter awaiter;
+
     public AbstractWebfluxRAGFlowDocumentClient(
         RAGFlowPropertiesGetter getter,
         RAGFlowWebClientFactory factory) {
         super(getter, factory);
+        this.awaiter = new ParsingAwaiter(this::tryListDocuments);
     }
 
     // ----------------------------------------------------------------
@@ -80,130 +105,181 @@ public abstract class AbstractWebfluxRAGFlowDocumentClient extends AbstractWebfl
         UploadDocumentContext context,
         Supplier<ParameterizedTypeReference<RAGFlowResponse<T>>> ref,
         Function<Mono<RAGFlowResponse<T>>, D> fx) {
-        WebClient client = this.factory.createFormdataWebClient(context.deployKey(), this.getter);
-
-        MultipartBodyBuilder builder = new MultipartBodyBuilder();
-        List<Resource> resources = this.tryConvertDocuments(context);
-        for (Resource resource : resources) {
-            builder.part("file", resource);
-        }
+        MultipartBodyBuilder builder = this.tryConvertDocuments(context);
 
-        Mono<RAGFlowResponse<T>> mono = this.create(client, RAGFlowDictionary.API.UPLOAD_DOCUMENTS)
-            .uri(RAGFlowDictionary.API.UPLOAD_DOCUMENTS.route(), context.datasetId())
-            .body(BodyInserters.fromMultipartData(builder.build()))
-            .retrieve()
-            .bodyToMono(ref.get());
+        Mono<RAGFlowResponse<T>> mono = this.route(context.deployKey(), context.datasetId())
+            .map(this::createFormdataWebClient)
+            .flatMap(client -> this.create(client, RAGFlowDictionary.API.UPLOAD_DOCUMENTS)
+                .uri(RAGFlowDictionary.API.UPLOAD_DOCUMENTS.route(), context.datasetId())
+                .body(BodyInserters.fromMultipartData(builder.build()))
+                .retrieve()
+                .bodyToMono(ref.get())
+            );
 
         return fx.apply(mono);
     }
 
+    protected <D> D tryBatchUploadDocuments(
+        BatchUploadDocumentContext context,
+        Function<Mono<BatchUploadResult>, D> fx) {
+        // @formatter:off
+        BatchDocumentUploader uploader = new BatchDocumentUploader(
+            context,
+            this.factory.acquireUploadPermits(context.deployKey(), this.getter),
+            batch -> this.tryUploadDocuments(
+                batch,
+                () -> new ParameterizedTypeReference<RAGFlowResponse<List<UploadDocumentDTO>>>() { },
+                mono -> this.tryUnwrap(mono, () ->
+                    MessageConstants.UPLOAD_DOCUMENTS_FAILED
+                )
+            )
+        );
+        // @formatter:on
+
+        return fx.apply(Mono.defer(uploader::upload));
+    }
+
     // ----------------------------------------------------------------
 
     protected <T, D> D tryUpdateDocument(
         UpdateDocumentContext context,
         Supplier<ParameterizedTypeReference<RAGFlowResponse<T>>> ref,
         Function<Mono<RAGFlowResponse<T>>, D> fx) {
-        WebClient client = this.factory.createWebClient(context.deployKey(), this.getter);
-
-        Mono<RAGFlowResponse<T>> mono = this.create(client, RAGFlowDictionary.API.UPDATE_DOCUMENT)
-            .uri(RAGFlowDictionary.API.UPDATE_DOCUMENT.route(), context.datasetId(), context.documentId())
-            .bodyValue(context.payload())
-            .retrieve()
-            .bodyToMono(ref.get());
+        Mono<RAGFlowResponse<T>> mono = this.route(context.deployKey(), context.datasetId())
+            .map(this::createWebClient)
+            .flatMap(client -> this.create(client, RAGFlowDictionary.API.UPDATE_DOCUMENT)
+                .uri(RAGFlowDictionary.API.UPDATE_DOCUMENT.route(), context.datasetId(), context.documentId())
+                .bodyValue(context.payload())
+                .retrieve()
+                .bodyToMono(ref.get())
+            );
 
         return fx.apply(mono);
     }
 
     // ----------------------------------------------------------------
 
+    /**
+     * Download a document lazily.
+     *
+     * <p>
+     * Nothing is sent until the resulting {@link Mono} is subscribed. The status and the content type
+     * are classified inside the reactive chain once the response headers arrive, the body stream
+     * is handed over to the {@link DownloadHandle} untouched.
+     */
     protected <D> D tryDownloadDocument(
         DownloadDocumentContext context,
         Function<Mono<DownloadHandle>, D> fx) {
-        WebClient client = this.factory.createWebClient(context.deployKey(), this.getter);
+        Mono<DownloadHandle> mono = this.exchangeDocument(context, null)
+            .map(entity -> this.toDownloadHandle(context, entity))
+            .onErrorResume(DownloadRejectedException.class, e -> Mono.just(new ErrorDownloadHandle(e.metadata())));
+
+        return fx.apply(mono);
+    }
+
+    /**
+     * Download a document into {@link RangedDownloadDocumentContext#target()} with parallel range requests,
+     * falling back to a single stream when the server does not honour them.
+     */
+    protected <D> D tryRangedDownloadDocument(
+        RangedDownloadDocumentContext context,
+        Function<Mono<DownloadResult>, D> fx) {
+        RangedDocumentDownloader downloader = new RangedDocumentDownloader(
+            context,
+            range -> this.exchangeDocument(context, range)
+        );
+
+        return fx.apply(Mono.defer(downloader::download));
+    }
+
+    /**
+     * Send the download request, a non-2xx status or a JSON business error in place of the file
+     * is signalled as {@link DownloadRejectedException}.
+     *
+     * @param context the download context
+     * @param range   the {@code Range} header value, {@code null} for the whole document
+     * @return the response, with the untouched body stream
+     */
+    protected Mono<ResponseEntity<Flux<DataBuffer>>> exchangeDocument(DownloadDocumentContext context, String range) {
+        return this.route(context.deployKey(), context.datasetId())
+            .map(this::createWebClient)
+            .flatMap(client -> this.exchangeDocument(client, context, range));
+    }
 
-        // This is the current best implementation for this synchronous requirement.
-        // ?
-        ClientResponse response = client.get()
+    private Mono<ResponseEntity<Flux<DataBuffer>>> exchangeDocument(
+        WebClient client,
+        DownloadDocumentContext context,
+        String range) {
+        return this.create(client, RAGFlowDictionary.API.DOWNLOAD_DOCUMENT)
             .uri(
                 RAGFlowDictionary.API.DOWNLOAD_DOCUMENT.route(),
                 context.datasetId(),
                 context.payload().documentId()
             )
-            .exchange()
-            .block();
-
-        HttpStatus status = Objects.requireNonNull(response).statusCode();
-        MediaType contentType = response.headers().contentType()
-            .orElse(MediaType.APPLICATION_OCTET_STREAM);
-
-        if (!status.is2xxSuccessful()) {
-            Mono<DownloadHandle> rvt = this.handleNon2xxResponse(response, status);
-            return fx.apply(rvt);
-        }
-
-        /*
-         * <pre>
-         * {
-         *     "code": 102,
-         *     "message": "You do not own the dataset 7898da028a0511efbf750242ac1220005."
-         * }
-         * </pre>
-         */
-        if (MediaType.APPLICATION_JSON.isCompatibleWith(contentType)) {
-            Mono<DownloadHandle> rvt = this.handleBadRequest(response, status);
-            return fx.apply(rvt);
-        }
-
-        String filename = context.payload().determineDownloadFilename();
-        DownloadMetadata metadata = DownloadMetadata.builder()
-            .code(RAGFlowDictionary.ErrorCode.OK.code())
-            .message(RAGFlowDictionary.ErrorCode.OK.description())
-            .filename(filename)
-            .contentType(contentType.toString())
-            .build();
-
-        Flux<DataBuffer> bodyStream = response.body(BodyExtractors.toDataBuffers());
-        Mono<DownloadHandle> handleMono =
-            Mono.just(new ReactiveStreamDownloadHandle(metadata, bodyStream));
-
-        return fx.apply(handleMono);
+            .headers(headers -> {
+                if (Objects.nonNull(range)) {
+                    headers.set(HttpHeaders.RANGE, range);
+                }
+            })
+            .retrieve()
+            .onStatus(
+                status -> status.is2xxSuccessful() || !determineIsRangeNotSatisfiable(status, range),
+                response -> this.checkResponse(response).map(DownloadRejectedException::new)
+            )
+            .toEntityFlux(DataBuffer.class);
     }
 
-
     // ----------------------------------------------------------------
 
     protected <T, D> D tryListDocuments(
         ListDocumentContext context,
         Supplier<ParameterizedTypeReference<RAGFlowResponse<T>>> ref,
         Function<Mono<RAGFlowResponse<T>>, D> fx) {
-        WebClient client = this.factory.createWebClient(context.deployKey(), this.getter);
         MultiValueMap<String, String> queryParams = QueryParamBuilder.toQueryParams(context.query());
-
-        Mono<RAGFlowResponse<T>> mono = this.create(client, RAGFlowDictionary.API.LIST_DOCUMENTS)
-            .uri(builder -> builder
-                .path(RAGFlowDictionary.API.LIST_DOCUMENTS.route())
-                .queryParams(queryParams)
-                .build(context.datasetId())
-            )
-            .retrieve()
-            .bodyToMono(ref.get());
+        ParameterizedTypeReference<RAGFlowResponse<T>> type = ref.get();
+
+        Mono<RAGFlowResponse<T>> mono = this.coalesce(
+            this.route(context.deployKey(), context.datasetId()),
+            Arrays.asList(RAGFlowDictionary.API.LIST_DOCUMENTS, context.datasetId(), queryParams, type.getType()),
+            client -> this.create(client, RAGFlowDictionary.API.LIST_DOCUMENTS)
+                .uri(builder -> builder
+                    .path(RAGFlowDictionary.API.LIST_DOCUMENTS.route())
+                    .queryParams(queryParams)
+                    .build(context.datasetId())
+                )
+                .retrieve()
+                .bodyToMono(type)
+        );
 
         return fx.apply(mono);
     }
 
+    protected Mono<ListDocumentDTO> tryListDocuments(ListDocumentContext context) {
+        // @formatter:off
+        return this.tryListDocuments(
+            context,
+            () -> new ParameterizedTypeReference<RAGFlowResponse<ListDocumentDTO>>() { },
+            mono -> this.tryUnwrap(mono, () ->
+                MessageConstants.LIST_DOCUMENTS_FAILED
+            )
+        );
+        // @formatter:on
+    }
+
     // ----------------------------------------------------------------
 
     protected <T, D> D tryDeleteDocuments(
         DeleteDocumentContext context,
         Supplier<ParameterizedTypeReference<RAGFlowResponse<T>>> ref,
         Function<Mono<RAGFlowResponse<T>>, D> fx) {
-        WebClient client = this.factory.createWebClient(context.deployKey(), this.getter);
-
-        Mono<RAGFlowResponse<T>> mono = this.create(client, RAGFlowDictionary.API.DELETE_DOCUMENTS)
-            .uri(RAGFlowDictionary.API.DELETE_DOCUMENTS.route(), context.datasetId())
-            .bodyValue(context.payload())
-            .retrieve()
-            .bodyToMono(ref.get());
+        Mono<RAGFlowResponse<T>> mono = this.route(context.deployKey(), context.datasetId())
+            .map(this::createWebClient)
+            .flatMap(client -> this.create(client, RAGFlowDictionary.API.DELETE_DOCUMENTS)
+                .uri(RAGFlowDictionary.API.DELETE_DOCUMENTS.route(), context.datasetId())
+                .bodyValue(context.payload())
+                .retrieve()
+                .bodyToMono(ref.get())
+            );
 
         return fx.apply(mono);
     }
@@ -214,13 +290,14 @@ public abstract class AbstractWebfluxRAGFlowDocumentClient extends AbstractWebfl
         ParseDocumentContext context,
         Supplier<ParameterizedTypeReference<RAGFlowResponse<T>>> ref,
         Function<Mono<RAGFlowResponse<T>>, D> fx) {
-        WebClient client = this.factory.createWebClient(context.deployKey(), this.getter);
-
-        Mono<RAGFlowResponse<T>> mono = this.create(client, RAGFlowDictionary.API.PARSE_DOCUMENTS)
-            .uri(RAGFlowDictionary.API.PARSE_DOCUMENTS.route(), context.datasetId())
-            .bodyValue(context.payload())
-            .retrieve()
-            .bodyToMono(ref.get());
+        Mono<RAGFlowResponse<T>> mono = this.route(context.deployKey(), context.datasetId())
+            .map(this::createWebClient)
+            .flatMap(client -> this.create(client, RAGFlowDictionary.API.PARSE_DOCUMENTS)
+                .uri(RAGFlowDictionary.API.PARSE_DOCUMENTS.route(), context.datasetId())
+                .bodyValue(context.payload())
+                .retrieve()
+                .bodyToMono(ref.get())
+            );
 
         return fx.apply(mono);
     }
@@ -231,43 +308,161 @@ public abstract class AbstractWebfluxRAGFlowDocumentClient extends AbstractWebfl
         StopParsingDocumentContext context,
         Supplier<ParameterizedTypeReference<RAGFlowResponse<T>>> ref,
         Function<Mono<RAGFlowResponse<T>>, D> fx) {
-        WebClient client = this.factory.createWebClient(context.deployKey(), this.getter);
-
-        Mono<RAGFlowResponse<T>> mono = this.create(client, RAGFlowDictionary.API.STOP_PARSING_DOCUMENTS)
-            .uri(RAGFlowDictionary.API.STOP_PARSING_DOCUMENTS.route(), context.datasetId())
-            .bodyValue(context.payload())
-            .retrieve()
-            .bodyToMono(ref.get());
+        Mono<RAGFlowResponse<T>> mono = this.route(context.deployKey(), context.datasetId())
+            .map(this::createWebClient)
+            .flatMap(client -> this.create(client, RAGFlowDictionary.API.STOP_PARSING_DOCUMENTS)
+                .uri(RAGFlowDictionary.API.STOP_PARSING_DOCUMENTS.route(), context.datasetId())
+                .bodyValue(context.payload())
+                .retrieve()
+                .bodyToMono(ref.get())
+            );
 
         return fx.apply(mono);
     }
 
+    protected <D> D tryAwaitParsed(
+        PollingParsingStatusDocumentContext context,
+        Duration deadline,
+        Function<Mono<DocumentDTO>, D> fx) {
+        return fx.apply(this.awaiter.await(context, deadline));
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * Copy the listing context for the given deployment and page, every other filter is kept as is.
+     */
+    protected ListDocumentContext toPageContext(ListDocumentContext context, String deployKey, int page) {
+        ListDocumentQuery source = this.determineListQuery(context);
+        ListDocumentQuery query = source.toBuilder()
+            .page(page)
+            .pageSize(source.determinePageSize())
+            .build();
+
+        return ListDocumentContext.builder()
+            .deployKey(deployKey)
+            .datasetId(context.datasetId())
+            .query(query)
+            .build();
+    }
+
+    protected ListDocumentQuery determineListQuery(ListDocumentContext context) {
+        return Optional.ofNullable(context.query()).orElseGet(() -> ListDocumentQuery.builder().build());
+    }
+
+    protected Page<DocumentDTO> toPage(ListDocumentContext pageContext, ListDocumentDTO documents) {
+        return new Page<>(
+            pageContext.query().determinePage(),
+            pageContext.query().determinePageSize(),
+            documents.total(),
+            documents.documents()
+        );
+    }
+
+    protected ListDocumentContext toPollingListContext(PollingParsingStatusDocumentContext context) {
+        PollingParsingStatusDocumentQuery parsingQuery = context.query();
+        parsingQuery.ensureIdNotBlank();
+
+        ListDocumentQuery query = ListDocumentQuery.builder()
+            .id(parsingQuery.id())
+            .build();
+
+        return ListDocumentContext.builder()
+            .deployKey(context.deployKey())
+            .datasetId(context.datasetId())
+            .query(query)
+            .build();
+    }
+
+    protected PollingParsingStatusDocumentDTO toPollingParsingStatus(
+        PollingParsingStatusDocumentContext context,
+        ListDocumentDTO documents) {
+        if (Objects.isNull(documents)
+            || Objects.isNull(documents.documents())
+            || documents.documents().isEmpty()) {
+            throw new RAGFlowException(MessageConstants.POLLING_PARSING_STATUS_FAILED, context.query().id());
+        }
+        DocumentDTO sentinel = documents.documents().get(0);
+
+        return PollingParsingStatusDocumentDTO.builder()
+            .documentId(sentinel.getId())
+            .status(sentinel.getRun())
+            .build();
+    }
+
     // ----------------------------------------------------------------
 
-    protected List<Resource> tryConvertDocuments(UploadDocumentContext context) {
+    /**
+     * Every document becomes a {@code file} part, streamed from its source while the request is written.
+     */
+    protected MultipartBodyBuilder tryConvertDocuments(UploadDocumentContext context) {
         if (Objects.isNull(context.payload().documents())
             || context.payload().documents().isEmpty()) {
             throw new RuntimeException(MessageConstants.UPLOAD_DOCUMENT_DOCUMENT_LIST_EMPTY);
         }
 
-        return context.payload().documents().stream().map(it -> {
-            return new ByteArrayResource(it.data()) {
-                @Override
-                public String getFilename() {
-                    return it.originalName();
-                }
-            };
-        }).collect(Collectors.toList());
+        MultipartBodyBuilder builder = new MultipartBodyBuilder();
+        for (UploadDocumentPayload.Document document : context.payload().documents()) {
+            DocumentParts.append(builder, "file", document);
+        }
+
+        return builder;
     }
 
     // ----------------------------------------------------------------
 
-    private Mono<DownloadHandle> handleNon2xxResponse(ClientResponse response, HttpStatus status) {
+    private DownloadHandle toDownloadHandle(
+        DownloadDocumentContext context,
+        ResponseEntity<Flux<DataBuffer>> entity) {
+        MediaType contentType = Optional.ofNullable(entity.getHeaders().getContentType())
+            .orElse(MediaType.APPLICATION_OCTET_STREAM);
+        Flux<DataBuffer> body = Optional.ofNullable(entity.getBody()).orElseGet(Flux::empty);
+
+        String filename = context.payload().determineDownloadFilename();
+        DownloadMetadata metadata = DownloadMetadata.builder()
+            .code(RAGFlowDictionary.ErrorCode.OK.code())
+            .message(RAGFlowDictionary.ErrorCode.OK.description())
+            .filename(filename)
+            .contentType(contentType.toString())
+            .build();
+
+        return new ReactiveStreamDownloadHandle(metadata, body);
+    }
+
+    /**
+     * The rejection of the response, empty for a file. Decoded with the codecs of the {@code WebClient}, the body
+     * of a file is left untouched.
+     */
+    private Mono<DownloadMetadata> checkResponse(ClientResponse response) {
+        HttpStatus status = response.statusCode();
+        if (!status.is2xxSuccessful()) {
+            return this.handleNon2xxResponse(response, status);
+        }
+
+        MediaType contentType = response.headers().contentType()
+            .orElse(MediaType.APPLICATION_OCTET_STREAM);
+
+        /*
+         * <pre>
+         * {
+         *     "code": 102,
+         *     "message": "You do not own the dataset 7898da028a0511efbf750242ac1220005."
+         * }
+         * </pre>
+         */
+        if (!MediaType.APPLICATION_JSON.isCompatibleWith(contentType)) {
+            return Mono.empty();
+        }
+
+        return this.handleBadRequest(response.bodyToMono(MAP_TYPE_REFERENCE), status);
+    }
+
+    private Mono<DownloadMetadata> handleNon2xxResponse(ClientResponse response, HttpStatus status) {
         MediaType contentType = response.headers().contentType()
             .orElse(MediaType.APPLICATION_OCTET_STREAM);
 
         if (MediaType.APPLICATION_JSON.isCompatibleWith(contentType)) {
-            return this.handleBadRequest(response, status);
+            return this.handleBadRequest(response.bodyToMono(MAP_TYPE_REFERENCE), status);
         }
 
         DownloadMetadata meta = DownloadMetadata.builder()
@@ -275,7 +470,9 @@ public abstract class AbstractWebfluxRAGFlowDocumentClient extends AbstractWebfl
             .message("HTTP " + status.value() + ": " + status.getReasonPhrase())
             .build();
 
-        return Mono.just(new ErrorDownloadHandle(meta));
+        // Drain the unused body so the connection goes back to the pool.
+        return response.releaseBody()
+            .then(Mono.just(meta));
     }
 
     private DownloadMetadata extractBusinessError(Map<?, ?> body, HttpStatus fallbackStatus) {
@@ -306,17 +503,18 @@ public abstract class AbstractWebfluxRAGFlowDocumentClient extends AbstractWebfl
             .build();
     }
 
-    private Mono<DownloadHandle> handleBadRequest(ClientResponse response, HttpStatus status) {
-        return response.bodyToMono(Map.class)
-            .map(body -> this.extractBusinessError(body, status))
-            .map(meta -> (DownloadHandle) new ErrorDownloadHandle(meta))
-            .switchIfEmpty(Mono.defer(() -> {
-                DownloadMetadata meta = DownloadMetadata.builder()
-                    .code(status.value())
-                    .message("HTTP " + status.value() + " with empty response body")
-                    .build();
-
-                return Mono.just(new ErrorDownloadHandle(meta));
-            }));
+    private Mono<DownloadMetadata> handleBadRequest(Mono<Map<String, Object>> body, HttpStatus status) {
+        return body
+            .map(it -> this.extractBusinessError(it, status))
+            .switchIfEmpty(Mono.fromSupplier(() -> DownloadMetadata.builder()
+                .code(status.value())
+                .message("HTTP " + status.value() + " with empty response body")
+                .build()));
+    }
+
+    // ----------------------------------------------------------------
+
+    private static boolean determineIsRangeNotSatisfiable(HttpStatus status, String range) {
+        return Objects.nonNull(range) && status == HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE;
     }
 }
@@ -15,13 +15,217 @@
  */
 package io.github.photowey.ai.ragflow.client.webflux.document;
 
+import java.time.Duration;
+
+import jakarta.validation.constraints.NotNull;
+
+import org.reactivestreams.Publisher;
+
+import io.github.photowey.ai.ragflow.client.api.RAGFlowDocumentClient;
+import io.github.photowey.ai.ragflow.client.webflux.core.pagination.PrefetchOptions;
+import io.github.photowey.ai.ragflow.core.domain.context.document.BatchUploadDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.context.document.DeleteDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.context.document.DownloadDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.context.document.IngestDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.context.document.ListDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.context.document.ParseDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.context.document.PollingParsingStatusDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.context.document.RangedDownloadDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.context.document.StopParsingDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.context.document.UpdateDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.context.document.UploadDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.context.document.WatchParsingStatusContext;
+import io.github.photowey.ai.ragflow.core.domain.download.DownloadHandle;
+import io.github.photowey.ai.ragflow.core.domain.download.DownloadResult;
+import io.github.photowey.ai.ragflow.core.domain.dto.document.DeleteDocumentDTO;
+import io.github.photowey.ai.ragflow.core.domain.dto.document.DocumentDTO;
+import io.github.photowey.ai.ragflow.core.domain.dto.document.ListDocumentDTO;
+import io.github.photowey.ai.ragflow.core.domain.dto.document.ParseDocumentDTO;
+import io.github.photowey.ai.ragflow.core.domain.dto.document.PollingParsingStatusDocumentDTO;
+import io.github.photowey.ai.ragflow.core.domain.dto.document.StopParsingDocumentDTO;
+import io.github.photowey.ai.ragflow.core.domain.dto.document.UpdateDocumentDTO;
+import io.github.photowey.ai.ragflow.core.domain.dto.document.UploadDocumentDTO;
+import io.github.photowey.ai.ragflow.core.domain.ingest.IngestEvent;
+import io.github.photowey.ai.ragflow.core.domain.parsing.ParseAdmission;
+import io.github.photowey.ai.ragflow.core.domain.parsing.ParsingTransition;
+import io.github.photowey.ai.ragflow.core.domain.payload.document.UploadDocumentPayload;
+import io.github.photowey.ai.ragflow.core.domain.upload.BatchUploadResult;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
 /**
  * {@code AsyncWebfluxRAGFlowDocumentClient}.
  *
+ * <p>
+ * The non-blocking counterpart of {@link RAGFlowDocumentClient}, every call is lazy and
+ * only hits the RAGFlow server once the returned publisher is subscribed.
+ * Business errors are signalled as {@code RAGFlowException}.
+ *
  * @author photowey
  * @version 2025.0.22.0.1
  * @since 2025/11/30
  */
 @SuppressWarnings("AlibabaClassNamingShouldBeCamel")
 public interface AsyncWebfluxRAGFlowDocumentClient {
+
+    /**
+     * Upload documents.
+     *
+     * @param context {@link UploadDocumentContext}
+     * @return the uploaded documents, in response order
+     * @see RAGFlowDocumentClient#uploadDocuments(UploadDocumentContext)
+     */
+    Flux<UploadDocumentDTO> uploadDocuments(@NotNull UploadDocumentContext context);
+
+    /**
+     * Upload a large list of documents with several multipart requests.
+     *
+     * @param context {@link BatchUploadDocumentContext}
+     * @return {@link BatchUploadResult}
+     * @see RAGFlowDocumentClient#batchUploadDocuments(BatchUploadDocumentContext)
+     */
+    Mono<BatchUploadResult> batchUploadDocuments(@NotNull BatchUploadDocumentContext context);
+
+    /**
+     * Update document.
+     *
+     * @param context {@link UpdateDocumentContext}
+     * @return {@link UpdateDocumentDTO}
+     * @see RAGFlowDocumentClient#updateDocument(UpdateDocumentContext)
+     */
+    Mono<UpdateDocumentDTO> updateDocument(@NotNull UpdateDocumentContext context);
+
+    /**
+     * Download document.
+     *
+     * @param context {@link DownloadDocumentContext}
+     * @return {@link DownloadHandle}
+     * @see RAGFlowDocumentClient#downloadDocument(DownloadDocumentContext)
+     */
+    Mono<DownloadHandle> downloadDocument(@NotNull DownloadDocumentContext context);
+
+    /**
+     * Download document into a local file with parallel range requests.
+     *
+     * @param context {@link RangedDownloadDocumentContext}
+     * @return {@link DownloadResult}
+     * @see RAGFlowDocumentClient#rangedDownloadDocument(RangedDownloadDocumentContext)
+     */
+    Mono<DownloadResult> rangedDownloadDocument(@NotNull RangedDownloadDocumentContext context);
+
+    /**
+     * List documents.
+     *
+     * @param context {@link ListDocumentContext}
+     * @return {@link ListDocumentDTO}
+     * @see RAGFlowDocumentClient#listDocuments(ListDocumentContext)
+     */
+    Mono<ListDocumentDTO> listDocuments(@NotNull ListDocumentContext context);
+
+    /**
+     * Stream every document matching the listing filters, across all pages.
+     *
+     * <p>
+     * Pages are fetched lazily starting from {@code query.page}, the next page is only requested once
+     * downstream demand reaches it, so at most one page is held in memory. The filters of the query
+     * ({@code suffix}, {@code run}, {@code create_time_from/to}, ...) apply to every page.
+     *
+     * @param context {@link ListDocumentContext}
+     * @return the documents, in page order
+     * @see #listDocuments(ListDocumentContext)
+     */
+    Flux<DocumentDTO> streamDocuments(@NotNull ListDocumentContext context);
+
+    /**
+     * Stream every document matching the listing filters, fetching the pages concurrently.
+     *
+     * <p>
+     * The first page is fetched alone, once it reports the total the remaining pages are fetched up to
+     * {@link PrefetchOptions#determineWindow(int) window} at a time and emitted in page order or as they
+     * complete. Page requests share the listing permits of the deployment.
+     *
+     * @param context {@link ListDocumentContext}
+     * @param options {@link PrefetchOptions}
+     * @return the documents
+     * @see #streamDocuments(ListDocumentContext)
+     */
+    Flux<DocumentDTO> streamDocuments(@NotNull ListDocumentContext context, @NotNull PrefetchOptions options);
+
+    /**
+     * Delete documents.
+     *
+     * @param context {@link DeleteDocumentContext}
+     * @return {@link DeleteDocumentDTO}, empty if the server returned no data
+     * @see RAGFlowDocumentClient#deleteDocuments(DeleteDocumentContext)
+     */
+    Mono<DeleteDocumentDTO> deleteDocuments(@NotNull DeleteDocumentContext context);
+
+    /**
+     * Parse documents.
+     *
+     * @param context {@link ParseDocumentContext}
+     * @return {@link ParseDocumentDTO}, empty if the server returned no data
+     * @see RAGFlowDocumentClient#parseDocuments(ParseDocumentContext)
+     */
+    Mono<ParseDocumentDTO> parseDocuments(@NotNull ParseDocumentContext context);
+
+    /**
+     * Parse documents once running slots of the deployment are free, the deployment keeps at most
+     * {@code parsing.maxRunning} scheduled documents parsing and serves the queued datasets in turn.
+     *
+     * @param context {@link ParseDocumentContext}
+     * @return one admission per document, completes once every document was submitted or rejected
+     * @see #parseDocuments(ParseDocumentContext)
+     */
+    Flux<ParseAdmission> scheduleParseDocuments(@NotNull ParseDocumentContext context);
+
+    /**
+     * Stop parsing documents.
+     *
+     * @param context {@link StopParsingDocumentContext}
+     * @return {@link StopParsingDocumentDTO}, empty if the server returned no data
+     * @see RAGFlowDocumentClient#stopParsingDocuments(StopParsingDocumentContext)
+     */
+    Mono<StopParsingDocumentDTO> stopParsingDocuments(@NotNull StopParsingDocumentContext context);
+
+    /**
+     * Polling parsing status.
+     *
+     * @param context {@link PollingParsingStatusDocumentContext}
+     * @return {@link PollingParsingStatusDocumentDTO}
+     * @see RAGFlowDocumentClient#pollingParsingStatus(PollingParsingStatusDocumentContext)
+     */
+    Mono<PollingParsingStatusDocumentDTO> pollingParsingStatus(@NotNull PollingParsingStatusDocumentContext context);
+
+    /**
+     * Watch the parsing status of many documents of a dataset, polled with a shared listing of the documents
+     * still to be parsed instead of one request per document.
+     *
+     * @param context {@link WatchParsingStatusContext}
+     * @return the transitions of the watched documents, completes once every one of them is final
+     * @see #pollingParsingStatus(PollingParsingStatusDocumentContext)
+     */
+    Flux<ParsingTransition> watchParsingStatus(@NotNull WatchParsingStatusContext context);
+
+    /**
+     * Wait until a document is parsed.
+     *
+     * @param context  {@link PollingParsingStatusDocumentContext}
+     * @param deadline the maximum time to wait
+     * @return the parsed {@link DocumentDTO}
+     * @see RAGFlowDocumentClient#awaitParsed(PollingParsingStatusDocumentContext, Duration)
+     */
+    Mono<DocumentDTO> awaitParsed(@NotNull PollingParsingStatusDocumentContext context, @NotNull Duration deadline);
+
+    /**
+     * Upload, parse and await a stream of documents, the three stages overlap.
+     *
+     * @param context   {@link IngestDocumentContext}
+     * @param documents the documents to ingest
+     * @return one {@link IngestEvent} per document, as documents reach a final status
+     */
+    Flux<IngestEvent> ingestDocuments(
+        @NotNull IngestDocumentContext context,
+        @NotNull Publisher<UploadDocumentPayload.Document> documents);
 }
@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.document;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Function;
+
+import jakarta.validation.constraints.NotNull;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.ParameterizedTypeReference;
+
+import io.github.photowey.ai.ragflow.client.webflux.core.factory.RAGFlowWebClientFactory;
+import io.github.photowey.ai.ragflow.client.webflux.core.ingest.IngestionPipeline;
+import io.github.photowey.ai.ragflow.client.webflux.core.pagination.Page;
+import io.github.photowey.ai.ragflow.client.webflux.core.pagination.PageStreams;
+import io.github.photowey.ai.ragflow.client.webflux.core.pagination.PrefetchOptions;
+import io.github.photowey.ai.ragflow.client.webflux.core.parsing.ParsingStatusWatcher;
+import io.github.photowey.ai.ragflow.core.constant.MessageConstants;
+import io.github.photowey.ai.ragflow.core.domain.context.document.BatchUploadDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.context.document.DeleteDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.context.document.DownloadDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.context.document.IngestDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.context.document.ListDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.context.document.ParseDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.context.document.PollingParsingStatusDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.context.document.RangedDownloadDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.context.document.StopParsingDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.context.document.UpdateDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.context.document.UploadDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.context.document.WatchParsingStatusContext;
+import io.github.photowey.ai.ragflow.core.domain.download.DownloadHandle;
+import io.github.photowey.ai.ragflow.core.domain.download.DownloadResult;
+import io.github.photowey.ai.ragflow.core.domain.dto.document.DeleteDocumentDTO;
+import io.github.photowey.ai.ragflow.core.domain.dto.document.DocumentDTO;
+import io.github.photowey.ai.ragflow.core.domain.dto.document.ListDocumentDTO;
+import io.github.photowey.ai.ragflow.core.domain.dto.document.ParseDocumentDTO;
+import io.github.photowey.ai.ragflow.core.domain.dto.document.PollingParsingStatusDocumentDTO;
+import io.github.photowey.ai.ragflow.core.domain.dto.document.StopParsingDocumentDTO;
+import io.github.photowey.ai.ragflow.core.domain.dto.document.UpdateDocumentDTO;
+import io.github.photowey.ai.ragflow.core.domain.dto.document.UploadDocumentDTO;
+import io.github.photowey.ai.ragflow.core.domain.ingest.IngestEvent;
+import io.github.photowey.ai.ragflow.core.domain.model.response.RAGFlowResponse;
+import io.github.photowey.ai.ragflow.core.domain.parsing.ParseAdmission;
+import io.github.photowey.ai.ragflow.core.domain.parsing.ParsingTransition;
+import io.github.photowey.ai.ragflow.core.domain.payload.document.UploadDocumentPayload;
+import io.github.photowey.ai.ragflow.core.domain.upload.BatchUploadResult;
+import io.github.photowey.ai.ragflow.core.property.RAGFlowPropertiesGetter;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code DefaultAsyncWebfluxRAGFlowDocumentClient}.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/13
+ */
+@SuppressWarnings("AlibabaClassNamingShouldBeCamel")
+public class DefaultAsyncWebfluxRAGFlowDocumentClient
+    extends AbstractWebfluxRAGFlowDocumentClient implements AsyncWebfluxRAGFlowDocumentClient {
+
+    private final ParsingStatusWatcher watcher;
+
+    public DefaultAsyncWebfluxRAGFlowDocumentClient(
+        RAGFlowPropertiesGetter getter,
+        RAGFlowWebClientFactory factory) {
+        super(getter, factory);
+        this.watcher = new ParsingStatusWatcher(this);
+    }
+
+    @Override
+    public Flux<UploadDocumentDTO> uploadDocuments(@NotNull UploadDocumentContext context) {
+        // @formatter:off
+        return Mono.defer(() -> this.tryUploadDocuments(
+            context,
+            () -> new ParameterizedTypeReference<RAGFlowResponse<List<UploadDocumentDTO>>>() { },
+            mono -> this.tryUnwrap(mono, () ->
+                MessageConstants.UPLOAD_DOCUMENTS_FAILED
+            )
+        )).flatMapIterable(Function.identity());
+        // @formatter:on
+    }
+
+    @Override
+    public Mono<BatchUploadResult> batchUploadDocuments(@NotNull BatchUploadDocumentContext context) {
+        return Mono.defer(() -> this.tryBatchUploadDocuments(
+            context,
+            Function.identity()
+        ));
+    }
+
+    @Override
+    public Mono<UpdateDocumentDTO> updateDocument(@NotNull UpdateDocumentContext context) {
+        // @formatter:off
+        return Mono.defer(() -> this.tryUpdateDocument(
+            context,
+            () -> new ParameterizedTypeReference<RAGFlowResponse<UpdateDocumentDTO>>() { },
+            mono -> this.tryUnwrap(mono, () ->
+                MessageConstants.UPDATE_DOCUMENT_FAILED
+            )
+        ));
+        // @formatter:on
+    }
+
+    @Override
+    public Mono<DownloadHandle> downloadDocument(@NotNull DownloadDocumentContext context) {
+        return Mono.defer(() -> this.tryDownloadDocument(
+            context,
+            Function.identity()
+        ));
+    }
+
+    @Override
+    public Mono<DownloadResult> rangedDownloadDocument(@NotNull RangedDownloadDocumentContext context) {
+        return Mono.defer(() -> this.tryRangedDownloadDocument(
+            context,
+            Function.identity()
+        ));
+    }
+
+    @Override
+    public Mono<ListDocumentDTO> listDocuments(@NotNull ListDocumentContext context) {
+        // @formatter:off
+        return Mono.defer(() -> this.tryListDocuments(
+            context,
+            () -> new ParameterizedTypeReference<RAGFlowResponse<ListDocumentDTO>>() { },
+            mono -> this.tryUnwrap(mono, () ->
+                MessageConstants.LIST_DOCUMENTS_FAILED
+            )
+        ));
+        // @formatter:on
+    }
+
+    @Override
+    public Flux<DocumentDTO> streamDocuments(@NotNull ListDocumentContext context) {
+        return Flux.defer(() -> PageStreams.sequential(
+            this.determineListQuery(context).determinePage(),
+            page -> this.listDocumentPage(context, context.deployKey(), page)
+        ));
+    }
+
+    @Override
+    public Flux<DocumentDTO> streamDocuments(@NotNull ListDocumentContext context, @NotNull PrefetchOptions options) {
+        return Flux.defer(() -> this.tryStreamPages(
+            this.route(context.deployKey(), context.datasetId()),
+            this.determineListQuery(context).determinePage(),
+            options,
+            (deployKey, page) -> this.listDocumentPage(context, deployKey, page)
+        ));
+    }
+
+    @Override
+    public Mono<DeleteDocumentDTO> deleteDocuments(@NotNull DeleteDocumentContext context) {
+        // @formatter:off
+        return Mono.defer(() -> this.tryDeleteDocuments(
+            context,
+            () -> new ParameterizedTypeReference<RAGFlowResponse<DeleteDocumentDTO>>() { },
+            mono -> this.tryUnwrap(mono, () ->
+                MessageConstants.DELETE_DOCUMENTS_FAILED
+            )
+        ));
+        // @formatter:on
+    }
+
+    @Override
+    public Mono<ParseDocumentDTO> parseDocuments(@NotNull ParseDocumentContext context) {
+        // @formatter:off
+        return Mono.defer(() -> this.tryParseDocuments(
+            context,
+            () -> new ParameterizedTypeReference<RAGFlowResponse<ParseDocumentDTO>>() { },
+            mono -> this.tryUnwrap(mono, () ->
+                MessageConstants.PARSE_DOCUMENTS_FAILED
+            )
+        ));
+        // @formatter:on
+    }
+
+    @Override
+    public Flux<ParseAdmission> scheduleParseDocuments(@NotNull ParseDocumentContext context) {
+        return Flux.defer(() -> this.factory
+            .acquireParseAdmissionController(context.deployKey(), this.getter, this)
+            .schedule(context));
+    }
+
+    @Override
+    public Mono<StopParsingDocumentDTO> stopParsingDocuments(@NotNull StopParsingDocumentContext context) {
+        // @formatter:off
+        return Mono.defer(() -> this.tryStopParsingDocuments(
+            context,
+            () -> new ParameterizedTypeReference<RAGFlowResponse<StopParsingDocumentDTO>>() { },
+            mono -> this.tryUnwrap(mono, () ->
+                MessageConstants.STOP_PARSING_DOCUMENTS_FAILED
+            )
+        ));
+        // @formatter:on
+    }
+
+    @Override
+    public Mono<PollingParsingStatusDocumentDTO> pollingParsingStatus(
+        @NotNull PollingParsingStatusDocumentContext context) {
+        return Mono.defer(() -> this.listDocuments(this.toPollingListContext(context)))
+            .defaultIfEmpty(new ListDocumentDTO())
+            .map(documents -> this.toPollingParsingStatus(context, documents));
+    }
+
+    @Override
+    public Flux<ParsingTransition> watchParsingStatus(@NotNull WatchParsingStatusContext context) {
+        return Flux.defer(() -> this.watcher.watch(context));
+    }
+
+    @Override
+    public Mono<DocumentDTO> awaitParsed(
+        @NotNull PollingParsingStatusDocumentContext context,
+        @NotNull Duration deadline) {
+        return Mono.defer(() -> this.tryAwaitParsed(
+            context,
+            deadline,
+            Function.identity()
+        ));
+    }
+
+    @Override
+    public Flux<IngestEvent> ingestDocuments(
+        @NotNull IngestDocumentContext context,
+        @NotNull Publisher<UploadDocumentPayload.Document> documents) {
+        return Flux.defer(() -> new IngestionPipeline(this, context).ingest(documents));
+    }
+
+    // ----------------------------------------------------------------
+
+    private Mono<Page<DocumentDTO>> listDocumentPage(ListDocumentContext context, String deployKey, int page) {
+        ListDocumentContext pageContext = this.toPageContext(context, deployKey, page);
+
+        return this.listDocuments(pageContext)
+            .defaultIfEmpty(new ListDocumentDTO())
+            .map(documents -> this.toPage(pageContext, documents));
+    }
+}
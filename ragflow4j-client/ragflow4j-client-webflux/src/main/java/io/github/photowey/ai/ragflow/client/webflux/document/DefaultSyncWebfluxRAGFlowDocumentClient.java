@@ -15,23 +15,27 @@
  */
 package io.github.photowey.ai.ragflow.client.webflux.document;
 
+import java.time.Duration;
 import java.util.List;
-import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.core.ParameterizedTypeReference;
 
 import io.github.photowey.ai.ragflow.client.webflux.core.factory.RAGFlowWebClientFactory;
 import io.github.photowey.ai.ragflow.core.constant.MessageConstants;
+import io.github.photowey.ai.ragflow.core.domain.context.document.BatchUploadDocumentContext;
 import io.github.photowey.ai.ragflow.core.domain.context.document.DeleteDocumentContext;
 import io.github.photowey.ai.ragflow.core.domain.context.document.DownloadDocumentContext;
 import io.github.photowey.ai.ragflow.core.domain.context.document.ListDocumentContext;
 import io.github.photowey.ai.ragflow.core.domain.context.document.ParseDocumentContext;
 import io.github.photowey.ai.ragflow.core.domain.context.document.PollingParsingStatusDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.context.document.RangedDownloadDocumentContext;
 import io.github.photowey.ai.ragflow.core.domain.context.document.StopParsingDocumentContext;
 import io.github.photowey.ai.ragflow.core.domain.context.document.UpdateDocumentContext;
 import io.github.photowey.ai.ragflow.core.domain.context.document.UploadDocumentContext;
 import io.github.photowey.ai.ragflow.core.domain.download.DownloadHandle;
+import io.github.photowey.ai.ragflow.core.domain.download.DownloadResult;
 import io.github.photowey.ai.ragflow.core.domain.dto.document.DeleteDocumentDTO;
 import io.github.photowey.ai.ragflow.core.domain.dto.document.DocumentDTO;
 import io.github.photowey.ai.ragflow.core.domain.dto.document.ListDocumentDTO;
@@ -41,9 +45,7 @@ import io.github.photowey.ai.ragflow.core.domain.dto.document.StopParsingDocumen
 import io.github.photowey.ai.ragflow.core.domain.dto.document.UpdateDocumentDTO;
 import io.github.photowey.ai.ragflow.core.domain.dto.document.UploadDocumentDTO;
 import io.github.photowey.ai.ragflow.core.domain.model.response.RAGFlowResponse;
-import io.github.photowey.ai.ragflow.core.domain.query.document.ListDocumentQuery;
-import io.github.photowey.ai.ragflow.core.domain.query.document.PollingParsingStatusDocumentQuery;
-import io.github.photowey.ai.ragflow.core.exception.RAGFlowException;
+import io.github.photowey.ai.ragflow.core.domain.upload.BatchUploadResult;
 import io.github.photowey.ai.ragflow.core.property.RAGFlowPropertiesGetter;
 
 import reactor.core.publisher.Mono;
@@ -80,6 +82,14 @@ public class DefaultSyncWebfluxRAGFlowDocumentClient
         );
     }
 
+    @Override
+    public BatchUploadResult batchUploadDocuments(BatchUploadDocumentContext context) {
+        return this.tryBatchUploadDocuments(
+            context,
+            Mono::block
+        );
+    }
+
     @Override
     public UpdateDocumentDTO updateDocument(UpdateDocumentContext context) {
         // @formatter:off
@@ -103,6 +113,14 @@ public class DefaultSyncWebfluxRAGFlowDocumentClient
         );
     }
 
+    @Override
+    public DownloadResult rangedDownloadDocument(RangedDownloadDocumentContext context) {
+        return this.tryRangedDownloadDocument(
+            context,
+            Mono::block
+        );
+    }
+
     @Override
     public ListDocumentDTO listDocuments(ListDocumentContext context) {
         // @formatter:off
@@ -167,28 +185,18 @@ public class DefaultSyncWebfluxRAGFlowDocumentClient
 
     @Override
     public PollingParsingStatusDocumentDTO pollingParsingStatus(PollingParsingStatusDocumentContext context) {
-        PollingParsingStatusDocumentQuery parsingQuery = context.query();
-        parsingQuery.ensureIdNotBlank();
-
-        ListDocumentQuery query = ListDocumentQuery.builder()
-            .id(parsingQuery.id())
-            .build();
+        ListDocumentContext listContext = this.toPollingListContext(context);
+        ListDocumentDTO documents = this.listDocuments(listContext);
 
-        ListDocumentContext listContext = ListDocumentContext.builder()
-            .deployKey(context.deployKey())
-            .datasetId(context.datasetId())
-            .query(query)
-            .build();
+        return this.toPollingParsingStatus(context, documents);
+    }
 
-        ListDocumentDTO documents = this.listDocuments(listContext);
-        if (Objects.isNull(documents.documents()) || documents.documents().isEmpty()) {
-            throw new RAGFlowException(MessageConstants.POLLING_PARSING_STATUS_FAILED, parsingQuery.id());
-        }
-        DocumentDTO sentinel = documents.documents().get(0);
-
-        return PollingParsingStatusDocumentDTO.builder()
-            .documentId(sentinel.getId())
-            .status(sentinel.getRun())
-            .build();
+    @Override
+    public CompletableFuture<DocumentDTO> awaitParsed(PollingParsingStatusDocumentContext context, Duration deadline) {
+        return this.tryAwaitParsed(
+            context,
+            deadline,
+            Mono::toFuture
+        );
     }
 }
@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.balance;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+
+import io.github.photowey.ai.ragflow.client.webflux.core.hedge.HedgePolicy;
+import io.github.photowey.ai.ragflow.core.property.RAGFlowProperties;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code LoadBalancerTest}.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+class LoadBalancerTest {
+
+    private static final String FIRST = "http://ragflow-1:9380";
+    private static final String SECOND = "http://ragflow-2:9380";
+    private static final String DATASETS = "/api/v1/datasets";
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final Map<String, AtomicInteger> calls = new ConcurrentHashMap<>();
+    private final AtomicBoolean secondHealthy = new AtomicBoolean(true);
+
+    @Test
+    void testFilter_spreadsTheCallsOverEveryAddress() {
+        LoadBalancer balancer = new LoadBalancer(server());
+
+        for (int i = 0; i < 100; i++) {
+            this.call(balancer, FIRST + DATASETS);
+        }
+
+        Assertions.assertTrue(this.calls(FIRST) > 0);
+        Assertions.assertTrue(this.calls(SECOND) > 0);
+        Assertions.assertEquals(100, this.calls(FIRST) + this.calls(SECOND));
+    }
+
+    @Test
+    void testFilter_leavesOtherUrlsAlone() {
+        LoadBalancer balancer = new LoadBalancer(server());
+
+        this.call(balancer, "http://elsewhere:9380" + DATASETS);
+        this.call(balancer, FIRST + "0" + DATASETS);
+
+        Assertions.assertEquals(0, this.calls(FIRST) + this.calls(SECOND));
+    }
+
+    @Test
+    void testFilter_ejectsThenRestoresAFailingAddress() throws InterruptedException {
+        LoadBalancer balancer = new LoadBalancer(server());
+        this.secondHealthy.set(false);
+
+        for (int i = 0; i < 50; i++) {
+            this.call(balancer, FIRST + DATASETS);
+        }
+        Assertions.assertEquals(Collections.singletonList(FIRST), balancer.available());
+        Assertions.assertEquals(Collections.singletonList(SECOND), balancer.ejected());
+        int failed = this.calls(SECOND);
+        for (int i = 0; i < 20; i++) {
+            this.call(balancer, FIRST + DATASETS);
+        }
+        Assertions.assertEquals(failed, this.calls(SECOND));
+
+        this.secondHealthy.set(true);
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (!balancer.ejected().isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Assertions.assertEquals(Arrays.asList(FIRST, SECOND), balancer.available());
+        balancer.dispose();
+    }
+
+    @Test
+    void testFilter_hedgeAvoidsTheAddressOfTheFirstRequest() {
+        LoadBalancer balancer = new LoadBalancer(server());
+
+        for (int i = 0; i < 20; i++) {
+            AtomicReference<String> taken = new AtomicReference<>();
+            ClientRequest request = ClientRequest.create(HttpMethod.GET, URI.create(FIRST + DATASETS))
+                .attribute(HedgePolicy.HEDGE_ATTRIBUTE, taken)
+                .build();
+            AtomicReference<String> primary = new AtomicReference<>();
+            AtomicReference<String> hedge = new AtomicReference<>();
+
+            balancer.filter(request, this.server(primary)).block(TIMEOUT);
+            balancer.filter(request, this.server(hedge)).block(TIMEOUT);
+
+            Assertions.assertEquals(primary.get(), taken.get());
+            Assertions.assertNotEquals(primary.get(), hedge.get());
+        }
+    }
+
+    // ----------------------------------------------------------------
+
+    private void call(LoadBalancer balancer, String url) {
+        ClientRequest request = ClientRequest.create(HttpMethod.GET, URI.create(url)).build();
+        balancer.filter(request, this.server(null)).block(TIMEOUT);
+    }
+
+    private int calls(String address) {
+        return this.calls.getOrDefault(address, new AtomicInteger()).get();
+    }
+
+    /**
+     * Counts the calls per address, health checks aside, and records the address called, the second address
+     * fails while unhealthy.
+     */
+    private ExchangeFunction server(AtomicReference<String> called) {
+        return request -> Mono.fromSupplier(() -> {
+            URI url = request.url();
+            String address = url.getScheme() + "://" + url.getAuthority();
+            if (Objects.nonNull(called)) {
+                called.set(address);
+            }
+            if (url.getPath().startsWith(DATASETS)) {
+                this.calls.computeIfAbsent(address, key -> new AtomicInteger()).incrementAndGet();
+            }
+            boolean failing = SECOND.equals(address) && !this.secondHealthy.get();
+
+            return ClientResponse.create(failing ? HttpStatus.SERVICE_UNAVAILABLE : HttpStatus.OK).build();
+        });
+    }
+
+    private static RAGFlowProperties.Server server() {
+        List<String> addresses = Arrays.asList(FIRST, SECOND + "/");
+        RAGFlowProperties.Balancer balancer = RAGFlowProperties.Balancer.builder()
+            .ejectAfter(2)
+            .probeInterval(20L)
+            .build();
+
+        return RAGFlowProperties.Server.builder()
+            .addresses(addresses)
+            .apiKey("ragflow-key")
+            .balancer(balancer)
+            .build();
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.breaker;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+
+import io.github.photowey.ai.ragflow.core.enums.RAGFlowDictionary;
+import io.github.photowey.ai.ragflow.core.exception.CircuitBreakerOpenException;
+import io.github.photowey.ai.ragflow.core.property.RAGFlowProperties;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code CircuitBreakerTest}.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+class CircuitBreakerTest {
+
+    private static final long OPEN_DURATION = 50L;
+    private static final ClientRequest REQUEST = request("/api/v1/datasets");
+
+    private final AtomicInteger exchanges = new AtomicInteger();
+
+    @Test
+    void testFilter_opensOnceTheFailureRateIsReached() {
+        CircuitBreaker breaker = new CircuitBreaker("default", settings(), () -> Mono.just(true));
+
+        this.call(breaker, HttpStatus.OK);
+        this.call(breaker, HttpStatus.INTERNAL_SERVER_ERROR);
+        this.call(breaker, HttpStatus.OK);
+        Assertions.assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        this.call(breaker, HttpStatus.TOO_MANY_REQUESTS);
+
+        Assertions.assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        Assertions.assertThrows(CircuitBreakerOpenException.class, () -> this.call(breaker, HttpStatus.OK));
+        Assertions.assertEquals(4, this.exchanges.get());
+    }
+
+    @Test
+    void testFilter_clientErrorsDoNotCount() {
+        CircuitBreaker breaker = new CircuitBreaker("default", settings(), () -> Mono.just(true));
+
+        for (int i = 0; i < 8; i++) {
+            this.call(breaker, HttpStatus.NOT_FOUND);
+        }
+
+        Assertions.assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+    }
+
+    @Test
+    void testFilter_closesOnHealthyProbe() throws InterruptedException {
+        AtomicInteger probes = new AtomicInteger();
+        CircuitBreaker breaker = new CircuitBreaker("default", settings(), () -> {
+            probes.incrementAndGet();
+            return Mono.just(true);
+        });
+        this.open(breaker);
+        Thread.sleep(OPEN_DURATION * 2);
+
+        Assertions.assertEquals(HttpStatus.OK, this.call(breaker, HttpStatus.OK));
+        Assertions.assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        Assertions.assertEquals(1, probes.get());
+    }
+
+    @Test
+    void testFilter_reopensOnUnhealthyProbe() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker("default", settings(), () -> Mono.error(new IllegalStateException()));
+        this.open(breaker);
+        Thread.sleep(OPEN_DURATION * 2);
+        int exchanged = this.exchanges.get();
+
+        Assertions.assertThrows(CircuitBreakerOpenException.class, () -> this.call(breaker, HttpStatus.OK));
+        Assertions.assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        Assertions.assertEquals(exchanged, this.exchanges.get());
+    }
+
+    @Test
+    void testFilter_neverGuardsTheHealthEndpoint() {
+        CircuitBreaker breaker = new CircuitBreaker("default", settings(), () -> Mono.just(true));
+        this.open(breaker);
+
+        ClientRequest health = request("/api" + RAGFlowDictionary.API.CHECK_SYSTEM_HEALTH.route());
+        ClientResponse response = breaker.filter(health, this.exchange(HttpStatus.OK)).block();
+
+        Assertions.assertNotNull(response);
+        Assertions.assertEquals(HttpStatus.OK, response.statusCode());
+    }
+
+    @Test
+    void testMatches_comparesTheSettings() {
+        CircuitBreaker breaker = new CircuitBreaker("default", settings(), () -> Mono.just(true));
+
+        Assertions.assertTrue(breaker.matches(settings()));
+        RAGFlowProperties.Breaker changed = settings();
+        changed.setFailureRateThreshold(60);
+        Assertions.assertFalse(breaker.matches(changed));
+    }
+
+    // ----------------------------------------------------------------
+
+    private void open(CircuitBreaker breaker) {
+        for (int i = 0; i < 4; i++) {
+            this.call(breaker, HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        Assertions.assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+    }
+
+    private HttpStatus call(CircuitBreaker breaker, HttpStatus status) {
+        ClientResponse response = breaker.filter(REQUEST, this.exchange(status)).block(Duration.ofSeconds(5));
+
+        return response.statusCode();
+    }
+
+    private ExchangeFunction exchange(HttpStatus status) {
+        return request -> Mono.fromSupplier(() -> {
+            this.exchanges.incrementAndGet();
+            return ClientResponse.create(status).build();
+        });
+    }
+
+    private static RAGFlowProperties.Breaker settings() {
+        return RAGFlowProperties.Breaker.builder()
+            .windowSize(4)
+            .minimumCalls(4)
+            .failureRateThreshold(50)
+            .openDuration(OPEN_DURATION)
+            .build();
+    }
+
+    private static ClientRequest request(String path) {
+        return ClientRequest.create(HttpMethod.GET, URI.create("http://localhost:9380" + path)).build();
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * {@code ReactiveSemaphoreTest}.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+class ReactiveSemaphoreTest {
+
+    @Test
+    void testWithPermit_queuesBeyondPermitsAndHandsOverInOrder() {
+        ReactiveSemaphore semaphore = new ReactiveSemaphore(2);
+        List<Sinks.One<String>> sinks = new ArrayList<>();
+        List<String> results = new ArrayList<>();
+        List<Throwable> errors = new ArrayList<>();
+        AtomicInteger started = new AtomicInteger();
+
+        for (int i = 0; i < 4; i++) {
+            Sinks.One<String> sink = Sinks.one();
+            sinks.add(sink);
+            semaphore.withPermit(Mono.defer(() -> {
+                started.incrementAndGet();
+                return sink.asMono();
+            })).subscribe(results::add, errors::add);
+        }
+
+        Assertions.assertEquals(2, started.get());
+        Assertions.assertEquals(0, semaphore.available());
+        Assertions.assertEquals(2, semaphore.queued());
+
+        sinks.get(0).tryEmitValue("first");
+        Assertions.assertEquals(3, started.get());
+
+        sinks.get(1).tryEmitError(new IllegalStateException("boom"));
+        Assertions.assertEquals(4, started.get());
+
+        sinks.get(2).tryEmitValue("third");
+        sinks.get(3).tryEmitEmpty();
+
+        Assertions.assertEquals(List.of("first", "third"), results);
+        Assertions.assertEquals(1, errors.size());
+        Assertions.assertEquals("boom", errors.get(0).getMessage());
+        Assertions.assertEquals(2, semaphore.available());
+        Assertions.assertEquals(0, semaphore.queued());
+    }
+
+    @Test
+    void testWithPermit_cancellingReleasesHeldAndQueuedPermits() {
+        ReactiveSemaphore semaphore = new ReactiveSemaphore(1);
+
+        final Disposable holder = semaphore.withPermit(Mono.never()).subscribe();
+        Disposable waiter = semaphore.withPermit(Mono.never()).subscribe();
+        Assertions.assertEquals(1, semaphore.queued());
+
+        waiter.dispose();
+        Assertions.assertEquals(0, semaphore.queued());
+        Assertions.assertEquals(0, semaphore.available());
+
+        holder.dispose();
+        Assertions.assertEquals(1, semaphore.available());
+        Assertions.assertEquals("next", semaphore.withPermit(Mono.just("next")).block());
+        Assertions.assertEquals(1, semaphore.available());
+    }
+
+    @Test
+    void testConstructor_rejectsNonPositivePermits() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> new ReactiveSemaphore(0));
+    }
+}
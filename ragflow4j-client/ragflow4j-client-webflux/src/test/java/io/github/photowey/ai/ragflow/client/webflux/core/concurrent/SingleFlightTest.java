@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.concurrent;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * {@code SingleFlightTest}.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+class SingleFlightTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    @Test
+    void testExecute_joinsInflightCallOfSameKey() {
+        SingleFlight flight = new SingleFlight(8);
+        Sinks.One<String> sink = Sinks.one();
+        AtomicInteger started = new AtomicInteger();
+        List<String> results = new ArrayList<>();
+
+        for (int i = 0; i < 3; i++) {
+            flight.execute("key", () -> {
+                started.incrementAndGet();
+                return sink.asMono();
+            }).subscribe(results::add);
+        }
+
+        Assertions.assertEquals(1, started.get());
+        Assertions.assertEquals(1, flight.inflight());
+        Assertions.assertEquals(2, flight.shared());
+
+        sink.tryEmitValue("done");
+
+        Assertions.assertEquals(List.of("done", "done", "done"), results);
+        Assertions.assertEquals(0, flight.inflight());
+    }
+
+    @Test
+    void testExecute_startsNewCallOnceCompleted() {
+        SingleFlight flight = new SingleFlight(8);
+        AtomicInteger started = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            Assertions.assertEquals(i + 1, flight.execute("key", () -> Mono.fromSupplier(started::incrementAndGet))
+                .block(TIMEOUT));
+        }
+
+        Assertions.assertEquals(0, flight.shared());
+        Assertions.assertEquals(0, flight.inflight());
+    }
+
+    @Test
+    void testExecute_forgetsFailedCall() {
+        SingleFlight flight = new SingleFlight(8);
+
+        Assertions.assertThrows(IllegalStateException.class, () -> flight.execute(
+            "key",
+            () -> Mono.<String>error(new IllegalStateException("failed"))
+        ).block(TIMEOUT));
+
+        Assertions.assertEquals("retried", flight.execute("key", () -> Mono.just("retried")).block(TIMEOUT));
+        Assertions.assertEquals(0, flight.inflight());
+    }
+
+    @Test
+    void testExecute_runsOnItsOwnBeyondMaxKeys() {
+        SingleFlight flight = new SingleFlight(1);
+        Sinks.One<String> first = Sinks.one();
+        Sinks.One<String> second = Sinks.one();
+        AtomicInteger started = new AtomicInteger();
+
+        flight.execute("first", () -> first.asMono()).subscribe();
+        flight.execute("second", () -> {
+            started.incrementAndGet();
+            return second.asMono();
+        }).subscribe();
+        flight.execute("second", () -> {
+            started.incrementAndGet();
+            return second.asMono();
+        }).subscribe();
+
+        Assertions.assertEquals(2, started.get());
+        Assertions.assertEquals(1, flight.inflight());
+        Assertions.assertEquals(0, flight.shared());
+    }
+
+    @Test
+    void testExecute_forgetsCallCancelledByAllSubscribers() {
+        SingleFlight flight = new SingleFlight(8);
+        Sinks.One<String> sink = Sinks.one();
+
+        Disposable first = flight.execute("key", sink::asMono).subscribe();
+        final Disposable second = flight.execute("key", sink::asMono).subscribe();
+        Assertions.assertEquals(1, flight.inflight());
+
+        first.dispose();
+        Assertions.assertEquals(1, flight.inflight());
+
+        second.dispose();
+        Assertions.assertEquals(0, flight.inflight());
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.concurrent;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@code TokenBudgetTest}.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+class TokenBudgetTest {
+
+    @Test
+    void testTryWithdraw_startsWithAFullReserve() {
+        TokenBudget budget = new TokenBudget(10, 2);
+
+        Assertions.assertTrue(budget.tryWithdraw());
+        Assertions.assertTrue(budget.tryWithdraw());
+        Assertions.assertFalse(budget.tryWithdraw());
+        Assertions.assertEquals(0D, budget.tokens(), 1e-9);
+    }
+
+    @Test
+    void testDeposit_earnsAShareOfATokenPerCall() {
+        TokenBudget budget = new TokenBudget(25, 1);
+        Assertions.assertTrue(budget.tryWithdraw());
+
+        for (int i = 0; i < 3; i++) {
+            budget.deposit();
+            Assertions.assertFalse(budget.tryWithdraw());
+        }
+        budget.deposit();
+
+        Assertions.assertTrue(budget.tryWithdraw());
+    }
+
+    @Test
+    void testDeposit_neverSavesMoreThanTheCapacity() {
+        TokenBudget budget = new TokenBudget(50, 3);
+
+        for (int i = 0; i < 100; i++) {
+            budget.deposit();
+        }
+
+        Assertions.assertEquals(3D, budget.tokens(), 1e-9);
+    }
+
+    @Test
+    void testTokenBudget_keepsAtLeastOneToken() {
+        TokenBudget budget = new TokenBudget(-5, 0);
+
+        Assertions.assertTrue(budget.tryWithdraw());
+        budget.deposit();
+        Assertions.assertFalse(budget.tryWithdraw());
+    }
+}
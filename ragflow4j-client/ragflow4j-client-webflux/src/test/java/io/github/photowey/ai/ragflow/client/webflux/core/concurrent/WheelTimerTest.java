@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.concurrent;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import reactor.core.Disposable;
+
+/**
+ * {@code WheelTimerTest}.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+class WheelTimerTest {
+
+    @Test
+    void testDelay_emitsOnceElapsed() {
+        long started = System.nanoTime();
+
+        Long signal = WheelTimer.shared().delay(Duration.ofMillis(50)).block(Duration.ofSeconds(5));
+
+        Assertions.assertEquals(0L, signal);
+        Assertions.assertTrue(Duration.ofNanos(System.nanoTime() - started).toMillis() >= 40);
+    }
+
+    @Test
+    void testDelay_negativeDelayFiresOnTheNextTick() {
+        Assertions.assertEquals(0L, WheelTimer.shared().delay(Duration.ofMillis(-1)).block(Duration.ofSeconds(5)));
+    }
+
+    @Test
+    void testDelay_cancelReleasesTheTimeout() throws InterruptedException {
+        WheelTimer timer = WheelTimer.shared();
+        final Disposable delay = timer.delay(Duration.ofHours(1)).subscribe();
+        long pending = timer.pending();
+        Assertions.assertTrue(pending >= 1);
+
+        delay.dispose();
+
+        // A cancelled timeout leaves the wheel on its next tick.
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (timer.pending() >= pending && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Assertions.assertTrue(timer.pending() < pending);
+    }
+}
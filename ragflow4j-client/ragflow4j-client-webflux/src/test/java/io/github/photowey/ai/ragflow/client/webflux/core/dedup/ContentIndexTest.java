@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.dedup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * {@code ContentIndexTest}.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+class ContentIndexTest {
+
+    private static final String HASH = "2c26b46b68ffc68ff99b453c1d30413413422d706483bfa0f98a5e886266e7ae";
+    private static final long LENGTH = 1_024L;
+    private static final long LAST_MODIFIED = 1_765_670_400_000L;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testOpen_replaysTheJournal() throws IOException {
+        Path file = this.directory.resolve("dataset" + ContentIndex.SUFFIX);
+        try (ContentIndex index = ContentIndex.open(file)) {
+            index.put(new ContentIndexEntry("a.pdf", HASH, LENGTH, LAST_MODIFIED, "doc-a"));
+            index.put(new ContentIndexEntry("b.pdf", HASH, LENGTH, LAST_MODIFIED, "doc-b"));
+            index.put(new ContentIndexEntry("a.pdf", HASH, LENGTH, LAST_MODIFIED, "doc-c"));
+            index.removeByDocumentId("doc-b");
+            index.flush();
+        }
+
+        try (ContentIndex index = ContentIndex.open(file)) {
+            Assertions.assertEquals(1, index.size());
+            Assertions.assertEquals("doc-c", index.get("a.pdf").orElseThrow(AssertionError::new).documentId());
+            Assertions.assertFalse(index.getByDocumentId("doc-a").isPresent());
+            Assertions.assertFalse(index.get("b.pdf").isPresent());
+            Assertions.assertEquals("a.pdf", index.getByDocumentId("doc-c").orElseThrow(AssertionError::new).name());
+        }
+    }
+
+    @Test
+    void testOpen_dropsATornTail() throws IOException {
+        Path file = this.directory.resolve("dataset" + ContentIndex.SUFFIX);
+        try (ContentIndex index = ContentIndex.open(file)) {
+            index.put(new ContentIndexEntry("a.pdf", HASH, LENGTH, LAST_MODIFIED, "doc-a"));
+            index.flush();
+        }
+        Files.write(file, new byte[] {1, 0, 42}, StandardOpenOption.APPEND);
+
+        try (ContentIndex index = ContentIndex.open(file)) {
+            Assertions.assertEquals(1, index.size());
+            index.put(new ContentIndexEntry("b.pdf", HASH, LENGTH, LAST_MODIFIED, "doc-b"));
+            index.flush();
+        }
+
+        try (ContentIndex index = ContentIndex.open(file)) {
+            Assertions.assertEquals(2, index.size());
+        }
+    }
+
+    @Test
+    void testSameContent_requiresARecordedHash() {
+        ContentIndexEntry hashed = new ContentIndexEntry("a.pdf", HASH, LENGTH, LAST_MODIFIED, "doc-a");
+        ContentIndexEntry seeded = new ContentIndexEntry(
+            "a.pdf", null, LENGTH, ContentIndexEntry.UNKNOWN, "doc-a");
+
+        Assertions.assertTrue(hashed.sameContent(HASH));
+        Assertions.assertFalse(hashed.sameContent(HASH.replace('2', '3')));
+        Assertions.assertFalse(seeded.sameContent(HASH));
+        Assertions.assertFalse(seeded.sameContent(null));
+    }
+
+    @Test
+    void testMatches_requiresHashAndFileAttributes() {
+        ContentIndexEntry hashed = new ContentIndexEntry("a.pdf", HASH, LENGTH, LAST_MODIFIED, "doc-a");
+        ContentIndexEntry seeded = new ContentIndexEntry(
+            "a.pdf", null, LENGTH, ContentIndexEntry.UNKNOWN, "doc-a");
+
+        Assertions.assertTrue(hashed.matches(LENGTH, LAST_MODIFIED));
+        Assertions.assertFalse(hashed.matches(LENGTH + 1, LAST_MODIFIED));
+        Assertions.assertFalse(hashed.matches(LENGTH, LAST_MODIFIED + 1));
+        Assertions.assertFalse(seeded.matches(LENGTH, ContentIndexEntry.UNKNOWN));
+    }
+}
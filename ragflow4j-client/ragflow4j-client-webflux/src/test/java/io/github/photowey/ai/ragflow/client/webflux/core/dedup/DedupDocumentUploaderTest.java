@@ -0,0 +1,291 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.dedup;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.buffer.DataBufferUtils;
+
+import io.github.photowey.ai.ragflow.client.webflux.core.upload.ReactiveDocumentSource;
+import io.github.photowey.ai.ragflow.client.webflux.core.upload.UploadResults;
+import io.github.photowey.ai.ragflow.client.webflux.document.AsyncWebfluxRAGFlowDocumentClient;
+import io.github.photowey.ai.ragflow.core.constant.MessageConstants;
+import io.github.photowey.ai.ragflow.core.domain.context.document.BatchUploadDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.context.document.DeleteDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.context.document.ListDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.dto.document.DeleteDocumentDTO;
+import io.github.photowey.ai.ragflow.core.domain.dto.document.DocumentDTO;
+import io.github.photowey.ai.ragflow.core.domain.dto.document.UploadDocumentDTO;
+import io.github.photowey.ai.ragflow.core.domain.payload.document.UploadDocumentPayload;
+import io.github.photowey.ai.ragflow.core.domain.upload.BatchUploadResult;
+import io.github.photowey.ai.ragflow.core.domain.upload.DedupUploadResult;
+import io.github.photowey.ai.ragflow.core.domain.upload.DocumentSource;
+import io.github.photowey.ai.ragflow.core.domain.upload.UploadFailure;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code DedupDocumentUploaderTest}.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+class DedupDocumentUploaderTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+    private static final String DATASET_ID = "dataset";
+
+    @TempDir
+    Path directory;
+
+    private final Server server = new Server();
+    private DedupDocumentUploader uploader;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (this.uploader != null) {
+            this.uploader.close();
+        }
+    }
+
+    @Test
+    void testUpload_skipsUnchangedDocuments() throws IOException {
+        Path a = this.file("a.txt", "alpha");
+        Path b = this.file("b.txt", "beta");
+
+        DedupUploadResult first = this.upload(a, b);
+        DedupUploadResult second = this.upload(a, b);
+
+        Assertions.assertEquals(2, first.uploaded().size());
+        Assertions.assertTrue(first.determineIsOk());
+        Assertions.assertTrue(second.uploaded().isEmpty());
+        Assertions.assertEquals(List.of("a.txt", "b.txt"), second.skipped());
+        Assertions.assertEquals(1, this.server.uploads.get());
+        Assertions.assertEquals(2, this.server.documents.size());
+    }
+
+    @Test
+    void testUpload_replacesChangedDocument() throws IOException {
+        Path a = this.file("a.txt", "alpha");
+        final String previous = this.upload(a).uploaded().get(0).getId();
+
+        this.change(a, "alpha, revised");
+        DedupUploadResult replaced = this.upload(a);
+
+        Assertions.assertTrue(replaced.determineIsOk());
+        Assertions.assertEquals(List.of(previous), replaced.replaced());
+        Assertions.assertEquals(List.of("a(1).txt"), new ArrayList<>(this.server.documents.values()));
+        Assertions.assertEquals(List.of("a.txt"), this.upload(a).skipped());
+    }
+
+    @Test
+    void testUpload_replacesSeededDocumentOnce() throws IOException {
+        this.server.documents.put("seeded", "a.txt");
+        Path a = this.file("a.txt", "alpha");
+
+        Assertions.assertEquals(1, this.uploader().seed(this.listing()).block(TIMEOUT));
+        DedupUploadResult replaced = this.upload(a);
+
+        Assertions.assertTrue(replaced.determineIsOk());
+        Assertions.assertEquals(List.of("seeded"), replaced.replaced());
+        Assertions.assertEquals(1, this.server.documents.size());
+        Assertions.assertEquals(List.of("a.txt"), this.upload(a).skipped());
+        Assertions.assertEquals(1, this.server.uploads.get());
+    }
+
+    @Test
+    void testUpload_deletesDocumentsOfUnpairedResult() throws IOException {
+        Path a = this.file("a.txt", "alpha");
+        Path b = this.file("b.txt", "beta");
+        this.server.dropLast = true;
+
+        DedupUploadResult result = this.upload(a, b);
+
+        Assertions.assertTrue(result.uploaded().isEmpty());
+        Assertions.assertEquals(List.of(0, 1), result.failures().stream()
+            .map(UploadFailure::index)
+            .collect(Collectors.toList()));
+        result.failures().forEach(failure ->
+            Assertions.assertEquals(MessageConstants.UPLOAD_DOCUMENTS_MISMATCHED, failure.message())
+        );
+        Assertions.assertTrue(this.server.documents.isEmpty());
+
+        this.server.dropLast = false;
+        Assertions.assertEquals(2, this.upload(a, b).uploaded().size());
+    }
+
+    @Test
+    void testUpload_reportsFailedDeletionOfReplacedDocument() throws IOException {
+        Path a = this.file("a.txt", "alpha");
+        final String previous = this.upload(a).uploaded().get(0).getId();
+
+        this.change(a, "alpha, revised");
+        this.server.failDeletes = true;
+        DedupUploadResult result = this.upload(a);
+
+        Assertions.assertEquals(1, result.uploaded().size());
+        Assertions.assertTrue(result.replaced().isEmpty());
+        Assertions.assertEquals(1, result.failures().size());
+        Assertions.assertTrue(result.failures().get(0).message().contains(previous));
+        Assertions.assertEquals(2, this.server.documents.size());
+        Assertions.assertEquals(List.of("a.txt"), this.upload(a).skipped());
+    }
+
+    // ----------------------------------------------------------------
+
+    private DedupUploadResult upload(Path... files) {
+        List<UploadDocumentPayload.Document> documents = new ArrayList<>();
+        for (Path file : files) {
+            documents.add(UploadDocumentPayload.Document.builder()
+                .name(file.getFileName().toString())
+                .originalName(file.getFileName().toString())
+                .source(DocumentSource.of(file))
+                .build());
+        }
+        BatchUploadDocumentContext context = BatchUploadDocumentContext.builder()
+            .datasetId(DATASET_ID)
+            .payload(UploadDocumentPayload.builder().documents(documents).build())
+            .build();
+
+        return this.uploader().upload(context).block(TIMEOUT);
+    }
+
+    private DedupDocumentUploader uploader() {
+        if (this.uploader == null) {
+            this.uploader = new DedupDocumentUploader(this.server.client(), this.directory.resolve("index"));
+        }
+
+        return this.uploader;
+    }
+
+    private ListDocumentContext listing() {
+        return ListDocumentContext.builder().datasetId(DATASET_ID).build();
+    }
+
+    private Path file(String name, String content) throws IOException {
+        Path file = this.directory.resolve(name);
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(1_765_670_400_000L));
+
+        return file;
+    }
+
+    private void change(Path file, String content) throws IOException {
+        Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(1_765_670_460_000L));
+    }
+
+    /**
+     * A dataset renaming an upload next to a document of the same name, as RAGFlow does.
+     */
+    private static final class Server {
+
+        private final Map<String/* documentId */, String/* name */> documents = new LinkedHashMap<>();
+        private final AtomicInteger ids = new AtomicInteger();
+        private final AtomicInteger uploads = new AtomicInteger();
+        private volatile boolean dropLast;
+        private volatile boolean failDeletes;
+
+        AsyncWebfluxRAGFlowDocumentClient client() {
+            Object proxy = Proxy.newProxyInstance(
+                DedupDocumentUploaderTest.class.getClassLoader(),
+                new Class<?>[] {AsyncWebfluxRAGFlowDocumentClient.class},
+                (instance, method, args) -> {
+                    switch (method.getName()) {
+                        case "batchUploadDocuments":
+                            return this.upload((BatchUploadDocumentContext) args[0]);
+                        case "deleteDocuments":
+                            return this.delete((DeleteDocumentContext) args[0]);
+                        case "streamDocuments":
+                            return this.list();
+                        default:
+                            throw new UnsupportedOperationException(method.getName());
+                    }
+                });
+
+            return (AsyncWebfluxRAGFlowDocumentClient) proxy;
+        }
+
+        private Mono<BatchUploadResult> upload(BatchUploadDocumentContext context) {
+            List<UploadDocumentPayload.Document> sent = context.payload().documents();
+
+            return Flux.fromIterable(sent)
+                .concatMap(document -> ((ReactiveDocumentSource) document.determineSource()).read()
+                    .doOnNext(DataBufferUtils::release)
+                    .then())
+                .then(Mono.fromSupplier(() -> {
+                    this.uploads.incrementAndGet();
+                    List<UploadDocumentDTO> uploaded = new ArrayList<>();
+                    int accepted = this.dropLast ? sent.size() - 1 : sent.size();
+                    for (UploadDocumentPayload.Document document : sent.subList(0, accepted)) {
+                        String id = "doc-" + this.ids.incrementAndGet();
+                        String name = this.rename(document.originalName());
+                        this.documents.put(id, name);
+                        uploaded.add(UploadDocumentDTO.builder().id(id).name(name).build());
+                    }
+
+                    return BatchUploadResult.builder()
+                        .documents(uploaded)
+                        .failures(new ArrayList<>())
+                        .batches(1)
+                        .build();
+                }));
+        }
+
+        private Mono<DeleteDocumentDTO> delete(DeleteDocumentContext context) {
+            if (this.failDeletes) {
+                return Mono.error(new IllegalStateException("unavailable"));
+            }
+            context.payload().getDocumentIds().forEach(this.documents::remove);
+
+            return Mono.just(new DeleteDocumentDTO());
+        }
+
+        private Flux<DocumentDTO> list() {
+            return Flux.fromIterable(new ArrayList<>(this.documents.entrySet()))
+                .map(entry -> DocumentDTO.builder().id(entry.getKey()).name(entry.getValue()).size(5L).build());
+        }
+
+        private String rename(String name) {
+            String renamed = name;
+            for (int n = 1; this.documents.containsValue(renamed); n++) {
+                int dot = name.lastIndexOf('.');
+                renamed = name.substring(0, dot) + "(" + n + ")" + name.substring(dot);
+            }
+            Assertions.assertTrue(UploadResults.determineIsSameName(name, renamed));
+
+            return renamed;
+        }
+    }
+}
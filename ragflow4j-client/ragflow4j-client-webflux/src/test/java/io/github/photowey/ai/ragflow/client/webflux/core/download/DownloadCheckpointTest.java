@@ -0,0 +1,92 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.download;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+ * {@code DownloadCheckpointTest}.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+class DownloadCheckpointTest {
+
+    private static final long LENGTH = 10_000L;
+    private static final long SEGMENT_SIZE = 4_096L;
+    private static final long LAST_MODIFIED = 1_765_670_400_000L;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testStoreAndLoad_roundTripsCompletedSegments() throws IOException {
+        Path target = this.directory.resolve("document.pdf");
+        DownloadCheckpoint checkpoint = DownloadCheckpoint.create(LENGTH, SEGMENT_SIZE, "\"v1\"", LAST_MODIFIED);
+        checkpoint.complete(0);
+        checkpoint.complete(2);
+        checkpoint.store(target);
+
+        DownloadCheckpoint loaded = DownloadCheckpoint.load(target);
+
+        Assertions.assertNotNull(loaded);
+        Assertions.assertEquals(3, loaded.segments());
+        Assertions.assertEquals(List.of(1), loaded.pending());
+        Assertions.assertEquals("\"v1\"", loaded.etag());
+        Assertions.assertEquals(LAST_MODIFIED, loaded.lastModified());
+        Assertions.assertTrue(loaded.matches(LENGTH, SEGMENT_SIZE, "\"v1\"", LAST_MODIFIED));
+
+        DownloadCheckpoint.delete(target);
+        Assertions.assertNull(DownloadCheckpoint.load(target));
+    }
+
+    @Test
+    void testLoad_ignoresUnreadableCheckpoint() throws IOException {
+        Path target = this.directory.resolve("document.pdf");
+        Files.write(DownloadCheckpoint.pathOf(target), "length=oops".getBytes(StandardCharsets.UTF_8));
+
+        Assertions.assertNull(DownloadCheckpoint.load(target));
+    }
+
+    @Test
+    void testMatches_requiresAnEqualValidator() {
+        DownloadCheckpoint none = DownloadCheckpoint.create(LENGTH, SEGMENT_SIZE, null, -1);
+        DownloadCheckpoint etag = DownloadCheckpoint.create(LENGTH, SEGMENT_SIZE, "\"v1\"", -1);
+        DownloadCheckpoint lastModified = DownloadCheckpoint.create(LENGTH, SEGMENT_SIZE, null, LAST_MODIFIED);
+
+        Assertions.assertFalse(none.matches(LENGTH, SEGMENT_SIZE, null, -1));
+        Assertions.assertFalse(none.matches(LENGTH, SEGMENT_SIZE, "\"v1\"", -1));
+
+        Assertions.assertTrue(etag.matches(LENGTH, SEGMENT_SIZE, "\"v1\"", -1));
+        Assertions.assertFalse(etag.matches(LENGTH, SEGMENT_SIZE, "\"v2\"", -1));
+        Assertions.assertFalse(etag.matches(LENGTH, SEGMENT_SIZE, null, -1));
+        Assertions.assertFalse(etag.matches(LENGTH, SEGMENT_SIZE, "\"v1\"", LAST_MODIFIED));
+
+        Assertions.assertTrue(lastModified.matches(LENGTH, SEGMENT_SIZE, null, LAST_MODIFIED));
+        Assertions.assertFalse(lastModified.matches(LENGTH, SEGMENT_SIZE, null, LAST_MODIFIED + 1_000));
+        Assertions.assertFalse(lastModified.matches(LENGTH + 1, SEGMENT_SIZE, null, LAST_MODIFIED));
+        Assertions.assertFalse(lastModified.matches(LENGTH, SEGMENT_SIZE * 2, null, LAST_MODIFIED));
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.download;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.github.photowey.ai.ragflow.core.domain.download.DownloadHandle;
+import io.github.photowey.ai.ragflow.core.domain.download.DownloadMetadata;
+
+/**
+ * {@code DownloadHandleTest}.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+class DownloadHandleTest {
+
+    private static final String CONTENT = "hello, ragflow!";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testTransferTo_createsOrTruncatesFileByDefault() throws IOException {
+        Path created = this.directory.resolve("created.txt");
+        Path truncated = this.directory.resolve("truncated.txt");
+        Files.write(truncated, "a much longer previous version of the document".getBytes(StandardCharsets.UTF_8));
+
+        Assertions.assertEquals(CONTENT.length(), new WriteOnlyHandle().transferTo(created));
+        Assertions.assertEquals(CONTENT.length(), new WriteOnlyHandle().transferTo(truncated));
+
+        Assertions.assertEquals(CONTENT, Files.readString(created));
+        Assertions.assertEquals(CONTENT, Files.readString(truncated));
+    }
+
+    @Test
+    void testTransferTo_opensFileWithGivenOptionsOnly() throws IOException {
+        Path existing = this.directory.resolve("existing.txt");
+        Files.write(existing, "prefix:".getBytes(StandardCharsets.UTF_8));
+
+        new WriteOnlyHandle().transferTo(existing, StandardOpenOption.APPEND);
+
+        Assertions.assertEquals("prefix:" + CONTENT, Files.readString(existing));
+        Assertions.assertThrows(NoSuchFileException.class, () ->
+            new WriteOnlyHandle().transferTo(this.directory.resolve("missing.txt"), StandardOpenOption.APPEND)
+        );
+    }
+
+    @Test
+    void testTransferTo_countsBytesWrittenToChannel() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (WritableByteChannel channel = Channels.newChannel(out)) {
+            Assertions.assertEquals(CONTENT.length(), new WriteOnlyHandle().transferTo(channel));
+            Assertions.assertTrue(channel.isOpen());
+        }
+
+        Assertions.assertEquals(CONTENT, out.toString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testDefaults_consumeTheHandleOnce() throws IOException {
+        WriteOnlyHandle handle = new WriteOnlyHandle();
+
+        Assertions.assertEquals(CONTENT, new String(handle.readAllBytes(), StandardCharsets.UTF_8));
+        Assertions.assertThrows(IllegalStateException.class, () -> handle.transferTo(this.directory.resolve("a.txt")));
+        Assertions.assertThrows(IllegalStateException.class, handle::readAllBytes);
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * A handle implementing only {@link DownloadHandle#writeTo(OutputStream)}, in a few writes.
+     */
+    private static final class WriteOnlyHandle implements DownloadHandle {
+
+        private final AtomicBoolean consumed = new AtomicBoolean(false);
+
+        @Override
+        public DownloadMetadata getMetadata() {
+            return DownloadMetadata.builder().code(0).build();
+        }
+
+        @Override
+        public InputStream getInputStream() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void writeTo(OutputStream out) throws IOException {
+            if (!this.consumed.compareAndSet(false, true)) {
+                throw new IllegalStateException("DownloadHandle has already been consumed");
+            }
+
+            byte[] content = CONTENT.getBytes(StandardCharsets.UTF_8);
+            out.write(content[0]);
+            out.write(content, 1, content.length - 1);
+        }
+    }
+}
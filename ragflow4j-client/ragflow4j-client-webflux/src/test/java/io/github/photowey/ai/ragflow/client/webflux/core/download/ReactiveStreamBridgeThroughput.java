@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.download;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * {@code ReactiveStreamBridgeThroughput}.
+ *
+ * <p>
+ * Drains 128 MiB of 8 KiB heap buffers, produced on the parallel scheduler, through the ring bridge of
+ * {@link ReactiveStreamBridge} and through the piped-stream bridge it replaced, 8 rounds each with the first 3
+ * discarded as warm-up. JMH is not part of this build, so this is a plain harness outside the surefire includes,
+ * run it from the test classpath:
+ *
+ * <pre>
+ * mvn -pl ragflow4j-client/ragflow4j-client-webflux -am test-compile dependency:build-classpath \
+ *     -Dmdep.outputFile=target/cp.txt
+ * cd ragflow4j-client/ragflow4j-client-webflux
+ * java -cp "target/test-classes:target/classes:$(cat target/cp.txt)" \
+ *     io.github.photowey.ai.ragflow.client.webflux.core.download.ReactiveStreamBridgeThroughput
+ * </pre>
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+@Slf4j
+final class ReactiveStreamBridgeThroughput {
+
+    private static final int CHUNK = 8 * 1024;
+    private static final int TOTAL = 128 * 1024 * 1024;
+    private static final int ROUNDS = 8;
+    private static final int WARMUP = 3;
+
+    private static final byte[] PAYLOAD = new byte[CHUNK];
+
+    private ReactiveStreamBridgeThroughput() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        run("piped bridge", ReactiveStreamBridgeThroughput::piped);
+        run("ring bridge", ReactiveStreamBridge::toInputStream);
+    }
+
+    // ----------------------------------------------------------------
+
+    private static void run(String name, Function<Flux<DataBuffer>, InputStream> bridge) throws IOException {
+        double min = Double.MAX_VALUE;
+        double max = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            final double throughput = drain(bridge.apply(source()));
+            if (round >= WARMUP) {
+                min = Math.min(min, throughput);
+                max = Math.max(max, throughput);
+            }
+        }
+
+        log.info("{}: {} - {} MiB/s", name, Math.round(min), Math.round(max));
+    }
+
+    private static Flux<DataBuffer> source() {
+        return Flux.range(0, TOTAL / CHUNK)
+            .map(i -> (DataBuffer) DefaultDataBufferFactory.sharedInstance.wrap(PAYLOAD))
+            .subscribeOn(Schedulers.parallel());
+    }
+
+    private static double drain(InputStream in) throws IOException {
+        byte[] buffer = new byte[CHUNK];
+        long read = 0;
+        long started = System.nanoTime();
+        try (InputStream stream = in) {
+            for (int n = stream.read(buffer); n >= 0; n = stream.read(buffer)) {
+                read += n;
+            }
+        }
+        if (read != TOTAL) {
+            throw new IllegalStateException("Drained " + read + " of " + TOTAL + " bytes");
+        }
+
+        return (TOTAL / (1024.0 * 1024.0)) / ((System.nanoTime() - started) / 1e9);
+    }
+
+    /**
+     * The bridge before the ring, a thread per stream copying every buffer into a {@code byte[]} and through a pipe.
+     */
+    private static InputStream piped(Flux<DataBuffer> flux) {
+        PipedInputStream in = new PipedInputStream(CHUNK);
+        PipedOutputStream out = connect(in);
+        ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "reactive-to-inputstream-bridge");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        executor.execute(() -> flux.subscribe(
+            buffer -> {
+                try {
+                    ByteBuffer bb = buffer.asByteBuffer();
+                    byte[] bytes = new byte[bb.remaining()];
+                    bb.get(bytes);
+                    out.write(bytes);
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            },
+            error -> close(out),
+            () -> close(out)
+        ));
+
+        return new FilterInputStream(in) {
+            @Override
+            public void close() throws IOException {
+                super.close();
+                executor.shutdownNow();
+            }
+        };
+    }
+
+    private static PipedOutputStream connect(PipedInputStream in) {
+        try {
+            return new PipedOutputStream(in);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static void close(PipedOutputStream out) {
+        try {
+            out.close();
+        } catch (IOException ignored) {
+            // the reader is gone
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.download;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.NettyDataBuffer;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+
+import io.github.photowey.ai.ragflow.core.domain.download.DownloadMetadata;
+import io.netty.buffer.UnpooledByteBufAllocator;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * {@code ReactiveStreamDownloadHandleTest}.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+class ReactiveStreamDownloadHandleTest {
+
+    private static final List<String> CHUNKS = List.of("hello, ", "ragflow", "!");
+    private static final String CONTENT = String.join("", CHUNKS);
+
+    private final NettyDataBufferFactory bufferFactory = new NettyDataBufferFactory(UnpooledByteBufAllocator.DEFAULT);
+    private final List<NettyDataBuffer> emitted = new CopyOnWriteArrayList<>();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testTransferTo_writesFileAndReleasesBuffers() throws IOException {
+        Path target = this.directory.resolve("document.txt");
+
+        long written = this.handle().transferTo(target);
+
+        Assertions.assertEquals(CONTENT.length(), written);
+        Assertions.assertEquals(CONTENT, Files.readString(target));
+        this.assertReleased();
+    }
+
+    @Test
+    void testTransferTo_truncatesExistingFileByDefault() throws IOException {
+        Path target = this.directory.resolve("document.txt");
+        Files.write(target, "a much longer previous version of the document".getBytes(StandardCharsets.UTF_8));
+
+        this.handle().transferTo(target);
+
+        Assertions.assertEquals(CONTENT, Files.readString(target));
+    }
+
+    @Test
+    void testTransferTo_honoursGivenOptions() throws IOException {
+        Path target = this.directory.resolve("document.txt");
+        Files.write(target, "prefix:".getBytes(StandardCharsets.UTF_8));
+
+        long written = this.handle().transferTo(target, StandardOpenOption.APPEND);
+
+        Assertions.assertEquals(CONTENT.length(), written);
+        Assertions.assertEquals("prefix:" + CONTENT, Files.readString(target));
+    }
+
+    @Test
+    void testTransferTo_writesChannelWithoutClosingIt() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (WritableByteChannel channel = Channels.newChannel(out)) {
+            long written = this.handle().transferTo(channel);
+
+            Assertions.assertTrue(channel.isOpen());
+            Assertions.assertEquals(CONTENT.length(), written);
+        }
+
+        Assertions.assertEquals(CONTENT, out.toString(StandardCharsets.UTF_8));
+        this.assertReleased();
+    }
+
+    @Test
+    void testTransferTo_reportsStreamFailure() {
+        Path target = this.directory.resolve("document.txt");
+        ReactiveStreamDownloadHandle handle = new ReactiveStreamDownloadHandle(
+            DownloadMetadata.builder().code(0).build(),
+            this.stream().concatWith(Flux.error(new IllegalStateException("reset")))
+        );
+
+        IOException error = Assertions.assertThrows(IOException.class, () -> handle.transferTo(target));
+
+        Assertions.assertEquals("reset", error.getCause().getMessage());
+        this.assertReleased();
+    }
+
+    @Test
+    void testTransferTo_consumesOnlyOnce() throws IOException {
+        ReactiveStreamDownloadHandle handle = this.handle();
+        handle.transferTo(this.directory.resolve("first.txt"));
+
+        Path second = this.directory.resolve("second.txt");
+        WritableByteChannel channel = Channels.newChannel(new ByteArrayOutputStream());
+
+        Assertions.assertThrows(IllegalStateException.class, () -> handle.transferTo(second));
+        Assertions.assertThrows(IllegalStateException.class, () -> handle.transferTo(channel));
+        Assertions.assertThrows(IllegalStateException.class, () -> handle.writeTo(new ByteArrayOutputStream()));
+        Assertions.assertFalse(Files.exists(second));
+    }
+
+    @Test
+    void testClose_releasesUnconsumedStream() {
+        ReactiveStreamDownloadHandle handle = this.handle();
+
+        handle.close();
+
+        this.assertReleased();
+        Assertions.assertThrows(IllegalStateException.class, () -> handle.writeTo(new ByteArrayOutputStream()));
+    }
+
+    // ----------------------------------------------------------------
+
+    private ReactiveStreamDownloadHandle handle() {
+        return new ReactiveStreamDownloadHandle(DownloadMetadata.builder().code(0).build(), this.stream());
+    }
+
+    /**
+     * Reference counted buffers, as received from reactor-netty.
+     */
+    private Flux<DataBuffer> stream() {
+        return Flux.fromIterable(CHUNKS)
+            .map(chunk -> {
+                NettyDataBuffer buffer = this.bufferFactory.allocateBuffer(chunk.length());
+                buffer.write(chunk, StandardCharsets.UTF_8);
+                this.emitted.add(buffer);
+                return buffer;
+            });
+    }
+
+    private void assertReleased() {
+        Assertions.assertFalse(this.emitted.isEmpty());
+        this.emitted.forEach(buffer -> Assertions.assertEquals(0, buffer.getNativeBuffer().refCnt()));
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.factory;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import io.github.photowey.ai.ragflow.client.webflux.core.parsing.ParseAdmissionController;
+import io.github.photowey.ai.ragflow.client.webflux.document.DefaultAsyncWebfluxRAGFlowDocumentClient;
+import io.github.photowey.ai.ragflow.core.property.RAGFlowProperties;
+
+import reactor.netty.http.client.HttpClient;
+
+/**
+ * {@code RAGFlowWebClientFactoryTest}.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+class RAGFlowWebClientFactoryTest {
+
+    private static final String DEPLOY_KEY = "global";
+    private static final String SHORT_TIMEOUT = "short-timeout";
+
+    private final RAGFlowProperties properties = new RAGFlowProperties();
+    private final RAGFlowWebClientFactory factory = new RAGFlowWebClientFactory();
+
+    RAGFlowWebClientFactoryTest() {
+        RAGFlowProperties.Server server = new RAGFlowProperties.Server();
+        server.setAddress("http://127.0.0.1:9380");
+        server.setApiKey("ragflow-key");
+        this.properties.getServers().put(DEPLOY_KEY, server);
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.factory.close();
+    }
+
+    @Test
+    void testCreateWebClient_reusesClientWhileSettingsUnchanged() {
+        WebClient client = this.factory.createWebClient(DEPLOY_KEY, () -> this.properties);
+
+        Assertions.assertSame(client, this.factory.createWebClient(DEPLOY_KEY, () -> this.properties));
+        Assertions.assertNotSame(client, this.factory.createFormdataWebClient(DEPLOY_KEY, () -> this.properties));
+    }
+
+    @Test
+    void testCreateWebClient_rebuildsClientWhenPoolChangesInPlace() {
+        WebClient client = this.factory.createWebClient(DEPLOY_KEY, () -> this.properties);
+
+        this.server().pool().setMaxConnections(8);
+
+        Assertions.assertNotSame(client, this.factory.createWebClient(DEPLOY_KEY, () -> this.properties));
+    }
+
+    @Test
+    void testCreateWebClient_refreshesPoliciesWithoutRebuildingClient() {
+        WebClient client = this.factory.createWebClient(DEPLOY_KEY, () -> this.properties);
+        Object policy = this.factory.tryAcquireRetryPolicy(DEPLOY_KEY).orElseThrow();
+
+        this.server().retry().setMaxAttempts(5);
+
+        Assertions.assertSame(client, this.factory.createWebClient(DEPLOY_KEY, () -> this.properties));
+        Assertions.assertNotSame(policy, this.factory.tryAcquireRetryPolicy(DEPLOY_KEY).orElseThrow());
+
+        this.server().retry().setEnabled(false);
+        this.factory.createWebClient(DEPLOY_KEY, () -> this.properties);
+
+        Assertions.assertTrue(this.factory.tryAcquireRetryPolicy(DEPLOY_KEY).isEmpty());
+    }
+
+    @Test
+    void testCreateWebClient_cachesCustomizedClientPerCustomizerKey() {
+        AtomicInteger applied = new AtomicInteger();
+        Function<HttpClient, HttpClient> clientFx = httpClient -> {
+            applied.incrementAndGet();
+            return httpClient.responseTimeout(Duration.ofSeconds(1));
+        };
+
+        WebClient client = this.factory.createWebClient(DEPLOY_KEY, () -> this.properties, SHORT_TIMEOUT, clientFx);
+
+        Assertions.assertSame(client, this.factory.createWebClient(
+            DEPLOY_KEY, () -> this.properties, SHORT_TIMEOUT, httpClient -> httpClient
+        ));
+        Assertions.assertNotSame(client, this.factory.createWebClient(DEPLOY_KEY, () -> this.properties));
+        Assertions.assertEquals(1, applied.get());
+
+        this.factory.invalidate(DEPLOY_KEY);
+
+        Assertions.assertNotSame(client, this.factory.createWebClient(
+            DEPLOY_KEY, () -> this.properties, SHORT_TIMEOUT, clientFx
+        ));
+        Assertions.assertEquals(2, applied.get());
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    void testCreateWebClient_consumerBridgeBuildsClientOnEveryCall() {
+        AtomicInteger accepted = new AtomicInteger();
+        Consumer<HttpClient> clientFx = httpClient -> accepted.incrementAndGet();
+
+        WebClient client = this.factory.createWebClient(DEPLOY_KEY, () -> this.properties, clientFx);
+
+        Assertions.assertNotSame(client, this.factory.createWebClient(DEPLOY_KEY, () -> this.properties, clientFx));
+        Assertions.assertNotSame(client, this.factory.createWebClient(DEPLOY_KEY, () -> this.properties));
+        Assertions.assertNotNull(this.factory.createFormdataWebClient(DEPLOY_KEY, () -> this.properties, clientFx));
+        Assertions.assertEquals(3, accepted.get());
+    }
+
+    @Test
+    void testTryAcquireSingleFlight_onlyWhenCoalescingEnabled() {
+        Assertions.assertTrue(this.factory.tryAcquireSingleFlight(DEPLOY_KEY, () -> this.properties).isEmpty());
+
+        this.server().coalescing().setEnabled(true);
+
+        Assertions.assertTrue(this.factory.tryAcquireSingleFlight(DEPLOY_KEY, () -> this.properties).isPresent());
+    }
+
+    @Test
+    void testAcquireParseAdmissionController_sharedByClientsAndRefreshedOnChange() {
+        DefaultAsyncWebfluxRAGFlowDocumentClient first =
+            new DefaultAsyncWebfluxRAGFlowDocumentClient(() -> this.properties, this.factory);
+        DefaultAsyncWebfluxRAGFlowDocumentClient second =
+            new DefaultAsyncWebfluxRAGFlowDocumentClient(() -> this.properties, this.factory);
+
+        ParseAdmissionController controller =
+            this.factory.acquireParseAdmissionController(DEPLOY_KEY, () -> this.properties, first);
+
+        Assertions.assertSame(controller,
+            this.factory.acquireParseAdmissionController(DEPLOY_KEY, () -> this.properties, second));
+
+        this.server().parsing().setMaxRunning(4);
+
+        Assertions.assertNotSame(controller,
+            this.factory.acquireParseAdmissionController(DEPLOY_KEY, () -> this.properties, second));
+    }
+
+    @Test
+    void testBuilder_keepsDocumentedDefaults() {
+        Assertions.assertEquals(new RAGFlowProperties.Server(), RAGFlowProperties.Server.builder().build());
+        Assertions.assertEquals(new RAGFlowProperties.Limiter(), RAGFlowProperties.Limiter.builder().build());
+        Assertions.assertEquals(new RAGFlowProperties.Pool(), RAGFlowProperties.Pool.builder().build());
+        Assertions.assertEquals(new RAGFlowProperties.Sharding(), RAGFlowProperties.Sharding.builder().build());
+        Assertions.assertEquals(new RAGFlowProperties.Coalescing(), RAGFlowProperties.Coalescing.builder().build());
+        Assertions.assertTrue(RAGFlowProperties.Retry.builder().build().enabled());
+    }
+
+    // ----------------------------------------------------------------
+
+    private RAGFlowProperties.Server server() {
+        return this.properties.getServers().get(DEPLOY_KEY);
+    }
+}
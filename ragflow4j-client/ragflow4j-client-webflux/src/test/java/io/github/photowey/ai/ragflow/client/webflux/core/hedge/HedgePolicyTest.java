@@ -0,0 +1,193 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.hedge;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+
+import io.github.photowey.ai.ragflow.core.property.RAGFlowProperties;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code HedgePolicyTest}.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+class HedgePolicyTest {
+
+    private static final String DOCUMENTS = "http://localhost:9380/api/v1/datasets/dataset/documents";
+    private static final String DOWNLOAD = DOCUMENTS + "/document";
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final AtomicInteger exchanges = new AtomicInteger();
+
+    @Test
+    void testFilter_waitsForEnoughSamplesBeforeHedging() {
+        HedgePolicy policy = new HedgePolicy(settings(5));
+
+        ClientResponse response = policy.filter(request(HttpMethod.GET, DOCUMENTS), this.slowFirst()).block(TIMEOUT);
+
+        Assertions.assertNotNull(response);
+        Assertions.assertEquals(1, this.exchanges.get());
+        Assertions.assertEquals(0, policy.hedged());
+    }
+
+    @Test
+    void testFilter_secondRequestWinsOverASlowOne() {
+        HedgePolicy policy = this.warmedUp(settings(5), DOCUMENTS);
+
+        ClientResponse response = policy.filter(request(HttpMethod.GET, DOCUMENTS), this.slowFirst()).block(TIMEOUT);
+
+        Assertions.assertNotNull(response);
+        Assertions.assertEquals(HttpStatus.OK, response.statusCode());
+        Assertions.assertEquals(2, this.exchanges.get());
+        Assertions.assertEquals(1, policy.hedged());
+        Assertions.assertEquals(1, policy.won());
+    }
+
+    @Test
+    void testFilter_stopsHedgingOnceTheBudgetIsSpent() {
+        HedgePolicy policy = this.warmedUp(settings(1), DOCUMENTS);
+
+        policy.filter(request(HttpMethod.GET, DOCUMENTS), this.slowFirst()).block(TIMEOUT);
+        this.exchanges.set(0);
+        ClientResponse response = policy.filter(request(HttpMethod.GET, DOCUMENTS), this.slowFirst()).block(TIMEOUT);
+
+        Assertions.assertNotNull(response);
+        Assertions.assertEquals(1, this.exchanges.get());
+        Assertions.assertEquals(1, policy.hedged());
+    }
+
+    @Test
+    void testFilter_secondRequestAnswersAfterTheFirstFailed() {
+        HedgePolicy policy = this.warmedUp(settings(5), DOCUMENTS);
+
+        ClientResponse response = policy.filter(request(HttpMethod.GET, DOCUMENTS), this.firstFailing(false))
+            .block(TIMEOUT);
+
+        Assertions.assertNotNull(response);
+        Assertions.assertEquals(HttpStatus.OK, response.statusCode());
+        Assertions.assertEquals(2, this.exchanges.get());
+        Assertions.assertEquals(1, policy.won());
+    }
+
+    @Test
+    void testFilter_failsWithTheFirstErrorOnceBothFailed() {
+        HedgePolicy policy = this.warmedUp(settings(5), DOCUMENTS);
+
+        IllegalStateException error = Assertions.assertThrows(IllegalStateException.class, () ->
+            policy.filter(request(HttpMethod.GET, DOCUMENTS), this.firstFailing(true)).block(TIMEOUT)
+        );
+
+        Assertions.assertEquals("exchange-1", error.getMessage());
+        Assertions.assertEquals(2, this.exchanges.get());
+    }
+
+    @Test
+    void testFilter_failsAtOnceWhenTheFirstFailsBeforeHedging() {
+        HedgePolicy policy = this.warmedUp(settings(5), DOCUMENTS);
+        ExchangeFunction failing = request -> Mono.error(
+            () -> new IllegalStateException("exchange-" + this.exchanges.incrementAndGet())
+        );
+
+        Assertions.assertThrows(IllegalStateException.class, () ->
+            policy.filter(request(HttpMethod.GET, DOCUMENTS), failing).block(TIMEOUT)
+        );
+        Assertions.assertEquals(1, this.exchanges.get());
+        Assertions.assertEquals(0, policy.hedged());
+    }
+
+    @Test
+    void testFilter_neverHedgesWritesNorDownloads() {
+        HedgePolicy policy = this.warmedUp(settings(5), DOCUMENTS);
+        this.warmedUp(policy, DOWNLOAD);
+
+        policy.filter(request(HttpMethod.POST, DOCUMENTS), this.slowFirst()).block(TIMEOUT);
+        policy.filter(request(HttpMethod.GET, DOWNLOAD), this.slowFirst()).block(TIMEOUT);
+
+        Assertions.assertEquals(2, this.exchanges.get());
+        Assertions.assertEquals(0, policy.hedged());
+    }
+
+    // ----------------------------------------------------------------
+
+    private HedgePolicy warmedUp(RAGFlowProperties.Hedge hedge, String url) {
+        return this.warmedUp(new HedgePolicy(hedge), url);
+    }
+
+    private HedgePolicy warmedUp(HedgePolicy policy, String url) {
+        ExchangeFunction fast = request -> Mono.just(ClientResponse.create(HttpStatus.OK).build());
+        for (int i = 0; i < 64; i++) {
+            policy.filter(request(HttpMethod.GET, url), fast).block(TIMEOUT);
+        }
+
+        return policy;
+    }
+
+    /**
+     * The first request answers after a while, the next ones at once.
+     */
+    private ExchangeFunction slowFirst() {
+        return request -> Mono.defer(() -> {
+            Mono<ClientResponse> response = Mono.just(ClientResponse.create(HttpStatus.OK).build());
+            return this.exchanges.incrementAndGet() == 1 ? response.delayElement(Duration.ofMillis(300)) : response;
+        });
+    }
+
+    /**
+     * The first request fails after the second one was sent, the second answers later, or fails too.
+     */
+    private ExchangeFunction firstFailing(boolean secondFails) {
+        return request -> Mono.defer(() -> {
+            int exchange = this.exchanges.incrementAndGet();
+            if (exchange == 1) {
+                return Mono.delay(Duration.ofMillis(150))
+                    .then(Mono.error(new IllegalStateException("exchange-" + exchange)));
+            }
+            Mono<ClientResponse> response = secondFails
+                ? Mono.error(new IllegalStateException("exchange-" + exchange))
+                : Mono.just(ClientResponse.create(HttpStatus.OK).build());
+
+            return Mono.delay(Duration.ofMillis(300)).then(response);
+        });
+    }
+
+    private static ClientRequest request(HttpMethod method, String url) {
+        return ClientRequest.create(method, URI.create(url)).build();
+    }
+
+    private static RAGFlowProperties.Hedge settings(int budgetReserve) {
+        return RAGFlowProperties.Hedge.builder()
+            .enabled(true)
+            .percentile(95)
+            .minDelay(20L)
+            .budgetPercent(0)
+            .budgetReserve(budgetReserve)
+            .build();
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.ingest;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.photowey.ai.ragflow.client.webflux.document.AsyncWebfluxRAGFlowDocumentClient;
+import io.github.photowey.ai.ragflow.core.constant.MessageConstants;
+import io.github.photowey.ai.ragflow.core.domain.context.document.BatchUploadDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.context.document.IngestDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.context.document.ParseDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.context.document.WatchParsingStatusContext;
+import io.github.photowey.ai.ragflow.core.domain.dto.document.DocumentDTO;
+import io.github.photowey.ai.ragflow.core.domain.dto.document.UploadDocumentDTO;
+import io.github.photowey.ai.ragflow.core.domain.ingest.IngestEvent;
+import io.github.photowey.ai.ragflow.core.domain.parsing.ParseAdmission;
+import io.github.photowey.ai.ragflow.core.domain.parsing.ParsingTransition;
+import io.github.photowey.ai.ragflow.core.domain.payload.document.UploadDocumentPayload;
+import io.github.photowey.ai.ragflow.core.domain.upload.BatchUploadResult;
+import io.github.photowey.ai.ragflow.core.domain.upload.DocumentSource;
+
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code IngestionPipelineTest}.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+class IngestionPipelineTest {
+
+    private static final String DATASET_ID = "dataset";
+
+    @Test
+    void testIngest_pairsRenamedUploadsByPosition() {
+        AtomicInteger parsed = new AtomicInteger();
+        AsyncWebfluxRAGFlowDocumentClient client = client(documents -> {
+            // The dataset already holds a document of the same name.
+            documents.get(0).setName("a(1).pdf");
+            return documents;
+        }, parsed);
+
+        Map<String, IngestEvent> events = this.ingest(client, "a.pdf", "b.pdf", "c.pdf");
+
+        Assertions.assertEquals(3, parsed.get());
+        events.forEach((name, event) -> {
+            Assertions.assertEquals(IngestEvent.Status.DONE, event.status());
+            Assertions.assertEquals("id-" + name, event.documentId());
+        });
+    }
+
+    @Test
+    void testIngest_matchesUploadsByNameWhenCountsDiffer() {
+        AtomicInteger parsed = new AtomicInteger();
+        AsyncWebfluxRAGFlowDocumentClient client = client(documents -> {
+            // A dropped item, the remaining ones must not be taken for other documents.
+            documents.remove(0);
+            return documents;
+        }, parsed);
+
+        Map<String, IngestEvent> events = this.ingest(client, "a.pdf", "b.pdf");
+
+        Assertions.assertEquals(1, parsed.get());
+        Assertions.assertEquals(2, events.size());
+        Assertions.assertEquals(IngestEvent.Status.FAIL, events.get("a.pdf").status());
+        Assertions.assertEquals(MessageConstants.UPLOAD_DOCUMENTS_MISMATCHED, events.get("a.pdf").message());
+        Assertions.assertNull(events.get("a.pdf").documentId());
+        Assertions.assertEquals(IngestEvent.Status.DONE, events.get("b.pdf").status());
+        Assertions.assertEquals("id-b.pdf", events.get("b.pdf").documentId());
+    }
+
+    @Test
+    void testIngest_boundsDocumentsRequestedAheadOfUploads() throws InterruptedException {
+        AtomicInteger requested = new AtomicInteger();
+        AtomicInteger uploads = new AtomicInteger();
+        Object proxy = Proxy.newProxyInstance(
+            IngestionPipelineTest.class.getClassLoader(),
+            new Class<?>[] {AsyncWebfluxRAGFlowDocumentClient.class},
+            (instance, method, args) -> {
+                uploads.incrementAndGet();
+                return Mono.never();
+            });
+        IngestDocumentContext context = IngestDocumentContext.builder()
+            .datasetId(DATASET_ID)
+            .uploadBatchFiles(2)
+            .uploadParallelism(1)
+            .parseBatchSize(1)
+            .parseParallelism(1)
+            .lingerMillis(10L)
+            .build();
+
+        Disposable ingestion = new IngestionPipeline((AsyncWebfluxRAGFlowDocumentClient) proxy, context)
+            .ingest(Flux.range(0, 10_000)
+                .map(i -> UploadDocumentPayload.Document.builder()
+                    .name(i + ".pdf")
+                    .originalName(i + ".pdf")
+                    .source(DocumentSource.of(new byte[16]))
+                    .build())
+                .doOnNext(document -> requested.incrementAndGet()))
+            .subscribe();
+        Thread.sleep(300L);
+        ingestion.dispose();
+
+        // A window of 2 * 1 + 2 + 1 * 1 documents, plus the one waiting for its permit and the prefetched one.
+        Assertions.assertTrue(requested.get() <= 7, "requested " + requested.get());
+        Assertions.assertEquals(1, uploads.get());
+    }
+
+    // ----------------------------------------------------------------
+
+    private Map<String, IngestEvent> ingest(AsyncWebfluxRAGFlowDocumentClient client, String... names) {
+        List<UploadDocumentPayload.Document> documents = new ArrayList<>();
+        for (String name : names) {
+            documents.add(UploadDocumentPayload.Document.builder()
+                .name(name)
+                .originalName(name)
+                .source(DocumentSource.of(new byte[16]))
+                .build());
+        }
+        IngestDocumentContext context = IngestDocumentContext.builder()
+            .datasetId(DATASET_ID)
+            .uploadBatchFiles(names.length)
+            .build();
+
+        return new IngestionPipeline(client, context)
+            .ingest(Flux.fromIterable(documents))
+            .collectMap(IngestEvent::originalName)
+            .block();
+    }
+
+    private static AsyncWebfluxRAGFlowDocumentClient client(
+        Function<List<UploadDocumentDTO>, List<UploadDocumentDTO>> server, AtomicInteger parsed) {
+        Object proxy = Proxy.newProxyInstance(
+            IngestionPipelineTest.class.getClassLoader(),
+            new Class<?>[] {AsyncWebfluxRAGFlowDocumentClient.class},
+            (instance, method, args) -> {
+                switch (method.getName()) {
+                    case "batchUploadDocuments":
+                        return upload((BatchUploadDocumentContext) args[0], server);
+                    case "scheduleParseDocuments":
+                        return admit((ParseDocumentContext) args[0], parsed);
+                    case "watchParsingStatus":
+                        return watch((WatchParsingStatusContext) args[0]);
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+
+        return (AsyncWebfluxRAGFlowDocumentClient) proxy;
+    }
+
+    private static Mono<BatchUploadResult> upload(
+        BatchUploadDocumentContext context, Function<List<UploadDocumentDTO>, List<UploadDocumentDTO>> server) {
+        List<UploadDocumentDTO> uploaded = context.payload().documents().stream()
+            .map(document -> UploadDocumentDTO.builder()
+                .id("id-" + document.originalName())
+                .name(document.originalName())
+                .build())
+            .collect(Collectors.toList());
+
+        return Mono.just(BatchUploadResult.builder()
+            .documents(server.apply(uploaded))
+            .failures(new ArrayList<>())
+            .batches(1)
+            .build());
+    }
+
+    private static Flux<ParseAdmission> admit(ParseDocumentContext context, AtomicInteger parsed) {
+        List<String> documentIds = context.payload().getDocumentIds();
+        parsed.addAndGet(documentIds.size());
+
+        return Flux.fromIterable(documentIds)
+            .map(documentId -> ParseAdmission.builder().datasetId(DATASET_ID).documentId(documentId).build());
+    }
+
+    private static Flux<ParsingTransition> watch(WatchParsingStatusContext context) {
+        return Flux.fromIterable(context.documentIds())
+            .map(documentId -> ParsingTransition.of(
+                DATASET_ID, documentId, "RUNNING", DocumentDTO.builder().id(documentId).run("DONE").build()));
+    }
+}
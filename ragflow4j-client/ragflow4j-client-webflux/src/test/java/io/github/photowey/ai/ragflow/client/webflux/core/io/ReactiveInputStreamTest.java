@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.io;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.NettyDataBufferFactory;
+import org.springframework.core.io.buffer.PooledDataBuffer;
+
+import io.netty.buffer.UnpooledByteBufAllocator;
+
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * {@code ReactiveInputStreamTest}.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+class ReactiveInputStreamTest {
+
+    private final NettyDataBufferFactory bufferFactory = new NettyDataBufferFactory(UnpooledByteBufAllocator.DEFAULT);
+
+    @Test
+    void testRead_concatenatesEveryBufferAndReleasesThem() throws IOException {
+        List<DataBuffer> emitted = new CopyOnWriteArrayList<>();
+        Flux<DataBuffer> upstream = Flux.range(0, 100)
+            .map(i -> this.buffer("chunk-" + i + ";"))
+            .doOnNext(emitted::add)
+            .subscribeOn(Schedulers.parallel());
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (ReactiveInputStream input = new ReactiveInputStream(upstream, 4)) {
+            input.transferTo(output);
+        }
+
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            expected.append("chunk-").append(i).append(';');
+        }
+        Assertions.assertEquals(expected.toString(), output.toString(StandardCharsets.UTF_8));
+        Assertions.assertEquals(100, emitted.size());
+        emitted.forEach(buffer -> Assertions.assertFalse(((PooledDataBuffer) buffer).isAllocated()));
+    }
+
+    @Test
+    void testRead_keepsDemandWithinPrefetch() throws IOException {
+        AtomicLong requested = new AtomicLong();
+        AtomicLong outstanding = new AtomicLong();
+        AtomicLong maxOutstanding = new AtomicLong();
+        Flux<DataBuffer> upstream = Flux.range(0, 64)
+            .doOnRequest(n -> maxOutstanding.accumulateAndGet(outstanding.addAndGet(n), Math::max))
+            .doOnNext(i -> outstanding.decrementAndGet())
+            .doOnRequest(requested::addAndGet)
+            .map(i -> this.buffer("x"));
+
+        try (ReactiveInputStream input = new ReactiveInputStream(upstream, 8)) {
+            Assertions.assertEquals(64, input.readAllBytes().length);
+        }
+
+        Assertions.assertTrue(maxOutstanding.get() <= 8, "Outstanding demand: " + maxOutstanding.get());
+        Assertions.assertTrue(requested.get() >= 64);
+    }
+
+    @Test
+    void testRead_surfacesUpstreamErrorAfterBufferedData() throws IOException {
+        Flux<DataBuffer> upstream = Flux.just(this.buffer("ab"))
+            .concatWith(Flux.error(new IllegalStateException("boom")));
+
+        try (ReactiveInputStream input = new ReactiveInputStream(upstream)) {
+            Assertions.assertEquals('a', input.read());
+            Assertions.assertEquals('b', input.read());
+
+            IOException error = Assertions.assertThrows(IOException.class, input::read);
+            Assertions.assertEquals("boom", error.getCause().getMessage());
+        }
+    }
+
+    @Test
+    void testClose_cancelsUpstreamAndReleasesQueuedBuffers() throws IOException {
+        List<DataBuffer> emitted = new CopyOnWriteArrayList<>();
+        AtomicLong cancelled = new AtomicLong();
+        Flux<DataBuffer> upstream = Flux.range(0, 1_000)
+            .map(i -> this.buffer("chunk"))
+            .doOnNext(emitted::add)
+            .doOnCancel(cancelled::incrementAndGet);
+
+        ReactiveInputStream input = new ReactiveInputStream(upstream, 4);
+        Assertions.assertEquals('c', input.read());
+        input.close();
+
+        Assertions.assertEquals(1, cancelled.get());
+        Assertions.assertTrue(emitted.size() <= 4, "Emitted: " + emitted.size());
+        emitted.forEach(buffer -> Assertions.assertFalse(((PooledDataBuffer) buffer).isAllocated()));
+        Assertions.assertThrows(IOException.class, input::read);
+    }
+
+    // ----------------------------------------------------------------
+
+    private DataBuffer buffer(String text) {
+        return this.bufferFactory.wrap(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
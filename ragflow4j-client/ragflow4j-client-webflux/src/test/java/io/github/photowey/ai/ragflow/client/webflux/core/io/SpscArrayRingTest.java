@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.io;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@code SpscArrayRingTest}.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+class SpscArrayRingTest {
+
+    private static final int ELEMENTS = 200_000;
+
+    @Test
+    void testCapacity_roundsUpToPowerOfTwo() {
+        Assertions.assertEquals(1, new SpscArrayRing<>(0).capacity());
+        Assertions.assertEquals(8, new SpscArrayRing<>(8).capacity());
+        Assertions.assertEquals(16, new SpscArrayRing<>(9).capacity());
+    }
+
+    @Test
+    void testOffer_rejectsWhenFullAndKeepsFifoOrder() {
+        SpscArrayRing<Integer> ring = new SpscArrayRing<>(4);
+
+        for (int i = 0; i < 4; i++) {
+            Assertions.assertTrue(ring.offer(i));
+        }
+        Assertions.assertFalse(ring.offer(4));
+
+        Assertions.assertEquals(0, ring.poll());
+        Assertions.assertTrue(ring.offer(4));
+        for (int i = 1; i <= 4; i++) {
+            Assertions.assertEquals(i, ring.poll());
+        }
+        Assertions.assertTrue(ring.isEmpty());
+        Assertions.assertNull(ring.poll());
+    }
+
+    @Test
+    void testOfferAndPoll_handOverEveryElementInOrderAcrossThreads() throws InterruptedException {
+        SpscArrayRing<Integer> ring = new SpscArrayRing<>(64);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        Thread consumer = new Thread(() -> {
+            int expected = 0;
+            while (expected < ELEMENTS) {
+                Integer next = ring.poll();
+                if (next == null) {
+                    Thread.yield();
+                    continue;
+                }
+                if (next != expected++) {
+                    failure.set(new AssertionError("Expected " + (expected - 1) + " but was " + next));
+                    return;
+                }
+            }
+        });
+        consumer.start();
+
+        for (int i = 0; i < ELEMENTS; i++) {
+            while (!ring.offer(i)) {
+                Thread.yield();
+            }
+        }
+        consumer.join(10_000);
+
+        Assertions.assertFalse(consumer.isAlive());
+        Assertions.assertNull(failure.get());
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.limit;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+
+import io.github.photowey.ai.ragflow.core.exception.ConcurrencyLimitExceededException;
+import io.github.photowey.ai.ragflow.core.property.RAGFlowProperties;
+
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+/**
+ * {@code AdaptiveLimiterTest}.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+class AdaptiveLimiterTest {
+
+    private static final String DOCUMENTS = "http://localhost:9380/api/v1/datasets/dataset/documents";
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    @Test
+    void testFilter_queuesThenRejectsTheCallsBeyondTheLimit() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter("default", settings(1, 1, Duration.ofSeconds(5)));
+        Sinks.One<ClientResponse> held = Sinks.one();
+        ClientRequest request = request(HttpMethod.GET);
+
+        Mono<ClientResponse> first = limiter.filter(request, it -> held.asMono()).cache();
+        first.subscribe();
+        Mono<ClientResponse> second = limiter.filter(request, respond(HttpStatus.OK)).cache();
+        second.subscribe();
+
+        Assertions.assertEquals(1, limiter.metrics().inflight());
+        Assertions.assertEquals(1, limiter.metrics().queued());
+        Assertions.assertThrows(
+            ConcurrencyLimitExceededException.class,
+            () -> limiter.filter(request, respond(HttpStatus.OK)).block(TIMEOUT)
+        );
+
+        held.tryEmitValue(ClientResponse.create(HttpStatus.OK).build());
+
+        Assertions.assertEquals(HttpStatus.OK, first.block(TIMEOUT).statusCode());
+        Assertions.assertEquals(HttpStatus.OK, second.block(TIMEOUT).statusCode());
+        Assertions.assertEquals(0, limiter.metrics().inflight());
+        Assertions.assertEquals(0, limiter.metrics().queued());
+        Assertions.assertEquals(1, limiter.metrics().rejected());
+    }
+
+    @Test
+    void testFilter_expiresQueuedCallAfterTheQueueTimeout() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter("default", settings(1, 1, Duration.ofMillis(50)));
+        Sinks.One<ClientResponse> held = Sinks.one();
+        ClientRequest request = request(HttpMethod.GET);
+        limiter.filter(request, it -> held.asMono()).subscribe();
+
+        Assertions.assertThrows(
+            ConcurrencyLimitExceededException.class,
+            () -> limiter.filter(request, respond(HttpStatus.OK)).block(TIMEOUT)
+        );
+        Assertions.assertEquals(0, limiter.metrics().queued());
+        Assertions.assertEquals(1, limiter.metrics().rejected());
+
+        held.tryEmitValue(ClientResponse.create(HttpStatus.OK).build());
+        Assertions.assertEquals(0, limiter.metrics().inflight());
+    }
+
+    @Test
+    void testFilter_cancelledQueuedCallLeavesTheQueue() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter("default", settings(1, 1, Duration.ofSeconds(5)));
+        ClientRequest request = request(HttpMethod.GET);
+        limiter.filter(request, it -> Mono.never()).subscribe();
+
+        limiter.filter(request, respond(HttpStatus.OK)).subscribe().dispose();
+
+        Assertions.assertEquals(0, limiter.metrics().queued());
+        Assertions.assertEquals(0, limiter.metrics().rejected());
+    }
+
+    @Test
+    void testFilter_onlyTimesIdempotentReads() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter("default", settings(10, 0, Duration.ofSeconds(1)));
+
+        limiter.filter(request(HttpMethod.POST), respond(HttpStatus.OK)).block(TIMEOUT);
+        Assertions.assertNull(limiter.metrics().noLoadLatency());
+
+        limiter.filter(request(HttpMethod.GET), respond(HttpStatus.OK)).block(TIMEOUT);
+        Assertions.assertNotNull(limiter.metrics().noLoadLatency());
+    }
+
+    @Test
+    void testFilter_shedCallShrinksTheLimit() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter("default", settings(10, 0, Duration.ofSeconds(1)));
+
+        limiter.filter(request(HttpMethod.POST), respond(HttpStatus.SERVICE_UNAVAILABLE)).block(TIMEOUT);
+
+        Assertions.assertEquals(9, limiter.limit());
+        Assertions.assertNull(limiter.metrics().noLoadLatency());
+    }
+
+    @Test
+    void testFilter_neverLimitsTheHealthEndpoint() {
+        AdaptiveLimiter limiter = new AdaptiveLimiter("default", settings(1, 0, Duration.ofSeconds(1)));
+        limiter.filter(request(HttpMethod.GET), it -> Mono.never()).subscribe();
+        AtomicReference<ClientResponse> response = new AtomicReference<>();
+
+        ClientRequest health = ClientRequest.create(
+            HttpMethod.GET, URI.create("http://localhost:9380/v1/system/healthz")).build();
+        limiter.filter(health, respond(HttpStatus.OK)).subscribe(response::set);
+
+        Assertions.assertNotNull(response.get());
+    }
+
+    // ----------------------------------------------------------------
+
+    private static ExchangeFunction respond(HttpStatus status) {
+        return request -> Mono.just(ClientResponse.create(status).build());
+    }
+
+    private static ClientRequest request(HttpMethod method) {
+        return ClientRequest.create(method, URI.create(DOCUMENTS)).build();
+    }
+
+    private static RAGFlowProperties.Limiter settings(int limit, int maxQueued, Duration queueTimeout) {
+        return RAGFlowProperties.Limiter.builder()
+            .enabled(true)
+            .initialLimit(limit)
+            .minLimit(1)
+            .maxLimit(limit)
+            .maxQueued(maxQueued)
+            .queueTimeout(queueTimeout.toMillis())
+            .build();
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.pagination;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code PageStreamsTest}.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+class PageStreamsTest {
+
+    private static final int PAGE_SIZE = 10;
+    private static final int ITEMS = 95;
+
+    @Test
+    void testSequential_stopsAtShortPage() {
+        List<Integer> fetched = new CopyOnWriteArrayList<>();
+
+        List<Integer> items = PageStreams.sequential(1, page -> this.fetch(page, null, fetched))
+            .collectList()
+            .block();
+
+        Assertions.assertEquals(this.expected(), items);
+        Assertions.assertEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10), fetched);
+    }
+
+    @Test
+    void testSequential_fetchesOnlyOnDemand() {
+        List<Integer> fetched = new CopyOnWriteArrayList<>();
+
+        List<Integer> items = PageStreams.sequential(1, page -> this.fetch(page, null, fetched))
+            .take(PAGE_SIZE + 1)
+            .collectList()
+            .block();
+
+        Assertions.assertEquals(PAGE_SIZE + 1, items.size());
+        Assertions.assertEquals(List.of(1, 2), fetched);
+    }
+
+    @Test
+    void testConcurrent_withTotalKeepsPageOrderAndBoundsWindow() {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        List<Integer> fetched = new CopyOnWriteArrayList<>();
+
+        IntFunction<Mono<Page<Integer>>> fetcher = page -> Mono.defer(() -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            // Later pages answer first, the order must still hold.
+            return this.fetch(page, (long) ITEMS, fetched).delayElement(Duration.ofMillis(50 - page * 4L));
+        }).doOnTerminate(running::decrementAndGet);
+
+        List<Integer> items = PageStreams.concurrent(1, 3, true, fetcher).collectList().block();
+
+        Assertions.assertEquals(this.expected(), items);
+        Assertions.assertEquals(10, fetched.size());
+        Assertions.assertTrue(maxRunning.get() <= 3, "Running: " + maxRunning.get());
+    }
+
+    @Test
+    void testConcurrent_unorderedEmitsEveryItem() {
+        List<Integer> items = PageStreams.<Integer>concurrent(1, 4, false,
+                page -> this.fetch(page, (long) ITEMS, new ArrayList<>()))
+            .collectList()
+            .block();
+
+        Assertions.assertEquals(this.expected(), items.stream().sorted().collect(Collectors.toList()));
+    }
+
+    @Test
+    void testConcurrent_withoutTotalStopsAtShortPage() {
+        List<Integer> items = PageStreams.<Integer>concurrent(1, 4, false,
+                page -> this.fetch(page, null, new ArrayList<>()))
+            .collectList()
+            .block();
+
+        Assertions.assertEquals(this.expected(), items);
+    }
+
+    // ----------------------------------------------------------------
+
+    private Mono<Page<Integer>> fetch(int page, Long total, List<Integer> fetched) {
+        return Mono.fromCallable(() -> {
+            fetched.add(page);
+            int from = Math.min((page - 1) * PAGE_SIZE, ITEMS);
+            int to = Math.min(from + PAGE_SIZE, ITEMS);
+
+            return new Page<>(page, PAGE_SIZE, total, IntStream.range(from, to).boxed().collect(Collectors.toList()));
+        });
+    }
+
+    private List<Integer> expected() {
+        return IntStream.range(0, ITEMS).boxed().collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.parsing;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.photowey.ai.ragflow.client.webflux.document.AsyncWebfluxRAGFlowDocumentClient;
+import io.github.photowey.ai.ragflow.core.domain.context.document.ParseDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.dto.document.ParseDocumentDTO;
+import io.github.photowey.ai.ragflow.core.domain.parsing.ParseAdmission;
+import io.github.photowey.ai.ragflow.core.domain.payload.document.ParseDocumentPayload;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code ParseAdmissionControllerTest}.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+class ParseAdmissionControllerTest {
+
+    private static final Duration POLL_INTERVAL = Duration.ofMillis(20);
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final List<List<String>> parsed = Collections.synchronizedList(new ArrayList<>());
+
+    @Test
+    void testSchedule_admitsUpToMaxRunning() {
+        ParseAdmissionController controller = this.controller(2, false);
+
+        List<ParseAdmission> admissions = controller.schedule(context("a", "a1", "a2", "a3"))
+            .collectList()
+            .block(TIMEOUT);
+
+        Assertions.assertNotNull(admissions);
+        Assertions.assertTrue(admissions.stream().allMatch(ParseAdmission::determineIsAdmitted));
+        Assertions.assertEquals(List.of(List.of("a1", "a2"), List.of("a3")), this.parsed);
+    }
+
+    @Test
+    void testSchedule_servesDatasetsRoundRobin() {
+        ParseAdmissionController controller = this.controller(1, false);
+
+        Flux<ParseAdmission> large = controller.schedule(context("a", "a1", "a2", "a3"));
+        Flux<ParseAdmission> small = controller.schedule(context("b", "b1"));
+        Flux.merge(large, small).blockLast(TIMEOUT);
+
+        Assertions.assertEquals(
+            List.of("a1", "a2", "b1", "a3"),
+            this.parsed.stream().flatMap(List::stream).collect(Collectors.toList())
+        );
+    }
+
+    @Test
+    void testSchedule_rejectsDocumentsTheServerRefused() {
+        ParseAdmissionController controller = this.controller(4, true);
+
+        List<ParseAdmission> admissions = controller.schedule(context("a", "a1", "a2"))
+            .collectList()
+            .block(TIMEOUT);
+
+        Assertions.assertNotNull(admissions);
+        Assertions.assertEquals(2, admissions.size());
+        admissions.forEach(admission -> {
+            Assertions.assertFalse(admission.determineIsAdmitted());
+            Assertions.assertTrue(admission.message().contains("refused"));
+        });
+        Assertions.assertEquals(0, controller.running());
+    }
+
+    @Test
+    void testSchedule_cancelWithdrawsQueuedDocuments() {
+        ParseAdmissionController controller = this.controller(1, false);
+
+        ParseAdmission first = controller.schedule(context("a", "a1", "a2", "a3")).blockFirst(TIMEOUT);
+
+        Assertions.assertNotNull(first);
+        Assertions.assertEquals("a1", first.documentId());
+        Assertions.assertEquals(0, controller.queued());
+        Assertions.assertEquals(1, controller.running());
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * A server on which every parse finishes before the next listing.
+     */
+    private ParseAdmissionController controller(int maxRunning, boolean refuse) {
+        Object proxy = Proxy.newProxyInstance(
+            ParseAdmissionControllerTest.class.getClassLoader(),
+            new Class<?>[] {AsyncWebfluxRAGFlowDocumentClient.class},
+            (instance, method, args) -> {
+                switch (method.getName()) {
+                    case "parseDocuments":
+                        if (refuse) {
+                            return Mono.error(new IllegalStateException("refused"));
+                        }
+                        this.parsed.add(((ParseDocumentContext) args[0]).payload().getDocumentIds());
+                        return Mono.just(new ParseDocumentDTO());
+                    case "streamDocuments":
+                        return Flux.empty();
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+
+        return new ParseAdmissionController((AsyncWebfluxRAGFlowDocumentClient) proxy, "default", maxRunning, POLL_INTERVAL);
+    }
+
+    private static ParseDocumentContext context(String datasetId, String... documentIds) {
+        return ParseDocumentContext.builder()
+            .datasetId(datasetId)
+            .payload(ParseDocumentPayload.builder().documentIds(new ArrayList<>(Arrays.asList(documentIds))).build())
+            .build();
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.parsing;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.photowey.ai.ragflow.core.domain.context.document.ListDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.context.document.PollingParsingStatusDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.dto.document.DocumentDTO;
+import io.github.photowey.ai.ragflow.core.domain.dto.document.ListDocumentDTO;
+import io.github.photowey.ai.ragflow.core.domain.query.document.PollingParsingStatusDocumentQuery;
+import io.github.photowey.ai.ragflow.core.exception.RAGFlowException;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code ParsingAwaiterTest}.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+class ParsingAwaiterTest {
+
+    private static final String DOCUMENT_ID = "doc-1";
+    private static final Duration DEADLINE = Duration.ofSeconds(5);
+
+    @Test
+    void testAwait_pollsUntilDoneThroughTransientErrors() {
+        AtomicInteger attempts = new AtomicInteger();
+        ParsingAwaiter awaiter = awaiter(context -> {
+            switch (attempts.incrementAndGet()) {
+                case 1:
+                    return Mono.error(new TimeoutException());
+                case 2:
+                    return listed("RUNNING");
+                default:
+                    return listed("DONE");
+            }
+        });
+
+        DocumentDTO document = awaiter.await(context(), DEADLINE).block(DEADLINE.multipliedBy(2));
+
+        Assertions.assertNotNull(document);
+        Assertions.assertTrue(document.determineParseIsDone());
+        Assertions.assertEquals(3, attempts.get());
+    }
+
+    @Test
+    void testAwait_failsOnFinalStatusOtherThanDone() {
+        ParsingAwaiter awaiter = awaiter(context -> listed("FAIL"));
+
+        RAGFlowException error = Assertions.assertThrows(
+            RAGFlowException.class, () -> awaiter.await(context(), DEADLINE).block(DEADLINE.multipliedBy(2)));
+
+        Assertions.assertTrue(error.getMessage().contains(DOCUMENT_ID));
+        Assertions.assertTrue(error.getMessage().contains("FAIL"));
+    }
+
+    @Test
+    void testAwait_failsOnMissingDocument() {
+        AtomicInteger attempts = new AtomicInteger();
+        ParsingAwaiter awaiter = awaiter(context -> {
+            attempts.incrementAndGet();
+            return Mono.just(ListDocumentDTO.builder().total(0L).documents(Collections.emptyList()).build());
+        });
+
+        Assertions.assertThrows(
+            RAGFlowException.class, () -> awaiter.await(context(), DEADLINE).block(DEADLINE.multipliedBy(2)));
+        Assertions.assertEquals(1, attempts.get());
+    }
+
+    @Test
+    void testAwait_failsAtTheDeadline() {
+        ParsingAwaiter awaiter = awaiter(context -> listed("RUNNING"));
+
+        RAGFlowException error = Assertions.assertThrows(
+            RAGFlowException.class, () -> awaiter.await(context(), Duration.ofMillis(100)).block(DEADLINE));
+
+        Assertions.assertTrue(error.getMessage().contains("did not finish parsing"));
+    }
+
+    @Test
+    void testBackoff_keepsHalfOfTheCappedDelay() {
+        ParsingAwaiter awaiter = new ParsingAwaiter(
+            context -> Mono.empty(), Duration.ofMillis(100), Duration.ofMillis(1_000));
+
+        for (int attempt = 0; attempt < 32; attempt++) {
+            long capped = Math.min(1_000L, 100L << Math.min(attempt, 20));
+            long backoff = awaiter.backoff(attempt).toMillis();
+            Assertions.assertTrue(backoff >= capped / 2, "attempt " + attempt + ": " + backoff);
+            Assertions.assertTrue(backoff <= capped, "attempt " + attempt + ": " + backoff);
+        }
+    }
+
+    // ----------------------------------------------------------------
+
+    private static ParsingAwaiter awaiter(Function<ListDocumentContext, Mono<ListDocumentDTO>> lister) {
+        return new ParsingAwaiter(lister, Duration.ofMillis(10), Duration.ofMillis(20));
+    }
+
+    private static PollingParsingStatusDocumentContext context() {
+        return PollingParsingStatusDocumentContext.builder()
+            .datasetId("dataset")
+            .query(PollingParsingStatusDocumentQuery.builder().id(DOCUMENT_ID).build())
+            .build();
+    }
+
+    private static Mono<ListDocumentDTO> listed(String run) {
+        DocumentDTO document = DocumentDTO.builder().id(DOCUMENT_ID).run(run).build();
+
+        return Mono.just(ListDocumentDTO.builder().total(1L).documents(Collections.singletonList(document)).build());
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.parsing;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.photowey.ai.ragflow.client.webflux.document.AsyncWebfluxRAGFlowDocumentClient;
+import io.github.photowey.ai.ragflow.core.domain.context.document.ListDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.context.document.WatchParsingStatusContext;
+import io.github.photowey.ai.ragflow.core.domain.dto.document.DocumentDTO;
+import io.github.photowey.ai.ragflow.core.domain.dto.document.ListDocumentDTO;
+import io.github.photowey.ai.ragflow.core.domain.parsing.ParsingTransition;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code ParsingStatusWatcherTest}.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+class ParsingStatusWatcherTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final AtomicInteger listings = new AtomicInteger();
+    private final AtomicInteger listed = new AtomicInteger();
+    private final Map<String, AtomicInteger> lookups = new ConcurrentHashMap<>();
+    private final List<Integer> firstPages = new CopyOnWriteArrayList<>();
+    private final List<String> active = new CopyOnWriteArrayList<>(
+        IntStream.range(0, 2_500).mapToObj(i -> "other-" + i).collect(Collectors.toList())
+    );
+    private final Set<String> finished = ConcurrentHashMap.newKeySet();
+
+    @Test
+    void testWatch_looksUpFewDocumentsById() {
+        ParsingStatusWatcher watcher = this.watcher();
+
+        List<ParsingTransition> transitions = watcher.watch(context("doc-1", "doc-2"))
+            .collectList()
+            .block(TIMEOUT);
+
+        Assertions.assertNotNull(transitions);
+        Assertions.assertEquals(0, this.listings.get());
+        Assertions.assertEquals(List.of("RUNNING", "DONE"), runs(transitions, "doc-1"));
+        Assertions.assertEquals(List.of("RUNNING", "DONE"), runs(transitions, "doc-2"));
+        Assertions.assertEquals(0, watcher.watching());
+    }
+
+    @Test
+    void testWatch_restartsAfterTheGroupRetired() throws InterruptedException {
+        ParsingStatusWatcher watcher = this.watcher();
+        watcher.watch(context("doc-1")).blockLast(TIMEOUT);
+        // Let the polling loop notice it has no watcher left.
+        Thread.sleep(200);
+
+        List<ParsingTransition> transitions = watcher.watch(context("doc-2"))
+            .collectList()
+            .block(TIMEOUT);
+
+        Assertions.assertNotNull(transitions);
+        Assertions.assertEquals(List.of("RUNNING", "DONE"), runs(transitions, "doc-2"));
+    }
+
+    @Test
+    void testWatch_rotatesThePageWindowAcrossRounds() {
+        ParsingStatusWatcher watcher = this.watcher();
+        String[] documentIds = IntStream.range(0, 16).mapToObj(i -> "doc-" + i).toArray(String[]::new);
+
+        List<ParsingTransition> transitions = watcher.watch(context(documentIds))
+            .collectList()
+            .block(TIMEOUT);
+
+        Assertions.assertNotNull(transitions);
+        Assertions.assertEquals(List.of(1, 11, 21, 1), this.firstPages.subList(0, 4));
+        Assertions.assertTrue(this.listed.get() <= 1_000 * this.listings.get());
+        for (String documentId : documentIds) {
+            List<String> runs = runs(transitions, documentId);
+            Assertions.assertEquals("DONE", runs.get(runs.size() - 1));
+        }
+    }
+
+    @Test
+    void testWatch_looksUpOnlyDocumentsThatLeftTheListing() {
+        ParsingStatusWatcher watcher = this.watcher();
+        List<String> documentIds = IntStream.range(0, 16).mapToObj(i -> "doc-" + i).collect(Collectors.toList());
+        // On the 12th page, below other running documents.
+        this.active.addAll(1_100, documentIds);
+
+        List<ParsingTransition> transitions = watcher.watch(context(documentIds.toArray(new String[0])))
+            .doOnNext(transition -> {
+                if ("RUNNING".equals(transition.run())) {
+                    this.active.remove(transition.documentId());
+                    this.finished.add(transition.documentId());
+                }
+            })
+            .collectList()
+            .block(TIMEOUT);
+
+        Assertions.assertNotNull(transitions);
+        for (String documentId : documentIds) {
+            Assertions.assertEquals(List.of("RUNNING", "DONE"), runs(transitions, documentId));
+            Assertions.assertEquals(1, this.lookups.get(documentId).get());
+        }
+    }
+
+    // ----------------------------------------------------------------
+
+    private ParsingStatusWatcher watcher() {
+        Object proxy = Proxy.newProxyInstance(
+            ParsingStatusWatcherTest.class.getClassLoader(),
+            new Class<?>[] {AsyncWebfluxRAGFlowDocumentClient.class},
+            (instance, method, args) -> {
+                switch (method.getName()) {
+                    case "streamDocuments":
+                        return this.streamDocuments((ListDocumentContext) args[0]);
+                    case "listDocuments":
+                        return this.listDocuments((ListDocumentContext) args[0]);
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+
+        return new ParsingStatusWatcher(
+            (AsyncWebfluxRAGFlowDocumentClient) proxy, Duration.ofMillis(10), Duration.ofMillis(50));
+    }
+
+    /**
+     * The running documents listed from the requested page.
+     */
+    private Flux<DocumentDTO> streamDocuments(ListDocumentContext context) {
+        int firstPage = context.query().determinePage();
+        this.listings.incrementAndGet();
+        this.firstPages.add(firstPage);
+
+        return Flux.defer(() -> Flux.fromIterable(new ArrayList<>(this.active)))
+            .skip((long) (firstPage - 1) * context.query().determinePageSize())
+            .map(documentId -> DocumentDTO.builder().id(documentId).run("RUNNING").build())
+            .doOnNext(document -> this.listed.incrementAndGet());
+    }
+
+    /**
+     * A document listed as running is running on its lookups, a finished one is done, the others are running on
+     * their first lookup and done on the next ones.
+     */
+    private Mono<ListDocumentDTO> listDocuments(ListDocumentContext context) {
+        String documentId = context.query().getId();
+        int lookup = this.lookups.computeIfAbsent(documentId, key -> new AtomicInteger()).incrementAndGet();
+        boolean running = this.active.contains(documentId) || (!this.finished.contains(documentId) && lookup == 1);
+        DocumentDTO document = DocumentDTO.builder().id(documentId).run(running ? "RUNNING" : "DONE").build();
+
+        return Mono.just(ListDocumentDTO.builder().total(1L).documents(Collections.singletonList(document)).build());
+    }
+
+    private static WatchParsingStatusContext context(String... documentIds) {
+        List<String> ids = new ArrayList<>();
+        Collections.addAll(ids, documentIds);
+
+        return WatchParsingStatusContext.builder()
+            .deployKey("default")
+            .datasetId("dataset")
+            .documentIds(ids)
+            .build();
+    }
+
+    private static List<String> runs(List<ParsingTransition> transitions, String documentId) {
+        return transitions.stream()
+            .filter(transition -> documentId.equals(transition.documentId()))
+            .map(ParsingTransition::run)
+            .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.parsing;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.photowey.ai.ragflow.client.webflux.document.AsyncWebfluxRAGFlowDocumentClient;
+import io.github.photowey.ai.ragflow.core.domain.context.document.SuperviseParsingContext;
+import io.github.photowey.ai.ragflow.core.domain.dto.document.DocumentDTO;
+import io.github.photowey.ai.ragflow.core.domain.dto.document.ListDocumentDTO;
+import io.github.photowey.ai.ragflow.core.domain.dto.document.StopParsingDocumentDTO;
+import io.github.photowey.ai.ragflow.core.domain.parsing.ParseAdmission;
+import io.github.photowey.ai.ragflow.core.domain.parsing.ParsingTransition;
+import io.github.photowey.ai.ragflow.core.domain.parsing.StallEvent;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code StallDetectorTest}.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+class StallDetectorTest {
+
+    private static final String DOCUMENT_ID = "doc-1";
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
+    private final AtomicInteger listings = new AtomicInteger();
+    private final AtomicInteger stops = new AtomicInteger();
+    private final AtomicInteger parses = new AtomicInteger();
+
+    @Test
+    void testSupervise_restartsStalledDocumentUntilExhausted() {
+        // The duration advances by 10s between listings, the document holds a parser.
+        StallDetector detector = new StallDetector(this.client("RUNNING", listing -> BigDecimal.valueOf(10L * listing)));
+
+        List<StallEvent> events = detector.supervise(context(1)).collectList().block(TIMEOUT);
+
+        Assertions.assertNotNull(events);
+        Assertions.assertEquals(
+            List.of(
+                StallEvent.Type.STALLED, StallEvent.Type.STOPPED, StallEvent.Type.REPARSED,
+                StallEvent.Type.STALLED, StallEvent.Type.STOPPED, StallEvent.Type.EXHAUSTED
+            ),
+            events.stream().map(StallEvent::type).collect(Collectors.toList())
+        );
+        Assertions.assertEquals(2, this.stops.get());
+        Assertions.assertEquals(1, this.parses.get());
+        Assertions.assertEquals(0, detector.metrics().supervised());
+        Assertions.assertEquals(2, detector.metrics().stalled());
+        Assertions.assertEquals(1, detector.metrics().exhausted());
+    }
+
+    @Test
+    void testSupervise_leavesWaitingDocumentAlone() {
+        // The duration does not advance, the document waits for a parser.
+        StallDetector detector = new StallDetector(this.client("RUNNING", listing -> BigDecimal.ONE));
+
+        List<StallEvent> events = detector.supervise(context(1))
+            .take(Duration.ofMillis(1_500))
+            .collectList()
+            .block(TIMEOUT);
+
+        Assertions.assertEquals(Collections.emptyList(), events);
+        Assertions.assertTrue(this.listings.get() > 0);
+        Assertions.assertEquals(0, this.stops.get());
+        Assertions.assertEquals(0, detector.metrics().supervised());
+    }
+
+    @Test
+    void testSupervise_leavesDocumentWithoutDurationAlone() {
+        StallDetector detector = new StallDetector(this.client("RUNNING", listing -> null));
+
+        List<StallEvent> events = detector.supervise(context(1))
+            .take(Duration.ofMillis(1_500))
+            .collectList()
+            .block(TIMEOUT);
+
+        Assertions.assertEquals(Collections.emptyList(), events);
+        Assertions.assertTrue(this.listings.get() > 0);
+        Assertions.assertEquals(0, this.stops.get());
+    }
+
+    @Test
+    void testSupervise_completesOnceTheDocumentFinished() {
+        StallDetector detector = new StallDetector(this.client("DONE", listing -> null));
+
+        List<StallEvent> events = detector.supervise(context(1)).collectList().block(TIMEOUT);
+
+        Assertions.assertEquals(Collections.emptyList(), events);
+        Assertions.assertEquals(0, this.listings.get());
+        Assertions.assertEquals(0, detector.metrics().supervised());
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * A document whose watch reports the given status once and then stays silent, its duration is the one of the
+     * given listing, the watch reporting the 0th.
+     */
+    private AsyncWebfluxRAGFlowDocumentClient client(String run, IntFunction<BigDecimal> durations) {
+        DocumentDTO document = this.document(run, durations.apply(0));
+
+        Object proxy = Proxy.newProxyInstance(
+            StallDetectorTest.class.getClassLoader(),
+            new Class<?>[] {AsyncWebfluxRAGFlowDocumentClient.class},
+            (instance, method, args) -> {
+                switch (method.getName()) {
+                    case "watchParsingStatus":
+                        return Flux.just(ParsingTransition.of("dataset", DOCUMENT_ID, null, document))
+                            .concatWith(Flux.never());
+                    case "listDocuments":
+                        DocumentDTO listed = this.document(run, durations.apply(this.listings.incrementAndGet()));
+                        return Mono.just(ListDocumentDTO.builder()
+                            .total(1L)
+                            .documents(Collections.singletonList(listed))
+                            .build());
+                    case "stopParsingDocuments":
+                        this.stops.incrementAndGet();
+                        return Mono.just(new StopParsingDocumentDTO());
+                    case "scheduleParseDocuments":
+                        this.parses.incrementAndGet();
+                        return Flux.just(ParseAdmission.builder().datasetId("dataset").documentId(DOCUMENT_ID).build());
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+
+        return (AsyncWebfluxRAGFlowDocumentClient) proxy;
+    }
+
+    private DocumentDTO document(String run, BigDecimal processDuration) {
+        return DocumentDTO.builder()
+            .id(DOCUMENT_ID)
+            .run(run)
+            .progress(new BigDecimal("0.5"))
+            .processDuration(processDuration)
+            .build();
+    }
+
+    private static SuperviseParsingContext context(int maxReparses) {
+        return SuperviseParsingContext.builder()
+            .datasetId("dataset")
+            .documentIds(Collections.singletonList(DOCUMENT_ID))
+            .stallWindowMillis(100L)
+            .maxReparses(maxReparses)
+            .build();
+    }
+}
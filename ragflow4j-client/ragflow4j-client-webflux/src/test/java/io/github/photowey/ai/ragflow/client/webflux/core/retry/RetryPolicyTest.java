@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.retry;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+
+import io.github.photowey.ai.ragflow.core.property.RAGFlowProperties;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code RetryPolicyTest}.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+class RetryPolicyTest {
+
+    private static final String DATASETS = "http://localhost:9380/api/v1/datasets";
+
+    private final AtomicInteger exchanges = new AtomicInteger();
+
+    @Test
+    void testFilter_retriesIdempotentCallOnServerErrors() {
+        RetryPolicy policy = new RetryPolicy(settings(3, 10));
+
+        HttpStatus status = this.call(
+            policy, HttpMethod.GET, HttpStatus.SERVICE_UNAVAILABLE, HttpStatus.BAD_GATEWAY, HttpStatus.OK);
+
+        Assertions.assertEquals(HttpStatus.OK, status);
+        Assertions.assertEquals(3, this.exchanges.get());
+    }
+
+    @Test
+    void testFilter_returnsTheLastResponseOnceAttemptsAreSpent() {
+        RetryPolicy policy = new RetryPolicy(settings(2, 10));
+
+        HttpStatus status = this.call(
+            policy, HttpMethod.GET, HttpStatus.TOO_MANY_REQUESTS, HttpStatus.SERVICE_UNAVAILABLE, HttpStatus.OK);
+
+        Assertions.assertEquals(HttpStatus.SERVICE_UNAVAILABLE, status);
+        Assertions.assertEquals(2, this.exchanges.get());
+    }
+
+    @Test
+    void testFilter_neverRetriesNonIdempotentCall() {
+        RetryPolicy policy = new RetryPolicy(settings(3, 10));
+
+        HttpStatus status = this.call(policy, HttpMethod.POST, HttpStatus.SERVICE_UNAVAILABLE, HttpStatus.OK);
+
+        Assertions.assertEquals(HttpStatus.SERVICE_UNAVAILABLE, status);
+        Assertions.assertEquals(1, this.exchanges.get());
+    }
+
+    @Test
+    void testFilter_neverRetriesClientErrors() {
+        RetryPolicy policy = new RetryPolicy(settings(3, 10));
+
+        HttpStatus status = this.call(policy, HttpMethod.GET, HttpStatus.BAD_REQUEST, HttpStatus.OK);
+
+        Assertions.assertEquals(HttpStatus.BAD_REQUEST, status);
+        Assertions.assertEquals(1, this.exchanges.get());
+    }
+
+    @Test
+    void testFilter_retriesTransientErrors() {
+        RetryPolicy policy = new RetryPolicy(settings(3, 10));
+        ClientRequest request = ClientRequest.create(HttpMethod.GET, URI.create(DATASETS)).build();
+        WebClientRequestException reset = new WebClientRequestException(
+            new IOException("Connection reset"), HttpMethod.GET, request.url(), new HttpHeaders());
+        ExchangeFunction next = it -> this.exchanges.incrementAndGet() == 1
+            ? Mono.error(reset)
+            : Mono.just(ClientResponse.create(HttpStatus.OK).build());
+
+        ClientResponse response = policy.filter(request, next).block(Duration.ofSeconds(5));
+
+        Assertions.assertNotNull(response);
+        Assertions.assertEquals(HttpStatus.OK, response.statusCode());
+        Assertions.assertEquals(2, this.exchanges.get());
+    }
+
+    @Test
+    void testFilter_stopsRetryingOnceTheBudgetIsSpent() {
+        RetryPolicy policy = new RetryPolicy(settings(3, 1));
+
+        HttpStatus first = this.call(policy, HttpMethod.GET, HttpStatus.SERVICE_UNAVAILABLE, HttpStatus.OK);
+        HttpStatus second = this.call(policy, HttpMethod.GET, HttpStatus.SERVICE_UNAVAILABLE, HttpStatus.OK);
+
+        Assertions.assertEquals(HttpStatus.OK, first);
+        Assertions.assertEquals(HttpStatus.SERVICE_UNAVAILABLE, second);
+        Assertions.assertEquals(3, this.exchanges.get());
+        Assertions.assertTrue(policy.budget() < 1D);
+    }
+
+    @Test
+    void testMatches_comparesTheSettings() {
+        RetryPolicy policy = new RetryPolicy(settings(3, 10));
+
+        Assertions.assertTrue(policy.matches(settings(3, 10)));
+        Assertions.assertFalse(policy.matches(settings(4, 10)));
+        Assertions.assertFalse(policy.matches(settings(3, 5)));
+    }
+
+    // ----------------------------------------------------------------
+
+    private HttpStatus call(RetryPolicy policy, HttpMethod method, HttpStatus... statuses) {
+        Deque<HttpStatus> responses = new ArrayDeque<>(Arrays.asList(statuses));
+        ClientRequest request = ClientRequest.create(method, URI.create(DATASETS)).build();
+        ExchangeFunction next = it -> Mono.fromSupplier(() -> {
+            this.exchanges.incrementAndGet();
+            return ClientResponse.create(responses.pollFirst()).build();
+        });
+
+        ClientResponse response = policy.filter(request, next).block(Duration.ofSeconds(5));
+
+        return response.statusCode();
+    }
+
+    private static RAGFlowProperties.Retry settings(int maxAttempts, int budgetReserve) {
+        return RAGFlowProperties.Retry.builder()
+            .maxAttempts(maxAttempts)
+            .initialBackoff(1L)
+            .maxBackoff(5L)
+            .budgetPercent(0)
+            .budgetReserve(budgetReserve)
+            .build();
+    }
+}
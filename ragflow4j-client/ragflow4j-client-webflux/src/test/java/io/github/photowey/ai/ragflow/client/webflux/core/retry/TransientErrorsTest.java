@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.retry;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import io.github.photowey.ai.ragflow.core.exception.RAGFlowException;
+
+/**
+ * {@code TransientErrorsTest}.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+class TransientErrorsTest {
+
+    @Test
+    void testIsTransient_ioErrorsAndTimeouts() {
+        WebClientRequestException refused = new WebClientRequestException(
+            new IOException("Connection refused"), HttpMethod.GET, URI.create("http://localhost"), new HttpHeaders());
+
+        Assertions.assertTrue(TransientErrors.isTransient(refused));
+        Assertions.assertTrue(TransientErrors.isTransient(new TimeoutException()));
+    }
+
+    @Test
+    void testIsTransient_throttledAndServerErrors() {
+        Assertions.assertTrue(TransientErrors.isTransient(response(429)));
+        Assertions.assertTrue(TransientErrors.isTransient(response(500)));
+        Assertions.assertTrue(TransientErrors.isTransient(response(503)));
+    }
+
+    @Test
+    void testIsTransient_notClientNorBusinessErrors() {
+        Assertions.assertFalse(TransientErrors.isTransient(response(400)));
+        Assertions.assertFalse(TransientErrors.isTransient(response(404)));
+        Assertions.assertFalse(TransientErrors.isTransient(new RAGFlowException("Dataset not found")));
+        Assertions.assertFalse(TransientErrors.isTransient(new IllegalStateException()));
+    }
+
+    private static WebClientResponseException response(int status) {
+        return WebClientResponseException.create(status, "status", new HttpHeaders(), new byte[0], StandardCharsets.UTF_8);
+    }
+}
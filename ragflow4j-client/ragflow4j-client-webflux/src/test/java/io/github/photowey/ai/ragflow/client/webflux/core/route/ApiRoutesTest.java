@@ -0,0 +1,125 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.route;
+
+import java.net.URI;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+
+import io.github.photowey.ai.ragflow.core.enums.RAGFlowDictionary;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code ApiRoutesTest}.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+class ApiRoutesTest {
+
+    @Test
+    void testResolve_matchesMethodAndPathBehindAddressPrefix() {
+        Assertions.assertEquals(
+            Optional.of(RAGFlowDictionary.API.LIST_DOCUMENTS),
+            ApiRoutes.resolve("get", "/ragflow/api/v1/datasets/dataset-1/documents")
+        );
+        Assertions.assertEquals(
+            Optional.of(RAGFlowDictionary.API.UPLOAD_DOCUMENTS),
+            ApiRoutes.resolve("POST", "/api/v1/datasets/dataset-1/documents/")
+        );
+        Assertions.assertEquals(
+            Optional.of(RAGFlowDictionary.API.DOWNLOAD_DOCUMENT),
+            ApiRoutes.resolve("GET", "/api/v1/datasets/dataset-1/documents/document-1")
+        );
+    }
+
+    @Test
+    void testResolve_emptyForUnknownRoutesAndMethods() {
+        Assertions.assertEquals(Optional.empty(), ApiRoutes.resolve("GET", "/api/v1/unknown"));
+        Assertions.assertEquals(Optional.empty(), ApiRoutes.resolve("PATCH", "/api/v1/datasets"));
+    }
+
+    @Test
+    void testResolve_prefersTheRequestAttribute() {
+        ClientRequest request = ClientRequest.create(HttpMethod.GET, this.uri("/api/v1/datasets/dataset-1/documents"))
+            .attribute(ApiRoutes.API_ATTRIBUTE, RAGFlowDictionary.API.LIST_DATASETS)
+            .build();
+
+        Assertions.assertEquals(Optional.of(RAGFlowDictionary.API.LIST_DATASETS), ApiRoutes.resolve(request));
+    }
+
+    @Test
+    void testFilter_resolvesTheApiOnceForTheFiltersAfterIt() {
+        AtomicReference<ClientRequest> sent = new AtomicReference<>();
+        ExchangeFunction next = this.capture(sent);
+        ClientRequest request = ClientRequest.create(HttpMethod.GET, this.uri("/api/v1/datasets")).build();
+
+        ApiRoutes.filter().filter(request, next).block();
+
+        Assertions.assertEquals(
+            Optional.of(RAGFlowDictionary.API.LIST_DATASETS),
+            sent.get().attribute(ApiRoutes.API_ATTRIBUTE)
+        );
+    }
+
+    @Test
+    void testFilter_keepsRequestsBuiltWithTheApi() {
+        AtomicReference<ClientRequest> sent = new AtomicReference<>();
+        ExchangeFunction next = this.capture(sent);
+        ClientRequest request = ClientRequest.create(HttpMethod.GET, this.uri("/api/v1/datasets"))
+            .attribute(ApiRoutes.API_ATTRIBUTE, RAGFlowDictionary.API.LIST_DATASETS)
+            .build();
+
+        ApiRoutes.filter().filter(request, next).block();
+
+        Assertions.assertSame(request, sent.get());
+    }
+
+    @Test
+    void testFilter_passesUnknownRoutesUntouched() {
+        AtomicReference<ClientRequest> sent = new AtomicReference<>();
+        ExchangeFunction next = this.capture(sent);
+        ClientRequest request = ClientRequest.create(HttpMethod.GET, this.uri("/health")).build();
+
+        ApiRoutes.filter().filter(request, next).block();
+
+        Assertions.assertSame(request, sent.get());
+        Assertions.assertEquals(Optional.empty(), ApiRoutes.resolve(sent.get()));
+    }
+
+    // ----------------------------------------------------------------
+
+    private URI uri(String path) {
+        return URI.create("http://127.0.0.1:9380" + path);
+    }
+
+    private ExchangeFunction capture(AtomicReference<ClientRequest> sent) {
+        return request -> {
+            sent.set(request);
+            return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+        };
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.shard;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@code ConsistentHashRingTest}.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+class ConsistentHashRingTest {
+
+    private static final int KEYS = 20_000;
+
+    @Test
+    void testLocate_spreadsKeysEvenly() {
+        ConsistentHashRing<String> ring = new ConsistentHashRing<>(List.of("a", "b", "c", "d"), 160);
+
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < KEYS; i++) {
+            counts.merge(ring.locate("dataset-" + i).orElseThrow(), 1, Integer::sum);
+        }
+
+        Assertions.assertEquals(4, counts.size());
+        counts.values().forEach(count -> Assertions.assertTrue(
+            Math.abs(count - KEYS / 4) < KEYS / 4 * 0.2,
+            "Unbalanced shard: " + counts
+        ));
+    }
+
+    @Test
+    void testLocate_addingNodeOnlyMovesItsKeys() {
+        ConsistentHashRing<String> before = new ConsistentHashRing<>(List.of("a", "b", "c"), 160);
+        ConsistentHashRing<String> after = new ConsistentHashRing<>(List.of("a", "b", "c", "d"), 160);
+
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            String key = "dataset-" + i;
+            String owner = after.locate(key).orElseThrow();
+            if (!owner.equals(before.locate(key).orElseThrow())) {
+                Assertions.assertEquals("d", owner);
+                moved++;
+            }
+        }
+
+        Assertions.assertTrue(moved > KEYS / 4 * 0.8 && moved < KEYS / 4 * 1.2, "Moved: " + moved);
+    }
+
+    @Test
+    void testWalk_startsWithOwnerAndVisitsEveryNodeOnce() {
+        ConsistentHashRing<String> ring = new ConsistentHashRing<>(List.of("a", "b", "c", "b"), 16);
+
+        for (int i = 0; i < 100; i++) {
+            String key = "dataset-" + i;
+            List<String> walked = ring.walk(key);
+
+            Assertions.assertEquals(ring.locate(key).orElseThrow(), walked.get(0));
+            Assertions.assertEquals(3, walked.size());
+            Assertions.assertTrue(walked.containsAll(List.of("a", "b", "c")));
+        }
+    }
+
+    @Test
+    void testLocate_emptyRing() {
+        ConsistentHashRing<String> ring = new ConsistentHashRing<>(List.of(), 160);
+
+        Assertions.assertFalse(ring.locate("dataset").isPresent());
+        Assertions.assertTrue(ring.walk("dataset").isEmpty());
+    }
+}
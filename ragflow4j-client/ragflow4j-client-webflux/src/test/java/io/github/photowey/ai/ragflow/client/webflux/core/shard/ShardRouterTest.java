@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.shard;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriComponentsBuilder;
+
+import io.github.photowey.ai.ragflow.core.property.RAGFlowProperties;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code ShardRouterTest}.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+class ShardRouterTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+    private static final long MISS_TTL = 200L;
+
+    private final AtomicInteger lookups = new AtomicInteger();
+    private final Map<String, Set<String>> datasets = new ConcurrentHashMap<>();
+    private final Set<String> unavailable = ConcurrentHashMap.newKeySet();
+
+    @Test
+    void testLocate_remembersFoundShard() {
+        this.datasets.put("b", Collections.singleton("dataset-1"));
+        ShardRouter router = this.router(16);
+
+        Assertions.assertEquals("b", router.locate("dataset-1").block(TIMEOUT));
+        int asked = this.lookups.get();
+        Assertions.assertTrue(asked > 0);
+
+        Assertions.assertEquals("b", router.locate("dataset-1").block(TIMEOUT));
+        Assertions.assertEquals(asked, this.lookups.get());
+    }
+
+    @Test
+    void testLocate_cachesMissForMissTtl() throws InterruptedException {
+        ShardRouter router = this.router(16);
+
+        String owner = router.locate("missing").block(TIMEOUT);
+        Assertions.assertEquals(2, this.lookups.get());
+
+        Assertions.assertEquals(owner, router.locate("missing").block(TIMEOUT));
+        Assertions.assertEquals(2, this.lookups.get());
+
+        Thread.sleep(MISS_TTL * 2);
+
+        Assertions.assertEquals(owner, router.locate("missing").block(TIMEOUT));
+        Assertions.assertEquals(4, this.lookups.get());
+    }
+
+    @Test
+    void testRecord_clearsMiss() {
+        ShardRouter router = this.router(16);
+        router.locate("created").block(TIMEOUT);
+
+        router.record("created", "b");
+
+        Assertions.assertEquals("b", router.locate("created").block(TIMEOUT));
+        Assertions.assertEquals(2, this.lookups.get());
+    }
+
+    @Test
+    void testLocate_forgetsLeastRecentlyUsedPlacement() {
+        this.datasets.put("a", Collections.singleton("dataset-2"));
+        ShardRouter router = this.router(2);
+        router.record("dataset-1", "b");
+        router.record("dataset-2", "a");
+
+        Assertions.assertEquals("b", router.locate("dataset-1").block(TIMEOUT));
+        router.record("dataset-3", "b");
+        Assertions.assertEquals(0, this.lookups.get());
+
+        Assertions.assertEquals("b", router.locate("dataset-1").block(TIMEOUT));
+        Assertions.assertEquals(0, this.lookups.get());
+
+        Assertions.assertEquals("a", router.locate("dataset-2").block(TIMEOUT));
+        Assertions.assertTrue(this.lookups.get() > 0);
+    }
+
+    @Test
+    void testLocate_failsWithoutCachingMissWhenShardUnavailable() {
+        this.unavailable.add("a");
+        ShardRouter router = this.router(16);
+
+        Assertions.assertThrows(RuntimeException.class, () -> router.locate("missing").block(TIMEOUT));
+        Assertions.assertEquals(2, this.lookups.get());
+
+        this.unavailable.clear();
+
+        router.locate("missing").block(TIMEOUT);
+        Assertions.assertEquals(4, this.lookups.get());
+    }
+
+    @Test
+    void testLocate_findsDatasetDespiteUnavailableShard() {
+        this.unavailable.add("a");
+        this.datasets.put("b", Collections.singleton("dataset-1"));
+        ShardRouter router = this.router(16);
+
+        Assertions.assertEquals("b", router.locate("dataset-1").block(TIMEOUT));
+    }
+
+    @Test
+    void testLocate_prefersPinnedShardOverRecordedOne() {
+        ShardRouter router = this.router(16, "dataset-1", "a");
+
+        router.record("dataset-1", "b");
+
+        Assertions.assertEquals("a", router.locate("dataset-1").block(TIMEOUT));
+        Assertions.assertEquals(0, this.lookups.get());
+    }
+
+    // ----------------------------------------------------------------
+
+    private ShardRouter router(int maxPlacements) {
+        return this.router(maxPlacements, null, null);
+    }
+
+    private ShardRouter router(int maxPlacements, String pinnedDatasetId, String pinnedDeployKey) {
+        RAGFlowProperties.Sharding sharding = RAGFlowProperties.Sharding.builder()
+            .enabled(true)
+            .shards(Arrays.asList("a", "b"))
+            .missTtl(MISS_TTL)
+            .maxPlacements(maxPlacements)
+            .build();
+        RAGFlowProperties properties = RAGFlowProperties.builder()
+            .sharding(sharding)
+            .build();
+        if (Objects.nonNull(pinnedDatasetId)) {
+            properties.datasets().put("pinned", RAGFlowProperties.Dataset.builder()
+                .datasetKey("pinned")
+                .datasetId(pinnedDatasetId)
+                .deployKey(pinnedDeployKey)
+                .build());
+        }
+
+        return new ShardRouter(properties, this::client);
+    }
+
+    /**
+     * Answers a dataset listing by id with the dataset if the shard holds it, counting the listings, an
+     * unavailable shard answers 503.
+     */
+    private WebClient client(String shard) {
+        return WebClient.builder()
+            .exchangeFunction(request -> Mono.fromSupplier(() -> {
+                this.lookups.incrementAndGet();
+                String id = UriComponentsBuilder.fromUri(request.url()).build().getQueryParams().getFirst("id");
+                if (this.unavailable.contains(shard)) {
+                    return ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build();
+                }
+                boolean held = this.datasets.getOrDefault(shard, Collections.emptySet()).contains(id);
+                String data = held ? "[{\"id\":\"" + id + "\"}]" : "[]";
+
+                return ClientResponse.create(HttpStatus.OK)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .body("{\"code\":0,\"data\":" + data + "}")
+                    .build();
+            }))
+            .build();
+    }
+}
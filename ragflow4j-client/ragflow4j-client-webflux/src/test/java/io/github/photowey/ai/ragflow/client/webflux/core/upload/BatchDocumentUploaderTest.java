@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.upload;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.photowey.ai.ragflow.client.webflux.core.concurrent.ReactiveSemaphore;
+import io.github.photowey.ai.ragflow.core.constant.MessageConstants;
+import io.github.photowey.ai.ragflow.core.domain.context.document.BatchUploadDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.context.document.UploadDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.dto.document.UploadDocumentDTO;
+import io.github.photowey.ai.ragflow.core.domain.payload.document.UploadDocumentPayload;
+import io.github.photowey.ai.ragflow.core.domain.upload.BatchUploadResult;
+import io.github.photowey.ai.ragflow.core.domain.upload.UploadFailure;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * {@code BatchDocumentUploaderTest}.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+class BatchDocumentUploaderTest {
+
+    @Test
+    void testUpload_pairsRenamedResultsByPosition() {
+        List<UploadDocumentPayload.Document> documents = UploadBatchPlannerTest.documents(10, 10, 10);
+
+        BatchUploadResult result = this.upload(documents, 10, context -> {
+            List<UploadDocumentDTO> uploaded = uploaded(context);
+            // The dataset already holds a document of the same name.
+            uploaded.get(1).setName("document-1(1).txt");
+            return Mono.just(uploaded);
+        });
+
+        Assertions.assertTrue(result.determineIsOk());
+        Assertions.assertEquals(
+            List.of("id-document-0.txt", "id-document-1.txt", "id-document-2.txt"),
+            result.documents().stream().map(UploadDocumentDTO::getId).collect(Collectors.toList())
+        );
+    }
+
+    @Test
+    void testUpload_failsSubBatchWhoseResultCannotBePaired() {
+        List<UploadDocumentPayload.Document> documents = UploadBatchPlannerTest.documents(10, 10, 10, 10);
+
+        BatchUploadResult result = this.upload(documents, 2, context -> {
+            List<UploadDocumentDTO> uploaded = uploaded(context);
+            if (uploaded.get(0).getName().equals("document-0.txt")) {
+                // A dropped item, the remaining one must not be taken for the first document.
+                uploaded.remove(0);
+            }
+            return Mono.just(uploaded);
+        });
+
+        Assertions.assertEquals(
+            List.of("id-document-2.txt", "id-document-3.txt"),
+            result.documents().stream().map(UploadDocumentDTO::getId).collect(Collectors.toList())
+        );
+        Assertions.assertEquals(List.of(0, 1), result.failures().stream()
+            .map(UploadFailure::index)
+            .collect(Collectors.toList()));
+        result.failures().forEach(failure ->
+            Assertions.assertEquals(MessageConstants.UPLOAD_DOCUMENTS_MISMATCHED, failure.message())
+        );
+    }
+
+    @Test
+    void testUpload_retriesTransientFailuresOfRepeatableBatches() {
+        List<UploadDocumentPayload.Document> documents = UploadBatchPlannerTest.documents(10, 10);
+        AtomicInteger attempts = new AtomicInteger();
+
+        BatchUploadResult result = this.upload(documents, 10, context -> {
+            if (attempts.getAndIncrement() == 0) {
+                return Mono.error(new TimeoutException("slow"));
+            }
+            return Mono.just(uploaded(context));
+        });
+
+        Assertions.assertTrue(result.determineIsOk());
+        Assertions.assertEquals(2, result.documents().size());
+        Assertions.assertEquals(1, result.retries());
+    }
+
+    @Test
+    void testUpload_reportsFailuresOfNonTransientErrors() {
+        List<UploadDocumentPayload.Document> documents = UploadBatchPlannerTest.documents(10, 10);
+
+        BatchUploadResult result = this.upload(documents, 10, context -> Mono.error(new IllegalStateException("no")));
+
+        Assertions.assertTrue(result.documents().isEmpty());
+        Assertions.assertEquals(2, result.failures().size());
+        Assertions.assertEquals(0, result.retries());
+        Assertions.assertEquals("document-1.txt", result.failures().get(1).originalName());
+    }
+
+    // ----------------------------------------------------------------
+
+    private BatchUploadResult upload(
+        List<UploadDocumentPayload.Document> documents,
+        int maxBatchFiles,
+        Function<UploadDocumentContext, Mono<List<UploadDocumentDTO>>> upload) {
+        BatchUploadDocumentContext context = BatchUploadDocumentContext.builder()
+            .datasetId("dataset")
+            .payload(UploadDocumentPayload.builder().documents(documents).build())
+            .maxBatchFiles(maxBatchFiles)
+            .build();
+
+        return new BatchDocumentUploader(context, new ReactiveSemaphore(2), upload).upload().block();
+    }
+
+    private static List<UploadDocumentDTO> uploaded(UploadDocumentContext context) {
+        List<UploadDocumentDTO> uploaded = new ArrayList<>();
+        for (UploadDocumentPayload.Document document : context.payload().documents()) {
+            uploaded.add(UploadDocumentDTO.builder()
+                .id("id-" + document.originalName())
+                .name(document.originalName())
+                .build());
+        }
+
+        return uploaded;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.upload;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.MultipartBodyBuilder;
+
+import io.github.photowey.ai.ragflow.core.domain.payload.document.UploadDocumentPayload;
+import io.github.photowey.ai.ragflow.core.domain.upload.DocumentSource;
+import io.github.photowey.ai.ragflow.core.exception.RAGFlowException;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * {@code DocumentPartsTest}.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+class DocumentPartsTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRead_pathIsReadInBoundedChunks() throws IOException {
+        byte[] content = new byte[DocumentParts.DEFAULT_BUFFER_SIZE * 3 + 17];
+        Arrays.fill(content, (byte) 'r');
+        Path path = Files.write(this.directory.resolve("large.txt"), content);
+
+        List<Integer> chunks = DocumentParts.read(DocumentSource.of(path))
+            .map(buffer -> {
+                int size = buffer.readableByteCount();
+                DataBufferUtils.release(buffer);
+                return size;
+            })
+            .collectList()
+            .block();
+
+        Assertions.assertEquals(4, chunks.size());
+        Assertions.assertEquals(content.length, chunks.stream().mapToInt(Integer::intValue).sum());
+        chunks.forEach(size -> Assertions.assertTrue(size <= DocumentParts.DEFAULT_BUFFER_SIZE));
+    }
+
+    @Test
+    void testRead_inputStreamIsOpenedOncePerSubscription() {
+        AtomicInteger opened = new AtomicInteger();
+        DocumentSource source = DocumentSource.of(() -> {
+            opened.incrementAndGet();
+            return new ByteArrayInputStream("streamed".getBytes(StandardCharsets.UTF_8));
+        }, 8);
+
+        Flux<DataBuffer> content = DocumentParts.read(source);
+        Assertions.assertEquals(0, opened.get());
+
+        Assertions.assertEquals("streamed", join(content));
+        Assertions.assertEquals("streamed", join(content));
+        Assertions.assertEquals(2, opened.get());
+    }
+
+    @Test
+    void testRead_byteArrayAndPublisherSources() {
+        Assertions.assertEquals("bytes", join(DocumentParts.read(
+            DocumentSource.of("bytes".getBytes(StandardCharsets.UTF_8))
+        )));
+
+        DataBuffer first = DefaultDataBufferFactory.sharedInstance.wrap("pub".getBytes(StandardCharsets.UTF_8));
+        DataBuffer second = DefaultDataBufferFactory.sharedInstance.wrap("lisher".getBytes(StandardCharsets.UTF_8));
+        DataBufferDocumentSource source = DataBufferDocumentSource.of(Flux.just(first, second));
+
+        Assertions.assertFalse(source.repeatable());
+        Assertions.assertEquals(DocumentSource.UNKNOWN_LENGTH, source.contentLength());
+        Assertions.assertEquals("publisher", join(DocumentParts.read(source)));
+    }
+
+    @Test
+    void testRead_rejectsUnsupportedSource() {
+        DocumentSource source = () -> 0L;
+
+        Assertions.assertThrows(RAGFlowException.class, () -> DocumentParts.read(source));
+    }
+
+    @Test
+    void testAppend_setsFilenameAndContentType() {
+        MultipartBodyBuilder builder = new MultipartBodyBuilder();
+        UploadDocumentPayload.Document document = UploadDocumentPayload.Document.builder()
+            .name("report")
+            .originalName("report.pdf")
+            .data("%PDF".getBytes(StandardCharsets.UTF_8))
+            .build();
+
+        DocumentParts.append(builder, "file", document);
+
+        HttpEntity<?> part = builder.build().getFirst("file");
+        Assertions.assertNotNull(part);
+        Assertions.assertEquals(MediaType.APPLICATION_PDF, part.getHeaders().getContentType());
+        Assertions.assertEquals("report.pdf", part.getHeaders().getContentDisposition().getFilename());
+    }
+
+    // ----------------------------------------------------------------
+
+    private static String join(Flux<DataBuffer> content) {
+        return DataBufferUtils.join(content)
+            .map(buffer -> {
+                String text = buffer.toString(StandardCharsets.UTF_8);
+                DataBufferUtils.release(buffer);
+                return text;
+            })
+            .block();
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.upload;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.photowey.ai.ragflow.core.domain.payload.document.UploadDocumentPayload;
+import io.github.photowey.ai.ragflow.core.domain.upload.DocumentSource;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * {@code UploadBatchPlannerTest}.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+class UploadBatchPlannerTest {
+
+    @Test
+    void testPlan_packsWithinByteAndFileBudgets() {
+        List<UploadDocumentPayload.Document> documents = documents(60, 50, 40, 30, 20, 10, 10, 10);
+
+        List<UploadBatch> batches = UploadBatchPlanner.plan(documents, 100, 3);
+
+        Assertions.assertEquals(documents.size(), batches.stream().mapToInt(UploadBatch::size).sum());
+        for (UploadBatch batch : batches) {
+            Assertions.assertTrue(batch.bytes() <= 100, "Bytes: " + batch.bytes());
+            Assertions.assertTrue(batch.size() <= 3, "Files: " + batch.size());
+        }
+        Assertions.assertEquals(3, batches.size());
+    }
+
+    @Test
+    void testPlan_keepsInputOrderWithinAndAcrossBatches() {
+        List<UploadDocumentPayload.Document> documents = documents(10, 90, 20, 80, 30, 70);
+
+        List<UploadBatch> batches = UploadBatchPlanner.plan(documents, 100, 10);
+
+        List<Integer> firsts = batches.stream().map(UploadBatch::firstIndex).collect(Collectors.toList());
+        Assertions.assertEquals(firsts.stream().sorted().collect(Collectors.toList()), firsts);
+        for (UploadBatch batch : batches) {
+            Assertions.assertEquals(batch.indexes().stream().sorted().collect(Collectors.toList()), batch.indexes());
+            for (int i = 0; i < batch.size(); i++) {
+                Assertions.assertSame(documents.get(batch.indexes().get(i)), batch.documents().get(i));
+            }
+        }
+    }
+
+    @Test
+    void testPlan_sendsOversizedAndUnknownLengthsAlone() {
+        List<UploadDocumentPayload.Document> documents = new ArrayList<>(documents(10, 150, 10));
+        documents.add(UploadDocumentPayload.Document.builder()
+            .name("stream")
+            .originalName("stream.txt")
+            .source(DataBufferDocumentSource.of(Flux.empty()))
+            .build());
+
+        List<UploadBatch> batches = UploadBatchPlanner.plan(documents, 100, 10);
+
+        Assertions.assertEquals(3, batches.size());
+        Assertions.assertEquals(List.of(0, 2), batches.get(0).indexes());
+        Assertions.assertEquals(List.of(1), batches.get(1).indexes());
+        Assertions.assertEquals(List.of(3), batches.get(2).indexes());
+        Assertions.assertFalse(batches.get(2).repeatable());
+    }
+
+    // ----------------------------------------------------------------
+
+    static List<UploadDocumentPayload.Document> documents(int... lengths) {
+        List<UploadDocumentPayload.Document> documents = new ArrayList<>();
+        for (int i = 0; i < lengths.length; i++) {
+            documents.add(UploadDocumentPayload.Document.builder()
+                .name("document-" + i)
+                .originalName("document-" + i + ".txt")
+                .source(DocumentSource.of(new byte[lengths[i]]))
+                .build());
+        }
+
+        return documents;
+    }
+}
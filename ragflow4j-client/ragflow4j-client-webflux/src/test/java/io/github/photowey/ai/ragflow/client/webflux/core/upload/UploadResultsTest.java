@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.core.upload;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import io.github.photowey.ai.ragflow.core.domain.dto.document.UploadDocumentDTO;
+import io.github.photowey.ai.ragflow.core.domain.payload.document.UploadDocumentPayload;
+
+/**
+ * {@code UploadResultsTest}.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+class UploadResultsTest {
+
+    @Test
+    void testPair_pairsByPositionWhateverTheNames() {
+        List<UploadDocumentPayload.Document> documents = UploadBatchPlannerTest.documents(10, 10, 10);
+        List<UploadDocumentDTO> uploaded = uploaded("document-0.txt", "document-1(2).txt", "unexpected.txt");
+
+        List<UploadDocumentDTO> paired = UploadResults.pair(documents, uploaded).orElseThrow();
+
+        Assertions.assertEquals(
+            List.of("id-0", "id-1", "id-2"),
+            paired.stream().map(UploadDocumentDTO::getId).collect(Collectors.toList())
+        );
+    }
+
+    @Test
+    void testPair_rejectsMissingOrExtraDocuments() {
+        List<UploadDocumentPayload.Document> documents = UploadBatchPlannerTest.documents(10, 10);
+
+        Assertions.assertTrue(UploadResults.pair(documents, uploaded("document-1.txt")).isEmpty());
+        Assertions.assertTrue(UploadResults.pair(documents, uploaded("a.txt", "b.txt", "c.txt")).isEmpty());
+    }
+
+    @Test
+    void testDetermineIsSameName_acceptsServerRename() {
+        Assertions.assertTrue(UploadResults.determineIsSameName("report.pdf", "report.pdf"));
+        Assertions.assertTrue(UploadResults.determineIsSameName("report.pdf", "report(1).pdf"));
+        Assertions.assertTrue(UploadResults.determineIsSameName("report.v2.pdf", "report.v2(12).pdf"));
+        Assertions.assertTrue(UploadResults.determineIsSameName("README", "README(3)"));
+
+        Assertions.assertFalse(UploadResults.determineIsSameName("report.pdf", "report(x).pdf"));
+        Assertions.assertFalse(UploadResults.determineIsSameName("report.pdf", "report.pdf(1)"));
+        Assertions.assertFalse(UploadResults.determineIsSameName("report.pdf", "other.pdf"));
+        Assertions.assertFalse(UploadResults.determineIsSameName("report.pdf", null));
+    }
+
+    // ----------------------------------------------------------------
+
+    private static List<UploadDocumentDTO> uploaded(String... names) {
+        List<UploadDocumentDTO> uploaded = new ArrayList<>();
+        for (int i = 0; i < names.length; i++) {
+            uploaded.add(UploadDocumentDTO.builder()
+                .id("id-" + i)
+                .name(names[i])
+                .build());
+        }
+
+        return uploaded;
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.dataset;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import io.github.photowey.ai.ragflow.client.webflux.core.factory.RAGFlowWebClientFactory;
+import io.github.photowey.ai.ragflow.core.domain.context.dataset.CreateDatasetContext;
+import io.github.photowey.ai.ragflow.core.domain.context.dataset.ListDatasetContext;
+import io.github.photowey.ai.ragflow.core.domain.dto.dataset.CreateDatasetDTO;
+import io.github.photowey.ai.ragflow.core.domain.dto.dataset.ListDatasetDTO;
+import io.github.photowey.ai.ragflow.core.domain.payload.dataset.CreateDatasetPayload;
+import io.github.photowey.ai.ragflow.core.domain.query.dataset.ListDatasetQuery;
+import io.github.photowey.ai.ragflow.core.exception.RAGFlowException;
+import io.github.photowey.ai.ragflow.core.property.RAGFlowProperties;
+import io.netty.handler.codec.http.QueryStringDecoder;
+
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+/**
+ * {@code AsyncWebfluxRAGFlowDatasetClientTest}.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+class AsyncWebfluxRAGFlowDatasetClientTest {
+
+    private static final String DEPLOY_KEY = "global";
+    private static final String DUPLICATE = "duplicate";
+    private static final int DATASETS = 5;
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final DisposableServer server = HttpServer.create()
+        .host("127.0.0.1")
+        .port(0)
+        .route(routes -> routes
+            .post("/api/v1/datasets", this::create)
+            .get("/api/v1/datasets", this::list)
+        )
+        .bindNow();
+
+    private final RAGFlowProperties properties = new RAGFlowProperties();
+    private final RAGFlowWebClientFactory factory = new RAGFlowWebClientFactory();
+    private final DefaultAsyncWebfluxRAGFlowDatasetClient client =
+        new DefaultAsyncWebfluxRAGFlowDatasetClient(() -> this.properties, this.factory);
+
+    AsyncWebfluxRAGFlowDatasetClientTest() {
+        RAGFlowProperties.Server deployment = new RAGFlowProperties.Server();
+        deployment.setAddress("http://127.0.0.1:" + this.server.port());
+        deployment.setApiKey("ragflow-key");
+        this.properties.getServers().put(DEPLOY_KEY, deployment);
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.factory.close();
+        this.server.disposeNow();
+    }
+
+    @Test
+    void testCreateDataset_sendsNothingBeforeSubscription() {
+        Mono<CreateDatasetDTO> created = this.client.createDataset(this.createContext("Hello-RAGFlow"));
+
+        Assertions.assertEquals(0, this.requests.get());
+
+        CreateDatasetDTO dataset = created.block();
+        Assertions.assertNotNull(dataset);
+        Assertions.assertEquals("dataset-1", dataset.id());
+        Assertions.assertEquals(1, this.requests.get());
+    }
+
+    @Test
+    void testCreateDataset_signalsBusinessError() {
+        Mono<CreateDatasetDTO> created = this.client.createDataset(this.createContext(DUPLICATE));
+
+        RAGFlowException e = Assertions.assertThrows(RAGFlowException.class, created::block);
+        Assertions.assertTrue(e.getMessage().contains(DUPLICATE));
+    }
+
+    @Test
+    void testListDatasets_returnsTheRequestedPage() {
+        List<ListDatasetDTO> datasets = this.client.listDatasets(this.listContext(2)).block();
+
+        Assertions.assertNotNull(datasets);
+        Assertions.assertEquals(List.of("dataset-1", "dataset-2"), this.ids(datasets));
+    }
+
+    @Test
+    void testStreamDatasets_walksEveryPage() {
+        List<ListDatasetDTO> datasets = this.client.streamDatasets(this.listContext(2))
+            .collectList()
+            .block();
+
+        Assertions.assertNotNull(datasets);
+        Assertions.assertEquals(
+            List.of("dataset-1", "dataset-2", "dataset-3", "dataset-4", "dataset-5"),
+            this.ids(datasets)
+        );
+        Assertions.assertEquals(3, this.requests.get());
+    }
+
+    // ----------------------------------------------------------------
+
+    private CreateDatasetContext createContext(String name) {
+        return CreateDatasetContext.builder()
+            .deployKey(DEPLOY_KEY)
+            .payload(CreateDatasetPayload.builder()
+                .name(name)
+                .build())
+            .build();
+    }
+
+    private ListDatasetContext listContext(int pageSize) {
+        return ListDatasetContext.builder()
+            .deployKey(DEPLOY_KEY)
+            .query(ListDatasetQuery.builder()
+                .page(1)
+                .pageSize(pageSize)
+                .build())
+            .build();
+    }
+
+    private List<String> ids(List<ListDatasetDTO> datasets) {
+        return datasets.stream()
+            .map(ListDatasetDTO::id)
+            .collect(Collectors.toList());
+    }
+
+    private Mono<Void> create(HttpServerRequest request, HttpServerResponse response) {
+        this.requests.incrementAndGet();
+
+        return request.receive()
+            .aggregate()
+            .asString()
+            .flatMap(body -> body.contains(DUPLICATE)
+                ? this.json(response, "{\"code\":102,\"message\":\"Dataset name '" + DUPLICATE + "' already exists\"}")
+                : this.json(response, "{\"code\":0,\"data\":{\"id\":\"dataset-1\",\"name\":\"Hello-RAGFlow\"}}"));
+    }
+
+    private Mono<Void> list(HttpServerRequest request, HttpServerResponse response) {
+        this.requests.incrementAndGet();
+
+        QueryStringDecoder decoder = new QueryStringDecoder(request.uri());
+        int page = Integer.parseInt(decoder.parameters().get("page").get(0));
+        int pageSize = Integer.parseInt(decoder.parameters().get("page_size").get(0));
+        String datasets = IntStream.rangeClosed((page - 1) * pageSize + 1, Math.min(page * pageSize, DATASETS))
+            .mapToObj(id -> "{\"id\":\"dataset-" + id + "\"}")
+            .collect(Collectors.joining(",", "[", "]"));
+
+        return this.json(response, "{\"code\":0,\"data\":" + datasets + "}");
+    }
+
+    private Mono<Void> json(HttpServerResponse response, String body) {
+        return response
+            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .sendString(Mono.just(body))
+            .then();
+    }
+}
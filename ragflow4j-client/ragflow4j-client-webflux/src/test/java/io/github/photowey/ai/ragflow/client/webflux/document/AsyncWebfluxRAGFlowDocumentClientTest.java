@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.document;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import io.github.photowey.ai.ragflow.client.webflux.core.download.DownloadRejectedException;
+import io.github.photowey.ai.ragflow.client.webflux.core.download.ErrorDownloadHandle;
+import io.github.photowey.ai.ragflow.client.webflux.core.factory.RAGFlowWebClientFactory;
+import io.github.photowey.ai.ragflow.core.domain.context.document.DownloadDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.context.document.ListDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.context.document.ParseDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.context.document.UploadDocumentContext;
+import io.github.photowey.ai.ragflow.core.domain.download.DownloadHandle;
+import io.github.photowey.ai.ragflow.core.domain.dto.document.ListDocumentDTO;
+import io.github.photowey.ai.ragflow.core.domain.dto.document.ParseDocumentDTO;
+import io.github.photowey.ai.ragflow.core.domain.dto.document.UploadDocumentDTO;
+import io.github.photowey.ai.ragflow.core.domain.payload.document.DownloadDocumentPayload;
+import io.github.photowey.ai.ragflow.core.domain.payload.document.ParseDocumentPayload;
+import io.github.photowey.ai.ragflow.core.domain.payload.document.UploadDocumentPayload;
+import io.github.photowey.ai.ragflow.core.domain.query.document.ListDocumentQuery;
+import io.github.photowey.ai.ragflow.core.exception.RAGFlowException;
+import io.github.photowey.ai.ragflow.core.property.RAGFlowProperties;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerResponse;
+
+/**
+ * {@code AsyncWebfluxRAGFlowDocumentClientTest}.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+class AsyncWebfluxRAGFlowDocumentClientTest {
+
+    private static final String DEPLOY_KEY = "global";
+    private static final String DATASET_ID = "dataset";
+    private static final String CONTENT = "Hello RAGFlow!";
+    private static final String UPLOADED = "{\"code\":0,\"data\":[{\"id\":\"document-1\",\"name\":\"a.txt\"},"
+        + "{\"id\":\"document-2\",\"name\":\"b.txt\"}]}";
+    private static final String LISTED = "{\"code\":0,\"data\":{\"total\":1,\"docs\":[{\"id\":\"document-1\"}]}}";
+    private static final String NOT_OWNED = "{\"code\":102,\"message\":\"You do not own the dataset.\"}";
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final DisposableServer server = HttpServer.create()
+        .host("127.0.0.1")
+        .port(0)
+        .route(routes -> routes
+            .get("/api/v1/datasets/{datasetId}/documents/{documentId}", (request, response) -> {
+                this.requests.incrementAndGet();
+                return this.respond(request.param("documentId"), response);
+            })
+            .post("/api/v1/datasets/{datasetId}/documents", (request, response) -> {
+                this.requests.incrementAndGet();
+                return request.receive().then(this.json(response, UPLOADED));
+            })
+            .get("/api/v1/datasets/{datasetId}/documents", (request, response) -> {
+                this.requests.incrementAndGet();
+                return this.json(response, LISTED);
+            })
+            .post("/api/v1/datasets/{datasetId}/chunks", (request, response) -> {
+                this.requests.incrementAndGet();
+                return request.receive().then(this.json(response, NOT_OWNED));
+            })
+        )
+        .bindNow();
+
+    private final RAGFlowProperties properties = new RAGFlowProperties();
+    private final RAGFlowWebClientFactory factory = new RAGFlowWebClientFactory();
+    private final DefaultAsyncWebfluxRAGFlowDocumentClient client =
+        new DefaultAsyncWebfluxRAGFlowDocumentClient(() -> this.properties, this.factory);
+
+    AsyncWebfluxRAGFlowDocumentClientTest() {
+        RAGFlowProperties.Server deployment = new RAGFlowProperties.Server();
+        deployment.setAddress("http://127.0.0.1:" + this.server.port());
+        deployment.setApiKey("ragflow-key");
+        this.properties.getServers().put(DEPLOY_KEY, deployment);
+    }
+
+    @AfterEach
+    void tearDown() {
+        this.factory.close();
+        this.server.disposeNow();
+    }
+
+    @Test
+    void testUploadDocuments_emitsEveryUploadedDocument() {
+        UploadDocumentPayload payload = UploadDocumentPayload.builder()
+            .documents(List.of(this.document("a.txt"), this.document("b.txt")))
+            .build();
+
+        Flux<UploadDocumentDTO> uploaded = this.client.uploadDocuments(UploadDocumentContext.builder()
+            .deployKey(DEPLOY_KEY)
+            .datasetId(DATASET_ID)
+            .payload(payload)
+            .build());
+
+        Assertions.assertEquals(0, this.requests.get());
+        Assertions.assertEquals(
+            List.of("document-1", "document-2"),
+            uploaded.map(UploadDocumentDTO::getId).collectList().block()
+        );
+        Assertions.assertEquals(1, this.requests.get());
+    }
+
+    @Test
+    void testListDocuments_unwrapsTheListing() {
+        ListDocumentDTO listing = this.client.listDocuments(ListDocumentContext.builder()
+            .deployKey(DEPLOY_KEY)
+            .datasetId(DATASET_ID)
+            .query(ListDocumentQuery.builder().build())
+            .build()).block();
+
+        Assertions.assertNotNull(listing);
+        Assertions.assertEquals(1L, listing.total());
+        Assertions.assertEquals("document-1", listing.documents().get(0).getId());
+    }
+
+    @Test
+    void testParseDocuments_signalsBusinessError() {
+        Mono<ParseDocumentDTO> parsed = this.client.parseDocuments(ParseDocumentContext.builder()
+            .deployKey(DEPLOY_KEY)
+            .datasetId(DATASET_ID)
+            .payload(ParseDocumentPayload.builder()
+                .documentIds(List.of("document-1"))
+                .build())
+            .build());
+
+        Assertions.assertThrows(RAGFlowException.class, parsed::block);
+    }
+
+    @Test
+    void testDownloadDocument_sendsNothingBeforeSubscription() throws Exception {
+        Mono<DownloadHandle> download = this.client.downloadDocument(this.context("file"));
+
+        Assertions.assertEquals(0, this.requests.get());
+
+        try (DownloadHandle handle = download.block(); InputStream in = handle.getInputStream()) {
+            Assertions.assertTrue(handle.getMetadata().determineIsOk());
+            Assertions.assertEquals(CONTENT, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+        Assertions.assertEquals(1, this.requests.get());
+    }
+
+    @Test
+    void testDownloadDocument_turnsRejectedStatusIntoErrorHandle() {
+        DownloadHandle handle = this.client.downloadDocument(this.context("forbidden")).block();
+
+        Assertions.assertInstanceOf(ErrorDownloadHandle.class, handle);
+        Assertions.assertEquals(109, handle.getMetadata().code());
+        Assertions.assertEquals("No authorization.", handle.getMetadata().message());
+        Assertions.assertThrows(IOException.class, handle::getInputStream);
+    }
+
+    @Test
+    void testDownloadDocument_turnsBusinessErrorIntoErrorHandle() {
+        DownloadHandle handle = this.client.downloadDocument(this.context("foreign")).block();
+
+        Assertions.assertInstanceOf(ErrorDownloadHandle.class, handle);
+        Assertions.assertEquals(102, handle.getMetadata().code());
+    }
+
+    @Test
+    void testDownloadDocument_keepsStatusOfNonJsonRejection() {
+        DownloadHandle handle = this.client.downloadDocument(this.context("missing")).block();
+
+        Assertions.assertInstanceOf(ErrorDownloadHandle.class, handle);
+        Assertions.assertEquals(404, handle.getMetadata().code());
+    }
+
+    @Test
+    void testExchangeDocument_signalsRejection() {
+        DownloadRejectedException e = Assertions.assertThrows(
+            DownloadRejectedException.class,
+            () -> this.client.exchangeDocument(this.context("forbidden"), null).block()
+        );
+
+        Assertions.assertEquals(109, e.metadata().code());
+    }
+
+    // ----------------------------------------------------------------
+
+    private DownloadDocumentContext context(String documentId) {
+        return DownloadDocumentContext.builder()
+            .deployKey(DEPLOY_KEY)
+            .datasetId(DATASET_ID)
+            .payload(DownloadDocumentPayload.builder()
+                .documentId(documentId)
+                .build())
+            .build();
+    }
+
+    private UploadDocumentPayload.Document document(String name) {
+        return UploadDocumentPayload.Document.builder()
+            .name(name)
+            .originalName(name)
+            .data(CONTENT.getBytes(StandardCharsets.UTF_8))
+            .build();
+    }
+
+    private Mono<Void> respond(String documentId, HttpServerResponse response) {
+        switch (documentId) {
+            case "forbidden":
+                return this.json(response.status(403), "{\"code\":109,\"message\":\"No authorization.\"}");
+            case "foreign":
+                return this.json(response, "{\"code\":102,\"message\":\"You do not own the dataset.\"}");
+            case "missing":
+                return response.status(404)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.TEXT_PLAIN_VALUE)
+                    .sendString(Mono.just("Not Found"))
+                    .then();
+            default:
+                return response
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_OCTET_STREAM_VALUE)
+                    .sendString(Mono.just(CONTENT))
+                    .then();
+        }
+    }
+
+    private Mono<Void> json(HttpServerResponse response, String body) {
+        return response
+            .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .sendString(Mono.just(body))
+            .then();
+    }
+}
@@ -26,6 +26,8 @@ public interface MessageConstants {
 
     String UNKNOWN_ERROR = "Unknown Error.";
     String RAGFLOW_DEPLOYMENT_KEY_INVALID = "The deploy key(%s) is invalid.";
+    String RAGFLOW_CIRCUIT_BREAKER_OPEN = "The deployment(%s) is unavailable, calls are rejected for %sms.";
+    String RAGFLOW_CONCURRENCY_LIMIT_EXCEEDED = "The deployment(%s) is saturated, all %s in-flight calls are taken.";
     String CREATE_DATASET_FAILED = "Failed to create dataset(%s): ";
     String DELETE_DATASET_FAILED = "Failed to delete datasets(%s): ";
     String UPDATE_DATASET_FAILED = "Failed to update dataset(%s): ";
@@ -36,14 +38,22 @@ public interface MessageConstants {
     // ----------------------------------------------------------------
 
     String UPLOAD_DOCUMENT_DOCUMENT_LIST_EMPTY = "Documents must not be empty";
+    String UPLOAD_DOCUMENT_SOURCE_EMPTY = "The content of document(%s) must not be empty";
     String UPLOAD_DOCUMENTS_FAILED = "Failed to upload documents: ";
+    String UPLOAD_DOCUMENTS_MISMATCHED = "The upload results do not match the uploaded documents";
     String UPDATE_DOCUMENT_FAILED = "Failed to update document: ";
     String LIST_DOCUMENTS_FAILED = "Failed to list documents: ";
     String DELETE_DOCUMENTS_FAILED = "Failed to delete documents: ";
     String PARSE_DOCUMENTS_FAILED = "Failed to parse documents: ";
+    String PARSE_DOCUMENTS_TIMEOUT = "The document(%s) did not finish parsing within %s";
+    String PARSE_DOCUMENT_NOT_DONE = "The document(%s) finished parsing as %s: %s";
     String STOP_PARSING_DOCUMENTS_FAILED = "Failed to stop parsing documents: ";
 
     // ----------------------------------------------------------------
 
     String POLLING_PARSING_STATUS_FAILED = "The document ID (%s) is invalid.";
+    String WATCH_DOCUMENT_IDS_EMPTY = "Document IDs must not be empty";
+    String WATCH_DOCUMENT_NOT_FOUND = "The document(%s) no longer exists";
+    String SUPERVISE_DOCUMENT_IDS_EMPTY = "Document IDs must not be empty";
+    String SCHEDULE_DOCUMENT_IDS_EMPTY = "Document IDs must not be empty";
 }
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.core.domain.context.document;
+
+import java.util.Objects;
+
+import io.github.photowey.ai.ragflow.core.constant.RAGFlowConstants;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Upload a large list of documents with several multipart requests.
+ *
+ * <p>
+ * The documents are packed into sub-batches of at most {@code maxBatchBytes} bytes and {@code maxBatchFiles}
+ * files, a document larger than the byte budget or of unknown length is sent alone. Up to {@code parallelism}
+ * sub-batches are uploaded concurrently and a failed sub-batch is retried on its own, up to {@code maxRetries}
+ * times, as long as every source in it is repeatable.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+@Data
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@Accessors(fluent = true)
+@EqualsAndHashCode(callSuper = true)
+public class BatchUploadDocumentContext extends UploadDocumentContext {
+
+    private static final long serialVersionUID = 2458154127613357624L;
+
+    private static final long DEFAULT_MAX_BATCH_BYTES = 64L * RAGFlowConstants.Bytes.MB;
+    private static final int DEFAULT_MAX_BATCH_FILES = 32;
+    private static final int DEFAULT_PARALLELISM = 4;
+    private static final int DEFAULT_MAX_RETRIES = 2;
+
+    /**
+     * The byte budget of a single multipart request.
+     */
+    private Long maxBatchBytes;
+    /**
+     * The file budget of a single multipart request.
+     */
+    private Integer maxBatchFiles;
+    /**
+     * The maximum number of sub-batches uploaded concurrently by this upload.
+     */
+    private Integer parallelism;
+    /**
+     * The maximum number of retries of a single sub-batch.
+     */
+    private Integer maxRetries;
+
+    // ----------------------------------------------------------------
+
+    public long determineMaxBatchBytes() {
+        if (Objects.isNull(this.maxBatchBytes) || this.maxBatchBytes <= 0) {
+            return DEFAULT_MAX_BATCH_BYTES;
+        }
+
+        return this.maxBatchBytes;
+    }
+
+    public int determineMaxBatchFiles() {
+        if (Objects.isNull(this.maxBatchFiles) || this.maxBatchFiles <= 0) {
+            return DEFAULT_MAX_BATCH_FILES;
+        }
+
+        return this.maxBatchFiles;
+    }
+
+    public int determineParallelism() {
+        if (Objects.isNull(this.parallelism) || this.parallelism <= 0) {
+            return DEFAULT_PARALLELISM;
+        }
+
+        return this.parallelism;
+    }
+
+    public int determineMaxRetries() {
+        if (Objects.isNull(this.maxRetries) || this.maxRetries < 0) {
+            return DEFAULT_MAX_RETRIES;
+        }
+
+        return this.maxRetries;
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.core.domain.context.document;
+
+import java.time.Duration;
+import java.util.Objects;
+
+import io.github.photowey.ai.ragflow.core.domain.context.AbstractContext;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Upload, parse and await a stream of documents.
+ *
+ * <p>
+ * The three stages run concurrently: documents are uploaded in groups of at most {@code uploadBatchFiles},
+ * {@code uploadParallelism} groups at a time, the returned ids are gathered into parse calls of at most
+ * {@code parseBatchSize} ids, {@code parseParallelism} calls at a time, and every parsed document is watched
+ * until it is {@code DONE}, {@code FAIL} or {@code CANCEL}, at most {@code parseTimeoutMillis}. A partial group
+ * is flushed once it waited {@code lingerMillis}.
+ * Durations are expressed in milliseconds.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+@Data
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@Accessors(fluent = true)
+@EqualsAndHashCode(callSuper = true)
+public class IngestDocumentContext extends AbstractContext {
+
+    private static final long serialVersionUID = -3148226590173354411L;
+
+    private static final int DEFAULT_UPLOAD_BATCH_FILES = 8;
+    private static final int DEFAULT_UPLOAD_PARALLELISM = 2;
+    private static final int DEFAULT_PARSE_BATCH_SIZE = 32;
+    private static final int DEFAULT_PARSE_PARALLELISM = 2;
+    private static final long DEFAULT_LINGER = 500L;
+    private static final long DEFAULT_PARSE_TIMEOUT = 30 * 60_000L;
+
+    /**
+     * The maximum number of documents of a single upload request.
+     */
+    private Integer uploadBatchFiles;
+    /**
+     * The maximum number of upload requests in flight.
+     */
+    private Integer uploadParallelism;
+    /**
+     * The maximum number of ids of a single parse request.
+     */
+    private Integer parseBatchSize;
+    /**
+     * The maximum number of parse requests in flight.
+     */
+    private Integer parseParallelism;
+    /**
+     * The maximum time a partial upload or parse group waits for more documents.
+     */
+    private Long lingerMillis;
+    /**
+     * The maximum time a document may take to parse once submitted.
+     */
+    private Long parseTimeoutMillis;
+
+    // ----------------------------------------------------------------
+
+    public int determineUploadBatchFiles() {
+        return positiveOrDefault(this.uploadBatchFiles, DEFAULT_UPLOAD_BATCH_FILES);
+    }
+
+    public int determineUploadParallelism() {
+        return positiveOrDefault(this.uploadParallelism, DEFAULT_UPLOAD_PARALLELISM);
+    }
+
+    public int determineParseBatchSize() {
+        return positiveOrDefault(this.parseBatchSize, DEFAULT_PARSE_BATCH_SIZE);
+    }
+
+    public int determineParseParallelism() {
+        return positiveOrDefault(this.parseParallelism, DEFAULT_PARSE_PARALLELISM);
+    }
+
+    public Duration determineLinger() {
+        return Duration.ofMillis(positiveOrDefault(this.lingerMillis, DEFAULT_LINGER));
+    }
+
+    public Duration determineParseTimeout() {
+        return Duration.ofMillis(positiveOrDefault(this.parseTimeoutMillis, DEFAULT_PARSE_TIMEOUT));
+    }
+
+    // ----------------------------------------------------------------
+
+    private static int positiveOrDefault(Integer value, int defaultValue) {
+        return Objects.isNull(value) || value <= 0 ? defaultValue : value;
+    }
+
+    private static long positiveOrDefault(Long value, long defaultValue) {
+        return Objects.isNull(value) || value <= 0 ? defaultValue : value;
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.core.domain.context.document;
+
+import java.nio.file.Path;
+import java.util.Objects;
+
+import jakarta.validation.constraints.NotNull;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Download a document into a local file with parallel HTTP range requests.
+ *
+ * <p>
+ * The file is split into {@code segmentSize} byte segments fetched by up to {@code parallelism}
+ * concurrent requests. Completed segments are checkpointed next to the target, so a failed download
+ * resumes from the last completed segment when it is started again with the same target.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+@Data
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@Accessors(fluent = true)
+@EqualsAndHashCode(callSuper = true)
+public class RangedDownloadDocumentContext extends DownloadDocumentContext {
+
+    private static final long serialVersionUID = -2375402166370734931L;
+
+    private static final long DEFAULT_SEGMENT_SIZE = 8L * 1024 * 1024;
+    private static final int DEFAULT_PARALLELISM = 4;
+    private static final int DEFAULT_MAX_RETRIES = 3;
+
+    @NotNull(message = "Target must not be null")
+    private transient Path target;
+
+    /**
+     * The size of a single range request, in bytes.
+     */
+    private Long segmentSize;
+    /**
+     * The maximum number of segments fetched concurrently.
+     */
+    private Integer parallelism;
+    /**
+     * The maximum number of retries of a single segment.
+     */
+    private Integer maxRetries;
+
+    // ----------------------------------------------------------------
+
+    public long determineSegmentSize() {
+        if (Objects.isNull(this.segmentSize) || this.segmentSize <= 0) {
+            return DEFAULT_SEGMENT_SIZE;
+        }
+
+        return this.segmentSize;
+    }
+
+    public int determineParallelism() {
+        if (Objects.isNull(this.parallelism) || this.parallelism <= 0) {
+            return DEFAULT_PARALLELISM;
+        }
+
+        return this.parallelism;
+    }
+
+    public int determineMaxRetries() {
+        if (Objects.isNull(this.maxRetries) || this.maxRetries < 0) {
+            return DEFAULT_MAX_RETRIES;
+        }
+
+        return this.maxRetries;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.core.domain.context.document;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+
+import jakarta.validation.constraints.NotEmpty;
+
+import io.github.photowey.ai.ragflow.core.domain.context.AbstractContext;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Supervise the parsing of documents and restart the ones that stall.
+ *
+ * <p>
+ * A document stalls when it stays {@code RUNNING} with the same progress for {@code stallWindowMillis} while
+ * its {@code process_duration} keeps growing. It is then stopped and parsed again, at most
+ * {@code maxReparses} times, after which it is stopped for good.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+@Data
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@Accessors(fluent = true)
+@EqualsAndHashCode(callSuper = true)
+public class SuperviseParsingContext extends AbstractContext {
+
+    private static final long serialVersionUID = 7350926128470316835L;
+
+    private static final long DEFAULT_STALL_WINDOW = 10 * 60_000L;
+    private static final int DEFAULT_MAX_REPARSES = 2;
+
+    @NotEmpty(message = "Document IDs must not be empty")
+    private List<String> documentIds;
+    /**
+     * The time without progress after which a running document is considered stalled.
+     */
+    private Long stallWindowMillis;
+    /**
+     * The maximum number of times a stalled document is parsed again.
+     */
+    private Integer maxReparses;
+
+    // ----------------------------------------------------------------
+
+    public Duration determineStallWindow() {
+        if (Objects.isNull(this.stallWindowMillis) || this.stallWindowMillis <= 0) {
+            return Duration.ofMillis(DEFAULT_STALL_WINDOW);
+        }
+
+        return Duration.ofMillis(this.stallWindowMillis);
+    }
+
+    public int determineMaxReparses() {
+        if (Objects.isNull(this.maxReparses) || this.maxReparses < 0) {
+            return DEFAULT_MAX_REPARSES;
+        }
+
+        return this.maxReparses;
+    }
+}
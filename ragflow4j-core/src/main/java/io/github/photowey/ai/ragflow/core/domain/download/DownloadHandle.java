@@ -19,13 +19,23 @@ import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
 
 /**
  * Represents a handle to a downloaded document, providing access to its metadata and content.
  *
  * <p>
- * This interface is designed for **one-time consumption only**: either {@link #getInputStream()}
- * or {@link #writeTo(OutputStream)} may be called **once and only once** per instance.
+ * This interface is designed for **one-time consumption only**: either {@link #getInputStream()},
+ * {@link #writeTo(OutputStream)} or one of the {@code transferTo} methods may be called
+ * **once and only once** per instance.
  * Subsequent calls will result in undefined behavior (e.g., duplicate HTTP requests,
  * stream already consumed errors, or exceptions depending on the implementation).
  *
@@ -111,12 +121,72 @@ public interface DownloadHandle extends AutoCloseable {
      */
     void writeTo(OutputStream out) throws IOException;
 
+    /**
+     * Writes the downloaded content to the given file.
+     *
+     * <p>
+     * Without options the file is created or truncated, as with {@link java.nio.file.Files#newOutputStream(Path,
+     * OpenOption...)}. {@link StandardOpenOption#WRITE} is always implied. The default implementation delegates
+     * to {@link #transferTo(WritableByteChannel)}, implementations backed by a reactive stream are expected to
+     * write the received buffers straight into the file instead.
+     *
+     * @param target  the destination file; must not be {@code null}
+     * @param options the options specifying how the file is opened
+     * @return the number of bytes written
+     * @throws IOException           if an I/O error occurs during writing
+     * @throws IllegalStateException if this handle has already been consumed
+     */
+    default long transferTo(Path target, OpenOption... options) throws IOException {
+        Set<OpenOption> openOptions = new HashSet<>(Arrays.asList(options));
+        if (openOptions.isEmpty()) {
+            openOptions.add(StandardOpenOption.CREATE);
+            openOptions.add(StandardOpenOption.TRUNCATE_EXISTING);
+        }
+        openOptions.add(StandardOpenOption.WRITE);
+
+        try (FileChannel channel = FileChannel.open(target, openOptions)) {
+            return this.transferTo(channel);
+        }
+    }
+
+    /**
+     * Writes the downloaded content to the given channel.
+     *
+     * <p>
+     * <strong>Note:</strong> The provided channel is <em>not</em> closed by this method.
+     *
+     * @param channel the destination channel; must not be {@code null}
+     * @return the number of bytes written
+     * @throws IOException           if an I/O error occurs during writing
+     * @throws IllegalStateException if this handle has already been consumed
+     */
+    default long transferTo(WritableByteChannel channel) throws IOException {
+        long[] written = new long[1];
+        OutputStream out = Channels.newOutputStream(channel);
+        this.writeTo(new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                out.write(b);
+                written[0]++;
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                out.write(b, off, len);
+                written[0] += len;
+            }
+        });
+
+        return written[0];
+    }
+
     /**
      * Closes this handle and releases any associated resources.
      *
      * <p>
      * The default implementation is a no-op, as actual resource management is tied to
-     * the consumption of the content stream (via {@link #getInputStream()} or {@link #writeTo(OutputStream)}).
+     * the consumption of the content stream (via {@link #getInputStream()}, {@link #writeTo(OutputStream)}
+     * or {@code transferTo}).
      * Subclasses may override this method if additional cleanup is required.
      *
      * @throws Exception if an error occurs during closing
@@ -0,0 +1,70 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.core.domain.download;
+
+import java.io.Serializable;
+import java.nio.file.Path;
+import java.util.Objects;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+/**
+ * The outcome of a document downloaded into a local file.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Accessors(fluent = true)
+public class DownloadResult implements Serializable {
+
+    private static final long serialVersionUID = -6316360707335005658L;
+
+    private DownloadMetadata metadata;
+    private transient Path target;
+
+    /**
+     * The size of the downloaded file.
+     */
+    private long bytes;
+    /**
+     * Whether the server honoured range requests, {@code false} means it fell back to a single stream.
+     */
+    private boolean ranged;
+    private int segments;
+    /**
+     * The number of segments restored from a previous, interrupted download.
+     */
+    private int resumedSegments;
+
+    // ----------------------------------------------------------------
+
+    public boolean determineIsOk() {
+        if (Objects.isNull(this.metadata)) {
+            return false;
+        }
+
+        return this.metadata.determineIsOk();
+    }
+}
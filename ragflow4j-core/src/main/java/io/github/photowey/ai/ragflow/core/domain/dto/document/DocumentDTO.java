@@ -142,4 +142,32 @@ public class DocumentDTO extends MetadataDTO implements Serializable {
 
         return "DONE".equalsIgnoreCase(run) || "3".equals(run);
     }
+
+    public boolean determineParseIsRunning() {
+        if (Objects.isNull(run)) {
+            return false;
+        }
+
+        return "RUNNING".equalsIgnoreCase(run) || "1".equals(run);
+    }
+
+    public boolean determineParseIsFailed() {
+        if (Objects.isNull(run)) {
+            return false;
+        }
+
+        return "FAIL".equalsIgnoreCase(run) || "4".equals(run);
+    }
+
+    public boolean determineParseIsCancelled() {
+        if (Objects.isNull(run)) {
+            return false;
+        }
+
+        return "CANCEL".equalsIgnoreCase(run) || "2".equals(run);
+    }
+
+    public boolean determineParseIsFinished() {
+        return this.determineParseIsDone() || this.determineParseIsFailed() || this.determineParseIsCancelled();
+    }
 }
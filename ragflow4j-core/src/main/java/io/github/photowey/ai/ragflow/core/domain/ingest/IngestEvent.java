@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.core.domain.ingest;
+
+import java.io.Serializable;
+import java.time.Duration;
+
+import io.github.photowey.ai.ragflow.core.domain.dto.document.DocumentDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+/**
+ * The completion of a single document of an ingestion.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Accessors(fluent = true)
+public class IngestEvent implements Serializable {
+
+    private static final long serialVersionUID = 1937458320917446672L;
+
+    /**
+     * The position of the document in the input stream.
+     */
+    private long index;
+    private String originalName;
+    /**
+     * {@literal }@Nullable, the document failed before being uploaded.
+     */
+    private String documentId;
+    private Status status;
+    /**
+     * {@literal }@Nullable, the error or the last progress message reported by the server.
+     */
+    private String message;
+    /**
+     * {@literal }@Nullable, the last state listed by the server.
+     */
+    private DocumentDTO document;
+    /**
+     * The time from the document being accepted to its upload completing.
+     */
+    private Duration uploadTime;
+    /**
+     * {@literal }@Nullable, the time from the parse request to the final status.
+     */
+    private Duration parseTime;
+    /**
+     * The time from the document being accepted to this event.
+     */
+    private Duration totalTime;
+
+    // ----------------------------------------------------------------
+
+    public boolean determineIsDone() {
+        return Status.DONE == this.status;
+    }
+
+    // ----------------------------------------------------------------
+
+    /**
+     * The final status of an ingested document.
+     */
+    public enum Status {
+
+        /**
+         * Parsed, the document is searchable.
+         */
+        DONE,
+        /**
+         * The upload, the parse request or the parsing failed, or the parsing timed out.
+         */
+        FAIL,
+        /**
+         * The parsing was cancelled.
+         */
+        CANCEL
+    }
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.core.domain.limit;
+
+import java.io.Serializable;
+import java.time.Duration;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+/**
+ * A snapshot of the adaptive concurrency limit of a deployment.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Accessors(fluent = true)
+public class LimitMetrics implements Serializable {
+
+    private static final long serialVersionUID = -3412867502935178446L;
+
+    private String deployKey;
+    /**
+     * The number of in-flight calls currently allowed.
+     */
+    private int limit;
+    private int inflight;
+    private int queued;
+    /**
+     * {@literal }@Nullable, the latency of the deployment without load, the baseline of the limit.
+     */
+    private Duration noLoadLatency;
+    /**
+     * The number of calls rejected so far.
+     */
+    private long rejected;
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.core.domain.parsing;
+
+import java.io.Serializable;
+import java.time.Duration;
+import java.util.Objects;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+/**
+ * The admission of a scheduled document, once a running slot of its deployment was free.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Accessors(fluent = true)
+public class ParseAdmission implements Serializable {
+
+    private static final long serialVersionUID = 2947019385529634170L;
+
+    private String datasetId;
+    private String documentId;
+    /**
+     * The time the document waited in the queue of its deployment.
+     */
+    private Duration queued;
+    /**
+     * {@literal }@Nullable, the error of the failed parse request, the document was not admitted.
+     */
+    private String message;
+
+    // ----------------------------------------------------------------
+
+    public boolean determineIsAdmitted() {
+        return Objects.isNull(this.message);
+    }
+}
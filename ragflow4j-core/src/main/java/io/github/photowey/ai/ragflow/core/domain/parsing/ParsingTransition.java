@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.core.domain.parsing;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Objects;
+
+import io.github.photowey.ai.ragflow.core.domain.dto.document.DocumentDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+/**
+ * A change of the parsing state of a watched document.
+ *
+ * <p>
+ * Emitted the first time a document is observed, then whenever its {@code run} status, progress or progress
+ * message changes. The last transition of a document is {@link #finished()}.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Accessors(fluent = true)
+public class ParsingTransition implements Serializable {
+
+    private static final long serialVersionUID = 3591874016672930485L;
+
+    private String datasetId;
+    private String documentId;
+    /**
+     * {@literal }@Nullable, the status before this transition, {@code null} on the first observation.
+     */
+    private String previousRun;
+    /**
+     * {@literal }@Nullable, the status after this transition, {@code null} if the document no longer exists.
+     */
+    private String run;
+    private BigDecimal progress;
+    private String progressMessage;
+    private BigDecimal processDuration;
+    /**
+     * Whether the document reached a final status or disappeared, no transition follows.
+     */
+    private boolean finished;
+    /**
+     * {@literal }@Nullable, the listed document, {@code null} if it no longer exists.
+     */
+    private DocumentDTO document;
+
+    // ----------------------------------------------------------------
+
+    public boolean determineIsDone() {
+        return Objects.nonNull(this.document) && this.document.determineParseIsDone();
+    }
+
+    public boolean determineIsFailed() {
+        return this.finished && !this.determineIsDone() && !this.determineIsCancelled();
+    }
+
+    public boolean determineIsCancelled() {
+        return Objects.nonNull(this.document) && this.document.determineParseIsCancelled();
+    }
+
+    // ----------------------------------------------------------------
+
+    public static ParsingTransition of(String datasetId, String documentId, String previousRun, DocumentDTO document) {
+        if (Objects.isNull(document)) {
+            return ParsingTransition.builder()
+                .datasetId(datasetId)
+                .documentId(documentId)
+                .previousRun(previousRun)
+                .finished(true)
+                .build();
+        }
+
+        return ParsingTransition.builder()
+            .datasetId(datasetId)
+            .documentId(documentId)
+            .previousRun(previousRun)
+            .run(document.getRun())
+            .progress(document.getProgress())
+            .progressMessage(document.getProgressMessage())
+            .processDuration(document.getProcessDuration())
+            .finished(document.determineParseIsFinished())
+            .document(document)
+            .build();
+    }
+}
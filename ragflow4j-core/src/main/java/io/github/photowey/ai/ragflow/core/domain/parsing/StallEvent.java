@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.core.domain.parsing;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.Duration;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+/**
+ * An action of the stall detector on a supervised document.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Accessors(fluent = true)
+public class StallEvent implements Serializable {
+
+    private static final long serialVersionUID = -1265183047390628711L;
+
+    private String datasetId;
+    private String documentId;
+    private Type type;
+    /**
+     * The number of times the document was parsed again so far.
+     */
+    private int reparses;
+    private BigDecimal progress;
+    private BigDecimal processDuration;
+    /**
+     * The time since the last progress of the document.
+     */
+    private Duration stalledFor;
+    /**
+     * {@literal }@Nullable, the error of a failed stop or parse request.
+     */
+    private String message;
+
+    // ----------------------------------------------------------------
+
+    /**
+     * The kind of action.
+     */
+    public enum Type {
+
+        /**
+         * The document made no progress during the stall window.
+         */
+        STALLED,
+        /**
+         * The parsing of the stalled document was stopped.
+         */
+        STOPPED,
+        /**
+         * The stalled document was submitted for parsing again.
+         */
+        REPARSED,
+        /**
+         * The document stalled once more after its last allowed reparse, it was stopped and is no longer
+         * supervised.
+         */
+        EXHAUSTED,
+        /**
+         * A stop or parse request failed, the document stays supervised.
+         */
+        FAILED
+    }
+}
@@ -17,12 +17,16 @@ package io.github.photowey.ai.ragflow.core.domain.payload.document;
 
 import java.io.Serializable;
 import java.util.List;
+import java.util.Objects;
 
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 
+import io.github.photowey.ai.ragflow.core.constant.MessageConstants;
 import io.github.photowey.ai.ragflow.core.domain.payload.AbstractPayload;
+import io.github.photowey.ai.ragflow.core.domain.upload.DocumentSource;
+import io.github.photowey.ai.ragflow.core.exception.RAGFlowException;
 
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -53,6 +57,14 @@ public class UploadDocumentPayload extends AbstractPayload {
     @NotEmpty(message = "Documents must not be empty")
     private List<Document> documents;
 
+    /**
+     * A document to upload.
+     *
+     * <p>
+     * The content is either held in {@code data} or streamed from a {@link DocumentSource}
+     * ({@code Path}, {@code InputStream}, ...), the latter keeps the heap used by an upload
+     * independent of the document size. The {@code source} wins when both are set.
+     */
     @Data
     @Builder
     @NoArgsConstructor
@@ -67,7 +79,20 @@ public class UploadDocumentPayload extends AbstractPayload {
 
         @NotBlank(message = "Document original name must not be blank")
         private String originalName;
-        @NotEmpty(message = "Document data must not be empty")
         private byte[] data;
+        private transient DocumentSource source;
+
+        // ----------------------------------------------------------------
+
+        public DocumentSource determineSource() {
+            if (Objects.nonNull(this.source)) {
+                return this.source;
+            }
+            if (Objects.isNull(this.data) || this.data.length == 0) {
+                throw new RAGFlowException(MessageConstants.UPLOAD_DOCUMENT_SOURCE_EMPTY, this.originalName);
+            }
+
+            return DocumentSource.of(this.data);
+        }
     }
 }
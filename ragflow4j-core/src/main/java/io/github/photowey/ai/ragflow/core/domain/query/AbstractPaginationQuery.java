@@ -16,6 +16,7 @@
 package io.github.photowey.ai.ragflow.core.domain.query;
 
 import java.io.Serializable;
+import java.util.Objects;
 
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.PositiveOrZero;
@@ -34,7 +35,7 @@ import lombok.experimental.SuperBuilder;
  * @since 2025/11/26
  */
 @Data
-@SuperBuilder
+@SuperBuilder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(callSuper = true)
@@ -42,6 +43,9 @@ public abstract class AbstractPaginationQuery extends AbstractQuery implements S
 
     private static final long serialVersionUID = 1L;
 
+    private static final int DEFAULT_PAGE = 1;
+    private static final int DEFAULT_PAGE_SIZE = 30;
+
     @Min(1)
     protected Integer page = 1;
 
@@ -52,4 +56,22 @@ public abstract class AbstractPaginationQuery extends AbstractQuery implements S
     protected String orderby;
 
     protected Boolean desc = true;
+
+    // ----------------------------------------------------------------
+
+    public int determinePage() {
+        if (Objects.isNull(this.page) || this.page < 1) {
+            return DEFAULT_PAGE;
+        }
+
+        return this.page;
+    }
+
+    public int determinePageSize() {
+        if (Objects.isNull(this.pageSize) || this.pageSize < 1) {
+            return DEFAULT_PAGE_SIZE;
+        }
+
+        return this.pageSize;
+    }
 }
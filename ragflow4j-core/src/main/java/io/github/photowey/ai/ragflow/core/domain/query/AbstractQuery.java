@@ -31,7 +31,7 @@ import lombok.experimental.SuperBuilder;
  * @since 2025/11/26
  */
 @Data
-@SuperBuilder
+@SuperBuilder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public abstract class AbstractQuery implements Serializable {
@@ -30,7 +30,7 @@ import lombok.experimental.SuperBuilder;
  * @since 2025/11/26
  */
 @Data
-@SuperBuilder
+@SuperBuilder(toBuilder = true)
 @EqualsAndHashCode(callSuper = true)
 public class ListDatasetQuery extends AbstractPaginationQuery {
 
@@ -35,7 +35,7 @@ import lombok.experimental.SuperBuilder;
  * @since 2025/11/26
  */
 @Data
-@SuperBuilder
+@SuperBuilder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @EqualsAndHashCode(callSuper = true)
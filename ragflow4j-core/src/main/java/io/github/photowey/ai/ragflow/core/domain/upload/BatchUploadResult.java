@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.core.domain.upload;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import io.github.photowey.ai.ragflow.core.domain.dto.document.UploadDocumentDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+/**
+ * The outcome of a batch upload.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Accessors(fluent = true)
+public class BatchUploadResult implements Serializable {
+
+    private static final long serialVersionUID = 8203197417826911365L;
+
+    /**
+     * The uploaded documents, in the order of the input documents.
+     */
+    private List<UploadDocumentDTO> documents;
+    /**
+     * The documents whose sub-batch failed for good, in the order of the input documents.
+     */
+    private List<UploadFailure> failures;
+    /**
+     * The number of multipart requests the documents were packed into.
+     */
+    private int batches;
+    /**
+     * The number of sub-batch retries.
+     */
+    private int retries;
+
+    // ----------------------------------------------------------------
+
+    public List<UploadDocumentDTO> documents() {
+        return Objects.nonNull(this.documents) ? this.documents : Collections.emptyList();
+    }
+
+    public List<UploadFailure> failures() {
+        return Objects.nonNull(this.failures) ? this.failures : Collections.emptyList();
+    }
+
+    public boolean determineIsOk() {
+        return this.failures().isEmpty();
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.core.domain.upload;
+
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import io.github.photowey.ai.ragflow.core.domain.dto.document.UploadDocumentDTO;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.experimental.Accessors;
+
+/**
+ * The outcome of a deduplicated upload.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Accessors(fluent = true)
+public class DedupUploadResult implements Serializable {
+
+    private static final long serialVersionUID = -1405357206452713017L;
+
+    /**
+     * The uploaded documents, new and replacing ones, in the order of the input documents.
+     */
+    private List<UploadDocumentDTO> uploaded;
+    /**
+     * The original names of the documents whose content is already in the dataset.
+     */
+    private List<String> skipped;
+    /**
+     * The ids of the remote documents deleted because a changed version replaced them.
+     */
+    private List<String> replaced;
+    private List<UploadFailure> failures;
+
+    // ----------------------------------------------------------------
+
+    public List<UploadDocumentDTO> uploaded() {
+        return Objects.nonNull(this.uploaded) ? this.uploaded : Collections.emptyList();
+    }
+
+    public List<String> skipped() {
+        return Objects.nonNull(this.skipped) ? this.skipped : Collections.emptyList();
+    }
+
+    public List<String> replaced() {
+        return Objects.nonNull(this.replaced) ? this.replaced : Collections.emptyList();
+    }
+
+    public List<UploadFailure> failures() {
+        return Objects.nonNull(this.failures) ? this.failures : Collections.emptyList();
+    }
+
+    public boolean determineIsOk() {
+        return this.failures().isEmpty();
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.core.domain.upload;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.function.Supplier;
+
+/**
+ * The content of a document to upload.
+ *
+ * <p>
+ * A source is read while the multipart request is being written, so only the buffers in flight are held
+ * in memory whatever the size of the document. A {@link #repeatable() repeatable} source can be read again,
+ * which allows a failed upload to be retried.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+public interface DocumentSource {
+
+    long UNKNOWN_LENGTH = -1L;
+
+    /**
+     * The content length in bytes.
+     *
+     * @return the content length, or {@link #UNKNOWN_LENGTH} if not known up front
+     */
+    long contentLength();
+
+    /**
+     * Whether the content can be read more than once.
+     *
+     * @return {@code true} if the source can be read again
+     */
+    default boolean repeatable() {
+        return true;
+    }
+
+    // ----------------------------------------------------------------
+
+    static DocumentSource of(byte[] data) {
+        return new ByteArrayDocumentSource(data);
+    }
+
+    static DocumentSource of(Path path) {
+        return new PathDocumentSource(path);
+    }
+
+    /**
+     * A source opening a new {@link InputStream} for every read.
+     *
+     * @param opener        opens the content, the stream is closed once read
+     * @param contentLength the content length, or {@link #UNKNOWN_LENGTH}
+     * @return the document source
+     */
+    static DocumentSource of(Supplier<InputStream> opener, long contentLength) {
+        return new InputStreamDocumentSource(opener, contentLength);
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.core.domain.upload;
+
+import java.io.InputStream;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * {@code InputStreamDocumentSource}.
+ *
+ * <p>
+ * Every read opens a new stream through the opener and closes it once drained.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+public final class InputStreamDocumentSource implements DocumentSource {
+
+    private final Supplier<InputStream> opener;
+    private final long contentLength;
+
+    public InputStreamDocumentSource(Supplier<InputStream> opener, long contentLength) {
+        this.opener = Objects.requireNonNull(opener, "opener");
+        this.contentLength = contentLength < 0 ? UNKNOWN_LENGTH : contentLength;
+    }
+
+    @Override
+    public long contentLength() {
+        return contentLength;
+    }
+
+    public InputStream open() {
+        return this.opener.get();
+    }
+}
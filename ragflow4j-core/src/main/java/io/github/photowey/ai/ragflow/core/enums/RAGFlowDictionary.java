@@ -1555,6 +1555,15 @@ public enum RAGFlowDictionary {
         public String method() {
             return method;
         }
+
+        /**
+         * Whether sending the request twice has the effect of sending it once, {@code GET}, {@code PUT} and
+         * {@code DELETE} endpoints are, {@code POST} endpoints are not unless they only read, like
+         * {@link #RETRIEVE_CHUNKS}.
+         */
+        public boolean idempotent() {
+            return !"POST".equalsIgnoreCase(this.method) || this == RETRIEVE_CHUNKS;
+        }
     }
 
 }
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.core.exception;
+
+import java.time.Duration;
+
+import io.github.photowey.ai.ragflow.core.constant.MessageConstants;
+
+/**
+ * Signals that a call was rejected without reaching the server, the circuit breaker of its deployment is open.
+ *
+ * <p>
+ * It is raised for every rejected call, so it carries no stack trace.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+public class CircuitBreakerOpenException extends RAGFlowException {
+
+    private static final long serialVersionUID = -2830419651127393516L;
+
+    private final String deployKey;
+    private final Duration retryAfter;
+
+    public CircuitBreakerOpenException(String deployKey, Duration retryAfter) {
+        super(
+            null,
+            MessageConstants.RAGFLOW_CIRCUIT_BREAKER_OPEN,
+            false,
+            false,
+            new Object[] {deployKey, retryAfter.toMillis()}
+        );
+        this.deployKey = deployKey;
+        this.retryAfter = retryAfter;
+    }
+
+    public String deployKey() {
+        return deployKey;
+    }
+
+    /**
+     * The time left before the deployment is probed again, zero while a probe is in flight.
+     */
+    public Duration retryAfter() {
+        return retryAfter;
+    }
+}
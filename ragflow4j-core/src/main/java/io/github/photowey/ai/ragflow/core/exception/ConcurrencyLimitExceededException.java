@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.core.exception;
+
+import io.github.photowey.ai.ragflow.core.constant.MessageConstants;
+
+/**
+ * Signals that a call was rejected without reaching the server, the adaptive concurrency limit of its deployment
+ * was reached and the call could not wait for a free slot.
+ *
+ * <p>
+ * It is raised for every rejected call, so it carries no stack trace.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+public class ConcurrencyLimitExceededException extends RAGFlowException {
+
+    private static final long serialVersionUID = 6105936224817470953L;
+
+    private final String deployKey;
+    private final int limit;
+
+    public ConcurrencyLimitExceededException(String deployKey, int limit) {
+        super(
+            null,
+            MessageConstants.RAGFLOW_CONCURRENCY_LIMIT_EXCEEDED,
+            false,
+            false,
+            new Object[] {deployKey, limit}
+        );
+        this.deployKey = deployKey;
+        this.limit = limit;
+    }
+
+    public String deployKey() {
+        return deployKey;
+    }
+
+    /**
+     * The limit of the deployment when the call was rejected.
+     */
+    public int limit() {
+        return limit;
+    }
+}
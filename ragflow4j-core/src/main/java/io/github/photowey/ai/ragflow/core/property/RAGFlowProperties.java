@@ -16,12 +16,16 @@
 package io.github.photowey.ai.ragflow.core.property;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotEmpty;
 
@@ -49,16 +53,23 @@ public class RAGFlowProperties implements Serializable {
     private static final long serialVersionUID = -5444889005187004677L;
 
     @Valid
+    @Builder.Default
     private Client client = new Client();
 
     @Valid
     @NotEmpty(message = "The RAGFlow servers is required.")
+    @Builder.Default
     private Map<String/* deployKey */, Server> servers = new HashMap<>(2);
 
     @Valid
     @NotEmpty(message = "The RAGFlow datasets is required.")
+    @Builder.Default
     private Map<String/* datasetKey */, Dataset/* dataset */> datasets = new HashMap<>(2);
 
+    @Valid
+    @Builder.Default
+    private Sharding sharding = new Sharding();
+
     // ----------------------------------------------------------------
 
     @Data
@@ -69,7 +80,9 @@ public class RAGFlowProperties implements Serializable {
 
         private static final long serialVersionUID = 6325441139889167546L;
 
+        @Builder.Default
         private Sync sync = new Sync();
+        @Builder.Default
         private Async async = new Async();
 
         public Sync sync() {
@@ -89,6 +102,7 @@ public class RAGFlowProperties implements Serializable {
 
         private static final long serialVersionUID = 6325441139889167546L;
 
+        @Builder.Default
         private boolean enabled = true;
 
         public boolean enabled() {
@@ -104,6 +118,7 @@ public class RAGFlowProperties implements Serializable {
 
         private static final long serialVersionUID = 6325441139889167546L;
 
+        @Builder.Default
         private boolean enabled = false;
 
         public boolean enabled() {
@@ -121,22 +136,89 @@ public class RAGFlowProperties implements Serializable {
 
         private static final long serialVersionUID = 3264865155639304359L;
 
-        @NotBlank(message = "The RAGFlow address is required.")
         private String address;
+        /**
+         * The addresses of the replicas of the deployment, used instead of {@code address} when not empty.
+         */
+        @Builder.Default
+        private List<String> addresses = new ArrayList<>();
         @NotBlank(message = "The RAGFlow apiKey is required.")
         private String apiKey;
 
+        @Builder.Default
         private Integer timeout = 30_000;
 
         @Valid
+        @Builder.Default
         private Codec codec = new Codec();
 
+        @Valid
+        @Builder.Default
+        private Pool pool = new Pool();
+
+        @Valid
+        @Builder.Default
+        private Listing listing = new Listing();
+
+        @Valid
+        @Builder.Default
+        private Upload upload = new Upload();
+
+        @Valid
+        @Builder.Default
+        private Parsing parsing = new Parsing();
+
+        @Valid
+        @Builder.Default
+        private Breaker breaker = new Breaker();
+
+        @Valid
+        @Builder.Default
+        private Retry retry = new Retry();
+
+        @Valid
+        @Builder.Default
+        private Limiter limiter = new Limiter();
+
+        @Valid
+        @Builder.Default
+        private Hedge hedge = new Hedge();
+
+        @Valid
+        @Builder.Default
+        private Balancer balancer = new Balancer();
+
+        @Valid
+        @Builder.Default
+        private Coalescing coalescing = new Coalescing();
+
         // ----------------------------------------------------------------
 
+        @AssertTrue(message = "The RAGFlow address is required.")
+        public boolean isAddressPresent() {
+            return this.endpoints().stream().anyMatch(endpoint -> !endpoint.trim().isEmpty());
+        }
+
         public String address() {
             return address;
         }
 
+        /**
+         * The addresses of the deployment, {@code addresses} if any, otherwise the single {@code address}.
+         *
+         * @return the addresses, in configuration order
+         */
+        public List<String> endpoints() {
+            if (Objects.nonNull(this.addresses) && !this.addresses.isEmpty()) {
+                return Collections.unmodifiableList(this.addresses);
+            }
+            if (Objects.isNull(this.address)) {
+                return Collections.emptyList();
+            }
+
+            return Collections.singletonList(this.address);
+        }
+
         public String apiKey() {
             return apiKey;
         }
@@ -152,6 +234,86 @@ public class RAGFlowProperties implements Serializable {
         public Codec codec() {
             return codec;
         }
+
+        public Pool pool() {
+            if (Objects.isNull(this.pool)) {
+                this.pool = new Pool();
+            }
+
+            return pool;
+        }
+
+        public Listing listing() {
+            if (Objects.isNull(this.listing)) {
+                this.listing = new Listing();
+            }
+
+            return listing;
+        }
+
+        public Upload upload() {
+            if (Objects.isNull(this.upload)) {
+                this.upload = new Upload();
+            }
+
+            return upload;
+        }
+
+        public Parsing parsing() {
+            if (Objects.isNull(this.parsing)) {
+                this.parsing = new Parsing();
+            }
+
+            return parsing;
+        }
+
+        public Breaker breaker() {
+            if (Objects.isNull(this.breaker)) {
+                this.breaker = new Breaker();
+            }
+
+            return breaker;
+        }
+
+        public Retry retry() {
+            if (Objects.isNull(this.retry)) {
+                this.retry = new Retry();
+            }
+
+            return retry;
+        }
+
+        public Limiter limiter() {
+            if (Objects.isNull(this.limiter)) {
+                this.limiter = new Limiter();
+            }
+
+            return limiter;
+        }
+
+        public Hedge hedge() {
+            if (Objects.isNull(this.hedge)) {
+                this.hedge = new Hedge();
+            }
+
+            return hedge;
+        }
+
+        public Balancer balancer() {
+            if (Objects.isNull(this.balancer)) {
+                this.balancer = new Balancer();
+            }
+
+            return balancer;
+        }
+
+        public Coalescing coalescing() {
+            if (Objects.isNull(this.coalescing)) {
+                this.coalescing = new Coalescing();
+            }
+
+            return coalescing;
+        }
     }
 
     @Data
@@ -164,6 +326,10 @@ public class RAGFlowProperties implements Serializable {
 
         private String datasetKey;
         private String datasetId;
+        /**
+         * The deployment holding the dataset, pins it when sharding is enabled.
+         */
+        private String deployKey;
 
         // ----------------------------------------------------------------
 
@@ -174,6 +340,133 @@ public class RAGFlowProperties implements Serializable {
         public String datasetId() {
             return datasetId;
         }
+
+        public String deployKey() {
+            return deployKey;
+        }
+    }
+
+    /**
+     * The read coalescing settings of a single RAGFlow deployment, disabled by default.
+     *
+     * <p>
+     * Concurrent identical reads share one in-flight call, up to {@code maxKeys} distinct reads are tracked at a
+     * time, the others run on their own. Nothing is kept once a call completes.
+     *
+     * <p>
+     * The callers of a shared read receive the very same response object, a caller modifying it is seen by all
+     * the others, enable it only if the responses are treated as read-only.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Coalescing implements Serializable {
+
+        private static final long serialVersionUID = 5417094735610953184L;
+
+        private static final int DEFAULT_MAX_KEYS = 1024;
+
+        private boolean enabled;
+        @Builder.Default
+        private int maxKeys = DEFAULT_MAX_KEYS;
+
+        // ----------------------------------------------------------------
+
+        public boolean enabled() {
+            return enabled;
+        }
+
+        public int maxKeys() {
+            if (this.maxKeys <= 0) {
+                return DEFAULT_MAX_KEYS;
+            }
+
+            return maxKeys;
+        }
+    }
+
+    /**
+     * The dataset sharding settings, disabled by default.
+     *
+     * <p>
+     * A dataset or document call without deploy key is sent to the shard holding its dataset, found on a
+     * consistent hash ring of the {@code shards} with {@code virtualNodes} points each, or by asking the shards in
+     * ring order. At most {@code maxPlacements} found datasets are remembered, the least recently used first
+     * forgotten, and a dataset no shard lists is not looked up again for {@code missTtl} milliseconds. A new
+     * dataset is created on the shard holding the fewest documents, the document counts are cached for
+     * {@code loadTtl} milliseconds. Without {@code shards} every deployment is a shard.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Sharding implements Serializable {
+
+        private static final long serialVersionUID = -3010962305934735297L;
+
+        private static final int DEFAULT_VIRTUAL_NODES = 160;
+        private static final long DEFAULT_LOAD_TTL = 30_000L;
+        private static final long DEFAULT_MISS_TTL = 5_000L;
+        private static final int DEFAULT_MAX_PLACEMENTS = 100_000;
+
+        private boolean enabled;
+        @Builder.Default
+        private List<String/* deployKey */> shards = new ArrayList<>();
+        @Builder.Default
+        private int virtualNodes = DEFAULT_VIRTUAL_NODES;
+        @Builder.Default
+        private long loadTtl = DEFAULT_LOAD_TTL;
+        @Builder.Default
+        private long missTtl = DEFAULT_MISS_TTL;
+        @Builder.Default
+        private int maxPlacements = DEFAULT_MAX_PLACEMENTS;
+
+        // ----------------------------------------------------------------
+
+        public boolean enabled() {
+            return enabled;
+        }
+
+        public List<String> shards() {
+            if (Objects.isNull(this.shards)) {
+                return Collections.emptyList();
+            }
+
+            return Collections.unmodifiableList(this.shards);
+        }
+
+        public int virtualNodes() {
+            if (this.virtualNodes <= 0) {
+                return DEFAULT_VIRTUAL_NODES;
+            }
+
+            return virtualNodes;
+        }
+
+        public long loadTtl() {
+            if (this.loadTtl <= 0) {
+                return DEFAULT_LOAD_TTL;
+            }
+
+            return loadTtl;
+        }
+
+        public long missTtl() {
+            if (this.missTtl <= 0) {
+                return DEFAULT_MISS_TTL;
+            }
+
+            return missTtl;
+        }
+
+        public int maxPlacements() {
+            if (this.maxPlacements <= 0) {
+                return DEFAULT_MAX_PLACEMENTS;
+            }
+
+            return maxPlacements;
+        }
     }
 
     @Data
@@ -202,6 +495,7 @@ public class RAGFlowProperties implements Serializable {
          * <p>
          * {@code org.springframework.http.codec.CodecConfigurer.DefaultCodecs#maxInMemorySize(int)}
          */
+        @Builder.Default
         private int maxInMemorySize = DEFAULT_MAX_IN_MEMORY_SIZE * RAGFlowConstants.Bytes.KB;
 
         // ----------------------------------------------------------------
@@ -215,6 +509,631 @@ public class RAGFlowProperties implements Serializable {
         }
     }
 
+    /**
+     * The connection pool settings of a single RAGFlow deployment.
+     *
+     * <p>
+     * Every {@code (deployKey, content type)} pair owns a dedicated, named Reactor Netty
+     * {@code ConnectionProvider} that is sized from these settings.
+     * Durations are expressed in milliseconds; a non-positive idle/lifetime disables that eviction rule.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Pool implements Serializable {
+
+        private static final long serialVersionUID = -1803617470932317305L;
+
+        private static final int DEFAULT_MAX_CONNECTIONS = 500;
+        private static final int DEFAULT_PENDING_ACQUIRE_MAX_COUNT = 1_000;
+        private static final long DEFAULT_PENDING_ACQUIRE_TIMEOUT = 45_000L;
+
+        /**
+         * The maximum number of connections per connection pool.
+         */
+        @Builder.Default
+        private int maxConnections = DEFAULT_MAX_CONNECTIONS;
+        /**
+         * The maximum number of requests waiting for a connection, {@code -1} means unbounded.
+         */
+        @Builder.Default
+        private int pendingAcquireMaxCount = DEFAULT_PENDING_ACQUIRE_MAX_COUNT;
+        /**
+         * The maximum time to wait for a connection from the pool.
+         */
+        @Builder.Default
+        private long pendingAcquireTimeout = DEFAULT_PENDING_ACQUIRE_TIMEOUT;
+        /**
+         * The maximum time a connection may stay idle in the pool.
+         */
+        @Builder.Default
+        private long maxIdleTime = 30_000L;
+        /**
+         * The maximum lifetime of a pooled connection.
+         */
+        @Builder.Default
+        private long maxLifeTime = 300_000L;
+        /**
+         * The interval of the background eviction task, non-positive means evict on acquire only.
+         */
+        @Builder.Default
+        private long evictionInterval = 60_000L;
+
+        // ----------------------------------------------------------------
+
+        public int maxConnections() {
+            if (this.maxConnections <= 0) {
+                return DEFAULT_MAX_CONNECTIONS;
+            }
+
+            return maxConnections;
+        }
+
+        public int pendingAcquireMaxCount() {
+            if (this.pendingAcquireMaxCount == 0 || this.pendingAcquireMaxCount < -1) {
+                return DEFAULT_PENDING_ACQUIRE_MAX_COUNT;
+            }
+
+            return pendingAcquireMaxCount;
+        }
+
+        public long pendingAcquireTimeout() {
+            if (this.pendingAcquireTimeout <= 0) {
+                return DEFAULT_PENDING_ACQUIRE_TIMEOUT;
+            }
+
+            return pendingAcquireTimeout;
+        }
+
+        public long maxIdleTime() {
+            return maxIdleTime;
+        }
+
+        public long maxLifeTime() {
+            return maxLifeTime;
+        }
+
+        public long evictionInterval() {
+            return evictionInterval;
+        }
+    }
+
+    /**
+     * The concurrent listing settings of a single RAGFlow deployment.
+     *
+     * <p>
+     * A concurrent listing fetches up to {@code prefetch} pages ahead of the subscriber, while every concurrent
+     * listing of the same deployment shares {@code maxConcurrency} in-flight page requests, so a bulk scan cannot
+     * starve the interactive traffic of that deployment.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Listing implements Serializable {
+
+        private static final long serialVersionUID = 6953297715846734218L;
+
+        private static final int DEFAULT_PREFETCH = 4;
+        private static final int DEFAULT_MAX_CONCURRENCY = 8;
+
+        /**
+         * The default number of pages fetched ahead of the subscriber by a single listing.
+         */
+        @Builder.Default
+        private int prefetch = DEFAULT_PREFETCH;
+        /**
+         * The maximum number of in-flight page requests shared by every concurrent listing of the deployment.
+         */
+        @Builder.Default
+        private int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+
+        // ----------------------------------------------------------------
+
+        public int prefetch() {
+            if (this.prefetch <= 0) {
+                return DEFAULT_PREFETCH;
+            }
+
+            return prefetch;
+        }
+
+        public int maxConcurrency() {
+            if (this.maxConcurrency <= 0) {
+                return DEFAULT_MAX_CONCURRENCY;
+            }
+
+            return maxConcurrency;
+        }
+    }
+
+    /**
+     * The batch upload settings of a single RAGFlow deployment.
+     *
+     * <p>
+     * Every batch upload of the deployment shares {@code maxConcurrency} in-flight multipart requests.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Upload implements Serializable {
+
+        private static final long serialVersionUID = -2790843021853604262L;
+
+        private static final int DEFAULT_MAX_CONCURRENCY = 4;
+
+        /**
+         * The maximum number of in-flight upload requests shared by every batch upload of the deployment.
+         */
+        @Builder.Default
+        private int maxConcurrency = DEFAULT_MAX_CONCURRENCY;
+
+        // ----------------------------------------------------------------
+
+        public int maxConcurrency() {
+            if (this.maxConcurrency <= 0) {
+                return DEFAULT_MAX_CONCURRENCY;
+            }
+
+            return maxConcurrency;
+        }
+    }
+
+    /**
+     * The parse admission settings of a single RAGFlow deployment.
+     *
+     * <p>
+     * The scheduled parses of the deployment keep at most {@code maxRunning} documents {@code RUNNING}, the
+     * admitted documents are listed every {@code pollInterval} milliseconds to learn which ones finished.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Parsing implements Serializable {
+
+        private static final long serialVersionUID = 5170893421268750931L;
+
+        private static final int DEFAULT_MAX_RUNNING = 32;
+        private static final long DEFAULT_POLL_INTERVAL = 2_000L;
+
+        /**
+         * The maximum number of admitted documents still parsing, shared by every scheduled parse of the deployment.
+         */
+        @Builder.Default
+        private int maxRunning = DEFAULT_MAX_RUNNING;
+        /**
+         * The interval between two listings of the admitted documents.
+         */
+        @Builder.Default
+        private long pollInterval = DEFAULT_POLL_INTERVAL;
+
+        // ----------------------------------------------------------------
+
+        public int maxRunning() {
+            if (this.maxRunning <= 0) {
+                return DEFAULT_MAX_RUNNING;
+            }
+
+            return maxRunning;
+        }
+
+        public long pollInterval() {
+            if (this.pollInterval <= 0) {
+                return DEFAULT_POLL_INTERVAL;
+            }
+
+            return pollInterval;
+        }
+    }
+
+    /**
+     * The circuit breaker settings of a single RAGFlow deployment, disabled by default.
+     *
+     * <p>
+     * The breaker opens once at least {@code minimumCalls} of the last {@code windowSize} calls were recorded
+     * and either the failure rate or the slow call rate reaches its threshold, both in percent. While open the
+     * calls fail fast for {@code openDuration} milliseconds, then the health endpoint of the deployment is probed
+     * and the breaker closes again once it answers.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Breaker implements Serializable {
+
+        private static final long serialVersionUID = -6419823376104917529L;
+
+        private static final int DEFAULT_WINDOW_SIZE = 50;
+        private static final int DEFAULT_MINIMUM_CALLS = 20;
+        private static final int DEFAULT_FAILURE_RATE_THRESHOLD = 50;
+        private static final int DEFAULT_SLOW_CALL_RATE_THRESHOLD = 80;
+        private static final long DEFAULT_SLOW_CALL_DURATION = 10_000L;
+        private static final long DEFAULT_OPEN_DURATION = 30_000L;
+
+        private boolean enabled;
+        /**
+         * The number of last calls the rates are computed over.
+         */
+        @Builder.Default
+        private int windowSize = DEFAULT_WINDOW_SIZE;
+        /**
+         * The number of recorded calls below which the breaker never opens.
+         */
+        @Builder.Default
+        private int minimumCalls = DEFAULT_MINIMUM_CALLS;
+        /**
+         * The percentage of failed calls opening the breaker, I/O errors, timeouts, {@code 429} and {@code 5xx}
+         * responses are failures.
+         */
+        @Builder.Default
+        private int failureRateThreshold = DEFAULT_FAILURE_RATE_THRESHOLD;
+        /**
+         * The percentage of calls slower than {@code slowCallDuration} opening the breaker.
+         */
+        @Builder.Default
+        private int slowCallRateThreshold = DEFAULT_SLOW_CALL_RATE_THRESHOLD;
+        /**
+         * The time to the response headers beyond which a call is slow.
+         */
+        @Builder.Default
+        private long slowCallDuration = DEFAULT_SLOW_CALL_DURATION;
+        /**
+         * The time the calls fail fast before the deployment is probed.
+         */
+        @Builder.Default
+        private long openDuration = DEFAULT_OPEN_DURATION;
+
+        // ----------------------------------------------------------------
+
+        public boolean enabled() {
+            return enabled;
+        }
+
+        public int windowSize() {
+            if (this.windowSize <= 0) {
+                return DEFAULT_WINDOW_SIZE;
+            }
+
+            return windowSize;
+        }
+
+        public int minimumCalls() {
+            if (this.minimumCalls <= 0) {
+                return Math.min(DEFAULT_MINIMUM_CALLS, this.windowSize());
+            }
+
+            return Math.min(minimumCalls, this.windowSize());
+        }
+
+        public int failureRateThreshold() {
+            if (this.failureRateThreshold <= 0 || this.failureRateThreshold > 100) {
+                return DEFAULT_FAILURE_RATE_THRESHOLD;
+            }
+
+            return failureRateThreshold;
+        }
+
+        public int slowCallRateThreshold() {
+            if (this.slowCallRateThreshold <= 0 || this.slowCallRateThreshold > 100) {
+                return DEFAULT_SLOW_CALL_RATE_THRESHOLD;
+            }
+
+            return slowCallRateThreshold;
+        }
+
+        public long slowCallDuration() {
+            if (this.slowCallDuration <= 0) {
+                return DEFAULT_SLOW_CALL_DURATION;
+            }
+
+            return slowCallDuration;
+        }
+
+        public long openDuration() {
+            if (this.openDuration <= 0) {
+                return DEFAULT_OPEN_DURATION;
+            }
+
+            return openDuration;
+        }
+    }
+
+    /**
+     * The retry settings of a single RAGFlow deployment.
+     *
+     * <p>
+     * Only the idempotent endpoints are retried, on I/O errors, timeouts, {@code 429} and {@code 5xx} responses,
+     * after an exponential backoff with jitter from {@code initialBackoff} up to {@code maxBackoff} milliseconds.
+     * Every call of the deployment earns {@code budgetPercent} percent of a retry, up to {@code budgetReserve}
+     * retries, a retry spends a whole one, so the retries never exceed that share of the traffic during an outage.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Retry implements Serializable {
+
+        private static final long serialVersionUID = 8825017762195348901L;
+
+        private static final int DEFAULT_MAX_ATTEMPTS = 3;
+        private static final long DEFAULT_INITIAL_BACKOFF = 100L;
+        private static final long DEFAULT_MAX_BACKOFF = 2_000L;
+        private static final int DEFAULT_BUDGET_PERCENT = 20;
+        private static final int DEFAULT_BUDGET_RESERVE = 10;
+
+        @Builder.Default
+        private boolean enabled = true;
+        /**
+         * The maximum number of attempts of a call, the first one included.
+         */
+        @Builder.Default
+        private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+        @Builder.Default
+        private long initialBackoff = DEFAULT_INITIAL_BACKOFF;
+        @Builder.Default
+        private long maxBackoff = DEFAULT_MAX_BACKOFF;
+        /**
+         * The percentage of a retry earned by every call.
+         */
+        @Builder.Default
+        private int budgetPercent = DEFAULT_BUDGET_PERCENT;
+        /**
+         * The maximum number of retries saved up, available from the start.
+         */
+        @Builder.Default
+        private int budgetReserve = DEFAULT_BUDGET_RESERVE;
+
+        // ----------------------------------------------------------------
+
+        public boolean enabled() {
+            return enabled;
+        }
+
+        public int maxAttempts() {
+            if (this.maxAttempts <= 0) {
+                return DEFAULT_MAX_ATTEMPTS;
+            }
+
+            return maxAttempts;
+        }
+
+        public long initialBackoff() {
+            if (this.initialBackoff <= 0) {
+                return DEFAULT_INITIAL_BACKOFF;
+            }
+
+            return initialBackoff;
+        }
+
+        public long maxBackoff() {
+            if (this.maxBackoff <= 0) {
+                return Math.max(DEFAULT_MAX_BACKOFF, this.initialBackoff());
+            }
+
+            return Math.max(maxBackoff, this.initialBackoff());
+        }
+
+        public int budgetPercent() {
+            if (this.budgetPercent < 0) {
+                return DEFAULT_BUDGET_PERCENT;
+            }
+
+            return budgetPercent;
+        }
+
+        public int budgetReserve() {
+            if (this.budgetReserve < 0) {
+                return DEFAULT_BUDGET_RESERVE;
+            }
+
+            return budgetReserve;
+        }
+    }
+
+    /**
+     * The adaptive concurrency limit settings of a single RAGFlow deployment, disabled by default.
+     *
+     * <p>
+     * The number of in-flight calls of the deployment starts at {@code initialLimit} and is resized within
+     * {@code [minLimit, maxLimit]} from the observed latency of its reads. The calls beyond the limit wait up to
+     * {@code queueTimeout} milliseconds in a queue of at most {@code maxQueued} calls, then are rejected.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Limiter implements Serializable {
+
+        private static final long serialVersionUID = 3970157480213359826L;
+
+        private static final int DEFAULT_INITIAL_LIMIT = 20;
+        private static final int DEFAULT_MIN_LIMIT = 4;
+        private static final int DEFAULT_MAX_LIMIT = 200;
+        private static final int DEFAULT_MAX_QUEUED = 100;
+        private static final long DEFAULT_QUEUE_TIMEOUT = 1_000L;
+
+        private boolean enabled;
+        @Builder.Default
+        private int initialLimit = DEFAULT_INITIAL_LIMIT;
+        @Builder.Default
+        private int minLimit = DEFAULT_MIN_LIMIT;
+        @Builder.Default
+        private int maxLimit = DEFAULT_MAX_LIMIT;
+        /**
+         * The maximum number of calls waiting for the limit, {@code 0} rejects the excess calls at once.
+         */
+        @Builder.Default
+        private int maxQueued = DEFAULT_MAX_QUEUED;
+        @Builder.Default
+        private long queueTimeout = DEFAULT_QUEUE_TIMEOUT;
+
+        // ----------------------------------------------------------------
+
+        public boolean enabled() {
+            return enabled;
+        }
+
+        public int minLimit() {
+            if (this.minLimit <= 0) {
+                return DEFAULT_MIN_LIMIT;
+            }
+
+            return minLimit;
+        }
+
+        public int maxLimit() {
+            if (this.maxLimit <= 0) {
+                return Math.max(DEFAULT_MAX_LIMIT, this.minLimit());
+            }
+
+            return Math.max(maxLimit, this.minLimit());
+        }
+
+        public int initialLimit() {
+            int initial = this.initialLimit <= 0 ? DEFAULT_INITIAL_LIMIT : this.initialLimit;
+
+            return Math.max(this.minLimit(), Math.min(this.maxLimit(), initial));
+        }
+
+        public int maxQueued() {
+            if (this.maxQueued < 0) {
+                return DEFAULT_MAX_QUEUED;
+            }
+
+            return maxQueued;
+        }
+
+        public long queueTimeout() {
+            if (this.queueTimeout <= 0) {
+                return DEFAULT_QUEUE_TIMEOUT;
+            }
+
+            return queueTimeout;
+        }
+    }
+
+    /**
+     * The hedging settings of a single RAGFlow deployment, disabled by default.
+     *
+     * <p>
+     * A {@code GET} call without response after the {@code percentile} latency of its endpoint, never less than
+     * {@code minDelay} milliseconds, is sent a second time, the first response wins. Every call earns
+     * {@code budgetPercent} percent of a hedge, up to {@code budgetReserve} hedges.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Hedge implements Serializable {
+
+        private static final long serialVersionUID = -718305925873463150L;
+
+        private static final int DEFAULT_PERCENTILE = 95;
+        private static final long DEFAULT_MIN_DELAY = 20L;
+        private static final int DEFAULT_BUDGET_PERCENT = 5;
+        private static final int DEFAULT_BUDGET_RESERVE = 5;
+
+        private boolean enabled;
+        @Builder.Default
+        private int percentile = DEFAULT_PERCENTILE;
+        @Builder.Default
+        private long minDelay = DEFAULT_MIN_DELAY;
+        /**
+         * The percentage of a hedge earned by every call.
+         */
+        @Builder.Default
+        private int budgetPercent = DEFAULT_BUDGET_PERCENT;
+        /**
+         * The maximum number of hedges saved up, available from the start.
+         */
+        @Builder.Default
+        private int budgetReserve = DEFAULT_BUDGET_RESERVE;
+
+        // ----------------------------------------------------------------
+
+        public boolean enabled() {
+            return enabled;
+        }
+
+        public int percentile() {
+            if (this.percentile <= 0 || this.percentile >= 100) {
+                return DEFAULT_PERCENTILE;
+            }
+
+            return percentile;
+        }
+
+        public long minDelay() {
+            if (this.minDelay <= 0) {
+                return DEFAULT_MIN_DELAY;
+            }
+
+            return minDelay;
+        }
+
+        public int budgetPercent() {
+            if (this.budgetPercent < 0) {
+                return DEFAULT_BUDGET_PERCENT;
+            }
+
+            return budgetPercent;
+        }
+
+        public int budgetReserve() {
+            if (this.budgetReserve < 0) {
+                return DEFAULT_BUDGET_RESERVE;
+            }
+
+            return budgetReserve;
+        }
+    }
+
+    /**
+     * The load balancing settings of a deployment with several addresses.
+     *
+     * <p>
+     * Every request goes to the less loaded of two addresses picked at random. An address failing
+     * {@code ejectAfter} consecutive calls is ejected, then probed every {@code probeInterval} milliseconds
+     * until its health check succeeds again.
+     */
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Balancer implements Serializable {
+
+        private static final long serialVersionUID = 2837315484911460721L;
+
+        private static final int DEFAULT_EJECT_AFTER = 5;
+        private static final long DEFAULT_PROBE_INTERVAL = 5_000L;
+
+        @Builder.Default
+        private int ejectAfter = DEFAULT_EJECT_AFTER;
+        @Builder.Default
+        private long probeInterval = DEFAULT_PROBE_INTERVAL;
+
+        // ----------------------------------------------------------------
+
+        public int ejectAfter() {
+            if (this.ejectAfter <= 0) {
+                return DEFAULT_EJECT_AFTER;
+            }
+
+            return ejectAfter;
+        }
+
+        public long probeInterval() {
+            if (this.probeInterval <= 0) {
+                return DEFAULT_PROBE_INTERVAL;
+            }
+
+            return probeInterval;
+        }
+    }
+
     public Optional<Server> tryAcquireServer() {
         return this.tryAcquireServer(RAGFlowConstants.Variable.GLOBAL_DEPLOY_KEY);
     }
@@ -224,11 +1143,11 @@ public class RAGFlowProperties implements Serializable {
             return this.tryAcquireServer();
         }
 
-        return Optional.of(this.servers().get(deployKey));
+        return Optional.ofNullable(this.servers().get(deployKey));
     }
 
     public Optional<Dataset> tryAcquireDataset(String datasetKey) {
-        return Optional.of(this.datasets().get(datasetKey));
+        return Optional.ofNullable(this.datasets().get(datasetKey));
     }
 
     // ----------------------------------------------------------------
@@ -244,4 +1163,12 @@ public class RAGFlowProperties implements Serializable {
     public Map<String/* datasetKey */, Dataset/* dataset */> datasets() {
         return datasets;
     }
+
+    public Sharding sharding() {
+        if (Objects.isNull(this.sharding)) {
+            this.sharding = new Sharding();
+        }
+
+        return sharding;
+    }
 }
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.boot.starter.condition;
+
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+import io.github.photowey.ai.ragflow.core.constant.RAGFlowConstants;
+
+/**
+ * Matches when {@code ${prefix}.client.async.enabled} is {@code true}.
+ *
+ * <p>
+ * The prefix is resolved at runtime via {@link RAGFlowConstants.Configuration#determineRAGFlowPropertyPrefix()},
+ * which is why {@code @ConditionalOnProperty} cannot be used here.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/13
+ */
+@SuppressWarnings("AlibabaClassNamingShouldBeCamel")
+public class OnRAGFlowAsyncClientCondition implements Condition {
+
+    private static final String ASYNC_ENABLED_PROPERTY = ".client.async.enabled";
+
+    @Override
+    public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+        String prefix = RAGFlowConstants.Configuration.determineRAGFlowPropertyPrefix();
+
+        return Binder.get(context.getEnvironment())
+            .bind(prefix + ASYNC_ENABLED_PROPERTY, Boolean.class)
+            .orElse(false);
+    }
+}
@@ -20,14 +20,22 @@ import org.springframework.beans.factory.config.BeanFactoryPostProcessor;
 import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Conditional;
 import org.springframework.core.env.Environment;
 
 import io.github.photowey.ai.ragflow.client.starter.binder.PropertyBinders;
+import io.github.photowey.ai.ragflow.client.webflux.AsyncWebfluxRAGFlowClient;
+import io.github.photowey.ai.ragflow.client.webflux.DefaultAsyncWebfluxRAGFlowClient;
 import io.github.photowey.ai.ragflow.client.webflux.DefaultWebfluxRAGFlowClient;
 import io.github.photowey.ai.ragflow.client.webflux.SyncWebfluxRAGFlowClient;
+import io.github.photowey.ai.ragflow.client.webflux.boot.starter.condition.OnRAGFlowAsyncClientCondition;
 import io.github.photowey.ai.ragflow.client.webflux.core.factory.RAGFlowWebClientFactory;
+import io.github.photowey.ai.ragflow.client.webflux.dataset.AsyncWebfluxRAGFlowDatasetClient;
+import io.github.photowey.ai.ragflow.client.webflux.dataset.DefaultAsyncWebfluxRAGFlowDatasetClient;
 import io.github.photowey.ai.ragflow.client.webflux.dataset.DefaultSyncWebfluxRAGFlowDatasetClient;
 import io.github.photowey.ai.ragflow.client.webflux.dataset.WebfluxRAGFlowDatasetClient;
+import io.github.photowey.ai.ragflow.client.webflux.document.AsyncWebfluxRAGFlowDocumentClient;
+import io.github.photowey.ai.ragflow.client.webflux.document.DefaultAsyncWebfluxRAGFlowDocumentClient;
 import io.github.photowey.ai.ragflow.client.webflux.document.DefaultSyncWebfluxRAGFlowDocumentClient;
 import io.github.photowey.ai.ragflow.client.webflux.document.WebfluxRAGFlowDocumentClient;
 import io.github.photowey.ai.ragflow.core.constant.RAGFlowConstants;
@@ -103,4 +111,39 @@ public abstract class AbstractWebfluxRAGFlowClientConfiguration implements BeanF
             this.ragflowWebClientFactory()
         );
     }
+
+    // ----------------------------------------------------------------
+
+    @Bean
+    @ConditionalOnMissingBean
+    @Conditional(OnRAGFlowAsyncClientCondition.class)
+    public AsyncWebfluxRAGFlowDatasetClient asyncDatasetClient() {
+        return new DefaultAsyncWebfluxRAGFlowDatasetClient(
+            this.ragflowPropertiesGetter(),
+            this.ragflowWebClientFactory()
+        );
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @Conditional(OnRAGFlowAsyncClientCondition.class)
+    public AsyncWebfluxRAGFlowDocumentClient asyncDocumentClient() {
+        return new DefaultAsyncWebfluxRAGFlowDocumentClient(
+            this.ragflowPropertiesGetter(),
+            this.ragflowWebClientFactory()
+        );
+    }
+
+    @Bean("asyncWebfluxRAGFlowClient")
+    @ConditionalOnMissingBean(name = "asyncWebfluxRAGFlowClient")
+    @Conditional(OnRAGFlowAsyncClientCondition.class)
+    @SuppressWarnings("all")
+    public AsyncWebfluxRAGFlowClient asyncWebfluxRAGFlowClient() {
+        return new DefaultAsyncWebfluxRAGFlowClient(
+            this.asyncDatasetClient(),
+            this.asyncDocumentClient(),
+            this.ragflowPropertiesGetter(),
+            this.ragflowWebClientFactory()
+        );
+    }
 }
@@ -0,0 +1,88 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.boot.starter.condition;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.env.MapPropertySource;
+import org.springframework.core.env.StandardEnvironment;
+
+import io.github.photowey.ai.ragflow.core.constant.RAGFlowConstants;
+
+/**
+ * {@code OnRAGFlowAsyncClientConditionTest}.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+class OnRAGFlowAsyncClientConditionTest {
+
+    private static final String PREFIX = RAGFlowConstants.Configuration.determineRAGFlowPropertyPrefix();
+
+    private final OnRAGFlowAsyncClientCondition condition = new OnRAGFlowAsyncClientCondition();
+
+    @Test
+    void testMatches_falseWhenPropertyIsMissing() {
+        Assertions.assertFalse(this.condition.matches(this.context(new HashMap<>()), null));
+    }
+
+    @Test
+    void testMatches_followsTheAsyncEnabledProperty() {
+        Assertions.assertTrue(this.condition.matches(this.context(this.asyncEnabled("true")), null));
+        Assertions.assertFalse(this.condition.matches(this.context(this.asyncEnabled("false")), null));
+    }
+
+    @Test
+    void testMatches_bindsRelaxedPropertyNames() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(PREFIX + ".client.async.ENABLED", "true");
+
+        Assertions.assertTrue(this.condition.matches(this.context(properties), null));
+    }
+
+    // ----------------------------------------------------------------
+
+    private Map<String, Object> asyncEnabled(String enabled) {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(PREFIX + ".client.async.enabled", enabled);
+
+        return properties;
+    }
+
+    private ConditionContext context(Map<String, Object> properties) {
+        StandardEnvironment environment = new StandardEnvironment();
+        environment.getPropertySources().addFirst(new MapPropertySource("test", properties));
+
+        return (ConditionContext) Proxy.newProxyInstance(
+            ConditionContext.class.getClassLoader(),
+            new Class<?>[] {ConditionContext.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getEnvironment":
+                        return environment;
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            }
+        );
+    }
+}
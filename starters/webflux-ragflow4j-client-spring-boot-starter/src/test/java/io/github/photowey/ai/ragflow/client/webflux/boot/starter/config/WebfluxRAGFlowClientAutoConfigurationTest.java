@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2025-present The Ragflow4j Authors. All rights reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package io.github.photowey.ai.ragflow.client.webflux.boot.starter.config;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.core.env.MapPropertySource;
+
+import io.github.photowey.ai.ragflow.client.webflux.AsyncWebfluxRAGFlowClient;
+import io.github.photowey.ai.ragflow.client.webflux.SyncWebfluxRAGFlowClient;
+import io.github.photowey.ai.ragflow.client.webflux.dataset.AsyncWebfluxRAGFlowDatasetClient;
+import io.github.photowey.ai.ragflow.client.webflux.dataset.DefaultAsyncWebfluxRAGFlowDatasetClient;
+import io.github.photowey.ai.ragflow.client.webflux.document.AsyncWebfluxRAGFlowDocumentClient;
+import io.github.photowey.ai.ragflow.client.webflux.document.DefaultAsyncWebfluxRAGFlowDocumentClient;
+import io.github.photowey.ai.ragflow.core.constant.RAGFlowConstants;
+
+/**
+ * {@code WebfluxRAGFlowClientAutoConfigurationTest}.
+ *
+ * @author photowey
+ * @version 2025.0.22.0.1
+ * @since 2025/12/14
+ */
+class WebfluxRAGFlowClientAutoConfigurationTest {
+
+    private static final String PREFIX = RAGFlowConstants.Configuration.determineRAGFlowPropertyPrefix();
+
+    @Test
+    void testAutoConfiguration_registersOnlySyncClientsByDefault() {
+        try (AnnotationConfigApplicationContext context = this.context(this.properties())) {
+            Assertions.assertEquals(1, context.getBeansOfType(SyncWebfluxRAGFlowClient.class).size());
+            Assertions.assertTrue(context.getBeansOfType(AsyncWebfluxRAGFlowClient.class).isEmpty());
+            Assertions.assertTrue(context.getBeansOfType(AsyncWebfluxRAGFlowDatasetClient.class).isEmpty());
+            Assertions.assertTrue(context.getBeansOfType(AsyncWebfluxRAGFlowDocumentClient.class).isEmpty());
+        }
+    }
+
+    @Test
+    void testAutoConfiguration_registersAsyncClientsWhenEnabled() {
+        Map<String, Object> properties = this.properties();
+        properties.put(PREFIX + ".client.async.enabled", true);
+
+        try (AnnotationConfigApplicationContext context = this.context(properties)) {
+            Assertions.assertNotNull(context.getBean("asyncWebfluxRAGFlowClient", AsyncWebfluxRAGFlowClient.class));
+            Assertions.assertInstanceOf(
+                DefaultAsyncWebfluxRAGFlowDatasetClient.class,
+                context.getBean(AsyncWebfluxRAGFlowDatasetClient.class)
+            );
+            Assertions.assertInstanceOf(
+                DefaultAsyncWebfluxRAGFlowDocumentClient.class,
+                context.getBean(AsyncWebfluxRAGFlowDocumentClient.class)
+            );
+            Assertions.assertEquals(1, context.getBeansOfType(SyncWebfluxRAGFlowClient.class).size());
+        }
+    }
+
+    // ----------------------------------------------------------------
+
+    private Map<String, Object> properties() {
+        Map<String, Object> properties = new HashMap<>();
+        properties.put(PREFIX + ".servers.global.address", "http://127.0.0.1:9380");
+
+        return properties;
+    }
+
+    private AnnotationConfigApplicationContext context(Map<String, Object> properties) {
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("test", properties));
+        context.register(WebfluxRAGFlowClientAutoConfiguration.class);
+        context.refresh();
+
+        return context;
+    }
+}